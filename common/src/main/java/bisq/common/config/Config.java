@@ -81,6 +81,7 @@ public class Config {
     public static final String WALLET_DIR = "walletDir";
     public static final String USE_DEV_PRIVILEGE_KEYS = "useDevPrivilegeKeys";
     public static final String DUMP_STATISTICS = "dumpStatistics";
+    public static final String DUMP_FULL_STATISTICS = "dumpFullStatistics";
     public static final String IGNORE_DEV_MSG = "ignoreDevMsg";
     public static final String PROVIDERS = "providers";
     public static final String SEED_NODES = "seedNodes";
@@ -141,6 +142,8 @@ public class Config {
     public static final String SEED_NODE_REPORTING_SERVER_URL = "seedNodeReportingServerUrl";
     public static final String USE_TOR_FOR_BTC_MONITOR = "useTorForBtcMonitor";
     public static final String USE_FULL_MODE_DAO_MONITOR = "useFullModeDaoMonitor";
+    public static final String POW_MINTING_THREADS = "powMintingThreads";
+    public static final String MEMPOOL_MAX_REQUESTS_PER_PROVIDER = "mempoolMaxRequestsPerProvider";
 
     // Default values for certain options
     public static final int UNSPECIFIED_PORT = -1;
@@ -189,6 +192,7 @@ public class Config {
     public final boolean useDevModeHeader;
     public final boolean useDevPrivilegeKeys;
     public final boolean dumpStatistics;
+    public final boolean dumpFullStatistics;
     public final boolean ignoreDevMsg;
     public final List<String> providers;
     public final List<String> seedNodes;
@@ -244,6 +248,8 @@ public class Config {
     public final boolean useTorForBtcMonitor;
     public final boolean useFullModeDaoMonitor;
     public final boolean useFullModeDaoMonitorSetExplicitly;
+    public final int powMintingThreads;
+    public final int mempoolMaxRequestsPerProvider;
 
     // Properties derived from options but not exposed as options themselves
     public final File torDir;
@@ -429,6 +435,13 @@ public class Config {
                         .ofType(boolean.class)
                         .defaultsTo(false);
 
+        ArgumentAcceptingOptionSpec<Boolean> dumpFullStatisticsOpt =
+                parser.accepts(DUMP_FULL_STATISTICS, "If set to false the dumped trade statistics are only " +
+                                "written to the incremental files and not to the single trade_statistics.json file")
+                        .withRequiredArg()
+                        .ofType(boolean.class)
+                        .defaultsTo(true);
+
         ArgumentAcceptingOptionSpec<Boolean> ignoreDevMsgOpt =
                 parser.accepts(IGNORE_DEV_MSG, "If set to true all signed " +
                                 "network_messages from bisq developers are ignored (Global " +
@@ -759,6 +772,20 @@ public class Config {
                         .ofType(Boolean.class)
                         .defaultsTo(false);
 
+        ArgumentAcceptingOptionSpec<Integer> powMintingThreadsOpt =
+                parser.accepts(POW_MINTING_THREADS, "Number of threads used for minting offer proof of work. " +
+                                "If set to 0 the number of available processors minus one is used.")
+                        .withRequiredArg()
+                        .ofType(int.class)
+                        .defaultsTo(0);
+
+        ArgumentAcceptingOptionSpec<Integer> mempoolMaxRequestsPerProviderOpt =
+                parser.accepts(MEMPOOL_MAX_REQUESTS_PER_PROVIDER, "Max. number of concurrent tx lookups per " +
+                                "mempool provider. Further lookups get queued.")
+                        .withRequiredArg()
+                        .ofType(int.class)
+                        .defaultsTo(2);
+
         try {
             CompositeOptionSet options = new CompositeOptionSet();
 
@@ -841,6 +868,7 @@ public class Config {
             this.useDevModeHeader = options.valueOf(useDevModeHeaderOpt);
             this.useDevPrivilegeKeys = options.valueOf(useDevPrivilegeKeysOpt);
             this.dumpStatistics = options.valueOf(dumpStatisticsOpt);
+            this.dumpFullStatistics = options.valueOf(dumpFullStatisticsOpt);
             this.ignoreDevMsg = options.valueOf(ignoreDevMsgOpt);
             this.providers = options.valuesOf(providersOpt);
             this.seedNodes = options.valuesOf(seedNodesOpt);
@@ -888,6 +916,8 @@ public class Config {
             this.useTorForBtcMonitor = options.valueOf(useTorForBtcMonitorOpt);
             this.useFullModeDaoMonitor = options.valueOf(useFullModeDaoMonitorOpt);
             this.useFullModeDaoMonitorSetExplicitly = options.has(useFullModeDaoMonitorOpt);
+            this.powMintingThreads = options.valueOf(powMintingThreadsOpt);
+            this.mempoolMaxRequestsPerProvider = Math.max(1, options.valueOf(mempoolMaxRequestsPerProviderOpt));
         } catch (OptionException ex) {
             throw new ConfigException("problem parsing option '%s': %s",
                     ex.options().get(0),
@@ -42,6 +42,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.PrimitiveIterator;
+import java.util.function.BooleanSupplier;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -208,12 +209,23 @@ public class Equihash {
         }
 
         public Solution findSolution() {
+            return findSolution(0, 1, () -> false).orElseThrow();
+        }
+
+        /**
+         * Search the nonces <i>firstNonce</i>, <i>firstNonce + nonceStep</i>, ... for a
+         * solution, so that several threads can split the nonce space between them. Returns
+         * empty if the search was cancelled before a solution was found.
+         */
+        public Optional<Solution> findSolution(int firstNonce, int nonceStep, BooleanSupplier isCancelled) {
+            checkArgument(firstNonce >= 0 && nonceStep > 0, "Nonce offset must be non-negative and step positive.");
             Optional<int[]> inputs;
-            for (int nonce = 0; ; nonce++) {
+            for (int nonce = firstNonce; !isCancelled.getAsBoolean(); nonce += nonceStep) {
                 if ((inputs = withHashPrefix(seed, nonce).findInputs()).isPresent()) {
-                    return new Solution(nonce, inputs.get());
+                    return Optional.of(new Solution(nonce, inputs.get()));
                 }
             }
+            return Optional.empty();
         }
 
         @VisibleForTesting
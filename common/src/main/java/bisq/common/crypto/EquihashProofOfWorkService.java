@@ -35,19 +35,23 @@ public class EquihashProofOfWorkService extends ProofOfWorkService {
     }
 
     @Override
-    public CompletableFuture<ProofOfWork> mint(byte[] payload, byte[] challenge, double difficulty) {
+    public CompletableFuture<ProofOfWork> mint(byte[] payload, byte[] challenge, double difficulty, int numThreads) {
         double scaledDifficulty = scaledDifficulty(difficulty);
         log.info("Got scaled & adjusted difficulty: {}", scaledDifficulty);
 
-        return CompletableFuture.supplyAsync(() -> {
-            long ts = System.currentTimeMillis();
-            byte[] seed = getSeed(payload, challenge);
-            byte[] solution = new Equihash(90, 5, scaledDifficulty).puzzle(seed).findSolution().serialize();
-            long counter = Longs.fromByteArray(Arrays.copyOf(solution, 8));
-            var proofOfWork = new ProofOfWork(payload, counter, challenge, difficulty,
-                    System.currentTimeMillis() - ts, solution, getVersion());
-            log.info("Completed minting proofOfWork: {}", proofOfWork);
-            return proofOfWork;
+        long ts = System.currentTimeMillis();
+        byte[] seed = getSeed(payload, challenge);
+        return mintInParallel(numThreads, (workerIndex, numWorkers, result) -> {
+            // Each worker searches every numWorkers-th puzzle nonce, starting at its own index
+            var puzzle = new Equihash(90, 5, scaledDifficulty).puzzle(seed);
+            return puzzle.findSolution(workerIndex, numWorkers, result::isDone).map(equihashSolution -> {
+                byte[] solution = equihashSolution.serialize();
+                long counter = Longs.fromByteArray(Arrays.copyOf(solution, 8));
+                var proofOfWork = new ProofOfWork(payload, counter, challenge, difficulty,
+                        System.currentTimeMillis() - ts, solution, getVersion());
+                log.info("Completed minting proofOfWork: {}", proofOfWork);
+                return proofOfWork;
+            });
         });
     }
 
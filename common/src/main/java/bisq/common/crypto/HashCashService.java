@@ -20,8 +20,13 @@ package bisq.common.crypto;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.primitives.Longs;
 
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 import java.nio.charset.StandardCharsets;
 
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import lombok.extern.slf4j.Slf4j;
@@ -41,21 +46,32 @@ public class HashCashService extends ProofOfWorkService {
     @Override
     public CompletableFuture<ProofOfWork> mint(byte[] payload,
                                                byte[] challenge,
-                                               double difficulty) {
-        return CompletableFuture.supplyAsync(() -> {
-            long ts = System.currentTimeMillis();
-            int log2Difficulty = toNumLeadingZeros(difficulty);
-            byte[] hash;
-            long counter = 0;
-            do {
-                hash = toSha256Hash(payload, challenge, ++counter);
+                                               double difficulty,
+                                               int numThreads) {
+        long ts = System.currentTimeMillis();
+        int log2Difficulty = toNumLeadingZeros(difficulty);
+        return mintInParallel(numThreads, (workerIndex, numWorkers, result) -> {
+            // Each worker hashes counters workerIndex + 1, workerIndex + 1 + numWorkers, ...
+            // reusing a single digest, pre-image and hash buffer to avoid any allocation per attempt.
+            MessageDigest digest = getSha256Digest();
+            byte[] preImage = new byte[payload.length + challenge.length + Long.BYTES];
+            System.arraycopy(payload, 0, preImage, 0, payload.length);
+            System.arraycopy(challenge, 0, preImage, payload.length, challenge.length);
+            int counterOffset = payload.length + challenge.length;
+            byte[] hash = new byte[digest.getDigestLength()];
+            for (long counter = workerIndex + 1; !result.isDone(); counter += numWorkers) {
+                putLong(preImage, counterOffset, counter);
+                digest.update(preImage, 0, preImage.length);
+                digestInto(digest, hash);
+                if (numberOfLeadingZeros(hash) > log2Difficulty) {
+                    byte[] solution = Longs.toByteArray(counter);
+                    ProofOfWork proofOfWork = new ProofOfWork(payload, counter, challenge, difficulty,
+                            System.currentTimeMillis() - ts, solution, 0);
+                    log.info("Completed minting proofOfWork: {}", proofOfWork);
+                    return Optional.of(proofOfWork);
+                }
             }
-            while (numberOfLeadingZeros(hash) <= log2Difficulty);
-            byte[] solution = Longs.toByteArray(counter);
-            ProofOfWork proofOfWork = new ProofOfWork(payload, counter, challenge, difficulty,
-                    System.currentTimeMillis() - ts, solution, 0);
-            log.info("Completed minting proofOfWork: {}", proofOfWork);
-            return proofOfWork;
+            return Optional.empty();
         });
     }
 
@@ -100,6 +116,30 @@ public class HashCashService extends ProofOfWorkService {
         return Hash.getSha256Hash(preImage);
     }
 
+    private static MessageDigest getSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void digestInto(MessageDigest digest, byte[] hash) {
+        try {
+            digest.digest(hash, 0, hash.length);
+        } catch (DigestException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Same big-endian encoding as Longs.toByteArray, written in place
+    private static void putLong(byte[] bytes, int offset, long value) {
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>= 8;
+        }
+    }
+
     // Borrowed from Integer.numberOfLeadingZeros and adjusted for byte
     @VisibleForTesting
     static int numberOfLeadingZeros(byte i) {
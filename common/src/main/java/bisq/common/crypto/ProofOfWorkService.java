@@ -17,13 +17,20 @@
 
 package bisq.common.crypto;
 
+import bisq.common.util.Utilities;
+
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import java.nio.charset.StandardCharsets;
 
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import lombok.Getter;
 
@@ -35,6 +42,21 @@ public abstract class ProofOfWorkService {
         };
     }
 
+    // Enough to hold the results for all offers of a large offer book
+    private static final int VERIFICATION_CACHE_SIZE = 10_000;
+    private static final int MAX_MINTING_THREADS = Runtime.getRuntime().availableProcessors();
+
+    // Leave one core to the UI and network threads by default
+    static final int DEFAULT_NUM_MINTING_THREADS = Math.max(1, MAX_MINTING_THREADS - 1);
+
+    private static class ExecutorHolder {
+        private static final ExecutorService MINTING_EXECUTOR = Utilities.getFixedThreadPoolExecutor(MAX_MINTING_THREADS,
+                new ThreadFactoryBuilder()
+                        .setNameFormat("PoW-minting-%d")
+                        .setDaemon(true)
+                        .build());
+    }
+
     public static Optional<ProofOfWorkService> forVersion(int version) {
         return version >= 0 && version < InstanceHolder.INSTANCES.length ?
                 Optional.of(InstanceHolder.INSTANCES[version]) : Optional.empty();
@@ -42,12 +64,31 @@ public abstract class ProofOfWorkService {
 
     @Getter
     private final int version;
+    // The same offers get received again and again (e.g. with each GetData response), so we remember
+    // the outcome of the expensive verification, keyed by the proof of work (i.e. payload, challenge,
+    // difficulty and solution).
+    private final Cache<ProofOfWork, Boolean> verificationResultCache = CacheBuilder.newBuilder()
+            .maximumSize(VERIFICATION_CACHE_SIZE)
+            .build();
 
     ProofOfWorkService(int version) {
         this.version = version;
     }
 
-    public abstract CompletableFuture<ProofOfWork> mint(byte[] payload, byte[] challenge, double difficulty);
+    /**
+     * Mints a proof of work on a pool of numThreads worker threads. Values below 1 select
+     * {@link #DEFAULT_NUM_MINTING_THREADS}, values above the number of available processors
+     * get capped. Cancelling the returned future (e.g. because the offer got withdrawn) stops
+     * all workers early.
+     */
+    public abstract CompletableFuture<ProofOfWork> mint(byte[] payload,
+                                                        byte[] challenge,
+                                                        double difficulty,
+                                                        int numThreads);
+
+    public CompletableFuture<ProofOfWork> mint(byte[] payload, byte[] challenge, double difficulty) {
+        return mint(payload, challenge, difficulty, DEFAULT_NUM_MINTING_THREADS);
+    }
 
     abstract boolean verify(ProofOfWork proofOfWork);
 
@@ -58,7 +99,42 @@ public abstract class ProofOfWorkService {
     public abstract byte[] getChallenge(String itemId, String ownerId);
 
     public CompletableFuture<ProofOfWork> mint(String itemId, String ownerId, double difficulty) {
-        return mint(getPayload(itemId), getChallenge(itemId, ownerId), difficulty);
+        return mint(itemId, ownerId, difficulty, DEFAULT_NUM_MINTING_THREADS);
+    }
+
+    public CompletableFuture<ProofOfWork> mint(String itemId, String ownerId, double difficulty, int numThreads) {
+        return mint(getPayload(itemId), getChallenge(itemId, ownerId), difficulty, numThreads);
+    }
+
+    /**
+     * Runs the given search on numThreads workers (see {@link #mint(byte[], byte[], double, int)}
+     * for the accepted values). Each worker is told its index and the total number of workers,
+     * so it can search its own share of the nonce space, and it must poll {@code result.isDone()}
+     * to stop as soon as another worker has found a solution or the caller has cancelled the
+     * returned future.
+     */
+    static CompletableFuture<ProofOfWork> mintInParallel(int numThreads, MintingWorker worker) {
+        CompletableFuture<ProofOfWork> result = new CompletableFuture<>();
+        int numWorkers = numThreads > 0 ? Math.min(numThreads, MAX_MINTING_THREADS) : DEFAULT_NUM_MINTING_THREADS;
+        for (int i = 0; i < numWorkers; i++) {
+            int workerIndex = i;
+            ExecutorHolder.MINTING_EXECUTOR.execute(() -> {
+                try {
+                    if (!result.isDone()) {
+                        worker.search(workerIndex, numWorkers, result).ifPresent(result::complete);
+                    }
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    interface MintingWorker {
+        /** Returns empty if the search was stopped because {@code result} got completed. */
+        Optional<ProofOfWork> search(int workerIndex, int numWorkers, CompletableFuture<ProofOfWork> result);
     }
 
     public boolean verify(ProofOfWork proofOfWork,
@@ -71,6 +147,16 @@ public abstract class ProofOfWorkService {
         byte[] controlChallenge = getChallenge(itemId, ownerId);
         return Arrays.equals(proofOfWork.getChallenge(), controlChallenge) &&
                 proofOfWork.getDifficulty() >= controlDifficulty &&
-                verify(proofOfWork);
+                verifyCached(proofOfWork);
+    }
+
+    @VisibleForTesting
+    boolean verifyCached(ProofOfWork proofOfWork) {
+        Boolean result = verificationResultCache.getIfPresent(proofOfWork);
+        if (result == null) {
+            result = verify(proofOfWork);
+            verificationResultCache.put(proofOfWork, result);
+        }
+        return result;
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Counts events in a rolling time window and checks them against a limit in constant time.
+ * The window is split into a fixed ring of buckets, each holding the bucket's epoch and its event
+ * count packed into a single long, so recording and counting events is lock free and does not allocate.
+ * <p>
+ * As counts are kept per bucket, an event drops out of the window up to one bucket
+ * (1/{@value #NUM_BUCKETS} of the window) before it is exactly one window old. With concurrent callers
+ * {@link #tryAcquire()} can overshoot the limit by at most the number of threads racing for the last permit.
+ */
+public class RollingWindowRateLimiter {
+    private static final int NUM_BUCKETS = 20;
+    // Lower bits hold the count, upper bits the epoch (current time / bucket size), which leaves enough
+    // room for epochs of millisecond buckets for the next few hundred years.
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int maxEventsInWindow;
+    private final long windowMillis;
+    private final long bucketMillis;
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+
+    public RollingWindowRateLimiter(int maxEventsInWindow, long window, TimeUnit timeUnit) {
+        checkArgument(maxEventsInWindow >= 0, "maxEventsInWindow must not be negative");
+        checkArgument(window > 0, "window must be positive");
+        this.maxEventsInWindow = maxEventsInWindow;
+        this.windowMillis = timeUnit.toMillis(window);
+        this.bucketMillis = Math.max(1, windowMillis / NUM_BUCKETS);
+    }
+
+    /**
+     * Records the event if the limit is not reached yet.
+     * @return true if the event was recorded, false if the limit is reached
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(System.currentTimeMillis());
+    }
+
+    public boolean tryAcquire(long now) {
+        long epoch = now / bucketMillis;
+        if (countInWindow(epoch) >= maxEventsInWindow) {
+            return false;
+        }
+        increment(epoch);
+        return true;
+    }
+
+    /**
+     * Records the event regardless of the limit.
+     * @return the number of events in the window including the recorded one
+     */
+    public int recordAndGetCount() {
+        return recordAndGetCount(System.currentTimeMillis());
+    }
+
+    public int recordAndGetCount(long now) {
+        long epoch = now / bucketMillis;
+        increment(epoch);
+        return countInWindow(epoch);
+    }
+
+    public int getCount() {
+        return getCount(System.currentTimeMillis());
+    }
+
+    public int getCount(long now) {
+        return countInWindow(now / bucketMillis);
+    }
+
+    public boolean isLimitReached() {
+        return getCount() >= maxEventsInWindow;
+    }
+
+    public double getRatePerSecond() {
+        return getCount() * 1000d / windowMillis;
+    }
+
+    public int getMaxEventsInWindow() {
+        return maxEventsInWindow;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    private void increment(long epoch) {
+        int index = (int) (epoch % NUM_BUCKETS);
+        while (true) {
+            long current = buckets.get(index);
+            long bucketEpoch = current >>> COUNT_BITS;
+            if (bucketEpoch > epoch) {
+                // Another thread already recycled the bucket for a later epoch, our event is outside the window.
+                return;
+            }
+            long count = bucketEpoch == epoch ? current & COUNT_MASK : 0;
+            long updated = (epoch << COUNT_BITS) | Math.min(count + 1, COUNT_MASK);
+            if (buckets.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private int countInWindow(long epoch) {
+        long oldestEpoch = epoch - NUM_BUCKETS + 1;
+        int count = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            long bucket = buckets.get(i);
+            long bucketEpoch = bucket >>> COUNT_BITS;
+            if (bucketEpoch >= oldestEpoch && bucketEpoch <= epoch) {
+                count += (int) (bucket & COUNT_MASK);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "RollingWindowRateLimiter{" +
+                "maxEventsInWindow=" + maxEventsInWindow +
+                ", windowMillis=" + windowMillis +
+                ", count=" + getCount() +
+                '}';
+    }
+}
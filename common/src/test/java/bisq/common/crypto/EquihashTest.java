@@ -82,6 +82,16 @@ public class EquihashTest {
         assertEquals(solution.toString(), roundTrippedSolution.toString());
     }
 
+    @Test
+    public void testFindSolutionWithNonceStep() {
+        Equihash equihash = new Equihash(90, 5, 2.0);
+        byte[] seed = new byte[32];
+        Solution solution = equihash.puzzle(seed).findSolution(1, 2, () -> false).orElseThrow();
+        assertTrue(solution.verify());
+
+        assertTrue(equihash.puzzle(seed).findSolution(0, 1, () -> true).isEmpty());
+    }
+
     @Test
     @Disabled
     public void benchmarkFindSolution() {
@@ -109,6 +119,25 @@ public class EquihashTest {
         System.out.println("Puzzle solution time per unit difficulty: " + duration.dividedBy(2000).toMillis() + " ms");
     }
 
+    @Test
+    @Disabled
+    public void benchmarkParallelMint() throws Exception {
+        // On a single core Intel Xeon VM ...
+        //
+        // Minting 10 tokens with difficulty 1.0e5 using 1 thread(s) took 637 ms per token
+        //
+        var service = new EquihashProofOfWorkService(1);
+        for (int numThreads = 1; numThreads <= Runtime.getRuntime().availableProcessors(); numThreads *= 2) {
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            for (int i = 0; i < 10; i++) {
+                service.mint(new byte[32], new byte[]{(byte) i}, 1.0e5, numThreads).get();
+            }
+            stopwatch.stop();
+            System.out.println("Minting 10 tokens with difficulty 1.0e5 using " + numThreads + " thread(s) took " +
+                    stopwatch.elapsed().dividedBy(10).toMillis() + " ms per token");
+        }
+    }
+
     @Test
     @Disabled
     public void benchmarkVerify() {
@@ -7,11 +7,16 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -43,6 +48,100 @@ public class HashCashServiceTest {
         assertEquals(1024, HashCashService.toNumLeadingZeros(Double.POSITIVE_INFINITY));
     }
 
+    @Test
+    public void testMintWithMultipleThreads() throws ExecutionException, InterruptedException {
+        HashCashService service = new HashCashService();
+        byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        for (int numThreads = 1; numThreads <= 4; numThreads++) {
+            for (int i = 0; i < 10; i++) {
+                byte[] challenge = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+                ProofOfWork proofOfWork = service.mint(payload, challenge, 256, numThreads).get();
+                assertTrue(service.verify(proofOfWork));
+            }
+        }
+    }
+
+    @Test
+    public void testCancelMint() throws ExecutionException, InterruptedException, TimeoutException {
+        HashCashService service = new HashCashService();
+        byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        byte[] challenge = "challenge".getBytes(StandardCharsets.UTF_8);
+
+        // Practically unsolvable, so the workers only stop through cancellation
+        CompletableFuture<ProofOfWork> future = service.mint(payload, challenge, Math.scalb(1.0, 100));
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+
+        // The cancelled workers must have released the minting pool for new requests
+        ProofOfWork proofOfWork = service.mint(payload, challenge, 16).get(10, TimeUnit.SECONDS);
+        assertTrue(service.verify(proofOfWork));
+    }
+
+    @Test
+    public void testVerificationResultIsCached() throws ExecutionException, InterruptedException {
+        AtomicInteger numVerifications = new AtomicInteger();
+        HashCashService service = new HashCashService() {
+            @Override
+            boolean verify(ProofOfWork proofOfWork) {
+                numVerifications.incrementAndGet();
+                return super.verify(proofOfWork);
+            }
+        };
+        byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        byte[] challenge = "challenge".getBytes(StandardCharsets.UTF_8);
+        ProofOfWork proofOfWork = service.mint(payload, challenge, 256).get();
+        // Same proof of work as received again from the network
+        ProofOfWork receivedAgain = new ProofOfWork(payload.clone(), proofOfWork.getCounter(), challenge.clone(),
+                proofOfWork.getDifficulty(), proofOfWork.getDuration(), proofOfWork.getSolution().clone(), 0);
+
+        assertTrue(service.verifyCached(proofOfWork));
+        assertTrue(service.verifyCached(receivedAgain));
+        assertEquals(1, numVerifications.get());
+
+        ProofOfWork otherCounter = new ProofOfWork(payload, proofOfWork.getCounter() + 1, challenge,
+                proofOfWork.getDifficulty(), proofOfWork.getDuration(), proofOfWork.getSolution(), 0);
+        service.verifyCached(otherCounter);
+        assertEquals(2, numVerifications.get());
+    }
+
+    @Test
+    @Disabled
+    public void benchmarkMint() throws ExecutionException, InterruptedException {
+        // On a single core Intel Xeon VM ...
+        //
+        // Minting 20 tokens with 8 leading zeros using 1 thread(s) took 9.7 ms per token, 0.04 MH/s.
+        // Minting 20 tokens with 12 leading zeros using 1 thread(s) took 7.0 ms per token, 0.84 MH/s.
+        // Minting 20 tokens with 16 leading zeros using 1 thread(s) took 26.6 ms per token, 5.20 MH/s.
+        //
+        // Low difficulties are dominated by the JIT warm-up and the hand-off to the minting pool,
+        // the hash rate scales with the number of threads up to the number of physical cores.
+        //
+        HashCashService service = new HashCashService();
+        byte[] payload = RandomStringUtils.random(50, true, true).getBytes(StandardCharsets.UTF_8);
+        StringBuilder stringBuilder = new StringBuilder();
+        int numTokens = 20;
+        for (int log2Difficulty = 8; log2Difficulty <= 16; log2Difficulty += 4) {
+            for (int numThreads = 1; numThreads <= Runtime.getRuntime().availableProcessors(); numThreads *= 2) {
+                long totalAttempts = 0;
+                long ts = System.nanoTime();
+                for (int i = 0; i < numTokens; i++) {
+                    byte[] challenge = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+                    ProofOfWork proofOfWork = service.mint(payload, challenge, Math.scalb(1.0, log2Difficulty), numThreads).get();
+                    // Counters are interleaved between the workers, so this approximates the total attempts
+                    totalAttempts += proofOfWork.getCounter();
+                }
+                double elapsedMs = (System.nanoTime() - ts) / 1e6;
+                stringBuilder.append("\nMinting ").append(numTokens)
+                        .append(" tokens with ").append(log2Difficulty)
+                        .append(" leading zeros using ").append(numThreads)
+                        .append(" thread(s) took ").append(String.format("%.1f", elapsedMs / numTokens))
+                        .append(" ms per token, ").append(String.format("%.2f", totalAttempts / elapsedMs / 1000))
+                        .append(" MH/s.");
+            }
+        }
+        log.info(stringBuilder.toString());
+    }
+
     // @Ignore
     @Test
     public void testDiffIncrease() throws ExecutionException, InterruptedException {
@@ -19,13 +19,20 @@ package bisq.core.api;
 
 import bisq.core.api.model.AddressBalanceInfo;
 import bisq.core.api.model.BalancesInfo;
+import bisq.core.api.model.OfferQuery;
+import bisq.core.api.model.OfferQueryResult;
 import bisq.core.api.model.TxFeeRateInfo;
 import bisq.core.btc.wallet.TxBroadcaster;
 import bisq.core.monetary.Price;
 import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
 import bisq.core.offer.OpenOffer;
 import bisq.core.payment.PaymentAccount;
 import bisq.core.payment.payload.PaymentMethod;
+import bisq.core.provider.price.MarketPrice;
+import bisq.core.provider.price.PriceFeedService;
+import bisq.core.support.dispute.refund.RefundPayoutBatchResult;
+import bisq.core.support.dispute.refund.RefundPayoutRequest;
 import bisq.core.trade.bisq_v1.TradeResultHandler;
 import bisq.core.trade.model.Tradable;
 import bisq.core.trade.model.TradeModel;
@@ -113,6 +120,11 @@ public class CoreApi {
         coreDisputeAgentsService.registerDisputeAgent(disputeAgentType, registrationKey);
     }
 
+    public void payoutRefundDisputes(List<RefundPayoutRequest> requests,
+                                     Consumer<RefundPayoutBatchResult> resultHandler) {
+        coreDisputeAgentsService.payoutRefundDisputes(requests, resultHandler);
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Help
@@ -170,6 +182,10 @@ public class CoreApi {
         return coreOffersService.getOffers(direction, currencyCode);
     }
 
+    public OfferQueryResult getOffers(OfferQuery query) {
+        return coreOffersService.getOffers(query);
+    }
+
     public List<OpenOffer> getMyOffers(String direction, String currencyCode) {
         return coreOffersService.getMyOffers(direction, currencyCode);
     }
@@ -178,6 +194,26 @@ public class CoreApi {
         return coreOffersService.getMyBsqSwapOffers(direction);
     }
 
+    public Optional<Offer> findOfferInOfferBook(String id) {
+        return coreOffersService.findOfferInOfferBook(id);
+    }
+
+    public void addOfferBookChangedListener(OfferBookService.OfferBookChangedListener listener) {
+        coreOffersService.addOfferBookChangedListener(listener);
+    }
+
+    public void removeOfferBookChangedListener(OfferBookService.OfferBookChangedListener listener) {
+        coreOffersService.removeOfferBookChangedListener(listener);
+    }
+
+    public void addOfferPricesChangedListener(OfferBookService.OfferPricesChangedListener listener) {
+        coreOffersService.addOfferPricesChangedListener(listener);
+    }
+
+    public void removeOfferPricesChangedListener(OfferBookService.OfferPricesChangedListener listener) {
+        coreOffersService.removeOfferPricesChangedListener(listener);
+    }
+
     public OpenOffer getMyOpenBsqSwapOffer(String id) {
         return coreOffersService.getMyOpenBsqSwapOffer(id);
     }
@@ -286,6 +322,22 @@ public class CoreApi {
         corePriceService.getMarketPrice(currencyCode, resultHandler);
     }
 
+    public Optional<MarketPrice> findMarketPrice(String currencyCode) {
+        return corePriceService.findMarketPrice(currencyCode);
+    }
+
+    public Set<String> getMarketPriceCurrencyCodes() {
+        return corePriceService.getMarketPriceCurrencyCodes();
+    }
+
+    public void addMarketPricesChangedListener(PriceFeedService.MarketPricesChangedListener listener) {
+        corePriceService.addMarketPricesChangedListener(listener);
+    }
+
+    public void removeMarketPricesChangedListener(PriceFeedService.MarketPricesChangedListener listener) {
+        corePriceService.removeMarketPricesChangedListener(listener);
+    }
+
     public Tuple2<Price, Price> getAverageBsqTradePrice(int days) {
         return corePriceService.getAverageBsqTradePrice(days);
     }
@@ -298,7 +350,7 @@ public class CoreApi {
                                  long intendedTradeAmount,
                                  TradeResultHandler<BsqSwapTrade> tradeResultHandler,
                                  ErrorMessageHandler errorMessageHandler) {
-        Offer bsqSwapOffer = coreOffersService.getBsqSwapOffer(offerId);
+        Offer bsqSwapOffer = coreOffersService.getBsqSwapOfferToTake(offerId);
         coreTradesService.takeBsqSwapOffer(bsqSwapOffer,
                 intendedTradeAmount,
                 tradeResultHandler,
@@ -311,7 +363,7 @@ public class CoreApi {
                           long intendedTradeAmount,
                           Consumer<Trade> resultHandler,
                           ErrorMessageHandler errorMessageHandler) {
-        Offer offer = coreOffersService.getOffer(offerId);
+        Offer offer = coreOffersService.getOfferToTake(offerId);
         coreTradesService.takeOffer(offer,
                 paymentAccountId,
                 takerFeeCurrencyCode,
@@ -348,6 +400,14 @@ public class CoreApi {
         return coreTradesService.getTradeHistory(category);
     }
 
+    public void addTradeEventListener(TradeEventListener tradeEventListener) {
+        coreTradesService.addTradeEventListener(tradeEventListener);
+    }
+
+    public void removeTradeEventListener(TradeEventListener tradeEventListener) {
+        coreTradesService.removeTradeEventListener(tradeEventListener);
+    }
+
     public String getTradeRole(TradeModel tradeModel) {
         return coreTradesService.getTradeRole(tradeModel);
     }
@@ -21,12 +21,16 @@ import bisq.core.api.exception.NotAvailableException;
 import bisq.core.support.SupportType;
 import bisq.core.support.dispute.mediation.mediator.Mediator;
 import bisq.core.support.dispute.mediation.mediator.MediatorManager;
+import bisq.core.support.dispute.refund.RefundPayoutBatchResult;
+import bisq.core.support.dispute.refund.RefundPayoutBatchService;
+import bisq.core.support.dispute.refund.RefundPayoutRequest;
 import bisq.core.support.dispute.refund.refundagent.RefundAgent;
 import bisq.core.support.dispute.refund.refundagent.RefundAgentManager;
 
 import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.P2PService;
 
+import bisq.common.UserThread;
 import bisq.common.app.DevEnv;
 import bisq.common.config.Config;
 import bisq.common.crypto.KeyRing;
@@ -40,6 +44,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -59,6 +64,7 @@ class CoreDisputeAgentsService {
     private final KeyRing keyRing;
     private final MediatorManager mediatorManager;
     private final RefundAgentManager refundAgentManager;
+    private final RefundPayoutBatchService refundPayoutBatchService;
     private final P2PService p2PService;
     private final NodeAddress nodeAddress;
     private final List<String> languageCodes;
@@ -68,11 +74,13 @@ class CoreDisputeAgentsService {
                                     KeyRing keyRing,
                                     MediatorManager mediatorManager,
                                     RefundAgentManager refundAgentManager,
+                                    RefundPayoutBatchService refundPayoutBatchService,
                                     P2PService p2PService) {
         this.config = config;
         this.keyRing = keyRing;
         this.mediatorManager = mediatorManager;
         this.refundAgentManager = refundAgentManager;
+        this.refundPayoutBatchService = refundPayoutBatchService;
         this.p2PService = p2PService;
         this.nodeAddress = new NodeAddress(getLoopbackAddress().getHostAddress(), config.nodePort);
         this.languageCodes = asList("de", "en", "es", "fr");
@@ -115,6 +123,17 @@ class CoreDisputeAgentsService {
         }
     }
 
+    void payoutRefundDisputes(List<RefundPayoutRequest> requests, Consumer<RefundPayoutBatchResult> resultHandler) {
+        if (requests.isEmpty())
+            throw new IllegalArgumentException("no payout requests");
+
+        if (refundAgentManager.getDisputeAgentByNodeAddress(p2PService.getAddress()).isEmpty())
+            throw new UnsupportedOperationException("only a registered refund agent can pay out refund disputes");
+
+        // The wallet and dispute state must only be accessed from the user thread
+        UserThread.execute(() -> refundPayoutBatchService.payoutTrades(requests, resultHandler));
+    }
+
     private void registerMediator(NodeAddress nodeAddress,
                                   List<String> languageCodes,
                                   ECKey ecKey,
@@ -17,7 +17,10 @@
 
 package bisq.core.api;
 
+import bisq.core.account.witness.AccountAgeWitnessService;
 import bisq.core.api.exception.NotFoundException;
+import bisq.core.api.model.OfferQuery;
+import bisq.core.api.model.OfferQueryResult;
 import bisq.core.monetary.Altcoin;
 import bisq.core.monetary.Price;
 import bisq.core.offer.Offer;
@@ -41,18 +44,26 @@ import org.bitcoinj.core.Coin;
 import org.bitcoinj.core.Transaction;
 import org.bitcoinj.utils.Fiat;
 
+import com.google.common.io.BaseEncoding;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import java.nio.charset.StandardCharsets;
+
 import java.math.BigDecimal;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -73,6 +84,7 @@ import static bisq.core.util.PriceUtil.getMarketPriceAsLong;
 import static bisq.proto.grpc.EditOfferRequest.EditType;
 import static bisq.proto.grpc.EditOfferRequest.EditType.FIXED_PRICE_AND_ACTIVATION_STATE;
 import static bisq.proto.grpc.EditOfferRequest.EditType.FIXED_PRICE_ONLY;
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
@@ -81,8 +93,7 @@ import static java.util.Objects.requireNonNull;
 @Slf4j
 class CoreOffersService {
 
-    private final Supplier<Comparator<Offer>> priceComparator = () ->
-            comparing(Offer::getPrice);
+    private static final String CURSOR_PREFIX = "v1:";
 
     private final Supplier<Comparator<OpenOffer>> openOfferPriceComparator = () ->
             comparing(openOffer -> openOffer.getOffer().getPrice());
@@ -92,6 +103,7 @@ class CoreOffersService {
 
     private final CoreContext coreContext;
     private final KeyRing keyRing;
+    private final AccountAgeWitnessService accountAgeWitnessService;
     // Dependencies on core api services in this package must be kept to an absolute
     // minimum, but some trading functions require an unlocked wallet's key, so an
     // exception is made in this case.
@@ -108,6 +120,7 @@ class CoreOffersService {
     @Inject
     public CoreOffersService(CoreContext coreContext,
                              KeyRing keyRing,
+                             AccountAgeWitnessService accountAgeWitnessService,
                              CoreWalletsService coreWalletsService,
                              CreateOfferService createOfferService,
                              OfferBookService offerBookService,
@@ -119,6 +132,7 @@ class CoreOffersService {
                              User user) {
         this.coreContext = coreContext;
         this.keyRing = keyRing;
+        this.accountAgeWitnessService = accountAgeWitnessService;
         this.coreWalletsService = coreWalletsService;
         this.createOfferService = createOfferService;
         this.offerBookService = offerBookService;
@@ -150,9 +164,13 @@ class CoreOffersService {
                 new NotFoundException(format("offer with id '%s' not found", id)));
     }
 
+    // Taking an offer changes its state, so takers get a copy of the offer book's shared instance
+    Offer getOfferToTake(String id) {
+        return offerBookService.copyOf(getOffer(id));
+    }
+
     Optional<Offer> findAvailableOffer(String id) {
-        return offerBookService.getOffers().stream()
-                .filter(o -> o.getId().equals(id))
+        return offerBookService.findOffer(id)
                 .filter(o -> !o.isMyOffer(keyRing))
                 .filter(o -> offerFilterService.canTakeOffer(o, coreContext.isApiUser()).isValid())
                 .findAny();
@@ -175,13 +193,15 @@ class CoreOffersService {
                 new NotFoundException(format("offer with id '%s' not found", id)));
     }
 
+    Offer getBsqSwapOfferToTake(String id) {
+        return offerBookService.copyOf(getBsqSwapOffer(id));
+    }
+
     Optional<Offer> findAvailableBsqSwapOffer(String id) {
-        return offerBookService.getOffers().stream()
-                .filter(o -> o.getId().equals(id))
+        return offerBookService.findOffer(id)
                 .filter(o -> !o.isMyOffer(keyRing))
                 .filter(o -> offerFilterService.canTakeOffer(o, coreContext.isApiUser()).isValid())
-                .filter(Offer::isBsqSwapOffer)
-                .findAny();
+                .filter(Offer::isBsqSwapOffer);
     }
 
     Offer getMyBsqSwapOffer(String id) {
@@ -190,19 +210,15 @@ class CoreOffersService {
     }
 
     Optional<Offer> findMyBsqSwapOffer(String id) {
-        return offerBookService.getOffers().stream()
-                .filter(o -> o.getId().equals(id))
+        return offerBookService.findOffer(id)
                 .filter(o -> o.isMyOffer(keyRing))
-                .filter(Offer::isBsqSwapOffer)
-                .findAny();
+                .filter(Offer::isBsqSwapOffer);
     }
 
     List<Offer> getBsqSwapOffers(String direction) {
-        return offerBookService.getOffers().stream()
+        return getOffersSortedByPrice(direction, "BSQ", false).stream()
                 .filter(o -> !o.isMyOffer(keyRing))
-                .filter(o -> o.getDirection().name().equalsIgnoreCase(direction))
                 .filter(Offer::isBsqSwapOffer)
-                .sorted(priceComparator(direction, false))
                 .collect(Collectors.toList());
     }
 
@@ -210,27 +226,91 @@ class CoreOffersService {
         var upperCaseCurrencyCode = currencyCode.toUpperCase();
         var isFiat = isFiatCurrency(upperCaseCurrencyCode);
         if (isFiat) {
-            return offerBookService.getOffers().stream()
-                    .filter(o -> offerMatchesDirectionAndCurrency(o, direction, upperCaseCurrencyCode))
-                    .sorted(priceComparator(direction, true))
-                    .collect(Collectors.toList());
+            return getOffersSortedByPrice(direction, upperCaseCurrencyCode, true);
         } else {
             // In fiat offers, the baseCurrencyCode=BTC, counterCurrencyCode=FiatCode.
             // In altcoin offers, baseCurrencyCode=AltcoinCode, counterCurrencyCode=BTC.
             // This forces an extra filtering step below:  get all BTC offers,
             // then filter on the currencyCode param (the altcoin code).
             if (apiSupportsCryptoCurrency(upperCaseCurrencyCode))
-                return offerBookService.getOffers().stream()
-                        .filter(o -> offerMatchesDirectionAndCurrency(o, direction, "BTC"))
-                        .filter(o -> o.getBaseCurrencyCode().equalsIgnoreCase(upperCaseCurrencyCode))
-                        .sorted(priceComparator(direction, false))
-                        .collect(Collectors.toList());
+                return getOffersSortedByPrice(direction, upperCaseCurrencyCode, false);
             else
                 throw new IllegalArgumentException(
                         format("api does not support the '%s' crypto currency", upperCaseCurrencyCode));
         }
     }
 
+    /**
+     * Evaluates the query against the price sorted offers of the market. The filters get applied lazily, cheapest
+     * first, so the checks of the maker's account and of our ability to take the offer only run for offers which
+     * passed the other filters, and stop at the first matching offer after the requested page.
+     * <p>
+     * The cursor points to the last offer of the previous page. If that offer got removed in the meantime we
+     * continue at its price. As the prices of market based offers change with the market price, paging through a
+     * market with a cursor does not give a consistent snapshot.
+     */
+    OfferQueryResult getOffers(OfferQuery query) {
+        checkArgument(query.getOffset() >= 0, "offset must not be negative");
+        checkArgument(query.getLimit() >= 0, "limit must not be negative");
+        var upperCaseCurrencyCode = query.getCurrencyCode().toUpperCase();
+        var isFiat = isFiatCurrency(upperCaseCurrencyCode);
+        if (!isFiat && !apiSupportsCryptoCurrency(upperCaseCurrencyCode)) {
+            throw new IllegalArgumentException(
+                    format("api does not support the '%s' crypto currency", upperCaseCurrencyCode));
+        }
+
+        List<Offer> offers = getOffersSortedByPrice(query.getDirection(), upperCaseCurrencyCode, isFiat);
+        boolean isDescending = isFiat ?
+                query.getDirection().equalsIgnoreCase(BUY.name()) :
+                query.getDirection().equalsIgnoreCase(SELL.name());
+        int fromIndex = query.getCursor().isEmpty() ? 0 : getIndexAfterCursor(offers, query.getCursor(), isDescending);
+
+        // Cheap filters on the offer payload and the price of the offer book index
+        Stream<Offer> stream = offers.subList(fromIndex, offers.size()).stream();
+        if (!query.getPaymentMethodId().isEmpty()) {
+            stream = stream.filter(o -> o.getPaymentMethod().getId().equals(query.getPaymentMethodId()));
+        }
+        if (query.getMinAmount() > 0) {
+            stream = stream.filter(o -> o.getAmount().value >= query.getMinAmount());
+        }
+        if (query.getMaxAmount() > 0) {
+            stream = stream.filter(o -> o.getMinAmount().value <= query.getMaxAmount());
+        }
+        if (!query.getMinPrice().isEmpty()) {
+            long minPrice = priceStringToLong(query.getMinPrice(), upperCaseCurrencyCode);
+            stream = stream.filter(o -> getPriceAsLong(o) >= minPrice);
+        }
+        if (!query.getMaxPrice().isEmpty()) {
+            long maxPrice = priceStringToLong(query.getMaxPrice(), upperCaseCurrencyCode);
+            stream = stream.filter(o -> getPriceAsLong(o) <= maxPrice);
+        }
+
+        // Expensive filters which look up the maker's witness or our payment accounts
+        if (query.getMinMakerAccountAgeDays() > 0) {
+            long minAccountAge = TimeUnit.DAYS.toMillis(query.getMinMakerAccountAgeDays());
+            stream = stream.filter(o -> accountAgeWitnessService.getAccountAge(o) >= minAccountAge);
+        }
+        if (query.isOnlySignedMakers()) {
+            stream = stream.filter(accountAgeWitnessService::hasSignedWitness);
+        }
+        if (query.isOnlyTakeable()) {
+            stream = stream.filter(o -> !o.isMyOffer(keyRing))
+                    .filter(o -> offerFilterService.canTakeOffer(o, coreContext.isApiUser()).isValid());
+        }
+
+        stream = stream.skip(query.getOffset());
+        if (query.getLimit() > 0) {
+            // We read one offer beyond the page to know if there is a next page
+            stream = stream.limit(query.getLimit() + 1L);
+        }
+        List<Offer> result = stream.collect(Collectors.toList());
+        if (query.getLimit() > 0 && result.size() > query.getLimit()) {
+            List<Offer> page = new ArrayList<>(result.subList(0, query.getLimit()));
+            return new OfferQueryResult(page, toCursor(page.get(page.size() - 1)));
+        }
+        return new OfferQueryResult(result, "");
+    }
+
     List<OpenOffer> getMyOffers(String direction, String currencyCode) {
         var upperCaseCurrencyCode = currencyCode.toUpperCase();
         var isFiat = isFiatCurrency(upperCaseCurrencyCode);
@@ -259,14 +339,33 @@ class CoreOffersService {
     }
 
     List<Offer> getMyBsqSwapOffers(String direction) {
-        return offerBookService.getOffers().stream()
+        return getOffersSortedByPrice(direction, "BSQ", false).stream()
                 .filter(o -> o.isMyOffer(keyRing))
-                .filter(o -> o.getDirection().name().equalsIgnoreCase(direction))
                 .filter(Offer::isBsqSwapOffer)
-                .sorted(priceComparator(direction, false))
                 .collect(Collectors.toList());
     }
 
+    // The offer instance of the offer book, also if it is our own or we cannot take it
+    Optional<Offer> findOfferInOfferBook(String id) {
+        return offerBookService.findOffer(id);
+    }
+
+    void addOfferBookChangedListener(OfferBookService.OfferBookChangedListener listener) {
+        offerBookService.addOfferBookChangedListener(listener);
+    }
+
+    void removeOfferBookChangedListener(OfferBookService.OfferBookChangedListener listener) {
+        offerBookService.removeOfferBookChangedListener(listener);
+    }
+
+    void addOfferPricesChangedListener(OfferBookService.OfferPricesChangedListener listener) {
+        offerBookService.addOfferPricesChangedListener(listener);
+    }
+
+    void removeOfferPricesChangedListener(OfferBookService.OfferPricesChangedListener listener) {
+        offerBookService.removeOfferPricesChangedListener(listener);
+    }
+
     OpenOffer getMyOpenBsqSwapOffer(String id) {
         return openOfferManager.getOpenOfferById(id)
                 .filter(open -> open.getOffer().isMyOffer(keyRing))
@@ -526,6 +625,64 @@ class CoreOffersService {
         return isDirectionMatch && isCurrencyMatch;
     }
 
+    // The offer book keeps the offers of each market sorted by ascending price.
+    // A buyer probably wants to see sell orders in price ascending order.
+    // A seller probably wants to see buy orders in price descending order.
+    private List<Offer> getOffersSortedByPrice(String direction, String currencyCode, boolean isFiat) {
+        OfferDirection offerDirection;
+        try {
+            offerDirection = OfferDirection.valueOf(direction.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return new ArrayList<>();
+        }
+        List<Offer> offers = offerBookService.getOffers(currencyCode, offerDirection);
+        boolean isDescending = isFiat ? offerDirection == BUY : offerDirection == SELL;
+        if (isDescending) {
+            Collections.reverse(offers);
+        }
+        return offers;
+    }
+
+    // Offers without price are at the end of the market
+    private long getPriceAsLong(Offer offer) {
+        Price price = offerBookService.getPrice(offer);
+        return price != null ? price.getValue() : Long.MAX_VALUE;
+    }
+
+    private String toCursor(Offer offer) {
+        String cursor = CURSOR_PREFIX + getPriceAsLong(offer) + ":" + offer.getId();
+        return BaseEncoding.base64Url().omitPadding().encode(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int getIndexAfterCursor(List<Offer> offers, String cursor, boolean isDescending) {
+        String offerId;
+        long price;
+        try {
+            String decoded = new String(BaseEncoding.base64Url().omitPadding().decode(cursor), StandardCharsets.UTF_8);
+            checkArgument(decoded.startsWith(CURSOR_PREFIX));
+            String[] tokens = decoded.substring(CURSOR_PREFIX.length()).split(":", 2);
+            price = Long.parseLong(tokens[0]);
+            offerId = tokens[1];
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(format("invalid cursor '%s'", cursor));
+        }
+
+        for (int i = 0; i < offers.size(); i++) {
+            if (offers.get(i).getId().equals(offerId)) {
+                return i + 1;
+            }
+        }
+        // The offer of the cursor is gone, so we continue with the first offer not before its price. That might
+        // repeat offers with the same price, but does not skip any.
+        for (int i = 0; i < offers.size(); i++) {
+            long offerPrice = getPriceAsLong(offers.get(i));
+            if (isDescending ? offerPrice <= price : offerPrice >= price) {
+                return i;
+            }
+        }
+        return offers.size();
+    }
+
     private Comparator<OpenOffer> openOfferPriceComparator(String direction, boolean isFiat) {
         // A buyer probably wants to see sell orders in price ascending order.
         // A seller probably wants to see buy orders in price descending order.
@@ -539,19 +696,6 @@ class CoreOffersService {
                     : openOfferPriceComparator.get();
     }
 
-    private Comparator<Offer> priceComparator(String direction, boolean isFiat) {
-        // A buyer probably wants to see sell orders in price ascending order.
-        // A seller probably wants to see buy orders in price descending order.
-        if (isFiat)
-            return direction.equalsIgnoreCase(BUY.name())
-                    ? priceComparator.get().reversed()
-                    : priceComparator.get();
-        else
-            return direction.equalsIgnoreCase(SELL.name())
-                    ? priceComparator.get().reversed()
-                    : priceComparator.get();
-    }
-
 
     private long priceStringToLong(String priceAsString, String currencyCode) {
         int precision = isCryptoCurrency(currencyCode) ? Altcoin.SMALLEST_UNIT_EXPONENT : Fiat.SMALLEST_UNIT_EXPONENT;
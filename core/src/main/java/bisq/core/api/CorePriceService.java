@@ -19,6 +19,7 @@ package bisq.core.api;
 
 import bisq.core.api.exception.NotAvailableException;
 import bisq.core.monetary.Price;
+import bisq.core.provider.price.MarketPrice;
 import bisq.core.provider.price.PriceFeedService;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 import bisq.core.user.Preferences;
@@ -29,6 +30,8 @@ import bisq.common.util.Tuple2;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -91,6 +94,23 @@ class CorePriceService {
                 log::warn);
     }
 
+    Optional<MarketPrice> findMarketPrice(String currencyCode) {
+        return Optional.ofNullable(priceFeedService.getMarketPrice(currencyCode.toUpperCase()))
+                .filter(MarketPrice::isPriceAvailable);
+    }
+
+    Set<String> getMarketPriceCurrencyCodes() {
+        return priceFeedService.getMarketPriceCurrencyCodes();
+    }
+
+    void addMarketPricesChangedListener(PriceFeedService.MarketPricesChangedListener listener) {
+        priceFeedService.addMarketPricesChangedListener(listener);
+    }
+
+    void removeMarketPricesChangedListener(PriceFeedService.MarketPricesChangedListener listener) {
+        priceFeedService.removeMarketPricesChangedListener(listener);
+    }
+
     Tuple2<Price, Price> getAverageBsqTradePrice(int days) {
         Tuple2<Price, Price> prices = AveragePriceUtil.getAveragePriceTuple(preferences, tradeStatisticsManager, days);
         if (prices.first.getValue() == 0 || prices.second.getValue() == 0)
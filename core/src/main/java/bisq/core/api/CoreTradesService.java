@@ -52,9 +52,16 @@ import org.bitcoinj.core.Coin;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import javafx.beans.value.ChangeListener;
+
+import javafx.collections.ListChangeListener;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -86,6 +93,10 @@ class CoreTradesService {
     private final TradeManager tradeManager;
     private final TradeUtil tradeUtil;
     private final User user;
+    private final List<TradeEventListener> tradeEventListeners = new CopyOnWriteArrayList<>();
+    // Only accessed from the user thread, like the observable lists of the trades
+    private final Map<String, ChangeListener<Trade.State>> tradeStateListeners = new HashMap<>();
+    private boolean isObservingTrades;
 
     @Inject
     public CoreTradesService(CoreContext coreContext,
@@ -393,6 +404,21 @@ class CoreTradesService {
         return closedTradableFormatter.getStateAsString(tradable);
     }
 
+    // Must be called on the user thread, as we add listeners to the observable lists of the trades
+    void addTradeEventListener(TradeEventListener tradeEventListener) {
+        coreWalletsService.verifyWalletsAreAvailable();
+        coreWalletsService.verifyEncryptedWalletIsUnlocked();
+        if (!isObservingTrades) {
+            isObservingTrades = true;
+            observeTrades();
+        }
+        tradeEventListeners.add(tradeEventListener);
+    }
+
+    void removeTradeEventListener(TradeEventListener tradeEventListener) {
+        tradeEventListeners.remove(tradeEventListener);
+    }
+
     private Optional<Trade> getOpenTrade(String tradeId) {
         return tradeManager.getTradeById(tradeId);
     }
@@ -402,6 +428,40 @@ class CoreTradesService {
         return tradable.filter((t) -> t instanceof Trade).map(value -> (Trade) value);
     }
 
+    // We only start observing the trades with the first listener, as only API subscriptions need it
+    private void observeTrades() {
+        tradeManager.getObservableList().forEach(this::observeTradeState);
+        tradeManager.getObservableList().addListener((ListChangeListener<Trade>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(trade -> {
+                    ChangeListener<Trade.State> tradeStateListener = tradeStateListeners.remove(trade.getId());
+                    if (tradeStateListener != null) {
+                        trade.stateProperty().removeListener(tradeStateListener);
+                    }
+                    tradeEventListeners.forEach(listener -> listener.onTradeRemoved(trade));
+                });
+                change.getAddedSubList().forEach(trade -> {
+                    observeTradeState(trade);
+                    tradeEventListeners.forEach(listener -> listener.onTradeAdded(trade));
+                });
+            }
+        });
+        // BSQ swap trades are completed when they get added
+        bsqSwapTradeManager.getObservableList().addListener((ListChangeListener<BsqSwapTrade>) change -> {
+            while (change.next()) {
+                change.getAddedSubList().forEach(bsqSwapTrade ->
+                        tradeEventListeners.forEach(listener -> listener.onTradeAdded(bsqSwapTrade)));
+            }
+        });
+    }
+
+    private void observeTradeState(Trade trade) {
+        ChangeListener<Trade.State> tradeStateListener = (observable, oldValue, newValue) ->
+                tradeEventListeners.forEach(listener -> listener.onTradeStateChanged(trade));
+        trade.stateProperty().addListener(tradeStateListener);
+        tradeStateListeners.put(trade.getId(), tradeStateListener);
+    }
+
     private boolean isFollowingBuyerProtocol(Trade trade) {
         return tradeManager.getTradeProtocol(trade) instanceof BuyerProtocol;
     }
@@ -64,15 +64,14 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.ListeningExecutorService;
 
 import org.bouncycastle.crypto.params.KeyParameter;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -212,30 +211,26 @@ class CoreWalletsService {
         if (!unusedAddressExists)
             btcWalletService.getFreshAddressEntry();
 
-        List<String> addressStrings = btcWalletService
-                .getAvailableAddressEntries()
-                .stream()
-                .map(AddressEntry::getAddressString)
-                .collect(Collectors.toList());
+        List<AddressEntry> addressEntries = new ArrayList<>(btcWalletService.getAvailableAddressEntries());
 
-        // getAddressBalance is memoized, because we'll map it over addresses twice.
-        // To get the balances, we'll be using .getUnchecked, because we know that
-        // this::getAddressBalance cannot return null.
-        var balances = memoize(this::getAddressBalance);
+        // We take one snapshot of the address balances, because we'll look them up over the addresses twice.
+        Map<Address, Coin> balancesByAddress = btcWalletService.getBalancesByAddress();
+        Function<AddressEntry, Long> balance = addressEntry ->
+                balancesByAddress.getOrDefault(addressEntry.getAddress(), Coin.ZERO).value;
 
-        boolean noAddressHasZeroBalance = addressStrings.stream()
-                .allMatch(addressString -> balances.getUnchecked(addressString) != 0);
+        boolean noAddressHasZeroBalance = addressEntries.stream()
+                .allMatch(addressEntry -> balance.apply(addressEntry) != 0);
 
         if (noAddressHasZeroBalance) {
             var newZeroBalanceAddress = btcWalletService.getFreshAddressEntry();
-            addressStrings.add(newZeroBalanceAddress.getAddressString());
+            addressEntries.add(newZeroBalanceAddress);
         }
 
-        return addressStrings.stream().map(address ->
-                        new AddressBalanceInfo(address,
-                                balances.getUnchecked(address),
-                                getNumConfirmationsForMostRecentTransaction(address),
-                                btcWalletService.isAddressUnused(getAddressEntry(address).getAddress())))
+        return addressEntries.stream().map(addressEntry ->
+                        new AddressBalanceInfo(addressEntry.getAddressString(),
+                                balance.apply(addressEntry),
+                                getNumConfirmationsForMostRecentTransaction(addressEntry.getAddressString()),
+                                btcWalletService.isAddressUnused(addressEntry.getAddress())))
                 .collect(Collectors.toList());
     }
 
@@ -632,10 +627,7 @@ class CoreWalletsService {
     }
 
     private AddressEntry getAddressEntry(String addressString) {
-        Optional<AddressEntry> addressEntry =
-                btcWalletService.getAddressEntryListAsImmutableList().stream()
-                        .filter(e -> addressString.equals(e.getAddressString()))
-                        .findFirst();
+        Optional<AddressEntry> addressEntry = btcWalletService.getAddressEntryByAddress(addressString);
 
         if (addressEntry.isEmpty())
             throw new NotFoundException(format("address %s not found in wallet", addressString));
@@ -662,18 +654,4 @@ class CoreWalletsService {
                             ex.getMessage().toLowerCase()));
         }
     }
-
-    /**
-     * Memoization stores the results of expensive function calls and returns
-     * the cached result when the same input occurs again.
-     *
-     * Resulting LoadingCache is used by calling `.get(input I)` or
-     * `.getUnchecked(input I)`, depending on whether `f` can return null.
-     * That's because CacheLoader throws an exception on null output from `f`.
-     */
-    private static <I, O> LoadingCache<I, O> memoize(Function<I, O> f) {
-        // f::apply is used, because Guava 20.0 Function doesn't yet extend
-        // Java Function.
-        return CacheBuilder.newBuilder().build(CacheLoader.from(f::apply));
-    }
 }
@@ -0,0 +1,71 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.api.model;
+
+import bisq.core.api.model.builder.OfferQueryBuilder;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The filters, paging and sort direction of a query of the offer book. Empty strings and zero values mean that
+ * the filter is not applied.
+ */
+@EqualsAndHashCode
+@ToString
+@Getter
+public class OfferQuery {
+    private final String direction;
+    private final String currencyCode;
+    private final String paymentMethodId;
+    // Prices are given as decimal strings in the same format as the prices of the OfferInfo.
+    private final String minPrice;
+    private final String maxPrice;
+    // Amounts are in satoshis. An offer matches if any amount it can be taken with is inside the range.
+    private final long minAmount;
+    private final long maxAmount;
+    private final int minMakerAccountAgeDays;
+    private final boolean onlySignedMakers;
+    private final boolean onlyTakeable;
+    private final int offset;
+    private final int limit;
+    private final String cursor;
+
+    public OfferQuery(OfferQueryBuilder builder) {
+        this.direction = builder.getDirection();
+        this.currencyCode = builder.getCurrencyCode();
+        this.paymentMethodId = builder.getPaymentMethodId();
+        this.minPrice = builder.getMinPrice();
+        this.maxPrice = builder.getMaxPrice();
+        this.minAmount = builder.getMinAmount();
+        this.maxAmount = builder.getMaxAmount();
+        this.minMakerAccountAgeDays = builder.getMinMakerAccountAgeDays();
+        this.onlySignedMakers = builder.isOnlySignedMakers();
+        this.onlyTakeable = builder.isOnlyTakeable();
+        this.offset = builder.getOffset();
+        this.limit = builder.getLimit();
+        this.cursor = builder.getCursor();
+    }
+
+    public static OfferQueryBuilder builder(String direction, String currencyCode) {
+        return new OfferQueryBuilder()
+                .withDirection(direction)
+                .withCurrencyCode(currencyCode);
+    }
+}
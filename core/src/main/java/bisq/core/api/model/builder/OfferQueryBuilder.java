@@ -0,0 +1,113 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.api.model.builder;
+
+import bisq.core.api.model.OfferQuery;
+
+import lombok.Getter;
+
+/*
+ * A builder helps avoid bungling use of the large OfferQuery constructor argument list,
+ * which has several consecutive arguments of the same type.
+ */
+@Getter
+public final class OfferQueryBuilder {
+
+    private String direction = "";
+    private String currencyCode = "";
+    private String paymentMethodId = "";
+    private String minPrice = "";
+    private String maxPrice = "";
+    private long minAmount;
+    private long maxAmount;
+    private int minMakerAccountAgeDays;
+    private boolean onlySignedMakers;
+    private boolean onlyTakeable;
+    private int offset;
+    private int limit;
+    private String cursor = "";
+
+    public OfferQueryBuilder withDirection(String direction) {
+        this.direction = direction;
+        return this;
+    }
+
+    public OfferQueryBuilder withCurrencyCode(String currencyCode) {
+        this.currencyCode = currencyCode;
+        return this;
+    }
+
+    public OfferQueryBuilder withPaymentMethodId(String paymentMethodId) {
+        this.paymentMethodId = paymentMethodId;
+        return this;
+    }
+
+    public OfferQueryBuilder withMinPrice(String minPrice) {
+        this.minPrice = minPrice;
+        return this;
+    }
+
+    public OfferQueryBuilder withMaxPrice(String maxPrice) {
+        this.maxPrice = maxPrice;
+        return this;
+    }
+
+    public OfferQueryBuilder withMinAmount(long minAmount) {
+        this.minAmount = minAmount;
+        return this;
+    }
+
+    public OfferQueryBuilder withMaxAmount(long maxAmount) {
+        this.maxAmount = maxAmount;
+        return this;
+    }
+
+    public OfferQueryBuilder withMinMakerAccountAgeDays(int minMakerAccountAgeDays) {
+        this.minMakerAccountAgeDays = minMakerAccountAgeDays;
+        return this;
+    }
+
+    public OfferQueryBuilder withOnlySignedMakers(boolean onlySignedMakers) {
+        this.onlySignedMakers = onlySignedMakers;
+        return this;
+    }
+
+    public OfferQueryBuilder withOnlyTakeable(boolean onlyTakeable) {
+        this.onlyTakeable = onlyTakeable;
+        return this;
+    }
+
+    public OfferQueryBuilder withOffset(int offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    public OfferQueryBuilder withLimit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public OfferQueryBuilder withCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    public OfferQuery build() {
+        return new OfferQuery(this);
+    }
+}
@@ -17,6 +17,7 @@
 
 package bisq.core.app;
 
+import bisq.core.btc.WalletBalanceSnapshotService;
 import bisq.core.btc.setup.WalletsSetup;
 import bisq.core.btc.wallet.BsqWalletService;
 import bisq.core.btc.wallet.BtcWalletService;
@@ -260,6 +261,7 @@ public abstract class BisqExecutable implements GracefulShutDownHandler, BisqSet
             injector.getInstance(OpenOfferManager.class).shutDown(() -> {
                 log.info("OpenOfferManager shutdown completed");
 
+                injector.getInstance(WalletBalanceSnapshotService.class).persistSnapshot();
                 injector.getInstance(BtcWalletService.class).shutDown();
                 injector.getInstance(BsqWalletService.class).shutDown();
 
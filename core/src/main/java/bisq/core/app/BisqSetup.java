@@ -26,6 +26,7 @@ import bisq.core.alert.PrivateNotificationManager;
 import bisq.core.alert.PrivateNotificationPayload;
 import bisq.core.btc.model.AddressEntry;
 import bisq.core.btc.nodes.LocalBitcoinNode;
+import bisq.core.btc.setup.WalletConfig;
 import bisq.core.btc.setup.WalletsSetup;
 import bisq.core.btc.wallet.BtcWalletService;
 import bisq.core.btc.wallet.WalletsManager;
@@ -216,6 +217,8 @@ public class BisqSetup {
     @SuppressWarnings("FieldCanBeLocal")
     private MonadicBinding<Boolean> p2pNetworkAndWalletInitialized;
     private final List<BisqSetupListener> bisqSetupListeners = new ArrayList<>();
+    @Getter
+    private final StartupPhaseTimings startupPhaseTimings = new StartupPhaseTimings();
 
     @Inject
     public BisqSetup(DomainInitialisation domainInitialisation,
@@ -315,6 +318,7 @@ public class BisqSetup {
             return;
         }
 
+        startupPhaseTimings.start(StartupPhaseTimings.Phase.TOTAL);
         persistBisqVersion();
         maybeReSyncSPVChain();
         maybeShowTac(this::step2);
@@ -331,9 +335,14 @@ public class BisqSetup {
     }
 
     private void step4() {
+        startupPhaseTimings.start(StartupPhaseTimings.Phase.DOMAIN_SERVICES);
         initDomainServices();
+        startupPhaseTimings.complete(StartupPhaseTimings.Phase.DOMAIN_SERVICES);
 
         bisqSetupListeners.forEach(BisqSetupListener::onSetupComplete);
+        recordWalletStartupPhases();
+        startupPhaseTimings.complete(StartupPhaseTimings.Phase.TOTAL);
+        log.info("Startup phase durations: {}", startupPhaseTimings);
 
         // We set that after calling the setupCompleteHandler to not trigger a popup from the dev dummy accounts
         // in MainViewModel
@@ -410,6 +419,7 @@ public class BisqSetup {
         }, STARTUP_TIMEOUT_MINUTES, TimeUnit.MINUTES);
 
         log.info("Init P2P network");
+        startupPhaseTimings.start(StartupPhaseTimings.Phase.P2P_NETWORK_AND_WALLETS);
         bisqSetupListeners.forEach(BisqSetupListener::onInitP2pNetwork);
         p2pNetworkReady = p2PNetworkSetup.init(this::initWallet, displayTorNetworkSettingsHandler);
 
@@ -429,6 +439,7 @@ public class BisqSetup {
         p2pNetworkAndWalletInitialized.subscribe((observable, oldValue, newValue) -> {
             if (newValue) {
                 startupTimeout.stop();
+                startupPhaseTimings.complete(StartupPhaseTimings.Phase.P2P_NETWORK_AND_WALLETS);
                 walletInitialized.removeListener(walletInitializedListener);
                 if (displayTorNetworkSettingsHandler != null)
                     displayTorNetworkSettingsHandler.accept(false);
@@ -479,6 +490,16 @@ public class BisqSetup {
                 () -> walletInitialized.set(true));
     }
 
+    private void recordWalletStartupPhases() {
+        startupPhaseTimings.record(StartupPhaseTimings.Phase.WALLETS_SETUP, walletsSetup.getWalletsSetupDuration());
+        WalletConfig walletConfig = walletsSetup.getWalletConfig();
+        if (walletConfig != null) {
+            startupPhaseTimings.record(StartupPhaseTimings.Phase.BTC_WALLET_LOAD, walletConfig.getBtcWalletLoadDuration());
+            startupPhaseTimings.record(StartupPhaseTimings.Phase.BSQ_WALLET_LOAD, walletConfig.getBsqWalletLoadDuration());
+            startupPhaseTimings.record(StartupPhaseTimings.Phase.BLOCK_STORE_LOAD, walletConfig.getBlockStoreLoadDuration());
+        }
+    }
+
     private void initDomainServices() {
         log.info("initDomainServices");
 
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.app;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Durations in ms of the startup phases, exposed by {@link BisqSetup} to find out where a slow startup spent its time.
+ */
+@ThreadSafe
+public class StartupPhaseTimings {
+    public enum Phase {
+        // From BisqSetup.start until the setup is complete, including the time waiting for user input
+        TOTAL,
+        // Until both the P2P network and the wallets are initialized
+        P2P_NETWORK_AND_WALLETS,
+        // From the start of the wallets setup until the wallets and the chain are loaded
+        WALLETS_SETUP,
+        BTC_WALLET_LOAD,
+        // Only the time we had to wait for the BSQ wallet after the BTC wallet was loaded
+        BSQ_WALLET_LOAD,
+        BLOCK_STORE_LOAD,
+        DOMAIN_SERVICES
+    }
+
+    private final Map<Phase, Long> startTimeByPhase = new EnumMap<>(Phase.class);
+    private final Map<Phase, Long> durationByPhase = new EnumMap<>(Phase.class);
+
+    public synchronized void start(Phase phase) {
+        startTimeByPhase.put(phase, System.currentTimeMillis());
+    }
+
+    public synchronized void complete(Phase phase) {
+        Long startTime = startTimeByPhase.remove(phase);
+        if (startTime != null) {
+            durationByPhase.put(phase, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    public synchronized void record(Phase phase, long duration) {
+        durationByPhase.put(phase, duration);
+    }
+
+    public synchronized Map<Phase, Long> getDurations() {
+        return new EnumMap<>(durationByPhase);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return durationByPhase.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue() + " ms")
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc;
+
+import lombok.Value;
+
+/**
+ * The wallet balances in satoshis at the time of the last shutdown, see {@link WalletBalanceSnapshotService}.
+ */
+@Value
+public class WalletBalanceSnapshot {
+    static final int VERSION = 1;
+
+    int version;
+    long date;
+
+    long availableBalance;
+    long reservedBalance;
+    long lockedBalance;
+
+    long bsqAvailableBalance;
+    long bsqAvailableNonBsqBalance;
+    long bsqUnverifiedBalance;
+    long bsqUnconfirmedChangeBalance;
+    long bsqLockedForVotingBalance;
+    long bsqLockupBondsBalance;
+    long bsqUnlockingBondsBalance;
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc;
+
+import bisq.core.btc.wallet.BsqWalletService;
+import bisq.core.btc.wallet.WalletsManager;
+
+import bisq.common.config.Config;
+import bisq.common.file.FileUtil;
+import bisq.common.file.JsonFileManager;
+
+import org.bitcoinj.core.Coin;
+
+import com.google.gson.Gson;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+
+import java.util.Date;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Persists the wallet balances at shutdown, so the UI can show them at the next startup until the balances got
+ * calculated from the wallets. The BTC balances are only calculated once all domain services are initialized and
+ * the BSQ balances once the DAO state is fully parsed, which can take a while after startup and much longer if the
+ * wallets get replayed after a SPV resync.
+ * <p>
+ * The snapshot is for display only and never gets applied to {@link Balances} or {@link BsqWalletService}, as
+ * their balances are used to decide e.g. whether the trade fee can be paid in BSQ. The snapshot is a plain text
+ * file, so we do not persist it if the wallets are encrypted.
+ */
+@Slf4j
+@Singleton
+public class WalletBalanceSnapshotService {
+    private static final String FILE_NAME = "balance_snapshot";
+
+    public static File getSnapshotFile(File walletDir) {
+        // JsonFileManager adds the json suffix
+        return new File(walletDir, FILE_NAME + ".json");
+    }
+
+    private final Balances balances;
+    private final BsqWalletService bsqWalletService;
+    private final WalletsManager walletsManager;
+    private final File walletDir;
+    private final Gson gson = new Gson();
+    @Nullable
+    private WalletBalanceSnapshot snapshot;
+    private boolean snapshotRead;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Inject
+    public WalletBalanceSnapshotService(Balances balances,
+                                        BsqWalletService bsqWalletService,
+                                        WalletsManager walletsManager,
+                                        @Named(Config.WALLET_DIR) File walletDir) {
+        this.balances = balances;
+        this.bsqWalletService = bsqWalletService;
+        this.walletsManager = walletsManager;
+        this.walletDir = walletDir;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // The balances of the last session, for display only
+    public synchronized Optional<WalletBalanceSnapshot> getSnapshot() {
+        if (!snapshotRead) {
+            snapshotRead = true;
+            snapshot = readSnapshot().orElse(null);
+            if (snapshot != null) {
+                log.info("Read wallet balances from snapshot of {}", new Date(snapshot.getDate()));
+            }
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    // Called at shutdown, so we write on the calling thread
+    public void persistSnapshot() {
+        Coin availableBalance = balances.getAvailableBalance().get();
+        Coin reservedBalance = balances.getReservedBalance().get();
+        Coin lockedBalance = balances.getLockedBalance().get();
+        if (availableBalance == null || reservedBalance == null || lockedBalance == null) {
+            // Startup did not get far enough to know any balances
+            return;
+        }
+        if (walletsManager.areWalletsEncrypted()) {
+            // We do not leak the balances of an encrypted wallet. A snapshot from before the wallet got encrypted
+            // gets deleted.
+            try {
+                FileUtil.deleteFileIfExists(getSnapshotFile(walletDir));
+            } catch (IOException e) {
+                log.error(e.toString(), e);
+            }
+            return;
+        }
+
+        WalletBalanceSnapshot snapshot;
+        Optional<WalletBalanceSnapshot> lastSnapshot = getSnapshot();
+        if (!bsqWalletService.isBalanceCalculated() && lastSnapshot.isPresent()) {
+            // The DAO state did not get parsed in this session, so we keep the BSQ balances of the last session
+            WalletBalanceSnapshot last = lastSnapshot.get();
+            snapshot = new WalletBalanceSnapshot(WalletBalanceSnapshot.VERSION,
+                    System.currentTimeMillis(),
+                    availableBalance.value,
+                    reservedBalance.value,
+                    lockedBalance.value,
+                    last.getBsqAvailableBalance(),
+                    last.getBsqAvailableNonBsqBalance(),
+                    last.getBsqUnverifiedBalance(),
+                    last.getBsqUnconfirmedChangeBalance(),
+                    last.getBsqLockedForVotingBalance(),
+                    last.getBsqLockupBondsBalance(),
+                    last.getBsqUnlockingBondsBalance());
+        } else {
+            snapshot = new WalletBalanceSnapshot(WalletBalanceSnapshot.VERSION,
+                    System.currentTimeMillis(),
+                    availableBalance.value,
+                    reservedBalance.value,
+                    lockedBalance.value,
+                    bsqWalletService.getAvailableBalance().value,
+                    bsqWalletService.getAvailableNonBsqBalance().value,
+                    bsqWalletService.getUnverifiedBalance().value,
+                    bsqWalletService.getUnconfirmedChangeBalance().value,
+                    bsqWalletService.getLockedForVotingBalance().value,
+                    bsqWalletService.getLockupBondsBalance().value,
+                    bsqWalletService.getUnlockingBondsBalance().value);
+        }
+        new JsonFileManager(walletDir).writeToDisc(gson.toJson(snapshot), FILE_NAME);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private Optional<WalletBalanceSnapshot> readSnapshot() {
+        File file = getSnapshotFile(walletDir);
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            WalletBalanceSnapshot snapshot = gson.fromJson(reader, WalletBalanceSnapshot.class);
+            if (snapshot != null && snapshot.getVersion() == WalletBalanceSnapshot.VERSION) {
+                return Optional.of(snapshot);
+            }
+        } catch (Throwable t) {
+            log.warn("Reading {} failed. {}", file, t.toString());
+        }
+        return Optional.empty();
+    }
+}
@@ -37,10 +37,13 @@ import com.google.common.collect.ImmutableList;
 
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -48,12 +51,22 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * The AddressEntries was previously stored as list, now as hashSet. We still keep the old name to reflect the
  * associated protobuf message.
+ * <p>
+ * We maintain indexes by offer ID, by context and by address, as power users have thousands of entries and the
+ * lookups are called frequently from the offer, trade and funds domains. All mutations go through addEntry and
+ * removeEntry to keep the indexes consistent with the entrySet. The returned sets are unmodifiable
+ * views and not snapshots, so callers which change the list while iterating need to copy them first.
  */
 @Slf4j
 public final class AddressEntryList implements PersistableEnvelope, PersistedDataHost {
     transient private PersistenceManager<AddressEntryList> persistenceManager;
     transient private Wallet wallet;
-    private final Set<AddressEntry> entrySet = new CopyOnWriteArraySet<>();
+    private final Set<AddressEntry> entrySet = ConcurrentHashMap.newKeySet();
+    transient private final Map<String, Set<AddressEntry>> entriesByOfferId = new ConcurrentHashMap<>();
+    transient private final Map<AddressEntry.Context, Set<AddressEntry>> entriesByContext = new ConcurrentHashMap<>();
+    // The address is derived from the key which is only available after the wallet is ready, so that index gets
+    // filled at onWalletReady.
+    transient private final Map<String, Set<AddressEntry>> entriesByAddress = new ConcurrentHashMap<>();
 
     @Inject
     public AddressEntryList(PersistenceManager<AddressEntryList> persistenceManager) {
@@ -65,8 +78,8 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     @Override
     public void readPersisted(Runnable completeHandler) {
         persistenceManager.readPersisted(persisted -> {
-                    entrySet.clear();
-                    entrySet.addAll(persisted.entrySet);
+                    clearEntries();
+                    persisted.entrySet.forEach(this::addEntry);
                     completeHandler.run();
                 },
                 completeHandler);
@@ -78,7 +91,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private AddressEntryList(Set<AddressEntry> entrySet) {
-        this.entrySet.addAll(entrySet);
+        entrySet.forEach(this::addEntry);
     }
 
     public static AddressEntryList fromProto(protobuf.AddressEntryList proto) {
@@ -135,11 +148,13 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
                 }
             });
 
-            toBeRemoved.forEach(entrySet::remove);
+            toBeRemoved.forEach(this::removeEntry);
+            // Now all keys are set, so we can index the addresses
+            entrySet.forEach(this::addToAddressIndex);
         } else {
             // As long the old arbitration domain is not removed from the code base we still support it here.
             DeterministicKey key = (DeterministicKey) wallet.findKeyFromAddress(wallet.freshReceiveAddress(Script.ScriptType.P2PKH));
-            entrySet.add(new AddressEntry(key, AddressEntry.Context.ARBITRATOR, false));
+            addEntry(new AddressEntry(key, AddressEntry.Context.ARBITRATOR, false));
         }
 
         // In case we restore from seed words and have balance we need to add the relevant addresses to our list.
@@ -153,7 +168,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
                         if (key != null) {
                             // Address will be derived from key in getAddress method
                             log.info("Create AddressEntry for IssuedReceiveAddress. address={}", address.toString());
-                            entrySet.add(new AddressEntry(key, AddressEntry.Context.AVAILABLE, address instanceof SegwitAddress));
+                            addEntry(new AddressEntry(key, AddressEntry.Context.AVAILABLE, address instanceof SegwitAddress));
                         } else {
                             log.warn("DeterministicKey for address {} is null", address);
                         }
@@ -175,17 +190,42 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         requestPersistence();
     }
 
+    // Creates a copy, use getAddressEntries or the indexed lookups where a snapshot is not needed
     public ImmutableList<AddressEntry> getAddressEntriesAsListImmutable() {
         return ImmutableList.copyOf(entrySet);
     }
 
+    public Set<AddressEntry> getAddressEntries() {
+        return Collections.unmodifiableSet(entrySet);
+    }
+
+    public Set<AddressEntry> getAddressEntries(AddressEntry.Context context) {
+        return getFromIndex(entriesByContext, context);
+    }
+
+    public Set<AddressEntry> getAddressEntriesByOfferId(String offerId) {
+        return getFromIndex(entriesByOfferId, offerId);
+    }
+
+    public Set<AddressEntry> getAddressEntriesByAddress(String address) {
+        return getFromIndex(entriesByAddress, address);
+    }
+
+    public Optional<AddressEntry> findAddressEntry(String offerId, AddressEntry.Context context) {
+        return getAddressEntriesByOfferId(offerId).stream()
+                .filter(e -> context == e.getContext())
+                .findAny();
+    }
+
+    public Optional<AddressEntry> findAddressEntryByAddress(String address, AddressEntry.Context context) {
+        return getAddressEntriesByAddress(address).stream()
+                .filter(e -> context == e.getContext())
+                .findAny();
+    }
+
     public void addAddressEntry(AddressEntry addressEntry) {
-        boolean entryWithSameOfferIdAndContextAlreadyExist = entrySet.stream().anyMatch(e -> {
-            if (addressEntry.getOfferId() != null) {
-                return addressEntry.getOfferId().equals(e.getOfferId()) && addressEntry.getContext() == e.getContext();
-            }
-            return false;
-        });
+        boolean entryWithSameOfferIdAndContextAlreadyExist = addressEntry.getOfferId() != null &&
+                findAddressEntry(addressEntry.getOfferId(), addressEntry.getContext()).isPresent();
         if (entryWithSameOfferIdAndContextAlreadyExist) {
             log.error("We have an address entry with the same offer ID and context. We do not add the new one. " +
                     "addressEntry={}, entrySet={}", addressEntry, entrySet);
@@ -193,7 +233,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("addAddressEntry: add new AddressEntry {}", addressEntry);
-        boolean setChangedByAdd = entrySet.add(addressEntry);
+        boolean setChangedByAdd = addEntry(addressEntry);
         if (setChangedByAdd)
             requestPersistence();
     }
@@ -209,23 +249,18 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("swapToAvailable addressEntry to swap={}", addressEntry);
-        if (entrySet.remove(addressEntry)) {
+        if (removeEntry(addressEntry)) {
             requestPersistence();
         }
         // If we have an address entry which shared the address with another one (shared maker fee offers use case)
         // then we do not swap to available as we need to protect the address of the remaining entry.
-        boolean entryWithSameContextStillExists = entrySet.stream().anyMatch(entry -> {
-            if (addressEntry.getAddressString() != null) {
-                return addressEntry.getAddressString().equals(entry.getAddressString()) &&
-                        addressEntry.getContext() == entry.getContext();
-            }
-            return false;
-        });
+        boolean entryWithSameContextStillExists = addressEntry.getAddressString() != null &&
+                findAddressEntryByAddress(addressEntry.getAddressString(), addressEntry.getContext()).isPresent();
         if (entryWithSameContextStillExists) {
             return;
         }
         // no other uses of the address context remain, so make it available
-        if (entrySet.add(
+        if (addEntry(
                 new AddressEntry(addressEntry.getKeyPair(),
                         AddressEntry.Context.AVAILABLE,
                         addressEntry.isSegwit()))) {
@@ -236,10 +271,10 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     public AddressEntry swapAvailableToAddressEntryWithOfferId(AddressEntry addressEntry,
                                                                AddressEntry.Context context,
                                                                String offerId) {
-        boolean setChangedByRemove = entrySet.remove(addressEntry);
+        boolean setChangedByRemove = removeEntry(addressEntry);
         AddressEntry newAddressEntry = new AddressEntry(addressEntry.getKeyPair(), context, offerId, addressEntry.isSegwit());
         log.info("swapAvailableToAddressEntryWithOfferId newAddressEntry={}", newAddressEntry);
-        boolean setChangedByAdd = entrySet.add(newAddressEntry);
+        boolean setChangedByAdd = addEntry(newAddressEntry);
         if (setChangedByRemove || setChangedByAdd)
             requestPersistence();
 
@@ -253,13 +288,13 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("setCoinLockedInMultiSigAddressEntry addressEntry={}, value={}", addressEntry, value);
-        boolean setChangedByRemove = entrySet.remove(addressEntry);
+        boolean setChangedByRemove = removeEntry(addressEntry);
         AddressEntry entry = new AddressEntry(addressEntry.getKeyPair(),
                 addressEntry.getContext(),
                 addressEntry.getOfferId(),
                 value,
                 addressEntry.isSegwit());
-        boolean setChangedByAdd = entrySet.add(entry);
+        boolean setChangedByAdd = addEntry(entry);
         if (setChangedByRemove || setChangedByAdd) {
             requestPersistence();
         }
@@ -288,7 +323,67 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     }
 
     private boolean isAddressNotInEntries(Address address) {
-        return entrySet.stream().noneMatch(e -> address.equals(e.getAddress()));
+        return getAddressEntriesByAddress(address.toString()).isEmpty();
+    }
+
+    private synchronized boolean addEntry(AddressEntry addressEntry) {
+        if (!entrySet.add(addressEntry)) {
+            return false;
+        }
+        if (addressEntry.getOfferId() != null) {
+            addToIndex(entriesByOfferId, addressEntry.getOfferId(), addressEntry);
+        }
+        addToIndex(entriesByContext, addressEntry.getContext(), addressEntry);
+        // Before the wallet is ready entries read from disk have no key yet
+        if (wallet != null) {
+            addToAddressIndex(addressEntry);
+        }
+        return true;
+    }
+
+    private synchronized boolean removeEntry(AddressEntry addressEntry) {
+        if (!entrySet.remove(addressEntry)) {
+            return false;
+        }
+        if (addressEntry.getOfferId() != null) {
+            removeFromIndex(entriesByOfferId, addressEntry.getOfferId(), addressEntry);
+        }
+        removeFromIndex(entriesByContext, addressEntry.getContext(), addressEntry);
+        // If the address was never derived the entry cannot be in the address index
+        if (!addressEntry.isAddressNull()) {
+            removeFromIndex(entriesByAddress, addressEntry.getAddressString(), addressEntry);
+        }
+        return true;
+    }
+
+    private synchronized void clearEntries() {
+        entrySet.clear();
+        entriesByOfferId.clear();
+        entriesByContext.clear();
+        entriesByAddress.clear();
+    }
+
+    private void addToAddressIndex(AddressEntry addressEntry) {
+        String addressString = addressEntry.getAddressString();
+        if (addressString != null) {
+            addToIndex(entriesByAddress, addressString, addressEntry);
+        }
+    }
+
+    private static <K> void addToIndex(Map<K, Set<AddressEntry>> index, K key, AddressEntry addressEntry) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(addressEntry);
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<AddressEntry>> index, K key, AddressEntry addressEntry) {
+        index.computeIfPresent(key, (k, entries) -> {
+            entries.remove(addressEntry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    private static <K> Set<AddressEntry> getFromIndex(Map<K, Set<AddressEntry>> index, K key) {
+        Set<AddressEntry> entries = index.get(key);
+        return entries != null ? Collections.unmodifiableSet(entries) : Collections.emptySet();
     }
 
     @Override
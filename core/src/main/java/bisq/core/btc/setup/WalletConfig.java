@@ -73,6 +73,8 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -151,6 +153,14 @@ public class WalletConfig extends AbstractIdleService {
     @Getter
     private BooleanExpression migratedWalletToSegwit = migratedWalletToBtcSegwit.and(migratedWalletToBsqSegwit);
 
+    // Durations in ms of the startup phases, used for the startup metrics
+    @Getter
+    private volatile long btcWalletLoadDuration;
+    @Getter
+    private volatile long bsqWalletLoadDuration;
+    @Getter
+    private volatile long blockStoreLoadDuration;
+
     /**
      * Creates a new WalletConfig, with a newly created {@link Context}. Files will be stored in the given directory.
      */
@@ -277,16 +287,43 @@ public class WalletConfig extends AbstractIdleService {
             String btcPrefix = "_BTC";
             vBtcWalletFile = new File(directory, filePrefix + btcPrefix + ".wallet");
             boolean shouldReplayWallet = (vBtcWalletFile.exists() && !chainFileExists) || restoreFromSeed != null;
+            String bsqPrefix = "_BSQ";
+            vBsqWalletFile = new File(directory, filePrefix + bsqPrefix + ".wallet");
+
+            // Parsing the wallet files is the main part of the startup time for larger wallets, so if both exist we
+            // read the BSQ wallet in parallel. A new BSQ wallet is derived from the seed of the BTC wallet, so in that
+            // case and at a restore from seed we have to load them one after the other.
+            FutureTask<Wallet> readBsqWalletTask = null;
+            if (restoreFromSeed == null && vBtcWalletFile.exists() && vBsqWalletFile.exists()) {
+                readBsqWalletTask = new FutureTask<>(() -> {
+                    Context.propagate(context);
+                    return readWallet(vBsqWalletFile, true);
+                });
+                Thread thread = new Thread(readBsqWalletTask, "ReadBsqWallet");
+                thread.setDaemon(true);
+                thread.start();
+            }
+
+            long ts = System.currentTimeMillis();
             vBtcWallet = createOrLoadWallet(shouldReplayWallet, vBtcWalletFile, false);
             vBtcWallet.allowSpendingUnconfirmedTransactions();
             vBtcWallet.setRiskAnalyzer(new BisqRiskAnalysis.Analyzer());
+            btcWalletLoadDuration = System.currentTimeMillis() - ts;
 
-            String bsqPrefix = "_BSQ";
-            vBsqWalletFile = new File(directory, filePrefix + bsqPrefix + ".wallet");
-            vBsqWallet = createOrLoadWallet(shouldReplayWallet, vBsqWalletFile, true);
+            ts = System.currentTimeMillis();
+            if (readBsqWalletTask != null) {
+                // The post-processing touches the segwit migration properties, so we do that on this thread
+                vBsqWallet = onWalletRead(getReadWallet(readBsqWalletTask), shouldReplayWallet, true);
+                setupAutoSave(vBsqWallet, vBsqWalletFile);
+            } else {
+                vBsqWallet = createOrLoadWallet(shouldReplayWallet, vBsqWalletFile, true);
+            }
             vBsqWallet.setRiskAnalyzer(new BisqRiskAnalysis.Analyzer());
+            // If read in parallel that is only the time we had to wait for the BSQ wallet after the BTC wallet was loaded
+            bsqWalletLoadDuration = System.currentTimeMillis() - ts;
 
             // Initiate Bitcoin network objects (block store, blockchain and peer group)
+            ts = System.currentTimeMillis();
             vStore = new SPVBlockStore(params, chainFile);
             if (!chainFileExists || restoreFromSeed != null) {
                 if (checkpoints == null) {
@@ -315,6 +352,7 @@ public class WalletConfig extends AbstractIdleService {
                 }
             }
             vChain = new BlockChain(params, vStore);
+            blockStoreLoadDuration = System.currentTimeMillis() - ts;
             vPeerGroup = createPeerGroup();
             if (minBroadcastConnections > 0)
                 vPeerGroup.setMinBroadcastConnections(minBroadcastConnections);
@@ -401,7 +439,11 @@ public class WalletConfig extends AbstractIdleService {
     }
 
     private Wallet loadWallet(boolean shouldReplayWallet, File walletFile, boolean isBsqWallet) throws Exception {
-        Wallet wallet;
+        return onWalletRead(readWallet(walletFile, isBsqWallet), shouldReplayWallet, isBsqWallet);
+    }
+
+    // Only parses the wallet file, so it is safe to be called from another thread than the startUp thread
+    private Wallet readWallet(File walletFile, boolean isBsqWallet) throws Exception {
         try (FileInputStream walletStream = new FileInputStream(walletFile)) {
             WalletExtension[] extArray = new WalletExtension[]{};
             Protos.Wallet proto = WalletProtobufSerializer.parseToProto(walletStream);
@@ -409,14 +451,30 @@ public class WalletConfig extends AbstractIdleService {
             serializer = new WalletProtobufSerializer(BisqWallet::new);
             // Hack to convert bitcoinj 0.14 wallets to bitcoinj 0.15 format
             serializer.setKeyChainFactory(new BisqKeyChainFactory(isBsqWallet));
-            wallet = serializer.readWallet(params, extArray, proto);
-            if (shouldReplayWallet)
-                wallet.reset();
-            maybeAddSegwitKeychain(wallet, null, isBsqWallet);
+            return serializer.readWallet(params, extArray, proto);
         }
+    }
+
+    private Wallet onWalletRead(Wallet wallet, boolean shouldReplayWallet, boolean isBsqWallet) {
+        if (shouldReplayWallet)
+            wallet.reset();
+        maybeAddSegwitKeychain(wallet, null, isBsqWallet);
         return wallet;
     }
 
+    private static Wallet getReadWallet(FutureTask<Wallet> readWalletTask) throws Exception {
+        try {
+            return readWalletTask.get();
+        } catch (ExecutionException e) {
+            // Rethrow the original cause so that the service failure is the same as with sequential loading
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
     protected Wallet createWallet(boolean isBsqWallet) {
         Script.ScriptType preferredOutputScriptType = Script.ScriptType.P2WPKH;
         KeyChainGroupStructure structure = new BisqKeyChainGroupStructure(isBsqWallet);
@@ -17,6 +17,7 @@
 
 package bisq.core.btc.setup;
 
+import bisq.core.btc.WalletBalanceSnapshotService;
 import bisq.core.btc.exceptions.InvalidHostException;
 import bisq.core.btc.exceptions.RejectedTxException;
 import bisq.core.btc.model.AddressEntry;
@@ -141,6 +142,9 @@ public class WalletsSetup {
     public final BooleanProperty shutDownComplete = new SimpleBooleanProperty();
     private final boolean useAllProvidedNodes;
     private WalletConfig walletConfig;
+    // Duration in ms from initialize until the wallets and the chain are loaded, used for the startup metrics
+    @Getter
+    private long walletsSetupDuration;
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
@@ -192,6 +196,7 @@ public class WalletsSetup {
 
         Threading.USER_THREAD = UserThread.getExecutor();
 
+        long ts = System.currentTimeMillis();
         Timer timeoutTimer = UserThread.runAfter(() ->
                 exceptionHandler.handleException(new TimeoutException("Wallet did not initialize in " +
                         STARTUP_TIMEOUT + " seconds.")), STARTUP_TIMEOUT);
@@ -255,6 +260,8 @@ public class WalletsSetup {
                     chainHeight.set(chain.getBestChainHeight());
                     addressEntryList.onWalletReady(walletConfig.btcWallet());
                     timeoutTimer.stop();
+                    walletsSetupDuration = System.currentTimeMillis() - ts;
+                    log.info("Wallets setup took {} ms", walletsSetupDuration);
                     setupCompletedHandlers.forEach(Runnable::run);
                 });
 
@@ -450,6 +457,13 @@ public class WalletsSetup {
 
         backupWallets();
 
+        try {
+            // The balances of the last session do not belong to the restored wallet
+            FileUtil.deleteFileIfExists(WalletBalanceSnapshotService.getSnapshotFile(walletDir));
+        } catch (IOException e) {
+            log.error(e.toString(), e);
+        }
+
         Context ctx = Context.get();
         new Thread(() -> {
             try {
@@ -539,8 +553,7 @@ public class WalletsSetup {
     }
 
     public Set<Address> getAddressesByContext(@SuppressWarnings("SameParameterValue") AddressEntry.Context context) {
-        return addressEntryList.getAddressEntriesAsListImmutable().stream()
-                .filter(addressEntry -> addressEntry.getContext() == context)
+        return addressEntryList.getAddressEntries(context).stream()
                 .map(AddressEntry::getAddress)
                 .collect(Collectors.toSet());
     }
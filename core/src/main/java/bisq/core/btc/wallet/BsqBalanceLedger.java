@@ -0,0 +1,272 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxOutput;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+import bisq.core.dao.state.model.blockchain.TxOutputType;
+
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionConfidence;
+import org.bitcoinj.core.TransactionOutput;
+import org.bitcoinj.wallet.Wallet;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.bitcoinj.core.TransactionConfidence.ConfidenceType.BUILDING;
+import static org.bitcoinj.core.TransactionConfidence.ConfidenceType.PENDING;
+
+/**
+ * Keeps track of the wallet transactions relevant for the BSQ balance components, so that a balance update does not
+ * need to walk all wallet transactions and scan the DAO-wide output sets.
+ * <p>
+ * Wallet transactions are applied as deltas: only new transactions, removed transactions and transactions with a
+ * changed confidence type are processed. For our confirmed transactions we look up the blind vote stake, lockup and
+ * unlock outputs once in the DAO state. As there are only a few of those, their spent, confiscated and lock time
+ * state gets re-evaluated at each balance request. The pending transactions are evaluated at each balance request as
+ * well, as their value depends on the spent state of their outputs and on the DAO state of their connected outputs.
+ * <p>
+ * Not thread safe, must be called from the user thread.
+ */
+@Slf4j
+class BsqBalanceLedger {
+    private static final Set<TxOutputType> BOND_TX_OUTPUT_TYPES = EnumSet.of(
+            TxOutputType.BLIND_VOTE_LOCK_STAKE_OUTPUT,
+            TxOutputType.LOCKUP_OUTPUT,
+            TxOutputType.UNLOCK_OUTPUT);
+
+    private final DaoStateService daoStateService;
+    private final Map<String, TransactionConfidence.ConfidenceType> confidenceTypeByTxId = new HashMap<>();
+    private final Map<String, Transaction> pendingTxsById = new HashMap<>();
+    // Confirmed txs which are not parsed by the DAO yet. Value is the height of the block containing the tx.
+    private final Map<String, Integer> unresolvedTxHeightById = new HashMap<>();
+    // Blind vote stake, lockup and unlock outputs of our confirmed txs
+    private final Map<String, List<TxOutput>> bondTxOutputsByTxId = new HashMap<>();
+
+    BsqBalanceLedger(DaoStateService daoStateService) {
+        this.daoStateService = daoStateService;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Updates
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    void applyWalletTransactions(Collection<Transaction> transactions) {
+        Set<String> removedTxIds = new HashSet<>(confidenceTypeByTxId.keySet());
+        for (Transaction tx : transactions) {
+            String txId = tx.getTxId().toString();
+            removedTxIds.remove(txId);
+            TransactionConfidence.ConfidenceType confidenceType = tx.getConfidence().getConfidenceType();
+            TransactionConfidence.ConfidenceType previousConfidenceType = confidenceTypeByTxId.put(txId, confidenceType);
+            if (previousConfidenceType != confidenceType) {
+                removeTx(txId);
+                addTx(txId, tx, confidenceType);
+            } else if (confidenceType == PENDING) {
+                // The wallet might have replaced the tx instance
+                pendingTxsById.put(txId, tx);
+            }
+        }
+        removedTxIds.forEach(txId -> {
+            confidenceTypeByTxId.remove(txId);
+            removeTx(txId);
+        });
+    }
+
+    // Called after a new BSQ block got parsed
+    void applyDaoStateChange() {
+        int chainHeight = daoStateService.getChainHeight();
+        // Txs which are still not in the DAO state after their block got parsed are no BSQ txs, so we drop them
+        unresolvedTxHeightById.entrySet().removeIf(entry ->
+                resolveBondTxOutputs(entry.getKey()) || entry.getValue() <= chainHeight);
+    }
+
+    void reset() {
+        confidenceTypeByTxId.clear();
+        pendingTxsById.clear();
+        unresolvedTxHeightById.clear();
+        bondTxOutputsByTxId.clear();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Balances
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    Coin getUnverifiedBalance(Wallet wallet) {
+        return Coin.valueOf(pendingTxsById.values().stream()
+                .mapToLong(tx -> getPendingTxValue(tx, wallet))
+                .sum());
+    }
+
+    Coin getLockedForVotingBalance() {
+        return sumBondTxOutputs(txOutput ->
+                txOutput.getTxOutputType() == TxOutputType.BLIND_VOTE_LOCK_STAKE_OUTPUT &&
+                        daoStateService.isUnspent(txOutput.getKey()));
+    }
+
+    Coin getLockupBondsBalance() {
+        return sumBondTxOutputs(txOutput ->
+                daoStateService.isLockupOutput(txOutput) &&
+                        daoStateService.isUnspent(txOutput.getKey()) &&
+                        !daoStateService.isConfiscatedLockupTxOutput(txOutput.getTxId()));
+    }
+
+    Coin getUnlockingBondsBalance() {
+        return sumBondTxOutputs(txOutput ->
+                daoStateService.isUnlockingAndUnspent(txOutput) &&
+                        !daoStateService.isConfiscatedUnlockTxOutput(txOutput.getTxId()));
+    }
+
+    // Sum up outputs into BSQ wallet and subtract the inputs using lockup or unlocking outputs since those inputs
+    // will be accounted for in lockupBondsBalance and unlockingBondsBalance
+    long getPendingTxValue(Transaction tx, Wallet wallet) {
+        long outputs = tx.getOutputs().stream()
+                .filter(out -> out.isMine(wallet))
+                .filter(TransactionOutput::isAvailableForSpending)
+                .mapToLong(out -> out.getValue().value)
+                .sum();
+        // Account for spending of locked connectedOutputs
+        long lockedInputs = tx.getInputs().stream()
+                .filter(in -> {
+                    TransactionOutput connectedOutput = in.getConnectedOutput();
+                    if (connectedOutput != null) {
+                        Transaction parentTransaction = connectedOutput.getParentTransaction();
+                        if (parentTransaction != null) {
+                            TxOutputKey key = new TxOutputKey(parentTransaction.getTxId().toString(),
+                                    connectedOutput.getIndex());
+                            return connectedOutput.isMine(wallet) &&
+                                    (daoStateService.isLockupOutput(key) || daoStateService.isUnlockingAndUnspent(key));
+                        }
+                    }
+                    return false;
+                })
+                .mapToLong(in -> in.getValue() != null ? in.getValue().value : 0)
+                .sum();
+        return outputs - lockedInputs;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Consistency check
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Compares the balances with a full recomputation over all wallet transactions and the DAO-wide output sets.
+    // That is how the balances were calculated before we applied the changes incrementally.
+    boolean matchesFullRecomputation(Collection<Transaction> transactions, Wallet wallet) {
+        long unverified = transactions.stream()
+                .filter(tx -> tx.getConfidence().getConfidenceType() == PENDING)
+                .mapToLong(tx -> getPendingTxValue(tx, wallet))
+                .sum();
+
+        Set<String> confirmedTxIdSet = transactions.stream()
+                .filter(tx -> tx.getConfidence().getConfidenceType() == BUILDING)
+                .map(Transaction::getTxId)
+                .map(Sha256Hash::toString)
+                .collect(Collectors.toSet());
+
+        long lockedForVoting = daoStateService.getUnspentBlindVoteStakeTxOutputs().stream()
+                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
+                .mapToLong(TxOutput::getValue)
+                .sum();
+
+        long lockupBonds = daoStateService.getLockupTxOutputs().stream()
+                .filter(txOutput -> daoStateService.isUnspent(txOutput.getKey()))
+                .filter(txOutput -> !daoStateService.isConfiscatedLockupTxOutput(txOutput.getTxId()))
+                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
+                .mapToLong(TxOutput::getValue)
+                .sum();
+
+        long unlockingBonds = daoStateService.getUnspentUnlockingTxOutputsStream()
+                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
+                .filter(txOutput -> !daoStateService.isConfiscatedUnlockTxOutput(txOutput.getTxId()))
+                .mapToLong(TxOutput::getValue)
+                .sum();
+
+        if (unverified != getUnverifiedBalance(wallet).value ||
+                lockedForVoting != getLockedForVotingBalance().value ||
+                lockupBonds != getLockupBondsBalance().value ||
+                unlockingBonds != getUnlockingBondsBalance().value) {
+            log.warn("BsqBalanceLedger does not match full recomputation. " +
+                            "unverified={}/{}, lockedForVoting={}/{}, lockupBonds={}/{}, unlockingBonds={}/{}",
+                    getUnverifiedBalance(wallet).value, unverified,
+                    getLockedForVotingBalance().value, lockedForVoting,
+                    getLockupBondsBalance().value, lockupBonds,
+                    getUnlockingBondsBalance().value, unlockingBonds);
+            return false;
+        }
+        return true;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void addTx(String txId, Transaction tx, TransactionConfidence.ConfidenceType confidenceType) {
+        if (confidenceType == PENDING) {
+            pendingTxsById.put(txId, tx);
+        } else if (confidenceType == BUILDING && !resolveBondTxOutputs(txId)) {
+            unresolvedTxHeightById.put(txId, tx.getConfidence().getAppearedAtChainHeight());
+        }
+    }
+
+    private void removeTx(String txId) {
+        pendingTxsById.remove(txId);
+        unresolvedTxHeightById.remove(txId);
+        bondTxOutputsByTxId.remove(txId);
+    }
+
+    private boolean resolveBondTxOutputs(String txId) {
+        Optional<Tx> optionalTx = daoStateService.getTx(txId);
+        if (!optionalTx.isPresent()) {
+            return false;
+        }
+
+        List<TxOutput> bondTxOutputs = optionalTx.get().getTxOutputs().stream()
+                .filter(txOutput -> BOND_TX_OUTPUT_TYPES.contains(txOutput.getTxOutputType()))
+                .collect(Collectors.toList());
+        if (!bondTxOutputs.isEmpty()) {
+            bondTxOutputsByTxId.put(txId, bondTxOutputs);
+        }
+        return true;
+    }
+
+    private Coin sumBondTxOutputs(Predicate<TxOutput> predicate) {
+        return Coin.valueOf(bondTxOutputsByTxId.values().stream()
+                .flatMap(List::stream)
+                .filter(predicate)
+                .mapToLong(TxOutput::getValue)
+                .sum());
+    }
+}
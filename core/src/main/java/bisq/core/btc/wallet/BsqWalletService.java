@@ -30,7 +30,6 @@ import bisq.core.dao.state.DaoStateService;
 import bisq.core.dao.state.model.blockchain.Block;
 import bisq.core.dao.state.model.blockchain.Tx;
 import bisq.core.dao.state.model.blockchain.TxOutput;
-import bisq.core.dao.state.model.blockchain.TxOutputKey;
 import bisq.core.dao.state.model.blockchain.TxType;
 import bisq.core.dao.state.unconfirmed.UnconfirmedBsqChangeOutputListService;
 import bisq.core.provider.fee.FeeService;
@@ -38,6 +37,7 @@ import bisq.core.user.Preferences;
 import bisq.core.util.coin.BsqFormatter;
 
 import bisq.common.UserThread;
+import bisq.common.app.DevEnv;
 import bisq.common.util.Tuple2;
 
 import org.bitcoinj.core.Address;
@@ -46,7 +46,6 @@ import org.bitcoinj.core.BlockChain;
 import org.bitcoinj.core.Coin;
 import org.bitcoinj.core.InsufficientMoneyException;
 import org.bitcoinj.core.NetworkParameters;
-import org.bitcoinj.core.Sha256Hash;
 import org.bitcoinj.core.Transaction;
 import org.bitcoinj.core.TransactionInput;
 import org.bitcoinj.core.TransactionOutPoint;
@@ -91,6 +90,7 @@ public class BsqWalletService extends WalletService implements DaoStateListener
     private final NonBsqCoinSelector nonBsqCoinSelector;
     private final DaoStateService daoStateService;
     private final UnconfirmedBsqChangeOutputListService unconfirmedBsqChangeOutputListService;
+    private final BsqBalanceLedger bsqBalanceLedger;
     private final List<Transaction> walletTransactions = new ArrayList<>();
     private Map<String, Transaction> walletTransactionsById;
     private final CopyOnWriteArraySet<BsqBalanceListener> bsqBalanceListeners = new CopyOnWriteArraySet<>();
@@ -118,6 +118,11 @@ public class BsqWalletService extends WalletService implements DaoStateListener
     @Getter
     private Coin unlockingBondsBalance = Coin.ZERO;
 
+    // False until the balance got calculated from the fully parsed DAO state. Until then the UI can show the
+    // balance of the last session, see WalletBalanceSnapshotService
+    @Getter
+    private boolean balanceCalculated;
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
@@ -143,6 +148,7 @@ public class BsqWalletService extends WalletService implements DaoStateListener
         this.unconfirmedBsqChangeOutputListService = unconfirmedBsqChangeOutputListService;
         this.daoKillSwitch = daoKillSwitch;
         this.bsqFormatter = bsqFormatter;
+        bsqBalanceLedger = new BsqBalanceLedger(daoStateService);
 
         nonBsqCoinSelector.setPreferences(preferences);
 
@@ -175,6 +181,7 @@ public class BsqWalletService extends WalletService implements DaoStateListener
         );
         wallet.addReorganizeEventListener(wallet -> {
             log.warn("onReorganize ");
+            bsqBalanceLedger.reset();
             updateBsqWalletTransactions();
             unconfirmedBsqChangeOutputListService.onReorganize();
         });
@@ -206,6 +213,7 @@ public class BsqWalletService extends WalletService implements DaoStateListener
     @Override
     public void onParseBlockCompleteAfterBatchProcessing(Block block) {
         if (isWalletReady()) {
+            bsqBalanceLedger.applyDaoStateChange();
             wallet.getTransactions(false).forEach(unconfirmedBsqChangeOutputListService::onTransactionConfidenceChanged);
             updateBsqWalletTransactions();
         }
@@ -230,86 +238,44 @@ public class BsqWalletService extends WalletService implements DaoStateListener
 
     private void updateBsqBalance() {
         long ts = System.currentTimeMillis();
-        unverifiedBalance = Coin.valueOf(
-                walletTransactions.stream()
-                        .filter(tx -> tx.getConfidence().getConfidenceType() == PENDING)
-                        .mapToLong(tx -> {
-                            // Sum up outputs into BSQ wallet and subtract the inputs using lockup or unlocking
-                            // outputs since those inputs will be accounted for in lockupBondsBalance and
-                            // unlockingBondsBalance
-                            long outputs = tx.getOutputs().stream()
-                                    .filter(out -> out.isMine(wallet))
-                                    .filter(TransactionOutput::isAvailableForSpending)
-                                    .mapToLong(out -> out.getValue().value)
-                                    .sum();
-                            // Account for spending of locked connectedOutputs
-                            long lockedInputs = tx.getInputs().stream()
-                                    .filter(in -> {
-                                        TransactionOutput connectedOutput = in.getConnectedOutput();
-                                        if (connectedOutput != null) {
-                                            Transaction parentTransaction = connectedOutput.getParentTransaction();
-                                            // TODO SQ
-                                            if (parentTransaction != null/* &&
-                                                    parentTransaction.getConfidence().getConfidenceType() == BUILDING*/) {
-                                                TxOutputKey key = new TxOutputKey(parentTransaction.getTxId().toString(),
-                                                        connectedOutput.getIndex());
-
-                                                return (connectedOutput.isMine(wallet)
-                                                        && (daoStateService.isLockupOutput(key)
-                                                        || daoStateService.isUnlockingAndUnspent(key)));
-                                            }
-                                        }
-                                        return false;
-                                    })
-                                    .mapToLong(in -> in.getValue() != null ? in.getValue().value : 0)
-                                    .sum();
-                            return outputs - lockedInputs;
-                        })
-                        .sum()
-        );
+        // Only the changes since the last update get applied, see BsqBalanceLedger
+        bsqBalanceLedger.applyWalletTransactions(walletTransactions);
+        if (DevEnv.isDevMode()) {
+            checkBsqBalanceLedger();
+        }
 
-        Set<String> confirmedTxIdSet = walletTransactions.stream()
-                .filter(tx -> tx.getConfidence().getConfidenceType() == BUILDING)
-                .map(Transaction::getTxId)
-                .map(Sha256Hash::toString)
-                .collect(Collectors.toSet());
-
-        lockedForVotingBalance = Coin.valueOf(daoStateService.getUnspentBlindVoteStakeTxOutputs().stream()
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
-                .mapToLong(TxOutput::getValue)
-                .sum());
-
-        lockupBondsBalance = Coin.valueOf(daoStateService.getLockupTxOutputs().stream()
-                .filter(txOutput -> daoStateService.isUnspent(txOutput.getKey()))
-                .filter(txOutput -> !daoStateService.isConfiscatedLockupTxOutput(txOutput.getTxId()))
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
-                .mapToLong(TxOutput::getValue)
-                .sum());
-
-        unlockingBondsBalance = Coin.valueOf(daoStateService.getUnspentUnlockingTxOutputsStream()
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
-                .filter(txOutput -> !daoStateService.isConfiscatedUnlockTxOutput(txOutput.getTxId()))
-                .mapToLong(TxOutput::getValue)
-                .sum());
-
-        availableBalance = bsqCoinSelector.select(NetworkParameters.MAX_MONEY,
-                wallet.calculateAllSpendCandidates()).valueGathered;
+        unverifiedBalance = bsqBalanceLedger.getUnverifiedBalance(wallet);
+        lockedForVotingBalance = bsqBalanceLedger.getLockedForVotingBalance();
+        lockupBondsBalance = bsqBalanceLedger.getLockupBondsBalance();
+        unlockingBondsBalance = bsqBalanceLedger.getUnlockingBondsBalance();
+
+        List<TransactionOutput> spendCandidates = wallet.calculateAllSpendCandidates();
+        availableBalance = bsqCoinSelector.select(NetworkParameters.MAX_MONEY, spendCandidates).valueGathered;
 
         if (availableBalance.isNegative())
             availableBalance = Coin.ZERO;
 
         unconfirmedChangeBalance = unconfirmedBsqChangeOutputListService.getBalance();
 
-        availableNonBsqBalance = nonBsqCoinSelector.select(NetworkParameters.MAX_MONEY,
-                wallet.calculateAllSpendCandidates()).valueGathered;
+        availableNonBsqBalance = nonBsqCoinSelector.select(NetworkParameters.MAX_MONEY, spendCandidates).valueGathered;
 
         verifiedBalance = availableBalance.subtract(unconfirmedChangeBalance);
 
+        balanceCalculated = true;
         bsqBalanceListeners.forEach(e -> e.onUpdateBalances(availableBalance, availableNonBsqBalance, unverifiedBalance,
                 unconfirmedChangeBalance, lockedForVotingBalance, lockupBondsBalance, unlockingBondsBalance));
         log.info("updateBsqBalance took {} ms", System.currentTimeMillis() - ts);
     }
 
+    // Debug consistency check of the incremental balances against a full recomputation. If they do not match we
+    // rebuild the ledger.
+    private void checkBsqBalanceLedger() {
+        if (!bsqBalanceLedger.matchesFullRecomputation(walletTransactions, wallet)) {
+            bsqBalanceLedger.reset();
+            bsqBalanceLedger.applyWalletTransactions(walletTransactions);
+        }
+    }
+
     public void addBsqBalanceListener(BsqBalanceListener listener) {
         bsqBalanceListeners.add(listener);
     }
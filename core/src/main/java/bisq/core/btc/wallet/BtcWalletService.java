@@ -61,8 +61,10 @@ import com.google.common.util.concurrent.MoreExecutors;
 
 import org.bouncycastle.crypto.params.KeyParameter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -118,7 +120,7 @@ public class BtcWalletService extends WalletService {
     void decryptWallet(@NotNull KeyParameter key) {
         super.decryptWallet(key);
 
-        addressEntryList.getAddressEntriesAsListImmutable().forEach(e -> {
+        addressEntryList.getAddressEntries().forEach(e -> {
             DeterministicKey keyPair = e.getKeyPair();
             if (keyPair.isEncrypted())
                 e.setDeterministicKey(keyPair.decrypt(key));
@@ -129,7 +131,7 @@ public class BtcWalletService extends WalletService {
     @Override
     void encryptWallet(KeyCrypterScrypt keyCrypterScrypt, KeyParameter key) {
         super.encryptWallet(keyCrypterScrypt, key);
-        addressEntryList.getAddressEntriesAsListImmutable().forEach(e -> {
+        addressEntryList.getAddressEntries().forEach(e -> {
             DeterministicKey keyPair = e.getKeyPair();
             if (keyPair.isEncrypted())
                 e.setDeterministicKey(keyPair.encrypt(keyCrypterScrypt, key));
@@ -140,7 +142,7 @@ public class BtcWalletService extends WalletService {
     @Override
     String getWalletAsString(boolean includePrivKeys) {
         StringBuilder sb = new StringBuilder();
-        getAddressEntryListAsImmutableList().forEach(e -> sb.append(e.toString()).append("\n"));
+        addressEntryList.getAddressEntries().forEach(e -> sb.append(e.toString()).append("\n"));
         //boolean reallyIncludePrivKeys = includePrivKeys && !wallet.isEncrypted();
         return "Address entry list:\n" +
                 sb.toString() +
@@ -624,19 +626,14 @@ public class BtcWalletService extends WalletService {
 
     public Optional<AddressEntry> getAddressEntry(String offerId,
                                                   @SuppressWarnings("SameParameterValue") AddressEntry.Context context) {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(e -> offerId.equals(e.getOfferId()))
-                .filter(e -> context == e.getContext())
-                .findAny();
+        return addressEntryList.findAddressEntry(offerId, context);
     }
 
     // For cloned offers with shared maker fee we create a new address entry based on the source entry
     // and set the new offerId.
     public AddressEntry getOrCloneAddressEntryWithOfferId(AddressEntry sourceAddressEntry, String offerId) {
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(entry -> offerId.equals(entry.getOfferId()))
-                .filter(entry -> sourceAddressEntry.getContext() == entry.getContext())
-                .findAny();
+        Optional<AddressEntry> addressEntry = addressEntryList.findAddressEntry(offerId,
+                sourceAddressEntry.getContext());
         if (addressEntry.isPresent()) {
             return addressEntry.get();
         } else {
@@ -650,16 +647,12 @@ public class BtcWalletService extends WalletService {
     }
 
     public AddressEntry getOrCreateAddressEntry(String offerId, AddressEntry.Context context) {
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(e -> offerId.equals(e.getOfferId()))
-                .filter(e -> context == e.getContext())
-                .findAny();
+        Optional<AddressEntry> addressEntry = addressEntryList.findAddressEntry(offerId, context);
         if (addressEntry.isPresent()) {
             return addressEntry.get();
         } else {
             // We try to use available and not yet used entries
-            Optional<AddressEntry> emptyAvailableAddressEntry = getAddressEntryListAsImmutableList().stream()
-                    .filter(e -> AddressEntry.Context.AVAILABLE == e.getContext())
+            Optional<AddressEntry> emptyAvailableAddressEntry = addressEntryList.getAddressEntries(AddressEntry.Context.AVAILABLE).stream()
                     .filter(e -> isAddressUnused(e.getAddress()))
                     .filter(e -> Script.ScriptType.P2WPKH.equals(e.getAddress().getOutputScriptType()))
                     .findAny();
@@ -678,8 +671,7 @@ public class BtcWalletService extends WalletService {
 
     public AddressEntry getArbitratorAddressEntry() {
         AddressEntry.Context context = AddressEntry.Context.ARBITRATOR;
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(e -> context == e.getContext())
+        Optional<AddressEntry> addressEntry = addressEntryList.getAddressEntries(context).stream()
                 .findAny();
         return getOrCreateAddressEntry(context, addressEntry, false);
     }
@@ -690,8 +682,7 @@ public class BtcWalletService extends WalletService {
 
     public AddressEntry getFreshAddressEntry(boolean segwit) {
         AddressEntry.Context context = AddressEntry.Context.AVAILABLE;
-        Optional<AddressEntry> addressEntry = getAddressEntryListAsImmutableList().stream()
-                .filter(e -> context == e.getContext())
+        Optional<AddressEntry> addressEntry = addressEntryList.getAddressEntries(context).stream()
                 .filter(e -> isAddressUnused(e.getAddress()))
                 .filter(e -> {
                     boolean isSegwitOutputScriptType = Script.ScriptType.P2WPKH.equals(e.getAddress().getOutputScriptType());
@@ -727,41 +718,39 @@ public class BtcWalletService extends WalletService {
     }
 
     private Optional<AddressEntry> findAddressEntry(String address, AddressEntry.Context context) {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(e -> address.equals(e.getAddressString()))
-                .filter(e -> context == e.getContext())
-                .findAny();
+        return addressEntryList.findAddressEntryByAddress(address, context);
+    }
+
+    public Optional<AddressEntry> getAddressEntryByAddress(String address) {
+        return addressEntryList.getAddressEntriesByAddress(address).stream().findAny();
     }
 
     public List<AddressEntry> getAvailableAddressEntries() {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> AddressEntry.Context.AVAILABLE == addressEntry.getContext())
-                .collect(Collectors.toList());
+        return getAddressEntries(AddressEntry.Context.AVAILABLE);
     }
 
     public List<AddressEntry> getAddressEntriesForOpenOffer() {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> AddressEntry.Context.OFFER_FUNDING == addressEntry.getContext() ||
-                        AddressEntry.Context.RESERVED_FOR_TRADE == addressEntry.getContext())
-                .collect(Collectors.toList());
+        return getAddressEntries(AddressEntry.Context.OFFER_FUNDING, AddressEntry.Context.RESERVED_FOR_TRADE);
     }
 
     public List<AddressEntry> getAddressEntriesForTrade() {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> AddressEntry.Context.MULTI_SIG == addressEntry.getContext() ||
-                        AddressEntry.Context.TRADE_PAYOUT == addressEntry.getContext())
-                .collect(Collectors.toList());
+        return getAddressEntries(AddressEntry.Context.MULTI_SIG, AddressEntry.Context.TRADE_PAYOUT);
     }
 
     public List<AddressEntry> getAddressEntries(AddressEntry.Context context) {
-        return getAddressEntryListAsImmutableList().stream()
-                .filter(addressEntry -> context == addressEntry.getContext())
-                .collect(Collectors.toList());
+        return new ArrayList<>(addressEntryList.getAddressEntries(context));
+    }
+
+    private List<AddressEntry> getAddressEntries(AddressEntry.Context context, AddressEntry.Context otherContext) {
+        List<AddressEntry> addressEntries = new ArrayList<>(addressEntryList.getAddressEntries(context));
+        addressEntries.addAll(addressEntryList.getAddressEntries(otherContext));
+        return addressEntries;
     }
 
     public List<AddressEntry> getFundedAvailableAddressEntries() {
+        Map<Address, Coin> balancesByAddress = getBalancesByAddress();
         return getAvailableAddressEntries().stream()
-                .filter(addressEntry -> getBalanceForAddress(addressEntry.getAddress()).isPositive())
+                .filter(addressEntry -> isFunded(addressEntry, balancesByAddress))
                 .collect(Collectors.toList());
     }
 
@@ -778,9 +767,10 @@ public class BtcWalletService extends WalletService {
             return;
         }
 
-        getAddressEntryListAsImmutableList().stream()
-                .filter(e -> offerId.equals(e.getOfferId()))
+        // We copy the matching entries as the swap changes the offerId index
+        addressEntryList.getAddressEntriesByOfferId(offerId).stream()
                 .filter(e -> context == e.getContext())
+                .collect(Collectors.toList())
                 .forEach(e -> {
                     log.info("swap addressEntry with address {} and offerId {} from context {} to available",
                             e.getAddressString(), e.getOfferId(), context);
@@ -794,9 +784,9 @@ public class BtcWalletService extends WalletService {
     }
 
     public void setCoinLockedInMultiSigAddressEntry(String offerId, long value) {
-        getAddressEntryListAsImmutableList().stream()
+        addressEntryList.getAddressEntriesByOfferId(offerId).stream()
                 .filter(e -> AddressEntry.Context.MULTI_SIG == e.getContext())
-                .filter(e -> offerId.equals(e.getOfferId()))
+                .collect(Collectors.toList())
                 .forEach(addressEntry -> setCoinLockedInMultiSigAddressEntry(addressEntry, value));
     }
 
@@ -860,18 +850,28 @@ public class BtcWalletService extends WalletService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public Coin getSavingWalletBalance() {
-        return Coin.valueOf(getFundedAvailableAddressEntries().stream()
-                .mapToLong(addressEntry -> getBalanceForAddress(addressEntry.getAddress()).value)
+        Map<Address, Coin> balancesByAddress = getBalancesByAddress();
+        return Coin.valueOf(getAvailableAddressEntries().stream()
+                .map(addressEntry -> balancesByAddress.get(addressEntry.getAddress()))
+                .filter(Objects::nonNull)
+                .mapToLong(balance -> balance.value)
                 .sum());
     }
 
     public Stream<AddressEntry> getAddressEntriesForAvailableBalanceStream() {
+        // We use one snapshot of the balances for all entries instead of a lookup per entry.
+        Map<Address, Coin> balancesByAddress = getBalancesByAddress();
         Stream<AddressEntry> availableAndPayout = Stream.concat(getAddressEntries(AddressEntry.Context.TRADE_PAYOUT)
-                .stream(), getFundedAvailableAddressEntries().stream());
+                .stream(), getAvailableAddressEntries().stream());
         Stream<AddressEntry> available = Stream.concat(availableAndPayout,
                 getAddressEntries(AddressEntry.Context.ARBITRATOR).stream());
         available = Stream.concat(available, getAddressEntries(AddressEntry.Context.OFFER_FUNDING).stream());
-        return available.filter(addressEntry -> getBalanceForAddress(addressEntry.getAddress()).isPositive());
+        return available.filter(addressEntry -> isFunded(addressEntry, balancesByAddress));
+    }
+
+    private static boolean isFunded(AddressEntry addressEntry, Map<Address, Coin> balancesByAddress) {
+        Coin balance = balancesByAddress.get(addressEntry.getAddress());
+        return balance != null && balance.isPositive();
     }
 
 
@@ -1350,9 +1350,15 @@ public class BtcWalletService extends WalletService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public Tuple2<List<RawTransactionInput>, Coin> getInputsAndChange(Coin required) throws InsufficientMoneyException {
-        BtcCoinSelector coinSelector = new BtcCoinSelector(walletsSetup.getAddressesByContext(AddressEntry.Context.AVAILABLE),
-                preferences.getIgnoreDustThreshold());
-        CoinSelection coinSelection = coinSelector.select(required, Objects.requireNonNull(wallet).calculateAllSpendCandidates());
+        Set<Address> availableAddresses = walletsSetup.getAddressesByContext(AddressEntry.Context.AVAILABLE);
+        BtcCoinSelector coinSelector = new BtcCoinSelector(availableAddresses, preferences.getIgnoreDustThreshold());
+        // The spendable outputs of our available addresses are taken from the cached snapshot instead of
+        // calculating the spend candidates of the whole wallet.
+        Objects.requireNonNull(wallet);
+        List<TransactionOutput> candidates = availableAddresses.stream()
+                .flatMap(address -> getSpendableOutputsForAddress(address).stream())
+                .collect(Collectors.toList());
+        CoinSelection coinSelection = coinSelector.select(required, candidates);
 
         Coin change;
         try {
@@ -31,6 +31,7 @@ import bisq.core.user.Preferences;
 import bisq.common.config.Config;
 import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.util.Tuple2;
 
 import org.bitcoinj.core.Address;
 import org.bitcoinj.core.AddressFormatException;
@@ -73,6 +74,9 @@ import org.bitcoinj.wallet.listeners.WalletReorganizeEventListener;
 
 import javax.inject.Inject;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Multiset;
@@ -87,12 +91,16 @@ import javafx.beans.property.SimpleIntegerProperty;
 import org.bouncycastle.crypto.params.KeyParameter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -124,8 +132,10 @@ public abstract class WalletService {
     private final CopyOnWriteArraySet<TxConfidenceListener> txConfidenceListeners = new CopyOnWriteArraySet<>();
     private final CopyOnWriteArraySet<BalanceListener> balanceListeners = new CopyOnWriteArraySet<>();
     private final WalletChangeEventListener cacheInvalidationListener;
-    private final AtomicReference<Multiset<Address>> txOutputAddressCache = new AtomicReference<>();
-    private final AtomicReference<SetMultimap<Address, Transaction>> addressToMatchingTxSetCache = new AtomicReference<>();
+    private final UtxoCacheInvalidationListener utxoCacheInvalidationListener = new UtxoCacheInvalidationListener();
+    private final WalletStateCache<Multiset<Address>> txOutputAddressCache = new WalletStateCache<>();
+    private final WalletStateCache<SetMultimap<Address, Transaction>> addressToMatchingTxSetCache = new WalletStateCache<>();
+    private final WalletStateCache<AddressUtxoSnapshot> addressUtxoSnapshotCache = new WalletStateCache<>();
     @Getter
     protected Wallet wallet;
     @Getter
@@ -148,9 +158,12 @@ public abstract class WalletService {
 
         params = walletsSetup.getParams();
 
+        // The outputs of a tx never change, so the txOutputAddressCache is only invalidated by the
+        // utxoCacheInvalidationListener when a tx enters the wallet or changes its confidence type. Change events
+        // fire at each new block and would otherwise rebuild it from all wallet txs every time.
         cacheInvalidationListener = wallet -> {
-            txOutputAddressCache.set(null);
-            addressToMatchingTxSetCache.set(null);
+            addressToMatchingTxSetCache.invalidate();
+            addressUtxoSnapshotCache.invalidate();
         };
     }
 
@@ -165,6 +178,12 @@ public abstract class WalletService {
         wallet.addReorganizeEventListener(walletEventListener);
         wallet.addTransactionConfidenceEventListener(walletEventListener);
         wallet.addChangeEventListener(Threading.SAME_THREAD, cacheInvalidationListener);
+        // The change event is not guaranteed to be fired before our walletEventListener reads the balances, so we
+        // invalidate the UTXO snapshot at the source events as well.
+        wallet.addCoinsReceivedEventListener(Threading.SAME_THREAD, utxoCacheInvalidationListener);
+        wallet.addCoinsSentEventListener(Threading.SAME_THREAD, utxoCacheInvalidationListener);
+        wallet.addReorganizeEventListener(Threading.SAME_THREAD, utxoCacheInvalidationListener);
+        wallet.addTransactionConfidenceEventListener(Threading.SAME_THREAD, utxoCacheInvalidationListener);
     }
 
     public void shutDown() {
@@ -174,6 +193,10 @@ public abstract class WalletService {
             wallet.removeReorganizeEventListener(walletEventListener);
             wallet.removeTransactionConfidenceEventListener(walletEventListener);
             wallet.removeChangeEventListener(cacheInvalidationListener);
+            wallet.removeCoinsReceivedEventListener(utxoCacheInvalidationListener);
+            wallet.removeCoinsSentEventListener(utxoCacheInvalidationListener);
+            wallet.removeReorganizeEventListener(utxoCacheInvalidationListener);
+            wallet.removeTransactionConfidenceEventListener(utxoCacheInvalidationListener);
         }
     }
 
@@ -469,7 +492,7 @@ public abstract class WalletService {
     }
 
     private SetMultimap<Address, Transaction> getAddressToMatchingTxSetMultimap() {
-        return addressToMatchingTxSetCache.updateAndGet(map -> map != null ? map : computeAddressToMatchingTxSetMultimap());
+        return addressToMatchingTxSetCache.get(this::computeAddressToMatchingTxSetMultimap);
     }
 
     private SetMultimap<Address, Transaction> computeAddressToMatchingTxSetMultimap() {
@@ -556,7 +579,27 @@ public abstract class WalletService {
     }
 
     public Coin getBalanceForAddress(Address address) {
-        return wallet != null ? getBalance(wallet.calculateAllSpendCandidates(), address) : Coin.ZERO;
+        if (wallet == null || address == null) {
+            return Coin.ZERO;
+        }
+        return getAddressUtxoSnapshot().balanceByAddress.getOrDefault(address, Coin.ZERO);
+    }
+
+    /**
+     * @return Snapshot of the balances of all our addresses with a non-zero balance. Reads from the snapshot do not
+     * require the wallet lock. The snapshot gets recreated at the next call after a wallet change.
+     */
+    public Map<Address, Coin> getBalancesByAddress() {
+        return wallet != null ? getAddressUtxoSnapshot().balanceByAddress : ImmutableMap.of();
+    }
+
+    // Spendable, non-dust outputs of the given address
+    public List<TransactionOutput> getSpendableOutputsForAddress(Address address) {
+        return wallet != null ? getAddressUtxoSnapshot().outputsByAddress.get(address) : ImmutableList.of();
+    }
+
+    private AddressUtxoSnapshot getAddressUtxoSnapshot() {
+        return addressUtxoSnapshotCache.get(() -> new AddressUtxoSnapshot(wallet.calculateAllSpendCandidates()));
     }
 
     protected Coin getBalance(List<TransactionOutput> transactionOutputs, Address address) {
@@ -596,7 +639,7 @@ public abstract class WalletService {
     }
 
     private Multiset<Address> getTxOutputAddressMultiset() {
-        return txOutputAddressCache.updateAndGet(set -> set != null ? set : computeTxOutputAddressMultiset());
+        return txOutputAddressCache.get(this::computeTxOutputAddressMultiset);
     }
 
     private Multiset<Address> computeTxOutputAddressMultiset() {
@@ -887,6 +930,102 @@ public abstract class WalletService {
     }
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // WalletStateCache
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Caches a value derived from the wallet state. The value is computed outside the wallet lock, so a wallet change
+     * can happen while it is computed. Each invalidation increments the generation and a cached value is only served
+     * as long as the generation it was computed at is the current one. A value computed concurrently with a wallet
+     * change is returned to its caller but never served from the cache afterwards.
+     */
+    private static class WalletStateCache<T> {
+        private final AtomicLong generation = new AtomicLong();
+        private final AtomicReference<Tuple2<Long, T>> cache = new AtomicReference<>();
+
+        T get(Supplier<T> supplier) {
+            // The generation must be read before computing the value, as the invalidation happens after the change.
+            long currentGeneration = generation.get();
+            Tuple2<Long, T> cached = cache.get();
+            if (cached != null && cached.first == currentGeneration) {
+                return cached.second;
+            }
+            T value = supplier.get();
+            cache.compareAndSet(cached, new Tuple2<>(currentGeneration, value));
+            return value;
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            cache.set(null);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // AddressUtxoSnapshot
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private class AddressUtxoSnapshot {
+        private final ImmutableListMultimap<Address, TransactionOutput> outputsByAddress;
+        private final ImmutableMap<Address, Coin> balanceByAddress;
+
+        AddressUtxoSnapshot(List<TransactionOutput> spendCandidates) {
+            ImmutableListMultimap.Builder<Address, TransactionOutput> outputsBuilder = ImmutableListMultimap.builder();
+            Map<Address, Coin> balances = new HashMap<>();
+            for (TransactionOutput output : spendCandidates) {
+                if (!isDustAttackUtxo(output) && isOutputScriptConvertibleToAddress(output)) {
+                    Address address = getAddressFromOutput(output);
+                    if (address != null) {
+                        outputsBuilder.put(address, output);
+                        balances.merge(address, output.getValue(), Coin::add);
+                    }
+                }
+            }
+            outputsByAddress = outputsBuilder.build();
+            balanceByAddress = ImmutableMap.copyOf(balances);
+        }
+    }
+
+    private class UtxoCacheInvalidationListener implements WalletCoinsReceivedEventListener,
+            WalletCoinsSentEventListener,
+            WalletReorganizeEventListener,
+            TransactionConfidenceEventListener {
+        @Override
+        public void onCoinsReceived(Wallet wallet, Transaction tx, Coin prevBalance, Coin newBalance) {
+            invalidate();
+        }
+
+        @Override
+        public void onCoinsSent(Wallet wallet, Transaction tx, Coin prevBalance, Coin newBalance) {
+            invalidate();
+        }
+
+        @Override
+        public void onReorganize(Wallet wallet) {
+            invalidate();
+        }
+
+        @Override
+        public void onTransactionConfidenceChanged(Wallet wallet, Transaction tx) {
+            // We get called for each tx at each new block as the depth changes. The spend candidates only change
+            // if a tx gets confirmed or its confidence type changes otherwise.
+            TransactionConfidence confidence = tx != null ? tx.getConfidence() : null;
+            if (confidence == null ||
+                    confidence.getConfidenceType() != BUILDING ||
+                    confidence.getDepthInBlocks() <= 1) {
+                invalidate();
+            }
+        }
+
+        private void invalidate() {
+            addressUtxoSnapshotCache.invalidate();
+            txOutputAddressCache.invalidate();
+        }
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // bisqWalletEventListener
     ///////////////////////////////////////////////////////////////////////////////////////////
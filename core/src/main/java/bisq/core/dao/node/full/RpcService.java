@@ -116,21 +116,28 @@ public class RpcService {
         this.rpcUser = preferences.getRpcUser();
         this.rpcPassword = preferences.getRpcPw();
 
+        this.rpcHost = getRpcHost(rpcHost);
+        this.rpcPort = getRpcPort(rpcPort);
+        boolean isBlockPortSet = rpcBlockPort != Config.UNSPECIFIED_PORT;
+        boolean isBlockHostSet = !rpcBlockHost.isEmpty();
+        this.rpcBlockPort = isBlockPortSet ? rpcBlockPort : 5125;
+        this.rpcBlockHost = isBlockHostSet ? rpcBlockHost : "127.0.0.1";
+    }
+
+    public static String getRpcHost(String rpcHost) {
+        return rpcHost.isEmpty() ? "127.0.0.1" : rpcHost;
+    }
+
+    public static int getRpcPort(int rpcPort) {
         // mainnet is 8332, testnet 18332, regtest 18443
-        boolean isHostSet = !rpcHost.isEmpty();
         boolean isPortSet = rpcPort != Config.UNSPECIFIED_PORT;
         boolean isMainnet = Config.baseCurrencyNetwork().isMainnet();
         boolean isTestnet = Config.baseCurrencyNetwork().isTestnet();
         boolean isDaoBetaNet = Config.baseCurrencyNetwork().isDaoBetaNet();
-        this.rpcHost = isHostSet ? rpcHost : "127.0.0.1";
-        this.rpcPort = isPortSet ? rpcPort :
+        return isPortSet ? rpcPort :
                 isMainnet || isDaoBetaNet ? 8332 :
                         isTestnet ? 18332 :
                                 18443; // regtest
-        boolean isBlockPortSet = rpcBlockPort != Config.UNSPECIFIED_PORT;
-        boolean isBlockHostSet = !rpcBlockHost.isEmpty();
-        this.rpcBlockPort = isBlockPortSet ? rpcBlockPort : 5125;
-        this.rpcBlockHost = isBlockHostSet ? rpcBlockHost : "127.0.0.1";
     }
 
 
@@ -18,6 +18,7 @@
 package bisq.core.dao.node.full.rpc;
 
 import bisq.core.dao.node.full.rpc.dto.DtoNetworkInfo;
+import bisq.core.dao.node.full.rpc.dto.DtoSmartFeeEstimate;
 import bisq.core.dao.node.full.rpc.dto.RawDtoBlock;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -60,6 +61,9 @@ public interface BitcoindClient {
     @JsonRpcMethod("getnetworkinfo")
     DtoNetworkInfo getNetworkInfo() throws IOException;
 
+    @JsonRpcMethod("estimatesmartfee")
+    DtoSmartFeeEstimate estimateSmartFee(int confTarget) throws IOException;
+
     static Builder builder() {
         return new Builder();
     }
@@ -482,13 +482,16 @@ public class DaoStateService implements DaoSetupService {
     }
 
     public boolean existsTxOutput(TxOutputKey key) {
-        return getUnorderedTxOutputStream().anyMatch(txOutput -> txOutput.getKey().equals(key));
+        return getTxOutput(key).isPresent();
     }
 
+    // We lookup the tx by its id instead of streaming over all txOutputs, as that gets called by the coin selectors
+    // for each of our utxos.
     public Optional<TxOutput> getTxOutput(TxOutputKey txOutputKey) {
-        return getUnorderedTxOutputStream()
-                .filter(txOutput -> txOutput.getKey().equals(txOutputKey))
-                .findAny();
+        return getTx(txOutputKey.getTxId())
+                .flatMap(tx -> tx.getTxOutputs().stream()
+                        .filter(txOutput -> txOutput.getIndex() == txOutputKey.getIndex())
+                        .findAny());
     }
 
 
@@ -41,10 +41,13 @@ import bisq.common.config.ConfigFileEditor;
 import bisq.common.crypto.KeyRing;
 import bisq.common.crypto.ProofOfWork;
 import bisq.common.crypto.ProofOfWorkService;
+import bisq.common.util.Utilities;
 
 import org.bitcoinj.core.ECKey;
 import org.bitcoinj.core.Sha256Hash;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -65,7 +68,9 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 import java.lang.reflect.Method;
@@ -88,6 +93,7 @@ public class FilterManager {
     private static final String BANNED_BTC_NODES = "bannedBtcNodes";
     private static final String FILTER_PROVIDED_SEED_NODES = "filterProvidedSeedNodes";
     private static final String FILTER_PROVIDED_BTC_NODES = "filterProvidedBtcNodes";
+    private static final int NUM_POW_VERIFICATION_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Listener
@@ -110,6 +116,12 @@ public class FilterManager {
     private ECKey filterSigningKey;
     private final Set<Filter> invalidFilters = new HashSet<>();
     private Consumer<String> filterWarningHandler;
+    private final ExecutorService powVerificationExecutor = Utilities.getFixedThreadPoolExecutor(
+            NUM_POW_VERIFICATION_THREADS,
+            new ThreadFactoryBuilder()
+                    .setNameFormat("PoW-verification-%d")
+                    .setDaemon(true)
+                    .build());
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -509,11 +521,28 @@ public class FilterManager {
         if (filter == null) {
             return true;
         }
-        checkArgument(offer.getBsqSwapOfferPayload().isPresent(), "Offer payload must be BsqSwapOfferPayload");
-        ProofOfWork pow = offer.getBsqSwapOfferPayload().get().getProofOfWork();
-        var service = ProofOfWorkService.forVersion(pow.getVersion());
-        return service.isPresent() && getEnabledPowVersions().contains(pow.getVersion()) &&
-                service.get().verify(pow, offer.getId(), offer.getOwnerNodeAddress().toString(), filter.getPowDifficulty());
+        return isProofOfWorkValid(offer, filter.getPowDifficulty(), getEnabledPowVersions());
+    }
+
+    /**
+     * Verifies the proofs of work of the given BSQ swap offers on a pool of worker threads.
+     * The results are cached by the {@link ProofOfWorkService}, so the subsequent
+     * {@link #isProofOfWorkValid(Offer)} calls on the user thread do not repeat the work.
+     * Used for the bursts of offers we receive at bootstrap.
+     */
+    public CompletableFuture<Void> verifyProofOfWorksInParallel(Collection<Offer> offers) {
+        Filter filter = getFilter();
+        if (filter == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        double difficulty = filter.getPowDifficulty();
+        List<Integer> enabledPowVersions = getEnabledPowVersions();
+        CompletableFuture<?>[] futures = offers.stream()
+                .filter(Offer::isBsqSwapOffer)
+                .map(offer -> CompletableFuture.runAsync(() -> isProofOfWorkValid(offer, difficulty, enabledPowVersions),
+                        powVerificationExecutor))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
     }
 
     public List<Integer> getEnabledPowVersions() {
@@ -526,6 +555,14 @@ public class FilterManager {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private static boolean isProofOfWorkValid(Offer offer, double difficulty, List<Integer> enabledPowVersions) {
+        checkArgument(offer.getBsqSwapOfferPayload().isPresent(), "Offer payload must be BsqSwapOfferPayload");
+        ProofOfWork pow = offer.getBsqSwapOfferPayload().get().getProofOfWork();
+        var service = ProofOfWorkService.forVersion(pow.getVersion());
+        return service.isPresent() && enabledPowVersions.contains(pow.getVersion()) &&
+                service.get().verify(pow, offer.getId(), offer.getOwnerNodeAddress().toString(), difficulty);
+    }
+
     private void onFilterAddedFromNetwork(Filter filterFromNetwork) {
         Filter currentFilter = getFilter();
 
@@ -191,24 +191,9 @@ public class Offer implements NetworkPayload, PersistablePayload {
         checkNotNull(priceFeedService, "priceFeed must not be null");
         MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
         if (marketPrice != null && marketPrice.isRecentExternalPriceAvailable()) {
-            double factor;
-            double marketPriceMargin = offerPayload.getMarketPriceMargin();
-            if (CurrencyUtil.isCryptoCurrency(currencyCode)) {
-                factor = getDirection() == OfferDirection.SELL ?
-                        1 - marketPriceMargin : 1 + marketPriceMargin;
-            } else {
-                factor = getDirection() == OfferDirection.BUY ?
-                        1 - marketPriceMargin : 1 + marketPriceMargin;
-            }
-            double marketPriceAsDouble = marketPrice.getPrice();
-            double targetPriceAsDouble = marketPriceAsDouble * factor;
             try {
-                int precision = CurrencyUtil.isCryptoCurrency(currencyCode) ?
-                        Altcoin.SMALLEST_UNIT_EXPONENT :
-                        Fiat.SMALLEST_UNIT_EXPONENT;
-                double scaled = MathUtils.scaleUpByPowerOf10(targetPriceAsDouble, precision);
-                final long roundedToLong = MathUtils.roundDoubleToLong(scaled);
-                return Price.valueOf(currencyCode, roundedToLong);
+                return Price.valueOf(currencyCode,
+                        toMarketBasedPrice(currencyCode, marketPrice.getPrice(), getMarketPriceFactor()));
             } catch (Exception e) {
                 log.error("Exception at getPrice / parseToFiat: " + e + "\n" +
                         "That case should never happen.");
@@ -221,6 +206,25 @@ public class Offer implements NetworkPayload, PersistablePayload {
         }
     }
 
+    // The factor applied to the market price for a market based offer (1 +/- margin). The margin gets
+    // subtracted for fiat buy offers and altcoin sell offers, as for those the BTC side is the other way round.
+    double getMarketPriceFactor() {
+        double marketPriceMargin = getMarketPriceMargin();
+        if (CurrencyUtil.isCryptoCurrency(getCurrencyCode())) {
+            return getDirection() == OfferDirection.SELL ? 1 - marketPriceMargin : 1 + marketPriceMargin;
+        } else {
+            return getDirection() == OfferDirection.BUY ? 1 - marketPriceMargin : 1 + marketPriceMargin;
+        }
+    }
+
+    static long toMarketBasedPrice(String currencyCode, double marketPrice, double factor) {
+        int precision = CurrencyUtil.isCryptoCurrency(currencyCode) ?
+                Altcoin.SMALLEST_UNIT_EXPONENT :
+                Fiat.SMALLEST_UNIT_EXPONENT;
+        double scaled = MathUtils.scaleUpByPowerOf10(marketPrice * factor, precision);
+        return MathUtils.roundDoubleToLong(scaled);
+    }
+
     public long getFixedPrice() {
         return offerPayloadBase.getPrice();
     }
@@ -0,0 +1,197 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.provider.price.PriceFeedService;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The offers of the offer book, maintained from the offer payloads added to and removed from the P2P network
+ * storage. It holds one {@link Offer} instance per offer id and keeps the offers of each market (currency code
+ * and direction) sorted by price, so queries do not need to iterate the whole P2P data map.
+ * <p>
+ * Offers with a fixed price are sorted by their price, market based offers by their price factor (1 +/- margin),
+ * which gives the same order as their price at any market price. Both get merged by price when reading a market,
+ * so market price updates do not require any re-sorting. The effective prices of the market based offers are
+ * read from an {@link OfferPriceIndex}, which only gets recomputed for a currency if its market price changed.
+ * <p>
+ * Gets updated from the user thread, but can be read from any thread (e.g. gRPC calls).
+ */
+@Slf4j
+class OfferBookIndex {
+    private static final Comparator<Offer> FIXED_PRICE_COMPARATOR = Comparator
+            .comparingLong((Offer offer) -> offer.getOfferPayloadBase().getPrice())
+            .thenComparing(Offer::getId);
+    private static final Comparator<Offer> PRICE_FACTOR_COMPARATOR = Comparator
+            .comparingDouble(Offer::getMarketPriceFactor)
+            .thenComparing(Offer::getId);
+
+    private final PriceFeedService priceFeedService;
+    private final OfferPriceIndex offerPriceIndex;
+    // Offers without price are put at the end
+    private final Comparator<Offer> priceComparator = Comparator.comparingLong(offer -> {
+        long price = getPrice(offer);
+        return price != OfferPriceIndex.NO_PRICE ? price : Long.MAX_VALUE;
+    });
+    private final Map<String, Offer> offersById = new ConcurrentHashMap<>();
+    private final Map<Market, MarketOffers> offersByMarket = new ConcurrentHashMap<>();
+
+    OfferBookIndex(PriceFeedService priceFeedService) {
+        this.priceFeedService = priceFeedService;
+        this.offerPriceIndex = new OfferPriceIndex(priceFeedService);
+    }
+
+    /**
+     * @return The indexed offer. If we have the same payload already the existing instance is kept.
+     */
+    Offer add(OfferPayloadBase offerPayloadBase) {
+        Offer existing = offersById.get(offerPayloadBase.getId());
+        if (existing != null) {
+            if (existing.getOfferPayloadBase().equals(offerPayloadBase)) {
+                return existing;
+            }
+            // An edited offer has the same id. We keep the latest added payload.
+            removeFromMarket(existing);
+        }
+
+        Offer offer = newOffer(offerPayloadBase);
+        offersById.put(offer.getId(), offer);
+        MarketOffers marketOffers = offersByMarket.computeIfAbsent(new Market(offer), market -> new MarketOffers());
+        if (offer.isUseMarketBasedPrice()) {
+            marketOffers.marketBasedPriceOffers.add(offer);
+            offerPriceIndex.add(offer);
+        } else {
+            marketOffers.fixedPriceOffers.add(offer);
+        }
+        return offer;
+    }
+
+    /**
+     * Only removes the offer if we have it with the given payload, so that the late removal of the
+     * payload of an edited offer does not remove the edited one.
+     * @return The removed offer
+     */
+    Optional<Offer> remove(OfferPayloadBase offerPayloadBase) {
+        Offer existing = offersById.get(offerPayloadBase.getId());
+        if (existing == null || !existing.getOfferPayloadBase().equals(offerPayloadBase)) {
+            return Optional.empty();
+        }
+        offersById.remove(existing.getId());
+        removeFromMarket(existing);
+        return Optional.of(existing);
+    }
+
+    Optional<Offer> findOffer(String offerId) {
+        return Optional.ofNullable(offersById.get(offerId));
+    }
+
+    List<Offer> getOffers() {
+        return new ArrayList<>(offersById.values());
+    }
+
+    /**
+     * @return The offers of the market in ascending price order. Market based offers are put at the end if we
+     * do not have a market price.
+     */
+    List<Offer> getOffers(String currencyCode, OfferDirection direction) {
+        MarketOffers marketOffers = offersByMarket.get(new Market(currencyCode, direction));
+        if (marketOffers == null) {
+            return new ArrayList<>();
+        }
+        if (marketOffers.marketBasedPriceOffers.isEmpty()) {
+            return new ArrayList<>(marketOffers.fixedPriceOffers);
+        }
+        if (marketOffers.fixedPriceOffers.isEmpty()) {
+            return new ArrayList<>(marketOffers.marketBasedPriceOffers);
+        }
+        return Lists.newArrayList(Iterators.mergeSorted(List.of(marketOffers.fixedPriceOffers.iterator(),
+                marketOffers.marketBasedPriceOffers.iterator()), priceComparator));
+    }
+
+    /**
+     * @return The effective price of the offer, {@link OfferPriceIndex#NO_PRICE} if it is market based and we do
+     * not have a recent market price.
+     */
+    long getPrice(Offer offer) {
+        return offerPriceIndex.getPrice(offer);
+    }
+
+    /**
+     * Recomputes the prices of the market based offers of the given currencies after a market price update.
+     * @return The offers which got a new price
+     */
+    List<OfferPriceDelta> reprice(Collection<String> currencyCodes) {
+        return offerPriceIndex.reprice(currencyCodes);
+    }
+
+    int size() {
+        return offersById.size();
+    }
+
+    Offer newOffer(OfferPayloadBase offerPayloadBase) {
+        Offer offer = new Offer(offerPayloadBase);
+        offer.setPriceFeedService(priceFeedService);
+        return offer;
+    }
+
+    private void removeFromMarket(Offer offer) {
+        Market market = new Market(offer);
+        MarketOffers marketOffers = offersByMarket.get(market);
+        if (marketOffers == null) {
+            return;
+        }
+        marketOffers.fixedPriceOffers.remove(offer);
+        marketOffers.marketBasedPriceOffers.remove(offer);
+        offerPriceIndex.remove(offer);
+    }
+
+    @Value
+    private static class Market {
+        String currencyCode;
+        OfferDirection direction;
+
+        Market(String currencyCode, OfferDirection direction) {
+            this.currencyCode = currencyCode;
+            this.direction = direction;
+        }
+
+        Market(Offer offer) {
+            this(offer.getCurrencyCode(), offer.getDirection());
+        }
+    }
+
+    private static class MarketOffers {
+        private final NavigableSet<Offer> fixedPriceOffers = new ConcurrentSkipListSet<>(FIXED_PRICE_COMPARATOR);
+        private final NavigableSet<Offer> marketBasedPriceOffers = new ConcurrentSkipListSet<>(PRICE_FACTOR_COMPARATOR);
+    }
+}
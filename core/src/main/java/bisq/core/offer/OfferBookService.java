@@ -20,6 +20,8 @@ package bisq.core.offer;
 import bisq.core.filter.FilterManager;
 import bisq.core.locale.CurrencyUtil;
 import bisq.core.locale.Res;
+import bisq.core.monetary.Price;
+import bisq.core.offer.bsq_swap.BsqSwapOfferPayload;
 import bisq.core.provider.price.PriceFeedService;
 import bisq.core.util.JsonUtil;
 
@@ -40,9 +42,11 @@ import javax.inject.Named;
 import java.io.File;
 
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -51,7 +55,7 @@ import javax.annotation.Nullable;
 
 /**
  * Handles storage and retrieval of offers.
- * Uses an invalidation flag to only request the full offer map in case there was a change (anyone has added or removed an offer).
+ * Keeps an index of the offers in the P2P network storage, updated by the added and removed offer payloads.
  */
 @Slf4j
 public class OfferBookService {
@@ -62,11 +66,22 @@ public class OfferBookService {
         void onRemoved(Offer offer);
     }
 
+    public interface OfferPricesChangedListener {
+        // Called on the user thread with the market based offers of a currency which got repriced. Fixed price
+        // offers never get repriced, but a listener sorting by price has to sort them along with the repriced ones.
+        void onOfferPricesChanged(OfferPriceDelta offerPriceDelta);
+    }
+
     private final P2PService p2PService;
     private final PriceFeedService priceFeedService;
-    private final List<OfferBookChangedListener> offerBookChangedListeners = new LinkedList<>();
+    // Listeners might get removed while we notify them (e.g. by a closed API subscription)
+    private final List<OfferBookChangedListener> offerBookChangedListeners = new CopyOnWriteArrayList<>();
+    private final List<OfferPricesChangedListener> offerPricesChangedListeners = new CopyOnWriteArrayList<>();
     private final FilterManager filterManager;
     private final JsonFileManager jsonFileManager;
+    private final OfferBookIndex offerBookIndex;
+    // Completes on the user thread once all received offer book changes got dispatched to the listeners
+    private CompletableFuture<Void> pendingDispatch = CompletableFuture.completedFuture(null);
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -83,30 +98,51 @@ public class OfferBookService {
         this.priceFeedService = priceFeedService;
         this.filterManager = filterManager;
         jsonFileManager = new JsonFileManager(storageDir);
+        offerBookIndex = new OfferBookIndex(priceFeedService);
+        p2PService.getDataMap().values().forEach(this::addToIndex);
+        priceFeedService.addMarketPricesChangedListener(currencyCodes ->
+                offerBookIndex.reprice(currencyCodes).forEach(offerPriceDelta ->
+                        offerPricesChangedListeners.forEach(listener -> listener.onOfferPricesChanged(offerPriceDelta))));
 
         p2PService.addHashSetChangedListener(new HashMapChangedListener() {
             @Override
             public void onAdded(Collection<ProtectedStorageEntry> protectedStorageEntries) {
-                protectedStorageEntries.forEach(protectedStorageEntry -> offerBookChangedListeners.forEach(listener -> {
-                    if (protectedStorageEntry.getProtectedStoragePayload() instanceof OfferPayloadBase) {
-                        OfferPayloadBase offerPayloadBase = (OfferPayloadBase) protectedStorageEntry.getProtectedStoragePayload();
-                        Offer offer = new Offer(offerPayloadBase);
-                        offer.setPriceFeedService(priceFeedService);
-                        listener.onAdded(offer);
-                    }
-                }));
+                protectedStorageEntries.forEach(OfferBookService.this::addToIndex);
+
+                // Bursts of BSQ swap offers (e.g. at bootstrap) get their proof of work verified in
+                // parallel off the user thread before the listeners see them.
+                List<Offer> bsqSwapOffers = protectedStorageEntries.stream()
+                        .map(ProtectedStorageEntry::getProtectedStoragePayload)
+                        .filter(payload -> payload instanceof BsqSwapOfferPayload)
+                        .map(payload -> new Offer((BsqSwapOfferPayload) payload))
+                        .collect(Collectors.toList());
+                CompletableFuture<Void> proofOfWorkVerification = bsqSwapOffers.size() > 1 ?
+                        filterManager.verifyProofOfWorksInParallel(bsqSwapOffers) :
+                        CompletableFuture.completedFuture(null);
+                dispatchInOrder(proofOfWorkVerification, () ->
+                        protectedStorageEntries.forEach(protectedStorageEntry -> offerBookChangedListeners.forEach(listener -> {
+                            if (protectedStorageEntry.getProtectedStoragePayload() instanceof OfferPayloadBase) {
+                                OfferPayloadBase offerPayloadBase = (OfferPayloadBase) protectedStorageEntry.getProtectedStoragePayload();
+                                listener.onAdded(offerBookIndex.newOffer(offerPayloadBase));
+                            }
+                        })));
             }
 
             @Override
             public void onRemoved(Collection<ProtectedStorageEntry> protectedStorageEntries) {
-                protectedStorageEntries.forEach(protectedStorageEntry -> offerBookChangedListeners.forEach(listener -> {
+                protectedStorageEntries.forEach(protectedStorageEntry -> {
                     if (protectedStorageEntry.getProtectedStoragePayload() instanceof OfferPayloadBase) {
-                        OfferPayloadBase offerPayloadBase = (OfferPayloadBase) protectedStorageEntry.getProtectedStoragePayload();
-                        Offer offer = new Offer(offerPayloadBase);
-                        offer.setPriceFeedService(priceFeedService);
-                        listener.onRemoved(offer);
+                        offerBookIndex.remove((OfferPayloadBase) protectedStorageEntry.getProtectedStoragePayload());
                     }
-                }));
+                });
+
+                dispatchInOrder(CompletableFuture.completedFuture(null), () ->
+                        protectedStorageEntries.forEach(protectedStorageEntry -> offerBookChangedListeners.forEach(listener -> {
+                            if (protectedStorageEntry.getProtectedStoragePayload() instanceof OfferPayloadBase) {
+                                OfferPayloadBase offerPayloadBase = (OfferPayloadBase) protectedStorageEntry.getProtectedStoragePayload();
+                                listener.onRemoved(offerBookIndex.newOffer(offerPayloadBase));
+                            }
+                        })));
             }
         });
 
@@ -190,16 +226,39 @@ public class OfferBookService {
         }
     }
 
+    /**
+     * The returned offers are shared instances. Use {@link #copyOf(Offer)} if the state of the offer will be
+     * changed (e.g. by the availability check when taking it).
+     */
     public List<Offer> getOffers() {
-        return p2PService.getDataMap().values().stream()
-                .filter(data -> data.getProtectedStoragePayload() instanceof OfferPayloadBase)
-                .map(data -> {
-                    OfferPayloadBase offerPayloadBase = (OfferPayloadBase) data.getProtectedStoragePayload();
-                    Offer offer = new Offer(offerPayloadBase);
-                    offer.setPriceFeedService(priceFeedService);
-                    return offer;
-                })
-                .collect(Collectors.toList());
+        return offerBookIndex.getOffers();
+    }
+
+    public Optional<Offer> findOffer(String offerId) {
+        return offerBookIndex.findOffer(offerId);
+    }
+
+    /**
+     * @param currencyCode The code of the non-BTC currency of the market
+     * @return The offers of the market in ascending price order. Offers with a market based price are put at the
+     * end if we do not have a market price.
+     */
+    public List<Offer> getOffers(String currencyCode, OfferDirection direction) {
+        return offerBookIndex.getOffers(currencyCode, direction);
+    }
+
+    public Offer copyOf(Offer offer) {
+        return offerBookIndex.newOffer(offer.getOfferPayloadBase());
+    }
+
+    /**
+     * Same as {@link Offer#getPrice()}, but market based offers of the offer book get their price from the
+     * price index instead of recomputing it from the market price. To be preferred when sorting or filtering.
+     */
+    @Nullable
+    public Price getPrice(Offer offer) {
+        long price = offerBookIndex.getPrice(offer);
+        return price != OfferPriceIndex.NO_PRICE ? Price.valueOf(offer.getCurrencyCode(), price) : null;
     }
 
     public void removeOfferAtShutDown(OfferPayloadBase offerPayloadBase) {
@@ -214,6 +273,18 @@ public class OfferBookService {
         offerBookChangedListeners.add(offerBookChangedListener);
     }
 
+    public void removeOfferBookChangedListener(OfferBookChangedListener offerBookChangedListener) {
+        offerBookChangedListeners.remove(offerBookChangedListener);
+    }
+
+    public void addOfferPricesChangedListener(OfferPricesChangedListener offerPricesChangedListener) {
+        offerPricesChangedListeners.add(offerPricesChangedListener);
+    }
+
+    public void removeOfferPricesChangedListener(OfferPricesChangedListener offerPricesChangedListener) {
+        offerPricesChangedListeners.remove(offerPricesChangedListener);
+    }
+
     public List<OfferForJson> getOfferForJsonList() {
         return getOffers().stream()
                 .map(offer -> {
@@ -245,6 +316,40 @@ public class OfferBookService {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private void addToIndex(ProtectedStorageEntry protectedStorageEntry) {
+        if (protectedStorageEntry.getProtectedStoragePayload() instanceof OfferPayloadBase) {
+            offerBookIndex.add((OfferPayloadBase) protectedStorageEntry.getProtectedStoragePayload());
+        }
+    }
+
+    // Listeners must see additions and removals in the order we received them, even if
+    // an addition got delayed by the parallel proof of work verification.
+    private void dispatchInOrder(CompletableFuture<Void> precondition, Runnable dispatch) {
+        if (pendingDispatch.isDone() && precondition.isDone()) {
+            dispatch.run();
+            return;
+        }
+
+        CompletableFuture<Void> ready = precondition.handle((result, throwable) -> {
+            if (throwable != null) {
+                log.error("Parallel proof of work verification failed", throwable);
+            }
+            return null;
+        });
+        pendingDispatch = pendingDispatch.thenCombine(ready, (a, b) -> (Void) null)
+                .thenCompose(ignored -> {
+                    CompletableFuture<Void> dispatched = new CompletableFuture<>();
+                    UserThread.execute(() -> {
+                        try {
+                            dispatch.run();
+                        } finally {
+                            dispatched.complete(null);
+                        }
+                    });
+                    return dispatched;
+                });
+    }
+
     private void doDumpStatistics() {
         // We filter the case that it is a MarketBasedPrice but the price is not available
         // That should only be possible if the price feed provider is not available
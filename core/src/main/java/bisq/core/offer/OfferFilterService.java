@@ -17,53 +17,139 @@
 
 package bisq.core.offer;
 
+import bisq.core.account.sign.SignedWitness;
 import bisq.core.account.witness.AccountAgeWitnessService;
+import bisq.core.dao.state.DaoStateListener;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Block;
 import bisq.core.filter.FilterManager;
 import bisq.core.payment.PaymentAccount;
 import bisq.core.payment.PaymentAccountUtil;
+import bisq.core.payment.TradeLimits;
 import bisq.core.user.Preferences;
 import bisq.core.user.User;
 
+import bisq.network.p2p.P2PService;
+
+import bisq.common.UserThread;
 import bisq.common.app.Version;
+import bisq.common.util.Hex;
 
 import org.bitcoinj.core.Coin;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import javafx.collections.SetChangeListener;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
+/**
+ * Checks if we can take an offer. The results are cached per offer, as the checks are called for each offer at
+ * each update of the offer book, and some of them (the trade limits) are expensive. The cache gets invalidated by
+ * the events which can change a result: filter updates, changes of our payment accounts, new signed witnesses of
+ * the maker or of ourselves and a change of the max. trade limit DAO param. As the trade limits depend on the
+ * account age as well, results expire after some time.
+ * <p>
+ * Can be called from any thread (e.g. gRPC calls), the events are handled on the user thread.
+ */
 @Slf4j
 @Singleton
 public class OfferFilterService {
+    private static final int MAX_CACHED_RESULTS = 10_000;
+    private static final long RESULT_TTL_MIN = 30;
+
+    private static class CachedResult {
+        private final byte[] offerPayloadHash;
+        @Nullable
+        private final String makerWitnessHash;
+        private final Result result;
+
+        CachedResult(byte[] offerPayloadHash, @Nullable String makerWitnessHash, Result result) {
+            this.offerPayloadHash = offerPayloadHash;
+            this.makerWitnessHash = makerWitnessHash;
+            this.result = result;
+        }
+    }
+
     private final User user;
     private final Preferences preferences;
     private final FilterManager filterManager;
     private final AccountAgeWitnessService accountAgeWitnessService;
-    private final Map<String, Boolean> insufficientCounterpartyTradeLimitCache = new HashMap<>();
-    private final Map<String, Boolean> myInsufficientTradeLimitCache = new HashMap<>();
+    private final TradeLimits tradeLimits;
+    // Keyed by offer id. An edited offer keeps its id, so we check the payload hash as well.
+    private final Cache<String, CachedResult> resultCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_RESULTS)
+            .expireAfterWrite(RESULT_TTL_MIN, TimeUnit.MINUTES)
+            .build();
+    // Increased at each invalidation, so that a result which got computed concurrently to an invalidation does not
+    // get cached. Checking the counter and caching the result happens under the read lock, increasing the counter
+    // and dropping the results under the write lock, so an invalidation cannot happen in between.
+    private final AtomicLong invalidationCounter = new AtomicLong();
+    private final ReentrantReadWriteLock invalidationLock = new ReentrantReadWriteLock();
+    // Hashes of the account age witnesses of our payment accounts as hex. Only accessed from the user thread.
+    @Nullable
+    private Set<String> myWitnessHashes;
+    @Nullable
+    private Coin maxTradeLimit;
 
     @Inject
     public OfferFilterService(User user,
                               Preferences preferences,
                               FilterManager filterManager,
-                              AccountAgeWitnessService accountAgeWitnessService) {
+                              AccountAgeWitnessService accountAgeWitnessService,
+                              TradeLimits tradeLimits,
+                              P2PService p2PService,
+                              DaoStateService daoStateService) {
         this.user = user;
         this.preferences = preferences;
         this.filterManager = filterManager;
         this.accountAgeWitnessService = accountAgeWitnessService;
+        this.tradeLimits = tradeLimits;
 
         if (user != null) {
-            // If our accounts have changed we reset our myInsufficientTradeLimitCache as it depends on account data
-            user.getPaymentAccountsAsObservable().addListener((SetChangeListener<PaymentAccount>) c ->
-                    myInsufficientTradeLimitCache.clear());
+            // If our accounts have changed we reset our cache as the payment account and our trade limit checks
+            // depend on account data
+            user.getPaymentAccountsAsObservable().addListener((SetChangeListener<PaymentAccount>) c -> {
+                myWitnessHashes = null;
+                invalidateAll();
+            });
+        }
+        if (filterManager != null) {
+            filterManager.filterProperty().addListener((observable, oldValue, newValue) -> invalidateAll());
+        }
+        if (p2PService != null) {
+            // The SignedWitnessService applies the payload after us, so we invalidate at the next user thread cycle
+            p2PService.getP2PDataStorage().addAppendOnlyDataStoreListener(payload -> {
+                if (payload instanceof SignedWitness) {
+                    String witnessHash = Hex.encode(((SignedWitness) payload).getAccountAgeWitnessHash());
+                    UserThread.execute(() -> onSignedWitnessAdded(witnessHash));
+                }
+            });
+        }
+        if (daoStateService != null) {
+            daoStateService.addDaoStateListener(new DaoStateListener() {
+                @Override
+                public void onParseBlockCompleteAfterBatchProcessing(Block block) {
+                    onDaoStateChanged();
+                }
+            });
         }
     }
 
@@ -98,38 +184,14 @@ public class OfferFilterService {
         if (isTakerApiUser && filterManager.getFilter() != null && filterManager.getFilter().isDisableApi()) {
             return Result.API_DISABLED;
         }
-        if (!isAnyPaymentAccountValidForOffer(offer)) {
-            return Result.HAS_NO_PAYMENT_ACCOUNT_VALID_FOR_OFFER;
-        }
-        if (!hasSameProtocolVersion(offer)) {
-            return Result.HAS_NOT_SAME_PROTOCOL_VERSION;
-        }
-        if (isIgnored(offer)) {
+
+        Result result = getCachedResult(offer);
+        // The ignore list is not observable, so that check is not cached. The results are declared in the order
+        // of the checks, so we only report IS_IGNORED if no earlier check failed.
+        if ((result.isValid() || result.ordinal() > Result.IS_IGNORED.ordinal()) && isIgnored(offer)) {
             return Result.IS_IGNORED;
         }
-        if (isOfferBanned(offer)) {
-            return Result.IS_OFFER_BANNED;
-        }
-        if (isCurrencyBanned(offer)) {
-            return Result.IS_CURRENCY_BANNED;
-        }
-        if (isPaymentMethodBanned(offer)) {
-            return Result.IS_PAYMENT_METHOD_BANNED;
-        }
-        if (isNodeAddressBanned(offer)) {
-            return Result.IS_NODE_ADDRESS_BANNED;
-        }
-        if (requireUpdateToNewVersion()) {
-            return Result.REQUIRE_UPDATE_TO_NEW_VERSION;
-        }
-        if (isInsufficientCounterpartyTradeLimit(offer)) {
-            return Result.IS_INSUFFICIENT_COUNTERPARTY_TRADE_LIMIT;
-        }
-        if (isMyInsufficientTradeLimit(offer)) {
-            return Result.IS_MY_INSUFFICIENT_TRADE_LIMIT;
-        }
-
-        return Result.VALID;
+        return result;
     }
 
     public boolean isAnyPaymentAccountValidForOffer(Offer offer) {
@@ -166,28 +228,16 @@ public class OfferFilterService {
         return filterManager.requireUpdateToNewVersionForTrading();
     }
 
-    // This call is a bit expensive so we cache results
+    // This call is a bit expensive, its result is cached by canTakeOffer
     public boolean isInsufficientCounterpartyTradeLimit(Offer offer) {
-        String offerId = offer.getId();
-        if (insufficientCounterpartyTradeLimitCache.containsKey(offerId)) {
-            return insufficientCounterpartyTradeLimitCache.get(offerId);
-        }
-
-        boolean result = offer.isFiatOffer() &&
+        return offer.isFiatOffer() &&
                 !accountAgeWitnessService.verifyPeersTradeAmount(offer, offer.getAmount(),
                         errorMessage -> {
                         });
-        insufficientCounterpartyTradeLimitCache.put(offerId, result);
-        return result;
     }
 
-    // This call is a bit expensive so we cache results
+    // This call is a bit expensive, its result is cached by canTakeOffer
     public boolean isMyInsufficientTradeLimit(Offer offer) {
-        String offerId = offer.getId();
-        if (myInsufficientTradeLimitCache.containsKey(offerId)) {
-            return myInsufficientTradeLimitCache.get(offerId);
-        }
-
         Optional<PaymentAccount> accountOptional = PaymentAccountUtil.getMostMaturePaymentAccountForOffer(offer,
                 user.getPaymentAccounts(),
                 accountAgeWitnessService);
@@ -200,12 +250,117 @@ public class OfferFilterService {
                 accountOptional.isPresent() ? accountOptional.get().getAccountName() : "null",
                 Coin.valueOf(myTradeLimit).toFriendlyString(),
                 Coin.valueOf(offerMinAmount).toFriendlyString());
-        boolean result = accountOptional.isPresent() && myTradeLimit < offerMinAmount;
-        myInsufficientTradeLimitCache.put(offerId, result);
-        return result;
+        return accountOptional.isPresent() && myTradeLimit < offerMinAmount;
     }
 
+    // Our trade limit depends on the user defined trade limit of the preferences
     public void resetTradeLimitCache() {
-        myInsufficientTradeLimitCache.clear();
+        invalidateAll();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private Result getCachedResult(Offer offer) {
+        byte[] offerPayloadHash = offer.getOfferPayloadBase().getHash();
+        CachedResult cachedResult = resultCache.getIfPresent(offer.getId());
+        if (cachedResult != null && Arrays.equals(cachedResult.offerPayloadHash, offerPayloadHash)) {
+            return cachedResult.result;
+        }
+
+        long invalidationCount = invalidationCounter.get();
+        Result result = evaluate(offer);
+        String makerWitnessHash = offer.getAccountAgeWitnessHashAsHex().map(String::toLowerCase).orElse(null);
+        Lock readLock = invalidationLock.readLock();
+        readLock.lock();
+        try {
+            if (invalidationCounter.get() == invalidationCount) {
+                resultCache.put(offer.getId(), new CachedResult(offerPayloadHash, makerWitnessHash, result));
+            }
+        } finally {
+            readLock.unlock();
+        }
+        return result;
+    }
+
+    private Result evaluate(Offer offer) {
+        if (!isAnyPaymentAccountValidForOffer(offer)) {
+            return Result.HAS_NO_PAYMENT_ACCOUNT_VALID_FOR_OFFER;
+        }
+        if (!hasSameProtocolVersion(offer)) {
+            return Result.HAS_NOT_SAME_PROTOCOL_VERSION;
+        }
+        if (isOfferBanned(offer)) {
+            return Result.IS_OFFER_BANNED;
+        }
+        if (isCurrencyBanned(offer)) {
+            return Result.IS_CURRENCY_BANNED;
+        }
+        if (isPaymentMethodBanned(offer)) {
+            return Result.IS_PAYMENT_METHOD_BANNED;
+        }
+        if (isNodeAddressBanned(offer)) {
+            return Result.IS_NODE_ADDRESS_BANNED;
+        }
+        if (requireUpdateToNewVersion()) {
+            return Result.REQUIRE_UPDATE_TO_NEW_VERSION;
+        }
+        if (isInsufficientCounterpartyTradeLimit(offer)) {
+            return Result.IS_INSUFFICIENT_COUNTERPARTY_TRADE_LIMIT;
+        }
+        if (isMyInsufficientTradeLimit(offer)) {
+            return Result.IS_MY_INSUFFICIENT_TRADE_LIMIT;
+        }
+        return Result.VALID;
+    }
+
+    private void invalidateAll() {
+        Lock writeLock = invalidationLock.writeLock();
+        writeLock.lock();
+        try {
+            invalidationCounter.incrementAndGet();
+            resultCache.invalidateAll();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void onSignedWitnessAdded(String witnessHash) {
+        // Our own trade limit depends on our sign state, so it affects the results of all offers
+        if (getMyWitnessHashes().contains(witnessHash)) {
+            invalidateAll();
+            return;
+        }
+        // Otherwise only the counterparty trade limit of the maker's offers can change
+        Lock writeLock = invalidationLock.writeLock();
+        writeLock.lock();
+        try {
+            invalidationCounter.incrementAndGet();
+            resultCache.asMap().values().removeIf(cachedResult -> witnessHash.equals(cachedResult.makerWitnessHash));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Set<String> getMyWitnessHashes() {
+        if (myWitnessHashes == null) {
+            Set<String> hashes = new HashSet<>();
+            if (user != null && user.getPaymentAccounts() != null) {
+                user.getPaymentAccounts().forEach(paymentAccount -> hashes.add(Hex.encode(accountAgeWitnessService
+                        .getMyWitness(paymentAccount.getPaymentAccountPayload()).getHash())));
+            }
+            myWitnessHashes = hashes;
+        }
+        return myWitnessHashes;
+    }
+
+    private void onDaoStateChanged() {
+        Coin newMaxTradeLimit = tradeLimits.getMaxTradeLimitFromDaoParam();
+        if (!Objects.equals(maxTradeLimit, newMaxTradeLimit)) {
+            maxTradeLimit = newMaxTradeLimit;
+            invalidateAll();
+        }
     }
 }
@@ -24,6 +24,9 @@ import com.google.inject.Singleton;
 
 import lombok.extern.slf4j.Slf4j;
 
+import static bisq.common.config.Config.POW_MINTING_THREADS;
+import static com.google.inject.name.Names.named;
+
 @Slf4j
 public class OfferModule extends AppModule {
 
@@ -35,5 +38,7 @@ public class OfferModule extends AppModule {
     protected final void configure() {
         bind(OpenOfferManager.class).in(Singleton.class);
         bind(OfferBookService.class).in(Singleton.class);
+
+        bindConstant().annotatedWith(named(POW_MINTING_THREADS)).to(config.powMintingThreads);
     }
 }
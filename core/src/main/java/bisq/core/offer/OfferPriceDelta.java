@@ -0,0 +1,69 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.monetary.Price;
+
+import java.util.List;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+
+/**
+ * The market based offers of a currency which got a new effective price after a market price update,
+ * with their new prices. Never contains fixed price offers, as their price does not depend on the market price.
+ */
+@EqualsAndHashCode
+@ToString
+public final class OfferPriceDelta {
+    @Getter
+    private final String currencyCode;
+    private final List<String> offerIds;
+    // Aligned with offerIds. 0 if the offer has no price as we do not have a recent market price.
+    private final long[] prices;
+
+    OfferPriceDelta(String currencyCode, List<String> offerIds, long[] prices) {
+        this.currencyCode = currencyCode;
+        this.offerIds = List.copyOf(offerIds);
+        this.prices = prices.clone();
+    }
+
+    public int size() {
+        return offerIds.size();
+    }
+
+    public boolean isEmpty() {
+        return offerIds.isEmpty();
+    }
+
+    public String getOfferId(int index) {
+        return offerIds.get(index);
+    }
+
+    @Nullable
+    public Price getPrice(int index) {
+        return prices[index] > 0 ? Price.valueOf(currencyCode, prices[index]) : null;
+    }
+
+    public boolean contains(String offerId) {
+        return offerIds.contains(offerId);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.monetary.Price;
+import bisq.core.provider.price.MarketPrice;
+import bisq.core.provider.price.PriceFeedService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * The effective prices of the market based offers of the offer book. For each currency we keep the offer ids
+ * sorted, with their price factors and prices in arrays of the same order, computed from the market price
+ * we had at the last update of that currency. Reading a price is a binary search instead of recomputing it from
+ * the market price as {@link Offer#getPrice()} does.
+ * <p>
+ * The prices of a currency only get recomputed if we receive a new market price for it.
+ * Only market based (percentage) offers are indexed, as only their prices move with the market price. Fixed price
+ * offers keep their price and their order among each other at a market price update. Their position relative to
+ * the repriced offers follows from merging both by price at reading (see {@link OfferBookIndex}).
+ * The arrays of a currency are never modified but replaced, so the index can be read from any thread while
+ * getting updated from the user thread.
+ */
+@Slf4j
+class OfferPriceIndex {
+    // Marks an offer without price as we do not have a recent market price
+    static final long NO_PRICE = 0;
+
+    private final PriceFeedService priceFeedService;
+    private final Map<String, CurrencyPrices> pricesByCurrency = new ConcurrentHashMap<>();
+
+    OfferPriceIndex(PriceFeedService priceFeedService) {
+        this.priceFeedService = priceFeedService;
+    }
+
+    void add(Offer offer) {
+        if (!offer.isUseMarketBasedPrice()) {
+            return;
+        }
+        String currencyCode = offer.getCurrencyCode();
+        pricesByCurrency.compute(currencyCode, (code, prices) -> {
+            if (prices == null) {
+                prices = new CurrencyPrices(currencyCode, priceFeedService.getMarketPrice(currencyCode));
+            }
+            return prices.withOffer(offer.getId(), offer.getMarketPriceFactor());
+        });
+    }
+
+    void remove(Offer offer) {
+        if (!offer.isUseMarketBasedPrice()) {
+            return;
+        }
+        pricesByCurrency.computeIfPresent(offer.getCurrencyCode(), (code, prices) -> {
+            CurrencyPrices result = prices.withoutOffer(offer.getId());
+            return result.isEmpty() ? null : result;
+        });
+    }
+
+    /**
+     * Recomputes the prices of the offers of the given currencies with the current market prices.
+     * @return The offers which got a new price, per currency. Currencies without changes are not included.
+     */
+    List<OfferPriceDelta> reprice(Collection<String> currencyCodes) {
+        List<OfferPriceDelta> deltas = new ArrayList<>();
+        for (String currencyCode : currencyCodes) {
+            CurrencyPrices prices = pricesByCurrency.get(currencyCode);
+            if (prices == null) {
+                continue;
+            }
+            CurrencyPrices repriced = prices.withMarketPrice(priceFeedService.getMarketPrice(currencyCode));
+            pricesByCurrency.put(currencyCode, repriced);
+            OfferPriceDelta delta = repriced.getDelta(prices);
+            if (!delta.isEmpty()) {
+                deltas.add(delta);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * @return The indexed price of the market based offer, {@link #NO_PRICE} if we do not have a recent market
+     * price for it. Fixed price offers and offers we do not have indexed (e.g. an outdated copy of an edited
+     * offer) get their price from the offer.
+     */
+    long getPrice(Offer offer) {
+        if (!offer.isUseMarketBasedPrice()) {
+            return offer.getFixedPrice();
+        }
+        CurrencyPrices prices = pricesByCurrency.get(offer.getCurrencyCode());
+        if (prices != null) {
+            int index = prices.indexOf(offer.getId());
+            if (index >= 0 && prices.factors[index] == offer.getMarketPriceFactor()) {
+                return prices.isMarketPriceRecent() ? prices.prices[index] : NO_PRICE;
+            }
+        }
+        Price price = offer.getPrice();
+        return price != null ? price.getValue() : NO_PRICE;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // CurrencyPrices
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static final class CurrencyPrices {
+        private final String currencyCode;
+        @Nullable
+        private final MarketPrice marketPrice;
+        private final String[] offerIds;
+        private final double[] factors;
+        private final long[] prices;
+
+        CurrencyPrices(String currencyCode, @Nullable MarketPrice marketPrice) {
+            this(currencyCode, marketPrice, new String[0], new double[0], new long[0]);
+        }
+
+        private CurrencyPrices(String currencyCode,
+                               @Nullable MarketPrice marketPrice,
+                               String[] offerIds,
+                               double[] factors,
+                               long[] prices) {
+            this.currencyCode = currencyCode;
+            this.marketPrice = marketPrice;
+            this.offerIds = offerIds;
+            this.factors = factors;
+            this.prices = prices;
+        }
+
+        int indexOf(String offerId) {
+            return Arrays.binarySearch(offerIds, offerId);
+        }
+
+        boolean isEmpty() {
+            return offerIds.length == 0;
+        }
+
+        // The age of the market price is checked at reading as it does not trigger an update
+        boolean isMarketPriceRecent() {
+            return marketPrice != null && marketPrice.isRecentExternalPriceAvailable();
+        }
+
+        CurrencyPrices withOffer(String offerId, double factor) {
+            int index = indexOf(offerId);
+            if (index >= 0) {
+                // Edited offer
+                double[] newFactors = factors.clone();
+                long[] newPrices = prices.clone();
+                newFactors[index] = factor;
+                newPrices[index] = computePrice(factor);
+                return new CurrencyPrices(currencyCode, marketPrice, offerIds, newFactors, newPrices);
+            }
+
+            int insertAt = -index - 1;
+            int length = offerIds.length;
+            String[] newOfferIds = new String[length + 1];
+            double[] newFactors = new double[length + 1];
+            long[] newPrices = new long[length + 1];
+            System.arraycopy(offerIds, 0, newOfferIds, 0, insertAt);
+            System.arraycopy(factors, 0, newFactors, 0, insertAt);
+            System.arraycopy(prices, 0, newPrices, 0, insertAt);
+            newOfferIds[insertAt] = offerId;
+            newFactors[insertAt] = factor;
+            newPrices[insertAt] = computePrice(factor);
+            System.arraycopy(offerIds, insertAt, newOfferIds, insertAt + 1, length - insertAt);
+            System.arraycopy(factors, insertAt, newFactors, insertAt + 1, length - insertAt);
+            System.arraycopy(prices, insertAt, newPrices, insertAt + 1, length - insertAt);
+            return new CurrencyPrices(currencyCode, marketPrice, newOfferIds, newFactors, newPrices);
+        }
+
+        CurrencyPrices withoutOffer(String offerId) {
+            int index = indexOf(offerId);
+            if (index < 0) {
+                return this;
+            }
+            int length = offerIds.length;
+            String[] newOfferIds = new String[length - 1];
+            double[] newFactors = new double[length - 1];
+            long[] newPrices = new long[length - 1];
+            System.arraycopy(offerIds, 0, newOfferIds, 0, index);
+            System.arraycopy(factors, 0, newFactors, 0, index);
+            System.arraycopy(prices, 0, newPrices, 0, index);
+            System.arraycopy(offerIds, index + 1, newOfferIds, index, length - index - 1);
+            System.arraycopy(factors, index + 1, newFactors, index, length - index - 1);
+            System.arraycopy(prices, index + 1, newPrices, index, length - index - 1);
+            return new CurrencyPrices(currencyCode, marketPrice, newOfferIds, newFactors, newPrices);
+        }
+
+        CurrencyPrices withMarketPrice(@Nullable MarketPrice marketPrice) {
+            CurrencyPrices result = new CurrencyPrices(currencyCode, marketPrice, offerIds, factors,
+                    new long[offerIds.length]);
+            for (int i = 0; i < factors.length; i++) {
+                result.prices[i] = result.computePrice(factors[i]);
+            }
+            return result;
+        }
+
+        // Both have the same offers as we only get called with the prices we got repriced from
+        OfferPriceDelta getDelta(CurrencyPrices previous) {
+            boolean wasRecent = previous.isMarketPriceRecent();
+            boolean isRecent = isMarketPriceRecent();
+            List<String> changedOfferIds = new ArrayList<>();
+            long[] changedPrices = new long[offerIds.length];
+            for (int i = 0; i < offerIds.length; i++) {
+                long previousPrice = wasRecent ? previous.prices[i] : NO_PRICE;
+                long price = isRecent ? prices[i] : NO_PRICE;
+                if (price != previousPrice) {
+                    changedPrices[changedOfferIds.size()] = price;
+                    changedOfferIds.add(offerIds[i]);
+                }
+            }
+            return new OfferPriceDelta(currencyCode, changedOfferIds,
+                    Arrays.copyOf(changedPrices, changedOfferIds.size()));
+        }
+
+        // Same result as Offer.getPrice, apart from the check of the age of the market price which we do at reading
+        private long computePrice(double factor) {
+            if (marketPrice == null || !marketPrice.isPriceAvailable()) {
+                return NO_PRICE;
+            }
+            try {
+                return Offer.toMarketBasedPrice(currencyCode, marketPrice.getPrice(), factor);
+            } catch (Exception e) {
+                log.error("Could not compute the price of a market based offer. currencyCode={}, marketPrice={}",
+                        currencyCode, marketPrice, e);
+                return NO_PRICE;
+            }
+        }
+    }
+}
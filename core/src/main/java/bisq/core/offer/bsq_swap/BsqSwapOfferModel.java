@@ -392,10 +392,10 @@ public class BsqSwapOfferModel {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private void applyTxFeePerVbyte() {
-        // We only set the txFeePerVbyte at start, otherwise we might get diff. required amounts while user has view open
-        txFeePerVbyte = feeService.getTxFeePerVbyte().getValue();
+        // We only set the txFeePerVbyte at start, otherwise we might get diff. required amounts while user has view open.
+        // The peer verifies the fee rate against the price node fee rate, so we do not use our local node estimate.
+        txFeePerVbyte = feeService.getPriceNodeTxFeePerVbyte().getValue();
         resetTxFeeAndMissingFunds();
-        txFeePerVbyte = feeService.getTxFeePerVbyte().getValue();
         calculateInputAndPayout();
         resetTxFeeAndMissingFunds();
     }
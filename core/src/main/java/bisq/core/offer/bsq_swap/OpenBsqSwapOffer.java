@@ -85,9 +85,10 @@ class OpenBsqSwapOffer {
         isBuyOffer = offer.isBuyOffer();
         tradeFee = offer.getMakerFee().getValue();
 
-        txFeePerVbyte = feeService.getTxFeePerVbyte().getValue();
+        // Same fee rate as the taker uses, see BsqSwapOfferModel
+        txFeePerVbyte = feeService.getPriceNodeTxFeePerVbyte().getValue();
         feeChangeListener = observable -> {
-            long newTxFeePerVbyte = feeService.getTxFeePerVbyte().value;
+            long newTxFeePerVbyte = feeService.getPriceNodeTxFeePerVbyte().value;
             if (newTxFeePerVbyte != this.txFeePerVbyte) {
                 this.txFeePerVbyte = newTxFeePerVbyte;
                 evaluateFundedState();
@@ -43,6 +43,8 @@ import bisq.network.p2p.P2PService;
 
 import bisq.common.UserThread;
 import bisq.common.app.Version;
+import bisq.common.config.Config;
+import bisq.common.crypto.ProofOfWork;
 import bisq.common.crypto.ProofOfWorkService;
 import bisq.common.crypto.PubKeyRing;
 import bisq.common.handlers.ErrorMessageHandler;
@@ -51,6 +53,7 @@ import bisq.common.handlers.ResultHandler;
 import org.bitcoinj.core.Coin;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 
 import javafx.beans.value.ChangeListener;
@@ -63,6 +66,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -83,8 +88,11 @@ public class OpenBsqSwapOfferService {
     private final OfferUtil offerUtil;
     private final FilterManager filterManager;
     private final PubKeyRing pubKeyRing;
+    private final int powMintingThreads;
 
     private final Map<String, OpenBsqSwapOffer> openBsqSwapOffersById = new HashMap<>();
+    // Pending PoW minting futures by offer ID, so we can stop minting if the offer is withdrawn
+    private final Map<String, CompletableFuture<ProofOfWork>> powMintingFuturesByOfferId = new HashMap<>();
     private final ListChangeListener<OpenOffer> offerListChangeListener;
     private final ChangeListener<Filter> filterChangeListener;
     private final DaoStateListener daoStateListener;
@@ -100,7 +108,8 @@ public class OpenBsqSwapOfferService {
                                    OfferBookService offerBookService,
                                    OfferUtil offerUtil,
                                    FilterManager filterManager,
-                                   PubKeyRing pubKeyRing) {
+                                   PubKeyRing pubKeyRing,
+                                   @Named(Config.POW_MINTING_THREADS) int powMintingThreads) {
         this.openOfferManager = openOfferManager;
         this.btcWalletService = btcWalletService;
         this.bsqWalletService = bsqWalletService;
@@ -111,6 +120,7 @@ public class OpenBsqSwapOfferService {
         this.offerUtil = offerUtil;
         this.filterManager = filterManager;
         this.pubKeyRing = pubKeyRing;
+        this.powMintingThreads = powMintingThreads;
 
         offerListChangeListener = c -> {
             c.next();
@@ -177,6 +187,8 @@ public class OpenBsqSwapOfferService {
         p2PService.removeP2PServiceListener(bootstrapListener);
         daoFacade.removeBsqStateListener(daoStateListener);
         filterManager.filterProperty().removeListener(filterChangeListener);
+        powMintingFuturesByOfferId.values().forEach(future -> future.cancel(false));
+        powMintingFuturesByOfferId.clear();
     }
 
     public void requestNewOffer(String offerId,
@@ -200,12 +212,12 @@ public class OpenBsqSwapOfferService {
         offerUtil.validateBasicOfferData(PaymentMethod.BSQ_SWAP, "BSQ");
 
         double difficulty = getPowDifficulty();
-        getPowService().mint(offerId, makerAddress.getFullAddress(), difficulty)
+        mintProofOfWork(offerId, makerAddress, difficulty)
                 .whenComplete((proofOfWork, throwable) -> {
                     // We got called from a non user thread...
                     UserThread.execute(() -> {
                         if (throwable != null) {
-                            log.error(throwable.toString());
+                            logMintingFailure(offerId, throwable);
                             return;
                         }
 
@@ -226,6 +238,14 @@ public class OpenBsqSwapOfferService {
                 });
     }
 
+    /**
+     * Stops minting the proof of work for a requested but not yet placed offer, e.g. if the
+     * user cancelled the offer creation.
+     */
+    public void cancelRequestNewOffer(String offerId) {
+        cancelProofOfWorkMinting(offerId);
+    }
+
     public void placeBsqSwapOffer(Offer offer,
                                   Runnable resultHandler,
                                   ErrorMessageHandler errorMessageHandler) {
@@ -318,6 +338,7 @@ public class OpenBsqSwapOfferService {
                 .filter(openOffer -> openOffer.getOffer().isBsqSwapOffer())
                 .map(OpenOffer::getId)
                 .forEach(offerId -> {
+                    cancelProofOfWorkMinting(offerId);
                     if (openBsqSwapOffersById.containsKey(offerId)) {
                         openBsqSwapOffersById.get(offerId).removeListeners();
                         openBsqSwapOffersById.remove(offerId);
@@ -348,12 +369,12 @@ public class OpenBsqSwapOfferService {
         String newOfferId = OfferUtil.getOfferIdWithMutationCounter(openOffer.getId());
         NodeAddress nodeAddress = Objects.requireNonNull(openOffer.getOffer().getMakerNodeAddress());
         double difficulty = getPowDifficulty();
-        getPowService().mint(newOfferId, nodeAddress.getFullAddress(), difficulty)
+        mintProofOfWork(newOfferId, nodeAddress, difficulty)
                 .whenComplete((proofOfWork, throwable) -> {
                     // We got called from a non user thread...
                     UserThread.execute(() -> {
                         if (throwable != null) {
-                            log.error(throwable.toString());
+                            logMintingFailure(newOfferId, throwable);
                             return;
                         }
                         // We mutate the offerId with a postfix counting the mutations to get a new unique id.
@@ -377,6 +398,33 @@ public class OpenBsqSwapOfferService {
                 });
     }
 
+    private CompletableFuture<ProofOfWork> mintProofOfWork(String offerId,
+                                                           NodeAddress nodeAddress,
+                                                           double difficulty) {
+        cancelProofOfWorkMinting(offerId);
+        CompletableFuture<ProofOfWork> future = getPowService().mint(offerId, nodeAddress.getFullAddress(), difficulty,
+                powMintingThreads);
+        powMintingFuturesByOfferId.put(offerId, future);
+        future.whenComplete((proofOfWork, throwable) ->
+                UserThread.execute(() -> powMintingFuturesByOfferId.remove(offerId, future)));
+        return future;
+    }
+
+    private void cancelProofOfWorkMinting(String offerId) {
+        CompletableFuture<ProofOfWork> future = powMintingFuturesByOfferId.remove(offerId);
+        if (future != null && future.cancel(false)) {
+            log.info("Cancelled proof of work minting for offer {}", offerId);
+        }
+    }
+
+    private static void logMintingFailure(String offerId, Throwable throwable) {
+        if (throwable instanceof CancellationException) {
+            log.info("Proof of work minting for offer {} got cancelled", offerId);
+        } else {
+            log.error(throwable.toString());
+        }
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Utils
@@ -18,9 +18,12 @@
 package bisq.core.presentation;
 
 import bisq.core.btc.Balances;
+import bisq.core.btc.WalletBalanceSnapshotService;
 import bisq.core.util.FormattingUtils;
 import bisq.core.util.coin.CoinFormatter;
 
+import org.bitcoinj.core.Coin;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -40,20 +43,33 @@ public class BalancePresentation {
     private final StringProperty lockedBalance = new SimpleStringProperty();
 
     @Inject
-    public BalancePresentation(Balances balances, @Named(FormattingUtils.BTC_FORMATTER_KEY) CoinFormatter formatter) {
-        balances.getAvailableBalance().addListener((observable, oldValue, newValue) -> {
-            String value = formatter.formatCoinWithCode(newValue);
-            // If we get full precision the BTC postfix breaks layout so we omit it
-            if (value.length() > 11)
-                value = formatter.formatCoin(newValue);
-            availableBalance.set(value);
-        });
-
+    public BalancePresentation(Balances balances,
+                               WalletBalanceSnapshotService walletBalanceSnapshotService,
+                               @Named(FormattingUtils.BTC_FORMATTER_KEY) CoinFormatter formatter) {
+        balances.getAvailableBalance().addListener((observable, oldValue, newValue) ->
+                availableBalance.set(formatAvailableBalance(newValue, formatter)));
         balances.getReservedBalance().addListener((observable, oldValue, newValue) -> {
             reservedBalance.set(formatter.formatCoinWithCode(newValue));
         });
         balances.getLockedBalance().addListener((observable, oldValue, newValue) -> {
             lockedBalance.set(formatter.formatCoinWithCode(newValue));
         });
+
+        // Until the balances got calculated we show the balances of the last session
+        if (balances.getAvailableBalance().get() == null) {
+            walletBalanceSnapshotService.getSnapshot().ifPresent(snapshot -> {
+                availableBalance.set(formatAvailableBalance(Coin.valueOf(snapshot.getAvailableBalance()), formatter));
+                reservedBalance.set(formatter.formatCoinWithCode(Coin.valueOf(snapshot.getReservedBalance())));
+                lockedBalance.set(formatter.formatCoinWithCode(Coin.valueOf(snapshot.getLockedBalance())));
+            });
+        }
+    }
+
+    private static String formatAvailableBalance(Coin balance, CoinFormatter formatter) {
+        String value = formatter.formatCoinWithCode(balance);
+        // If we get full precision the BTC postfix breaks layout so we omit it
+        if (value.length() > 11)
+            value = formatter.formatCoin(balance);
+        return value;
     }
 }
@@ -0,0 +1,33 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.fee;
+
+import lombok.Value;
+
+/**
+ * A miner fee rate estimate of a {@link FeeEstimationProvider} for getting a tx confirmed within
+ * {@code confTarget} blocks.
+ */
+@Value
+public class FeeEstimate {
+    String providerName;
+    int confTarget;
+    long txFeePerVbyte;
+    // Time in ms when the provider made the estimate
+    long timestamp;
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.fee;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Time series of the recent fee estimates per provider and confTarget.
+ */
+@ThreadSafe
+class FeeEstimateHistory {
+    private final int maxEntriesPerSeries;
+    private final Map<String, Map<Integer, Deque<FeeEstimate>>> seriesByProvider = new HashMap<>();
+
+    FeeEstimateHistory(int maxEntriesPerSeries) {
+        this.maxEntriesPerSeries = maxEntriesPerSeries;
+    }
+
+    /**
+     * @return True if the estimate was added, false if we have it already
+     */
+    synchronized boolean add(FeeEstimate estimate) {
+        Deque<FeeEstimate> series = seriesByProvider
+                .computeIfAbsent(estimate.getProviderName(), name -> new HashMap<>())
+                .computeIfAbsent(estimate.getConfTarget(), confTarget -> new ArrayDeque<>());
+        FeeEstimate latest = series.peekLast();
+        if (latest != null && latest.getTimestamp() >= estimate.getTimestamp()) {
+            return false;
+        }
+        series.addLast(estimate);
+        if (series.size() > maxEntriesPerSeries) {
+            series.removeFirst();
+        }
+        return true;
+    }
+
+    synchronized Optional<FeeEstimate> getLatest(String providerName, int confTarget) {
+        return Optional.ofNullable(seriesByProvider.get(providerName))
+                .map(series -> series.get(confTarget))
+                .map(Deque::peekLast);
+    }
+
+    /**
+     * @return The estimates of all providers for the confTarget, sorted by time
+     */
+    synchronized List<FeeEstimate> getHistory(int confTarget) {
+        List<FeeEstimate> result = new ArrayList<>();
+        seriesByProvider.values().forEach(series -> {
+            Deque<FeeEstimate> estimates = series.get(confTarget);
+            if (estimates != null) {
+                result.addAll(estimates);
+            }
+        });
+        result.sort(Comparator.comparingLong(FeeEstimate::getTimestamp));
+        return result;
+    }
+}
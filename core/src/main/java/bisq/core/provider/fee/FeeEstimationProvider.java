@@ -0,0 +1,36 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.fee;
+
+import java.io.IOException;
+
+import java.util.Optional;
+
+public interface FeeEstimationProvider {
+    String getName();
+
+    boolean isAvailable();
+
+    /**
+     * Might block, so must not be called from the user thread.
+     *
+     * @param confTarget Number of blocks the tx should get confirmed within
+     * @return The estimate or empty if the provider has not enough data for the confTarget
+     */
+    Optional<FeeEstimate> getEstimate(int confTarget) throws IOException;
+}
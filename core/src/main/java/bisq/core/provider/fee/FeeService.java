@@ -22,18 +22,33 @@ import bisq.core.dao.governance.period.PeriodService;
 import bisq.core.dao.state.DaoStateService;
 import bisq.core.filter.FilterManager;
 
+import bisq.common.UserThread;
 import bisq.common.config.Config;
+import bisq.common.util.SingleThreadExecutorUtils;
 
 import org.bitcoinj.core.Coin;
 
 import com.google.inject.Inject;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
 import java.time.Instant;
 
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -47,6 +62,19 @@ public class FeeService {
     // Miner fees are between 1-600 sat/vbyte. We try to stay on the safe side. BTC_DEFAULT_TX_FEE is only used if our
     // fee service would not deliver data.
     private static final long BTC_DEFAULT_TX_FEE = 50;
+    // The price nodes deliver the fee rate for a confirmation within about half an hour
+    public static final int DEFAULT_CONF_TARGET = 3;
+    @VisibleForTesting
+    static final List<Integer> CONF_TARGETS = ImmutableList.of(2, DEFAULT_CONF_TARGET, 6, 12, 144);
+    private static final long REFRESH_INTERVAL_SEC = 60;
+    // An estimate older than that is not used anymore and we fall back to the next provider
+    private static final long MAX_ESTIMATE_AGE_MS = TimeUnit.MINUTES.toMillis(10);
+    // Keeps an hour of estimates at the refresh interval
+    private static final int MAX_ESTIMATES_PER_SERIES = 60;
+    // A local estimate is capped at that multiple of the price node fee rate, so a misbehaving or manipulated local
+    // node cannot make us overpay
+    @VisibleForTesting
+    static final long MAX_LOCAL_ESTIMATE_FACTOR = 4;
     private static DaoStateService daoStateService;
     private static PeriodService periodService;
     private static FilterManager filterManager = null;
@@ -98,7 +126,13 @@ public class FeeService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private final IntegerProperty feeUpdateCounter = new SimpleIntegerProperty(0);
-    private long txFeePerVbyte = BTC_DEFAULT_TX_FEE;
+    private final PriceNodeFeeEstimationProvider priceNodeFeeEstimationProvider = new PriceNodeFeeEstimationProvider();
+    // In order of preference
+    private final List<FeeEstimationProvider> feeEstimationProviders;
+    private final FeeEstimateHistory feeEstimateHistory = new FeeEstimateHistory(MAX_ESTIMATES_PER_SERIES);
+    private final ExecutorService executor = SingleThreadExecutorUtils.getSingleThreadExecutor("FeeEstimation");
+    private final AtomicBoolean refreshInProgress = new AtomicBoolean();
+    private volatile long txFeePerVbyte = BTC_DEFAULT_TX_FEE;
     @Getter
     private long lastRequest = 0;
     @Getter
@@ -110,9 +144,12 @@ public class FeeService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    public FeeService(DaoStateService daoStateService, PeriodService periodService) {
+    public FeeService(DaoStateService daoStateService,
+                      PeriodService periodService,
+                      LocalNodeFeeEstimationProvider localNodeFeeEstimationProvider) {
         FeeService.daoStateService = daoStateService;
         FeeService.periodService = periodService;
+        feeEstimationProviders = ImmutableList.of(localNodeFeeEstimationProvider, priceNodeFeeEstimationProvider);
     }
 
 
@@ -123,6 +160,14 @@ public class FeeService {
     public void onAllServicesInitialized(FilterManager providedFilterManager) {
         filterManager = providedFilterManager;
         minFeePerVByte = Config.baseCurrencyNetwork().getDefaultMinFeePerVbyte();
+
+        // The price node fee rate gets pushed to us with the market prices, so we only need to poll if
+        // another provider is available.
+        if (feeEstimationProviders.stream().anyMatch(provider -> provider != priceNodeFeeEstimationProvider &&
+                provider.isAvailable())) {
+            requestFeeEstimates();
+            UserThread.runPeriodically(this::requestFeeEstimates, REFRESH_INTERVAL_SEC);
+        }
     }
 
 
@@ -131,9 +176,45 @@ public class FeeService {
     }
 
     public Coin getTxFeePerVbyte() {
+        return getTxFeePerVbyte(DEFAULT_CONF_TARGET);
+    }
+
+    /**
+     * Returns the fee rate of the most preferred provider with a recent estimate for the confTarget. Falls back to
+     * the fee rate from the price nodes or the default fee rate. Does not block as the estimates are requested in
+     * the background.
+     *
+     * @param confTarget Number of blocks the tx should get confirmed within. We request estimates for 2, 3, 6, 12
+     *                   and 144 blocks, for other values we use the price node fee rate.
+     */
+    public Coin getTxFeePerVbyte(int confTarget) {
+        long now = System.currentTimeMillis();
+        for (FeeEstimationProvider provider : feeEstimationProviders) {
+            Optional<FeeEstimate> estimate = feeEstimateHistory.getLatest(provider.getName(), confTarget)
+                    .filter(e -> now - e.getTimestamp() <= MAX_ESTIMATE_AGE_MS);
+            if (estimate.isPresent()) {
+                long feePerVbyte = estimate.get().getTxFeePerVbyte();
+                if (provider != priceNodeFeeEstimationProvider) {
+                    feePerVbyte = Math.min(feePerVbyte, txFeePerVbyte * MAX_LOCAL_ESTIMATE_FACTOR);
+                }
+                return Coin.valueOf(Math.max(feePerVbyte, minFeePerVByte));
+            }
+        }
+        return Coin.valueOf(txFeePerVbyte);
+    }
+
+    /**
+     * Returns the fee rate from the price nodes or the default fee rate. Fee rates which we compare with a peer's
+     * fee rate or agree on with a peer must not depend on the local node, as the peer does not know its estimates.
+     */
+    public Coin getPriceNodeTxFeePerVbyte() {
         return Coin.valueOf(txFeePerVbyte);
     }
 
+    public List<FeeEstimate> getFeeEstimateHistory(int confTarget) {
+        return feeEstimateHistory.getHistory(confTarget);
+    }
+
     public ReadOnlyIntegerProperty feeUpdateCounterProperty() {
         return feeUpdateCounter;
     }
@@ -145,8 +226,59 @@ public class FeeService {
     public void updateFeeInfo(long txFeePerVbyte, long minFeePerVByte) {
         this.txFeePerVbyte = txFeePerVbyte;
         this.minFeePerVByte = minFeePerVByte;
+        long now = System.currentTimeMillis();
+        priceNodeFeeEstimationProvider.onFeeInfo(txFeePerVbyte, now);
+        CONF_TARGETS.forEach(confTarget -> priceNodeFeeEstimationProvider.getEstimate(confTarget)
+                .ifPresent(feeEstimateHistory::add));
         feeUpdateCounter.set(feeUpdateCounter.get() + 1);
         lastRequest = Instant.now().getEpochSecond();
         log.info("BTC tx fee: txFeePerVbyte={} minFeePerVbyte={}", txFeePerVbyte, minFeePerVByte);
     }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void requestFeeEstimates() {
+        if (!refreshInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                List<FeeEstimate> estimates = new ArrayList<>();
+                try {
+                    feeEstimationProviders.stream()
+                            .filter(provider -> provider != priceNodeFeeEstimationProvider)
+                            .filter(FeeEstimationProvider::isAvailable)
+                            .forEach(provider -> {
+                                try {
+                                    for (int confTarget : CONF_TARGETS) {
+                                        provider.getEstimate(confTarget).ifPresent(estimates::add);
+                                    }
+                                } catch (IOException | RuntimeException e) {
+                                    log.warn("Fee estimation from provider {} failed: {}", provider.getName(), e.toString());
+                                }
+                            });
+                } finally {
+                    refreshInProgress.set(false);
+                }
+                UserThread.execute(() -> applyFeeEstimates(estimates));
+            });
+        } catch (RejectedExecutionException e) {
+            refreshInProgress.set(false);
+            log.warn(e.toString());
+        }
+    }
+
+    @VisibleForTesting
+    void applyFeeEstimates(List<FeeEstimate> estimates) {
+        Coin previousTxFeePerVbyte = getTxFeePerVbyte();
+        estimates.forEach(feeEstimateHistory::add);
+        Coin txFeePerVbyte = getTxFeePerVbyte();
+        if (!txFeePerVbyte.equals(previousTxFeePerVbyte)) {
+            feeUpdateCounter.set(feeUpdateCounter.get() + 1);
+            log.info("BTC tx fee from fee estimates: txFeePerVbyte={}", txFeePerVbyte.value);
+        }
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.fee;
+
+import bisq.core.btc.nodes.LocalBitcoinNode;
+import bisq.core.dao.node.full.RpcService;
+import bisq.core.dao.node.full.rpc.BitcoindClient;
+import bisq.core.dao.node.full.rpc.dto.DtoSmartFeeEstimate;
+import bisq.core.user.Preferences;
+
+import bisq.common.config.Config;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import java.io.IOException;
+
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Requests fee rate estimates via the estimatesmartfee RPC call from the local Bitcoin Core node.
+ * Only available if the local node is used by the wallet and the RPC credentials are set (as for running a
+ * DAO full node). See the rpc.md file in the doc directory for more info about the setup.
+ */
+@Singleton
+@Slf4j
+public class LocalNodeFeeEstimationProvider implements FeeEstimationProvider {
+    static final String NAME = "localNode";
+
+    private final LocalBitcoinNode localBitcoinNode;
+    private final Preferences preferences;
+    private final String rpcHost;
+    private final int rpcPort;
+
+    private BitcoindClient client;
+
+    @Inject
+    public LocalNodeFeeEstimationProvider(LocalBitcoinNode localBitcoinNode,
+                                          Preferences preferences,
+                                          Config config) {
+        this(localBitcoinNode, preferences, RpcService.getRpcHost(config.rpcHost), RpcService.getRpcPort(config.rpcPort));
+    }
+
+    @VisibleForTesting
+    LocalNodeFeeEstimationProvider(LocalBitcoinNode localBitcoinNode,
+                                   Preferences preferences,
+                                   String rpcHost,
+                                   int rpcPort) {
+        this.localBitcoinNode = localBitcoinNode;
+        this.preferences = preferences;
+        this.rpcHost = rpcHost;
+        this.rpcPort = rpcPort;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return localBitcoinNode.shouldBeUsed() &&
+                !Strings.isNullOrEmpty(preferences.getRpcUser()) &&
+                !Strings.isNullOrEmpty(preferences.getRpcPw());
+    }
+
+    @Override
+    public Optional<FeeEstimate> getEstimate(int confTarget) throws IOException {
+        DtoSmartFeeEstimate estimate = getClient().estimateSmartFee(confTarget);
+        if (estimate == null || estimate.getFeeRate() == null || estimate.getFeeRate() <= 0) {
+            log.debug("No fee estimate from local node for confTarget {}. errors={}", confTarget,
+                    estimate != null ? estimate.getErrors() : null);
+            return Optional.empty();
+        }
+        return Optional.of(new FeeEstimate(NAME, confTarget, toSatPerVbyte(estimate.getFeeRate()),
+                System.currentTimeMillis()));
+    }
+
+    // BTC/kvB to sat/vB, rounded up to not underpay
+    @VisibleForTesting
+    static long toSatPerVbyte(double btcPerKvB) {
+        return BigDecimal.valueOf(btcPerKvB).movePointRight(5).setScale(0, RoundingMode.CEILING).longValueExact();
+    }
+
+    private synchronized BitcoindClient getClient() throws IOException {
+        if (client == null) {
+            client = BitcoindClient.builder()
+                    .rpcHost(rpcHost)
+                    .rpcPort(rpcPort)
+                    .rpcUser(preferences.getRpcUser())
+                    .rpcPassword(preferences.getRpcPw())
+                    .build();
+        }
+        return client;
+    }
+}
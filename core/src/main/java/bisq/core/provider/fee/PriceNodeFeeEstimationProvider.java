@@ -0,0 +1,53 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.fee;
+
+import java.util.Optional;
+
+/**
+ * Provides the fee rate delivered by the price nodes together with the market prices, so it does not cause any
+ * additional requests. The price nodes only deliver one fee rate, which is used for all confTargets.
+ */
+class PriceNodeFeeEstimationProvider implements FeeEstimationProvider {
+    static final String NAME = "priceNode";
+
+    private volatile long txFeePerVbyte;
+    private volatile long timestamp;
+
+    void onFeeInfo(long txFeePerVbyte, long timestamp) {
+        this.txFeePerVbyte = txFeePerVbyte;
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return txFeePerVbyte > 0;
+    }
+
+    @Override
+    public Optional<FeeEstimate> getEstimate(int confTarget) {
+        return isAvailable() ?
+                Optional.of(new FeeEstimate(NAME, confTarget, txFeePerVbyte, timestamp)) :
+                Optional.empty();
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.mempool;
+
+import bisq.common.UserThread;
+import bisq.common.util.Utilities;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.SettableFuture;
+
+import com.google.gson.JsonObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Validates the maker fee txs of many offers without blocking the user thread, e.g. at startup when all our open
+ * offers get checked at once.
+ * <p>
+ * A bounded pool of workers requests the tx JSON from the mempool providers (switching the provider on failures) and
+ * parses it. Offers of the market currently selected by the user are validated first. The parsed results are passed
+ * to the user thread in batches, where the actual validation is done, as it depends on the DAO state. Only
+ * {@link FeeValidationStatus#ACK_FEE_OK} results are memoized by offer id, as a NACK might turn into an ACK once
+ * our DAO state got synced (e.g. an unknown fee receiver or a fee too low for our DAO parameters).
+ * <p>
+ * {@link #validate}, {@link #invalidateResults} and the result handlers are called on the user thread.
+ */
+@Slf4j
+class FeeTxValidationPipeline {
+    private static final int NUM_WORKERS = 4;
+    private static final int MAX_RESULTS_PER_BATCH = 50;
+    private static final long REQUEST_TIMEOUT_SEC = 120;
+
+    private final Supplier<MempoolRequest> mempoolRequestFactory;
+    private final Supplier<List<String>> btcFeeReceiversSupplier;
+    private final Supplier<String> priorityCurrencyCodeSupplier;
+    private final ListeningExecutorService executorService;
+    private final Cache<String, TxValidator> resultsByOfferId = CacheBuilder.newBuilder()
+            .maximumSize(10_000)
+            .build();
+    // Only accessed from the user thread
+    private final Map<String, Task> tasksByOfferId = new HashMap<>();
+    // Guarded by this
+    private final Map<String, Queue<Task>> queuedTasksByCurrencyCode = new LinkedHashMap<>();
+    private int numRunningWorkers;
+    private final Queue<Result> results = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    FeeTxValidationPipeline(Supplier<MempoolRequest> mempoolRequestFactory,
+                            Supplier<List<String>> btcFeeReceiversSupplier,
+                            Supplier<String> priorityCurrencyCodeSupplier) {
+        this.mempoolRequestFactory = mempoolRequestFactory;
+        this.btcFeeReceiversSupplier = btcFeeReceiversSupplier;
+        this.priorityCurrencyCodeSupplier = priorityCurrencyCodeSupplier;
+        executorService = Utilities.getListeningExecutorService("FeeTxValidation", NUM_WORKERS, NUM_WORKERS, 60,
+                new LinkedBlockingQueue<>());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    void validate(String offerId, String currencyCode, TxValidator txValidator, Consumer<TxValidator> resultHandler) {
+        TxValidator result = resultsByOfferId.getIfPresent(offerId);
+        if (result != null && result.getTxId().equals(txValidator.getTxId())) {
+            UserThread.execute(() -> resultHandler.accept(result));
+            return;
+        }
+
+        Task pendingTask = tasksByOfferId.get(offerId);
+        if (pendingTask != null && pendingTask.txValidator.getTxId().equals(txValidator.getTxId())) {
+            pendingTask.resultHandlers.add(resultHandler);
+            return;
+        }
+
+        Task task = new Task(offerId, currencyCode, txValidator, mempoolRequestFactory.get());
+        task.resultHandlers.add(resultHandler);
+        tasksByOfferId.put(offerId, task);
+        enqueue(task);
+    }
+
+    // Called if data affecting the validation result (e.g. the filter) has changed
+    void invalidateResults() {
+        resultsByOfferId.invalidateAll();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Worker threads
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private synchronized void enqueue(Task task) {
+        queuedTasksByCurrencyCode.computeIfAbsent(task.currencyCode, k -> new ArrayDeque<>()).add(task);
+        if (numRunningWorkers < NUM_WORKERS) {
+            numRunningWorkers++;
+            executorService.execute(this::runWorker);
+        }
+    }
+
+    @Nullable
+    private synchronized Task pollTask() {
+        Queue<Task> tasks = queuedTasksByCurrencyCode.get(priorityCurrencyCodeSupplier.get());
+        if (tasks == null) {
+            tasks = queuedTasksByCurrencyCode.values().stream().findFirst().orElse(null);
+        }
+        if (tasks == null) {
+            numRunningWorkers--;
+            return null;
+        }
+        Task task = tasks.poll();
+        if (tasks.isEmpty()) {
+            queuedTasksByCurrencyCode.values().remove(tasks);
+        }
+        return task;
+    }
+
+    private void runWorker() {
+        Task task;
+        while ((task = pollTask()) != null) {
+            publish(fetchAndParse(task));
+        }
+    }
+
+    private Result fetchAndParse(Task task) {
+        String txId = task.txValidator.getTxId();
+        while (true) {
+            SettableFuture<String> future = SettableFuture.create();
+            task.mempoolRequest.getTxStatus(future, txId);
+            try {
+                String jsonTxt = future.get(REQUEST_TIMEOUT_SEC, TimeUnit.SECONDS);
+                return new Result(task, jsonTxt, parseJson(jsonTxt), false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Result(task, null, null, true);
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Request for tx {} failed - {}", txId, e.toString());
+                future.cancel(true);
+                if (!task.mempoolRequest.switchToAnotherProvider()) {
+                    // exhausted all providers
+                    return new Result(task, null, null, true);
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static JsonObject parseJson(String jsonTxt) {
+        try {
+            return TxValidator.parseJson(jsonTxt);
+        } catch (RuntimeException e) {
+            // The validation on the user thread will fail with NACK_JSON_ERROR
+            log.info("Parsing tx JSON failed: {}", e.toString());
+            return null;
+        }
+    }
+
+    private void publish(Result result) {
+        results.add(result);
+        if (flushScheduled.compareAndSet(false, true)) {
+            UserThread.execute(this::flushResults);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // User thread
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void flushResults() {
+        flushScheduled.set(false);
+        // The fee receivers are expensive to collect, so we do it once per batch
+        List<String> btcFeeReceivers = null;
+        int numResults = 0;
+        Result result;
+        while (numResults < MAX_RESULTS_PER_BATCH && (result = results.poll()) != null) {
+            numResults++;
+            Task task = result.task;
+            TxValidator txValidator = task.txValidator;
+            if (result.requestFailed) {
+                txValidator.endResult(FeeValidationStatus.NACK_BTC_TX_NOT_FOUND);
+            } else if (txValidator.getIsFeeCurrencyBtc() != null && txValidator.getIsFeeCurrencyBtc()) {
+                if (btcFeeReceivers == null) {
+                    btcFeeReceivers = btcFeeReceiversSupplier.get();
+                }
+                txValidator.validateMakerFeeTx(result.jsonTxt, result.json, btcFeeReceivers);
+            } else {
+                txValidator.validateBsqFeeTx(true);
+            }
+
+            if (isMemoizable(txValidator.getStatus())) {
+                resultsByOfferId.put(task.offerId, txValidator);
+            }
+            tasksByOfferId.remove(task.offerId, task);
+            task.resultHandlers.forEach(resultHandler -> resultHandler.accept(txValidator));
+        }
+
+        // We leave the user thread to other tasks before we continue with the remaining results
+        if (!results.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            UserThread.execute(this::flushResults);
+        }
+    }
+
+    // Only a fee checked ok is final. The NACKs can depend on our DAO or burningman state or on the availability of
+    // the tx, and the other ACKs are provisional.
+    private static boolean isMemoizable(FeeValidationStatus status) {
+        return status == FeeValidationStatus.ACK_FEE_OK;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Inner classes
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static class Task {
+        private final String offerId;
+        private final String currencyCode;
+        private final TxValidator txValidator;
+        private final MempoolRequest mempoolRequest;
+        private final List<Consumer<TxValidator>> resultHandlers = new ArrayList<>();
+
+        private Task(String offerId, String currencyCode, TxValidator txValidator, MempoolRequest mempoolRequest) {
+            this.offerId = offerId;
+            this.currencyCode = currencyCode;
+            this.txValidator = txValidator;
+            this.mempoolRequest = mempoolRequest;
+        }
+    }
+
+    private static class Result {
+        private final Task task;
+        @Nullable
+        private final String jsonTxt;
+        @Nullable
+        private final JsonObject json;
+        private final boolean requestFailed;
+
+        private Result(Task task, @Nullable String jsonTxt, @Nullable JsonObject json, boolean requestFailed) {
+            this.task = task;
+            this.jsonTxt = jsonTxt;
+            this.json = json;
+            this.requestFailed = requestFailed;
+        }
+    }
+}
@@ -22,12 +22,9 @@ import bisq.core.user.Preferences;
 
 import bisq.network.Socks5ProxyProvider;
 
-import bisq.common.util.Utilities;
-
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 
@@ -45,22 +42,21 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 @Slf4j
 public class MempoolRequest {
-    private static final ListeningExecutorService executorService = Utilities.getListeningExecutorService("MempoolRequest", 3, 5, 10 * 60);
     private final List<String> txBroadcastServices = new ArrayList<>();
     private final MempoolHttpClient mempoolHttpClient;
+    private final MempoolTxCache mempoolTxCache;
 
-    public MempoolRequest(Preferences preferences, Socks5ProxyProvider socks5ProxyProvider) {
+    public MempoolRequest(Preferences preferences,
+                          Socks5ProxyProvider socks5ProxyProvider,
+                          MempoolTxCache mempoolTxCache) {
         this.txBroadcastServices.addAll(preferences.getDefaultTxBroadcastServices());
         this.mempoolHttpClient = new MempoolHttpClient(socks5ProxyProvider);
+        this.mempoolTxCache = mempoolTxCache;
     }
 
     public void getTxStatus(SettableFuture<String> mempoolServiceCallback, String txId) {
         mempoolHttpClient.setBaseUrl(getRandomServiceAddress(txBroadcastServices));
-        ListenableFuture<String> future = executorService.submit(() -> {
-            Thread.currentThread().setName("MempoolRequest @ " + mempoolHttpClient.getBaseUrl());
-            log.info("Making http request for information on txId: {}", txId);
-            return mempoolHttpClient.getTxDetails(txId);
-        });
+        ListenableFuture<String> future = mempoolTxCache.getTxJson(mempoolHttpClient.getBaseUrl(), txId);
 
         Futures.addCallback(future, new FutureCallback<>() {
             public void onSuccess(String mempoolData) {
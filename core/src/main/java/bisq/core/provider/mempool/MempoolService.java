@@ -22,6 +22,8 @@ import bisq.core.dao.burningman.BurningManPresentationService;
 import bisq.core.dao.state.DaoStateService;
 import bisq.core.filter.FilterManager;
 import bisq.core.offer.bisq_v1.OfferPayload;
+import bisq.core.provider.MempoolHttpClient;
+import bisq.core.provider.price.PriceFeedService;
 import bisq.core.trade.model.bisq_v1.Trade;
 import bisq.core.user.Preferences;
 
@@ -64,6 +66,8 @@ public class MempoolService {
     private final DaoFacade daoFacade;
     private final DaoStateService daoStateService;
     private final BurningManPresentationService burningManPresentationService;
+    private final MempoolTxCache mempoolTxCache;
+    private final FeeTxValidationPipeline feeTxValidationPipeline;
     @Getter
     private int outstandingRequests = 0;
 
@@ -74,7 +78,8 @@ public class MempoolService {
                           FilterManager filterManager,
                           DaoFacade daoFacade,
                           DaoStateService daoStateService,
-                          BurningManPresentationService burningManPresentationService) {
+                          BurningManPresentationService burningManPresentationService,
+                          PriceFeedService priceFeedService) {
         this.socks5ProxyProvider = socks5ProxyProvider;
         this.config = config;
         this.preferences = preferences;
@@ -82,9 +87,21 @@ public class MempoolService {
         this.daoFacade = daoFacade;
         this.daoStateService = daoStateService;
         this.burningManPresentationService = burningManPresentationService;
+        mempoolTxCache = new MempoolTxCache(config.mempoolMaxRequestsPerProvider, (serviceAddress, txId) -> {
+            MempoolHttpClient mempoolHttpClient = new MempoolHttpClient(socks5ProxyProvider);
+            mempoolHttpClient.setBaseUrl(serviceAddress);
+            return mempoolHttpClient.getTxDetails(txId);
+        });
+        // Offers of the market the user is looking at get validated first
+        feeTxValidationPipeline = new FeeTxValidationPipeline(
+                () -> new MempoolRequest(preferences, socks5ProxyProvider, mempoolTxCache),
+                this::getAllBtcFeeReceivers,
+                priceFeedService::getCurrencyCode);
     }
 
     public void onAllServicesInitialized() {
+        filterManager.filterProperty().addListener((observable, oldValue, newValue) ->
+                feeTxValidationPipeline.invalidateResults());
     }
 
     public boolean canRequestBeMade() {
@@ -97,8 +114,14 @@ public class MempoolService {
     }
 
     public void validateOfferMakerTx(OfferPayload offerPayload, Consumer<TxValidator> resultHandler) {
-        validateOfferMakerTx(new TxValidator(daoStateService, offerPayload.getOfferFeePaymentTxId(), Coin.valueOf(offerPayload.getAmount()),
-                offerPayload.isCurrencyForMakerFeeBtc(), offerPayload.getBlockHeightAtOfferCreation(), filterManager), resultHandler);
+        TxValidator txValidator = new TxValidator(daoStateService, offerPayload.getOfferFeePaymentTxId(), Coin.valueOf(offerPayload.getAmount()),
+                offerPayload.isCurrencyForMakerFeeBtc(), offerPayload.getBlockHeightAtOfferCreation(), filterManager);
+        // The pipeline queues the requests, so we do not bypass the check if many requests are outstanding
+        if (!isServiceEnabled() || !daoStateService.isParseBlockChainComplete()) {
+            UserThread.runAfter(() -> resultHandler.accept(txValidator.endResult(FeeValidationStatus.ACK_CHECK_BYPASSED)), 1);
+            return;
+        }
+        feeTxValidationPipeline.validate(offerPayload.getId(), offerPayload.getCurrencyCode(), txValidator, resultHandler);
     }
 
     public void validateOfferMakerTx(TxValidator txValidator, Consumer<TxValidator> resultHandler) {
@@ -106,7 +129,7 @@ public class MempoolService {
             UserThread.runAfter(() -> resultHandler.accept(txValidator.endResult(FeeValidationStatus.ACK_CHECK_BYPASSED)), 1);
             return;
         }
-        MempoolRequest mempoolRequest = new MempoolRequest(preferences, socks5ProxyProvider);
+        MempoolRequest mempoolRequest = new MempoolRequest(preferences, socks5ProxyProvider, mempoolTxCache);
         validateOfferMakerTx(mempoolRequest, txValidator, resultHandler);
     }
 
@@ -120,7 +143,7 @@ public class MempoolService {
             UserThread.runAfter(() -> resultHandler.accept(txValidator.endResult(FeeValidationStatus.ACK_CHECK_BYPASSED)), 1);
             return;
         }
-        MempoolRequest mempoolRequest = new MempoolRequest(preferences, socks5ProxyProvider);
+        MempoolRequest mempoolRequest = new MempoolRequest(preferences, socks5ProxyProvider, mempoolTxCache);
         validateOfferTakerTx(mempoolRequest, txValidator, resultHandler);
     }
 
@@ -130,7 +153,7 @@ public class MempoolService {
             UserThread.runAfter(() -> resultHandler.accept(txValidator.endResult(FeeValidationStatus.ACK_CHECK_BYPASSED)), 1);
             return;
         }
-        MempoolRequest mempoolRequest = new MempoolRequest(preferences, socks5ProxyProvider);
+        MempoolRequest mempoolRequest = new MempoolRequest(preferences, socks5ProxyProvider, mempoolTxCache);
         SettableFuture<String> future = SettableFuture.create();
         Futures.addCallback(future, callbackForTxRequest(mempoolRequest, txValidator, resultHandler), MoreExecutors.directExecutor());
         mempoolRequest.getTxStatus(future, txId);
@@ -138,7 +161,7 @@ public class MempoolService {
 
     public CompletableFuture<String> requestTxAsHex(String txId) {
         outstandingRequests++;
-        return new MempoolRequest(preferences, socks5ProxyProvider)
+        return new MempoolRequest(preferences, socks5ProxyProvider, mempoolTxCache)
                 .requestTxAsHex(txId)
                 .whenComplete((result, throwable) -> outstandingRequests--);
     }
@@ -286,6 +309,17 @@ public class MempoolService {
     }
 
     private boolean isServiceSupported() {
+        if (!isServiceEnabled()) {
+            return false;
+        }
+        if (!canRequestBeMade()) {
+            log.info("Tx Validation bypassed as service is not ready");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isServiceEnabled() {
         if (filterManager.getFilter() != null && filterManager.getFilter().isDisableMempoolValidation()) {
             log.info("MempoolService bypassed by filter setting disableMempoolValidation=true");
             return false;
@@ -298,10 +332,6 @@ public class MempoolService {
             log.info("MempoolService only supports mainnet");
             return false;
         }
-        if (!canRequestBeMade()) {
-            log.info("Tx Validation bypassed as service is not ready");
-            return false;
-        }
         return true;
     }
 }
@@ -0,0 +1,191 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.mempool;
+
+import bisq.common.util.Utilities;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.SettableFuture;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Fetches the tx JSON from the mempool providers. Concurrent requests for the same txId share one in-flight request
+ * and the results are cached: confirmed txs do not change anymore (except at a rare reorg, which does not affect the
+ * fee validation), so we keep them until they get evicted by the size limit. Unconfirmed txs are only cached for a
+ * short time. Failed requests are not cached, so the caller can retry with another provider.
+ * The number of concurrent requests per provider is limited, further requests get queued.
+ */
+@Slf4j
+public class MempoolTxCache {
+    public interface TxFetcher {
+        String fetch(String serviceAddress, String txId) throws IOException;
+    }
+
+    private static final int MAX_CONFIRMED_TXS = 10_000;
+    private static final int MAX_UNCONFIRMED_TXS = 1000;
+    private static final long UNCONFIRMED_TX_TTL_SEC = 30;
+
+    private final ListeningExecutorService executorService;
+    private final TxFetcher txFetcher;
+    private final int maxRequestsPerProvider;
+    private final Cache<String, String> confirmedTxJsonCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CONFIRMED_TXS)
+            .build();
+    private final Cache<String, String> unconfirmedTxJsonCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_UNCONFIRMED_TXS)
+            .expireAfterWrite(UNCONFIRMED_TX_TTL_SEC, TimeUnit.SECONDS)
+            .build();
+    private final Map<String, SettableFuture<String>> inFlightRequests = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Map<String, Integer> numRunningRequestsByProvider = new HashMap<>();
+    private final Map<String, Queue<Runnable>> queuedRequestsByProvider = new HashMap<>();
+
+    public MempoolTxCache(int maxRequestsPerProvider, TxFetcher txFetcher) {
+        checkArgument(maxRequestsPerProvider > 0, "maxRequestsPerProvider must be positive");
+        this.maxRequestsPerProvider = maxRequestsPerProvider;
+        this.txFetcher = txFetcher;
+        // The queue is effectively bounded by the number of providers times maxRequestsPerProvider
+        executorService = Utilities.getListeningExecutorService("MempoolTxCache", 5, 5, 10 * 60,
+                new LinkedBlockingQueue<>());
+    }
+
+    public ListenableFuture<String> getTxJson(String serviceAddress, String txId) {
+        String cachedTxJson = getCachedTxJson(txId);
+        if (cachedTxJson != null) {
+            log.debug("Using cached tx JSON for txId {}", txId);
+            return Futures.immediateFuture(cachedTxJson);
+        }
+
+        SettableFuture<String> future = SettableFuture.create();
+        SettableFuture<String> inFlightRequest = inFlightRequests.putIfAbsent(txId, future);
+        if (inFlightRequest != null) {
+            log.debug("Joining in-flight request for txId {}", txId);
+            return inFlightRequest;
+        }
+        enqueue(serviceAddress, () -> fetch(serviceAddress, txId, future));
+        return future;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private String getCachedTxJson(String txId) {
+        String txJson = confirmedTxJsonCache.getIfPresent(txId);
+        return txJson != null ? txJson : unconfirmedTxJsonCache.getIfPresent(txId);
+    }
+
+    private void fetch(String serviceAddress, String txId, SettableFuture<String> future) {
+        try {
+            log.info("Making http request to {} for information on txId: {}", serviceAddress, txId);
+            String txJson = txFetcher.fetch(serviceAddress, txId);
+            cache(txId, txJson);
+            inFlightRequests.remove(txId, future);
+            future.set(txJson);
+        } catch (Throwable throwable) {
+            inFlightRequests.remove(txId, future);
+            future.setException(throwable);
+        } finally {
+            onRequestCompleted(serviceAddress);
+        }
+    }
+
+    private void cache(String txId, String txJson) {
+        try {
+            JsonElement jsonElement = JsonParser.parseString(txJson);
+            if (!jsonElement.isJsonObject()) {
+                return;
+            }
+            JsonObject json = jsonElement.getAsJsonObject();
+            // We do not cache a response for another tx or without status, it would fail the validation anyway
+            if (json.get("txid") == null || !txId.equals(json.get("txid").getAsString()) ||
+                    json.get("status") == null || !json.get("status").isJsonObject()) {
+                return;
+            }
+            JsonElement confirmed = json.getAsJsonObject("status").get("confirmed");
+            if (confirmed != null && confirmed.getAsBoolean()) {
+                confirmedTxJsonCache.put(txId, txJson);
+            } else {
+                unconfirmedTxJsonCache.put(txId, txJson);
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            log.debug("We do not cache the response for txId {} as it is not a valid tx JSON: {}", txId, e.toString());
+        }
+    }
+
+    private synchronized void enqueue(String serviceAddress, Runnable request) {
+        int numRunningRequests = numRunningRequestsByProvider.getOrDefault(serviceAddress, 0);
+        if (numRunningRequests < maxRequestsPerProvider) {
+            numRunningRequestsByProvider.put(serviceAddress, numRunningRequests + 1);
+            submit(request);
+        } else {
+            queuedRequestsByProvider.computeIfAbsent(serviceAddress, k -> new ArrayDeque<>()).add(request);
+        }
+    }
+
+    private synchronized void onRequestCompleted(String serviceAddress) {
+        Queue<Runnable> queuedRequests = queuedRequestsByProvider.get(serviceAddress);
+        Runnable nextRequest = queuedRequests != null ? queuedRequests.poll() : null;
+        if (nextRequest != null) {
+            submit(nextRequest);
+            return;
+        }
+
+        queuedRequestsByProvider.remove(serviceAddress);
+        int numRunningRequests = numRunningRequestsByProvider.getOrDefault(serviceAddress, 1) - 1;
+        if (numRunningRequests > 0) {
+            numRunningRequestsByProvider.put(serviceAddress, numRunningRequests);
+        } else {
+            numRunningRequestsByProvider.remove(serviceAddress);
+        }
+    }
+
+    private void submit(Runnable request) {
+        try {
+            executorService.execute(request);
+        } catch (RejectedExecutionException e) {
+            // Not expected as the queue is unbounded. The request completes its future in any case, so we run it here.
+            log.warn("Mempool request got rejected by executor: {}", e.toString());
+            request.run();
+        }
+    }
+}
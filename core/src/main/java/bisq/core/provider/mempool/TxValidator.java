@@ -48,6 +48,8 @@ import static bisq.core.util.coin.CoinUtil.maxCoin;
 public class TxValidator {
     private final static double FEE_TOLERANCE = 0.5;     // we expect fees to be at least 50% of target
     private final static long BLOCK_TOLERANCE = 599999;  // allow really old offers with weird fee addresses
+    // Gson is thread safe, so we share one instance
+    private final static Gson GSON = new Gson();
 
     private final DaoStateService daoStateService;
     private final FilterManager filterManager;
@@ -93,14 +95,29 @@ public class TxValidator {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public TxValidator parseJsonValidateMakerFeeTx(String jsonTxt, List<String> btcFeeReceivers) {
+        JsonObject json;
+        try {
+            json = parseJson(jsonTxt);
+        } catch (JsonSyntaxException e) {
+            log.info("The maker fee tx JSON validation failed with reason: " + e.toString());
+            this.jsonTxt = jsonTxt;
+            return endResult("Maker tx validation (BTC)", FeeValidationStatus.NACK_JSON_ERROR);
+        }
+        return validateMakerFeeTx(jsonTxt, json, btcFeeReceivers);
+    }
+
+    // Used by the FeeTxValidationPipeline, which parses the JSON on a worker thread
+    TxValidator validateMakerFeeTx(@Nullable String jsonTxt,
+                                   @Nullable JsonObject json,
+                                   List<String> btcFeeReceivers) {
         this.jsonTxt = jsonTxt;
         FeeValidationStatus status;
         try {
-            status = initialSanityChecks(txId, jsonTxt);
+            status = initialSanityChecks(txId, json);
             if (status.pass()) {
-                status = checkFeeAddressBTC(jsonTxt, btcFeeReceivers);
+                status = checkFeeAddressBTC(json, btcFeeReceivers);
                 if (status.pass()) {
-                    status = checkFeeAmountBTC(jsonTxt, amount, true, getBlockHeightForFeeCalculation(jsonTxt));
+                    status = checkFeeAmountBTC(json, amount, true, getBlockHeightForFeeCalculation(json));
                 }
             }
         } catch (JsonSyntaxException e) {
@@ -134,11 +151,12 @@ public class TxValidator {
         this.jsonTxt = jsonTxt;
         FeeValidationStatus status;
         try {
-            status = initialSanityChecks(txId, jsonTxt);
+            JsonObject json = parseJson(jsonTxt);
+            status = initialSanityChecks(txId, json);
             if (status.pass()) {
-                status = checkFeeAddressBTC(jsonTxt, btcFeeReceivers);
+                status = checkFeeAddressBTC(json, btcFeeReceivers);
                 if (status.pass()) {
-                    status = checkFeeAmountBTC(jsonTxt, amount, false, getBlockHeightForFeeCalculation(jsonTxt));
+                    status = checkFeeAmountBTC(json, amount, false, getBlockHeightForFeeCalculation(json));
                 }
             }
         } catch (JsonSyntaxException e) {
@@ -151,10 +169,11 @@ public class TxValidator {
 
     public long parseJsonValidateTx() {
         try {
-            if (!initialSanityChecks(txId, jsonTxt).pass()) {
+            JsonObject json = parseJson(jsonTxt);
+            if (!initialSanityChecks(txId, json).pass()) {
                 return -1;
             }
-            return getTxConfirms(jsonTxt, chainHeight);
+            return getTxConfirms(json, chainHeight);
         } catch (JsonSyntaxException e) {
             return -1;
         }
@@ -162,15 +181,15 @@ public class TxValidator {
 
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private FeeValidationStatus checkFeeAddressBTC(String jsonTxt, List<String> btcFeeReceivers) {
+    private FeeValidationStatus checkFeeAddressBTC(JsonObject json, List<String> btcFeeReceivers) {
         try {
-            JsonArray jsonVout = getVinAndVout(jsonTxt).second;
+            JsonArray jsonVout = getVinAndVout(json).second;
             JsonObject jsonVout0 = jsonVout.get(0).getAsJsonObject();
             JsonElement jsonFeeAddress = jsonVout0.get("scriptpubkey_address");
             log.debug("fee address: {}", jsonFeeAddress.getAsString());
             if (btcFeeReceivers.contains(jsonFeeAddress.getAsString())) {
                 return FeeValidationStatus.ACK_FEE_OK;
-            } else if (getBlockHeightForFeeCalculation(jsonTxt) < BLOCK_TOLERANCE) {
+            } else if (getBlockHeightForFeeCalculation(json) < BLOCK_TOLERANCE) {
                 log.info("Leniency rule, unrecognised fee receiver but its a really old offer so let it pass, {}", jsonFeeAddress.getAsString());
                 return FeeValidationStatus.ACK_FEE_OK;
             } else {
@@ -185,9 +204,10 @@ public class TxValidator {
         return FeeValidationStatus.NACK_JSON_ERROR;
     }
 
-    private FeeValidationStatus checkFeeAmountBTC(String jsonTxt, Coin tradeAmount, boolean isMaker, long blockHeight) {
-        JsonArray jsonVin = getVinAndVout(jsonTxt).first;
-        JsonArray jsonVout = getVinAndVout(jsonTxt).second;
+    private FeeValidationStatus checkFeeAmountBTC(JsonObject json, Coin tradeAmount, boolean isMaker, long blockHeight) {
+        Tuple2<JsonArray, JsonArray> vinAndVout = getVinAndVout(json);
+        JsonArray jsonVin = vinAndVout.first;
+        JsonArray jsonVout = vinAndVout.second;
         JsonObject jsonVin0 = jsonVin.get(0).getAsJsonObject();
         JsonObject jsonVout0 = jsonVout.get(0).getAsJsonObject();
 
@@ -301,10 +321,17 @@ public class TxValidator {
         return isMaker ? FeeValidationStatus.NACK_MAKER_FEE_TOO_LOW : FeeValidationStatus.NACK_TAKER_FEE_TOO_LOW;
     }
 
-    private static Tuple2<JsonArray, JsonArray> getVinAndVout(String jsonTxt) throws JsonSyntaxException {
+    @Nullable
+    static JsonObject parseJson(@Nullable String jsonTxt) throws JsonSyntaxException {
+        if (jsonTxt == null || jsonTxt.length() == 0) {
+            return null;
+        }
+        return GSON.fromJson(jsonTxt, JsonObject.class);
+    }
+
+    private static Tuple2<JsonArray, JsonArray> getVinAndVout(JsonObject json) throws JsonSyntaxException {
         // there should always be "vout" at the top level
         // check that there are 2 or 3 vout elements: the fee, the reserved for trade, optional change
-        JsonObject json = new Gson().fromJson(jsonTxt, JsonObject.class);
         if (json.get("vin") == null || json.get("vout") == null) {
             throw new JsonSyntaxException("missing vin/vout");
         }
@@ -321,13 +348,9 @@ public class TxValidator {
         }
     }
 
-    private static FeeValidationStatus initialSanityChecks(String txId, String jsonTxt) {
+    private static FeeValidationStatus initialSanityChecks(String txId, @Nullable JsonObject json) {
         // there should always be "status" container element at the top level
-        if (jsonTxt == null || jsonTxt.length() == 0) {
-            return FeeValidationStatus.NACK_JSON_ERROR;
-        }
-        JsonObject json = new Gson().fromJson(jsonTxt, JsonObject.class);
-        if (json.get("status") == null) {
+        if (json == null || json.get("status") == null) {
             return FeeValidationStatus.NACK_JSON_ERROR;
         }
         // there should always be "txid" string element at the top level
@@ -345,8 +368,8 @@ public class TxValidator {
         // we don't care if it is confirmed or not, just that it exists.
     }
 
-    private static long getTxConfirms(String jsonTxt, long chainHeight) {
-        long blockHeight = getTxBlockHeight(jsonTxt);
+    private static long getTxConfirms(JsonObject json, long chainHeight) {
+        long blockHeight = getTxBlockHeight(json);
         if (blockHeight > 0) {
             return (chainHeight - blockHeight) + 1; // if it is in the current block it has 1 conf
         }
@@ -355,13 +378,13 @@ public class TxValidator {
 
     // we want the block height applicable for calculating the appropriate expected trading fees
     // if the tx is not yet confirmed, use current block tip, if tx is confirmed use the block it was confirmed at.
-    private long getBlockHeightForFeeCalculation(String jsonTxt) {
+    private long getBlockHeightForFeeCalculation(JsonObject json) {
         // For the maker we set the blockHeightAtOfferCreation from the offer
         if (feePaymentBlockHeight > 0) {
             return feePaymentBlockHeight;
         }
 
-        long txBlockHeight = getTxBlockHeight(jsonTxt);
+        long txBlockHeight = getTxBlockHeight(json);
         if (txBlockHeight > 0) {
             return txBlockHeight;
         }
@@ -370,9 +393,8 @@ public class TxValidator {
     }
 
     // this would be useful for the arbitrator verifying that the delayed payout tx is confirmed
-    private static long getTxBlockHeight(String jsonTxt) {
+    private static long getTxBlockHeight(JsonObject json) {
         // there should always be "status" container element at the top level
-        JsonObject json = new Gson().fromJson(jsonTxt, JsonObject.class);
         if (json.get("status") == null) {
             return -1L;
         }
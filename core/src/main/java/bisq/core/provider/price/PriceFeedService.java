@@ -50,9 +50,13 @@ import java.time.Instant;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
@@ -65,6 +69,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 @Slf4j
 public class PriceFeedService {
+
+    public interface MarketPricesChangedListener {
+        /**
+         * Called on the user thread after we received new market prices. A market price with only a new timestamp
+         * also counts as changed as it affects whether the price is recent.
+         */
+        void onMarketPricesChanged(Set<String> currencyCodes);
+    }
+
     private final HttpClient httpClient;
     private final PriceFeedNodeAddressProvider priceFeedNodeAddressProvider;
     private final Preferences preferences;
@@ -81,6 +94,7 @@ public class PriceFeedService {
     private String currencyCode;
     private final StringProperty currencyCodeProperty = new SimpleStringProperty();
     private final IntegerProperty updateCounter = new SimpleIntegerProperty(0);
+    private final List<MarketPricesChangedListener> marketPricesChangedListeners = new CopyOnWriteArrayList<>();
     private long epochInMillisAtLastRequest;
     private long retryDelay = 1;
     private long requestTs;
@@ -268,12 +282,25 @@ public class PriceFeedService {
         return cache.getOrDefault(currencyCode, null);
     }
 
+    public Set<String> getMarketPriceCurrencyCodes() {
+        return new HashSet<>(cache.keySet());
+    }
+
     public void setBisqMarketPrice(String currencyCode, Price price) {
         if (applyPriceToCache(currencyCode, price)) {
+            notifyMarketPricesChanged(Set.of(currencyCode));
             updateCounter.set(updateCounter.get() + 1);
         }
     }
 
+    public void addMarketPricesChangedListener(MarketPricesChangedListener listener) {
+        marketPricesChangedListeners.add(listener);
+    }
+
+    public void removeMarketPricesChangedListener(MarketPricesChangedListener listener) {
+        marketPricesChangedListeners.remove(listener);
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Setter
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -309,7 +336,13 @@ public class PriceFeedService {
     }
 
     public void applyInitialBisqMarketPrice(Map<String, Price> priceByCurrencyCode) {
-        priceByCurrencyCode.forEach(this::applyPriceToCache);
+        Set<String> changedCurrencyCodes = new HashSet<>();
+        priceByCurrencyCode.forEach((currencyCode, price) -> {
+            if (applyPriceToCache(currencyCode, price)) {
+                changedCurrencyCodes.add(currencyCode);
+            }
+        });
+        notifyMarketPricesChanged(changedCurrencyCodes);
         updateCounter.set(updateCounter.get() + 1);
     }
 
@@ -338,6 +371,13 @@ public class PriceFeedService {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private void notifyMarketPricesChanged(Set<String> currencyCodes) {
+        if (currencyCodes.isEmpty()) {
+            return;
+        }
+        marketPricesChangedListeners.forEach(listener -> listener.onMarketPricesChanged(currencyCodes));
+    }
+
     private boolean applyPriceToConsumer() {
         boolean result = false;
         String errorMessage = null;
@@ -407,8 +447,14 @@ public class PriceFeedService {
                     // the priceNode aggregate rate was calculated
                     // However, the request timestamp is when the pricenode was queried
                     epochInMillisAtLastRequest = System.currentTimeMillis();
-                    result.getData().forEach(p ->
-                            cache.put(p.currencyCode, new MarketPrice(p.currencyCode, p.price, p.timestampSec, true)));
+                    Set<String> changedCurrencyCodes = new HashSet<>();
+                    result.getData().forEach(p -> {
+                        MarketPrice marketPrice = new MarketPrice(p.currencyCode, p.price, p.timestampSec, true);
+                        if (!marketPrice.equals(cache.put(p.currencyCode, marketPrice))) {
+                            changedCurrencyCodes.add(p.currencyCode);
+                        }
+                    });
+                    notifyMarketPricesChanged(changedCurrencyCodes);
                     if (result.getBitcoinFeesTs() > 0) {
                         feeService.updateFeeInfo(result.getBitcoinFeeInfo().btcTxFee, result.getBitcoinFeeInfo().btcMinTxFee);
                     }
@@ -31,6 +31,7 @@ import bisq.core.offer.bisq_v1.OfferPayload;
 import bisq.core.provider.price.MarketPrice;
 import bisq.core.provider.price.PriceFeedService;
 import bisq.core.support.SupportManager;
+import bisq.core.support.SupportType;
 import bisq.core.support.dispute.mediation.MediationResultState;
 import bisq.core.support.dispute.messages.DisputeResultMessage;
 import bisq.core.support.dispute.messages.OpenNewDisputeMessage;
@@ -42,6 +43,8 @@ import bisq.core.trade.bisq_v1.FailedTradesManager;
 import bisq.core.trade.bisq_v1.TradeDataValidation;
 import bisq.core.trade.model.bisq_v1.Contract;
 import bisq.core.trade.model.bisq_v1.Trade;
+import bisq.core.util.FormattingUtils;
+import bisq.core.util.coin.CoinFormatter;
 
 import bisq.network.p2p.BootstrapListener;
 import bisq.network.p2p.NodeAddress;
@@ -363,6 +366,57 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
         requestPersistence();
     }
 
+    /**
+     * Applies the final dispute result of the dispute agent: a refund agent closes the ticket, a mediator proposes
+     * the result. The summary gets signed and sent to the trader of that ticket.
+     */
+    public void applyDisputeResult(Dispute dispute, DisputeResult disputeResult, CoinFormatter formatter) {
+        boolean isRefundAgent = dispute.getSupportType() == SupportType.REFUND;
+        disputeResult.setLoserPublisher(false); // field no longer used per pazza / leo816
+        disputeResult.setCloseDate(new Date());
+        dispute.setDisputeResult(disputeResult);
+        dispute.setState(isRefundAgent ? Dispute.State.CLOSED : Dispute.State.RESULT_PROPOSED);
+        DisputeResult.Reason reason = disputeResult.getReason();
+
+        String role = isRefundAgent ? Res.get("shared.refundAgent") : Res.get("shared.mediator");
+        String agentNodeAddress = checkNotNull(getAgentNodeAddress(dispute)).getFullAddress();
+        Contract contract = dispute.getContract();
+        String currencyCode = contract.getOfferPayload().getCurrencyCode();
+        String amount = formatter.formatCoinWithCode(contract.getTradeAmount());
+        String textToSign = Res.get("disputeSummaryWindow.close.msg",
+                FormattingUtils.formatDateTime(disputeResult.getCloseDate(), true),
+                role,
+                agentNodeAddress,
+                dispute.getShortTradeId(),
+                currencyCode,
+                Res.get("disputeSummaryWindow.reason." + reason.name()),
+                disputeResult.getPayoutSuggestionText(),
+                amount,
+                formatter.formatCoinWithCode(disputeResult.getBuyerPayoutAmount()) +
+                        (isRefundAgent ? "" : " " + disputeResult.getPayoutSuggestionCustomizedToBuyerOrSeller(true)),
+                formatter.formatCoinWithCode(disputeResult.getSellerPayoutAmount()) +
+                        (isRefundAgent ? "" : " " + disputeResult.getPayoutSuggestionCustomizedToBuyerOrSeller(false)),
+                disputeResult.summaryNotesProperty().get()
+        );
+
+        if (reason == DisputeResult.Reason.OPTION_TRADE &&
+                dispute.getChatMessages().size() > 1 &&
+                dispute.getChatMessages().get(1).isSystemMessage()) {
+            textToSign += "\n" + dispute.getChatMessages().get(1).getMessage() + "\n";
+        }
+
+        String summaryText = DisputeSummaryVerification.signAndApply(this, disputeResult, textToSign);
+
+        if (isRefundAgent) {
+            summaryText += Res.get("disputeSummaryWindow.close.nextStepsForRefundAgentArbitration");
+        } else {
+            summaryText += Res.get("disputeSummaryWindow.close.nextStepsForMediation");
+        }
+
+        sendDisputeResultMessage(disputeResult, dispute, summaryText);
+        requestPersistence();
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Message handler
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -956,6 +1010,18 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
                 .findAny();
     }
 
+    // The buyer and the seller open a dispute for the same trade
+    public List<Dispute> findDisputes(String tradeId) {
+        T disputeList = getDisputeList();
+        if (disputeList == null) {
+            log.warn("disputes is null");
+            return List.of();
+        }
+        return disputeList.stream()
+                .filter(e -> e.getTradeId().equals(tradeId))
+                .collect(Collectors.toList());
+    }
+
     public Optional<Trade> findTrade(Dispute dispute) {
         Optional<Trade> retVal = tradeManager.getTradeById(dispute.getTradeId());
         if (retVal.isEmpty()) {
@@ -19,6 +19,7 @@ package bisq.core.support.dispute;
 
 import bisq.core.btc.wallet.BtcWalletService;
 import bisq.core.dao.DaoFacade;
+import bisq.core.offer.Offer;
 import bisq.core.support.SupportType;
 import bisq.core.trade.model.bisq_v1.Contract;
 import bisq.core.trade.model.bisq_v1.Trade;
@@ -34,6 +35,7 @@ import bisq.common.crypto.Sig;
 import bisq.common.util.Tuple3;
 
 import org.bitcoinj.core.Address;
+import org.bitcoinj.core.Coin;
 import org.bitcoinj.core.NetworkParameters;
 import org.bitcoinj.core.Transaction;
 import org.bitcoinj.core.TransactionOutput;
@@ -141,6 +143,14 @@ public class DisputeValidation {
         }
     }
 
+    // The funds locked in the deposit tx. A payout must never exceed that.
+    public static Coin getMaxPayoutAmount(Contract contract) {
+        Offer offer = new Offer(contract.getOfferPayload());
+        return contract.getTradeAmount()
+                .add(offer.getBuyerSecurityDeposit())
+                .add(offer.getSellerSecurityDeposit());
+    }
+
     public static void validateDonationAddressMatchesAnyPastParamValues(Dispute dispute,
                                                                         String addressAsString,
                                                                         DaoFacade daoFacade)
@@ -0,0 +1,68 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute.refund;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aggregated result of a {@link RefundPayoutBatchService} run, keyed by trade ID.
+ */
+public class RefundPayoutBatchResult {
+    private final Map<String, String> payoutTxIdByTradeId = new LinkedHashMap<>();
+    private final Map<String, String> errorByTradeId = new LinkedHashMap<>();
+    private final Map<String, String> skipReasonByTradeId = new LinkedHashMap<>();
+
+    void addPayout(String tradeId, String txId) {
+        payoutTxIdByTradeId.put(tradeId, txId);
+    }
+
+    void addError(String tradeId, String errorMessage) {
+        errorByTradeId.put(tradeId, errorMessage);
+    }
+
+    void addSkipped(String tradeId, String reason) {
+        skipReasonByTradeId.put(tradeId, reason);
+    }
+
+    public Map<String, String> getPayoutTxIdByTradeId() {
+        return Collections.unmodifiableMap(payoutTxIdByTradeId);
+    }
+
+    public Map<String, String> getErrorByTradeId() {
+        return Collections.unmodifiableMap(errorByTradeId);
+    }
+
+    public Map<String, String> getSkipReasonByTradeId() {
+        return Collections.unmodifiableMap(skipReasonByTradeId);
+    }
+
+    public boolean hasErrors() {
+        return !errorByTradeId.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "RefundPayoutBatchResult{" +
+                "\n     payoutTxIdByTradeId=" + payoutTxIdByTradeId +
+                ",\n     errorByTradeId=" + errorByTradeId +
+                ",\n     skipReasonByTradeId=" + skipReasonByTradeId +
+                "\n}";
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute.refund;
+
+import bisq.core.btc.TxFeeEstimationService;
+import bisq.core.btc.exceptions.TransactionVerificationException;
+import bisq.core.btc.exceptions.TxBroadcastException;
+import bisq.core.btc.exceptions.WalletException;
+import bisq.core.btc.wallet.BtcWalletService;
+import bisq.core.btc.wallet.TradeWalletService;
+import bisq.core.btc.wallet.TxBroadcaster;
+import bisq.core.dao.DaoFacade;
+import bisq.core.support.dispute.Dispute;
+import bisq.core.support.dispute.DisputeResult;
+import bisq.core.support.dispute.DisputeValidation;
+import bisq.core.util.FormattingUtils;
+import bisq.core.util.coin.CoinFormatter;
+
+import bisq.common.UserThread;
+import bisq.common.config.Config;
+
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.InsufficientMoneyException;
+import org.bitcoinj.core.Transaction;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Pays out many refund disputes in one go from the refund agent's wallet.
+ * <p>
+ * Each payout of a batch passes the same checks as a payout from the dispute summary window: the payout amount must
+ * not exceed the funds locked in the deposit tx, the dispute must not be a replay, and the trade tx chain gets
+ * verified against the blockchain. Once the payout tx got broadcast, the dispute tickets of both traders get closed
+ * and the traders get notified as it is done by the dispute summary window.
+ * <p>
+ * All payout txs get created and signed in one pass before the first broadcast. Each tx is committed to the wallet
+ * right after it got signed, so the coin selection for the next payout does not pick the same inputs again. Building
+ * the txs concurrently would not help, as they all compete for the inputs and the lock of the same wallet.
+ * The txs get broadcast with at most {@link #MAX_PARALLEL_BROADCASTS} broadcasts in flight and the result handler
+ * gets called once with the aggregated result of all payouts. Must be called on the user thread.
+ */
+@Slf4j
+@Singleton
+public class RefundPayoutBatchService {
+    @VisibleForTesting
+    static final int MAX_PARALLEL_BROADCASTS = 4;
+
+    @Value
+    private static class Payout {
+        // The dispute of which the contract is used for the payout tx
+        Dispute dispute;
+        DisputeResult disputeResult;
+        // If null we estimate the fee when we create the payout tx
+        @Nullable
+        Coin fee;
+        // If null the caller closes the dispute, otherwise we close the disputes of both traders after the payout
+        @Nullable
+        RefundPayoutRequest request;
+        List<Dispute> disputesOfTrade;
+    }
+
+    @Value
+    private static class SignedPayout {
+        Payout payout;
+        Transaction tx;
+    }
+
+    private final RefundManager refundManager;
+    private final BtcWalletService btcWalletService;
+    private final TradeWalletService tradeWalletService;
+    private final TxFeeEstimationService txFeeEstimationService;
+    private final DaoFacade daoFacade;
+    private final CoinFormatter formatter;
+
+    @Inject
+    public RefundPayoutBatchService(RefundManager refundManager,
+                                    BtcWalletService btcWalletService,
+                                    TradeWalletService tradeWalletService,
+                                    TxFeeEstimationService txFeeEstimationService,
+                                    DaoFacade daoFacade,
+                                    @Named(FormattingUtils.BTC_FORMATTER_KEY) CoinFormatter formatter) {
+        this.refundManager = refundManager;
+        this.btcWalletService = btcWalletService;
+        this.tradeWalletService = tradeWalletService;
+        this.txFeeEstimationService = txFeeEstimationService;
+        this.daoFacade = daoFacade;
+        this.formatter = formatter;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Pays out the refund disputes of the given trades according to the given results and closes the dispute
+     * tickets of both traders. Trades where one of the dispute tickets is already closed or the payout was already
+     * done are skipped. Trades failing the validation are reported as errors and not paid out. The fee is estimated
+     * for each payout at the current fee rate.
+     */
+    public void payoutTrades(Collection<RefundPayoutRequest> requests,
+                             Consumer<RefundPayoutBatchResult> resultHandler) {
+        RefundPayoutBatchResult result = new RefundPayoutBatchResult();
+        Set<String> tradeIds = new HashSet<>();
+        List<CompletableFuture<Optional<Payout>>> futures = new ArrayList<>();
+        for (RefundPayoutRequest request : requests) {
+            String tradeId = request.getTradeId();
+            if (!tradeIds.add(tradeId)) {
+                result.addError(tradeId, "Trade is listed more than once");
+                continue;
+            }
+            toPayout(request, result).ifPresent(payout -> futures.add(verifyTradeTxChain(payout, result)));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenRun(() -> UserThread.execute(() -> {
+                    List<Payout> payouts = new ArrayList<>();
+                    futures.forEach(future -> future.join().ifPresent(payouts::add));
+                    payout(payouts, result, resultHandler);
+                }));
+    }
+
+    /**
+     * Pays out a single dispute with a fee the refund agent has confirmed. The dispute summary window has validated
+     * the dispute before and closes it after the payout.
+     */
+    public void payout(Dispute dispute,
+                       DisputeResult disputeResult,
+                       Coin fee,
+                       Consumer<RefundPayoutBatchResult> resultHandler) {
+        payout(List.of(new Payout(dispute, disputeResult, fee, null, List.of(dispute))),
+                new RefundPayoutBatchResult(),
+                resultHandler);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Validation
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private Optional<Payout> toPayout(RefundPayoutRequest request, RefundPayoutBatchResult result) {
+        String tradeId = request.getTradeId();
+        List<Dispute> disputes = refundManager.findDisputes(tradeId);
+        if (disputes.isEmpty()) {
+            result.addError(tradeId, "No refund dispute found");
+            return Optional.empty();
+        }
+        if (disputes.stream().anyMatch(Dispute::isClosed)) {
+            result.addSkipped(tradeId, "Dispute is already closed");
+            return Optional.empty();
+        }
+        if (disputes.stream().anyMatch(Dispute::isPayoutDone)) {
+            result.addSkipped(tradeId, "Payout is already done");
+            return Optional.empty();
+        }
+        if (request.getReason() == null) {
+            result.addError(tradeId, "Reason is missing");
+            return Optional.empty();
+        }
+        if (request.getSummaryNotes() == null || request.getSummaryNotes().isBlank()) {
+            result.addError(tradeId, "Summary notes are missing");
+            return Optional.empty();
+        }
+
+        Dispute dispute = disputes.get(0);
+        Coin buyerPayoutAmount = request.getBuyerPayoutAmount();
+        Coin sellerPayoutAmount = request.getSellerPayoutAmount();
+        if (buyerPayoutAmount == null || sellerPayoutAmount == null ||
+                buyerPayoutAmount.isNegative() || sellerPayoutAmount.isNegative()) {
+            result.addError(tradeId, "Invalid payout amount");
+            return Optional.empty();
+        }
+        Coin maxPayoutAmount = DisputeValidation.getMaxPayoutAmount(dispute.getContract());
+        if (buyerPayoutAmount.add(sellerPayoutAmount).isGreaterThan(maxPayoutAmount)) {
+            result.addError(tradeId, "Payout amount exceeds the trade amount and security deposits of " +
+                    maxPayoutAmount.toFriendlyString());
+            return Optional.empty();
+        }
+
+        try {
+            for (Dispute disputeOfTrade : disputes) {
+                DisputeValidation.testIfDisputeTriesReplay(disputeOfTrade, refundManager.getDisputesAsObservableList());
+                if (disputeOfTrade.isUsingLegacyBurningMan()) {
+                    DisputeValidation.validateDonationAddressMatchesAnyPastParamValues(disputeOfTrade,
+                            disputeOfTrade.getDonationAddressOfDelayedPayoutTx(),
+                            daoFacade);
+                }
+            }
+        } catch (DisputeValidation.ValidationException e) {
+            log.error("Validation of refund dispute failed for trade {}", tradeId, e);
+            result.addError(tradeId, e.getMessage());
+            return Optional.empty();
+        }
+
+        return Optional.of(new Payout(dispute, toDisputeResult(request, dispute), null, request, disputes));
+    }
+
+    private CompletableFuture<Optional<Payout>> verifyTradeTxChain(Payout payout, RefundPayoutBatchResult result) {
+        CompletableFuture<Optional<Payout>> future = new CompletableFuture<>();
+        Dispute dispute = payout.getDispute();
+        String tradeId = dispute.getTradeId();
+        refundManager.requestBlockchainTransactions(dispute.getContract().getOfferPayload().getOfferFeePaymentTxId(),
+                dispute.getContract().getTakerFeeTxID(),
+                dispute.getDepositTxId(),
+                dispute.getDelayedPayoutTxId()
+        ).whenComplete((txList, throwable) -> UserThread.execute(() -> {
+            if (throwable != null) {
+                log.error("Requesting the trade txs failed for trade {}", tradeId, throwable);
+                result.addError(tradeId, "Requesting the trade txs failed: " + throwable.getMessage());
+                future.complete(Optional.empty());
+                return;
+            }
+            // We cannot request the txs on regtest and testnet, so we do not get them there
+            if (txList.isEmpty() && !Config.baseCurrencyNetwork().isMainnet()) {
+                log.warn("Trade txs are not available on {}. We skip the verification of the trade tx chain " +
+                        "for trade {}", Config.baseCurrencyNetwork(), tradeId);
+                future.complete(Optional.of(payout));
+                return;
+            }
+            try {
+                refundManager.verifyTradeTxChain(txList);
+                if (!dispute.isUsingLegacyBurningMan()) {
+                    Transaction delayedPayoutTx = txList.get(3);
+                    refundManager.verifyDelayedPayoutTxReceivers(delayedPayoutTx, dispute);
+                }
+                future.complete(Optional.of(payout));
+            } catch (Throwable error) {
+                log.error("Verification of the trade tx chain failed for trade {}", tradeId, error);
+                result.addError(tradeId, "Verification of the trade tx chain failed: " + error.getMessage());
+                future.complete(Optional.empty());
+            }
+        }));
+        return future;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Payout
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void payout(List<Payout> payouts,
+                        RefundPayoutBatchResult result,
+                        Consumer<RefundPayoutBatchResult> resultHandler) {
+        Deque<SignedPayout> signedPayouts = new ArrayDeque<>();
+        payouts.forEach(payout -> sign(payout, result).ifPresent(signedPayouts::add));
+        log.info("Signed {} of {} refund payouts", signedPayouts.size(), payouts.size());
+        broadcast(signedPayouts, result, resultHandler);
+    }
+
+    private Optional<SignedPayout> sign(Payout payout, RefundPayoutBatchResult result) {
+        Dispute dispute = payout.getDispute();
+        String tradeId = dispute.getTradeId();
+        if (dispute.isPayoutDone()) {
+            log.error("Payout already processed, returning to avoid double payout for dispute of trade {}", tradeId);
+            result.addSkipped(tradeId, "Payout is already done");
+            return Optional.empty();
+        }
+        DisputeResult disputeResult = payout.getDisputeResult();
+        Coin buyerPayoutAmount = disputeResult.getBuyerPayoutAmount();
+        Coin sellerPayoutAmount = disputeResult.getSellerPayoutAmount();
+        Coin outputAmount = buyerPayoutAmount.add(sellerPayoutAmount);
+        if (!outputAmount.isPositive()) {
+            result.addSkipped(tradeId, "No payout");
+            closeDisputes(payout, result);
+            return Optional.empty();
+        }
+
+        payout.getDisputesOfTrade().forEach(disputeOfTrade -> disputeOfTrade.setPayoutDone(true));
+        try {
+            Coin fee = payout.getFee() != null ?
+                    payout.getFee() :
+                    txFeeEstimationService.getEstimatedFeeAndTxVsize(outputAmount, btcWalletService).first;
+            Transaction tx = btcWalletService.createRefundPayoutTx(buyerPayoutAmount,
+                    sellerPayoutAmount,
+                    fee,
+                    dispute.getContract().getBuyerPayoutAddressString(),
+                    dispute.getContract().getSellerPayoutAddressString());
+            // Marks the inputs as spent for the next payout of the batch
+            btcWalletService.commitTx(tx);
+            return Optional.of(new SignedPayout(payout, tx));
+        } catch (InsufficientMoneyException | WalletException | TransactionVerificationException |
+                 RuntimeException e) {
+            // The tx was not committed, so it is safe to try again
+            payout.getDisputesOfTrade().forEach(disputeOfTrade -> disputeOfTrade.setPayoutDone(false));
+            log.error("Creating refund payout tx failed for trade {}", tradeId, e);
+            result.addError(tradeId, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    private void broadcast(Deque<SignedPayout> signedPayouts,
+                           RefundPayoutBatchResult result,
+                           Consumer<RefundPayoutBatchResult> resultHandler) {
+        if (signedPayouts.isEmpty()) {
+            resultHandler.accept(result);
+            return;
+        }
+
+        new BoundedBroadcast(signedPayouts, result, resultHandler).start();
+    }
+
+    // Closes the dispute tickets of both traders and sends them the dispute result, like the dispute summary window
+    private void closeDisputes(Payout payout, RefundPayoutBatchResult result) {
+        RefundPayoutRequest request = payout.getRequest();
+        if (request == null) {
+            return;
+        }
+        for (Dispute dispute : payout.getDisputesOfTrade()) {
+            try {
+                refundManager.applyDisputeResult(dispute, toDisputeResult(request, dispute), formatter);
+            } catch (RuntimeException e) {
+                log.error("Closing the refund dispute failed for trade {}", dispute.getTradeId(), e);
+                result.addError(dispute.getTradeId(), "Payout is done but closing the dispute failed: " + e);
+            }
+        }
+    }
+
+    private static DisputeResult toDisputeResult(RefundPayoutRequest request, Dispute dispute) {
+        DisputeResult disputeResult = new DisputeResult(dispute.getTradeId(), dispute.getTraderId());
+        disputeResult.setBuyerPayoutAmount(request.getBuyerPayoutAmount());
+        disputeResult.setSellerPayoutAmount(request.getSellerPayoutAmount());
+        disputeResult.setWinner(request.getSellerPayoutAmount().isLessThan(request.getBuyerPayoutAmount()) ?
+                DisputeResult.Winner.BUYER :
+                DisputeResult.Winner.SELLER);
+        disputeResult.setPayoutSuggestion(DisputeResult.PayoutSuggestion.CUSTOM_PAYOUT);
+        disputeResult.setReason(request.getReason());
+        disputeResult.setSummaryNotes(request.getSummaryNotes());
+        return disputeResult;
+    }
+
+    // The broadcast callbacks are called on the user thread, so we do not need to synchronize
+    private class BoundedBroadcast {
+        private final Deque<SignedPayout> queue;
+        private final RefundPayoutBatchResult result;
+        private final Consumer<RefundPayoutBatchResult> resultHandler;
+        private int numPending;
+
+        BoundedBroadcast(Deque<SignedPayout> queue,
+                         RefundPayoutBatchResult result,
+                         Consumer<RefundPayoutBatchResult> resultHandler) {
+            this.queue = queue;
+            this.result = result;
+            this.resultHandler = resultHandler;
+            this.numPending = queue.size();
+        }
+
+        void start() {
+            int numParallel = Math.min(MAX_PARALLEL_BROADCASTS, queue.size());
+            for (int i = 0; i < numParallel; i++) {
+                broadcastNext();
+            }
+        }
+
+        private void broadcastNext() {
+            SignedPayout signedPayout = queue.poll();
+            if (signedPayout == null) {
+                return;
+            }
+            Payout payout = signedPayout.getPayout();
+            String tradeId = payout.getDispute().getTradeId();
+            tradeWalletService.broadcastTx(signedPayout.getTx(), new TxBroadcaster.Callback() {
+                @Override
+                public void onSuccess(Transaction transaction) {
+                    result.addPayout(tradeId, transaction.getTxId().toString());
+                    closeDisputes(payout, result);
+                    onBroadcastCompleted();
+                }
+
+                @Override
+                public void onFailure(TxBroadcastException exception) {
+                    // We do not close the disputes, so the refund agent can check the payout and close them manually
+                    log.error("Broadcasting refund payout tx failed for trade {}", tradeId, exception);
+                    result.addError(tradeId, exception.toString());
+                    onBroadcastCompleted();
+                }
+            });
+        }
+
+        private void onBroadcastCompleted() {
+            numPending--;
+            if (numPending == 0) {
+                log.info("Refund payout batch completed. {}", result);
+                resultHandler.accept(result);
+            } else {
+                broadcastNext();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute.refund;
+
+import bisq.core.support.dispute.DisputeResult;
+
+import org.bitcoinj.core.Coin;
+
+import lombok.Value;
+
+/**
+ * The final result of a refund dispute as decided by the refund agent for a batch payout. Drafts saved in the
+ * dispute summary window are never paid out, the agent has to state the result explicitly.
+ */
+@Value
+public class RefundPayoutRequest {
+    String tradeId;
+    Coin buyerPayoutAmount;
+    Coin sellerPayoutAmount;
+    DisputeResult.Reason reason;
+    String summaryNotes;
+}
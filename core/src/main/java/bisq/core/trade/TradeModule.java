@@ -31,6 +31,7 @@ import com.google.inject.Singleton;
 
 import static bisq.common.config.Config.ALLOW_FAULTY_DELAYED_TXS;
 import static bisq.common.config.Config.DUMP_DELAYED_PAYOUT_TXS;
+import static bisq.common.config.Config.DUMP_FULL_STATISTICS;
 import static bisq.common.config.Config.DUMP_STATISTICS;
 import static com.google.inject.name.Names.named;
 
@@ -52,6 +53,7 @@ public class TradeModule extends AppModule {
         bind(ReferralIdService.class).in(Singleton.class);
 
         bindConstant().annotatedWith(named(DUMP_STATISTICS)).to(config.dumpStatistics);
+        bindConstant().annotatedWith(named(DUMP_FULL_STATISTICS)).to(config.dumpFullStatistics);
         bindConstant().annotatedWith(named(DUMP_DELAYED_PAYOUT_TXS)).to(config.dumpDelayedPayoutTxs);
         bindConstant().annotatedWith(named(ALLOW_FAULTY_DELAYED_TXS)).to(config.allowFaultyDelayedTxs);
     }
@@ -122,10 +122,9 @@ public class TradeUtil {
         var payoutAddress = isMyRoleBuyer
                 ? contract.getBuyerPayoutAddressString()
                 : contract.getSellerPayoutAddressString();
-        var payoutAddressEntry = btcWalletService.getAddressEntryListAsImmutableList().stream()
-                .filter(e -> Objects.equals(e.getAddressString(), payoutAddress))
-                .findAny()
-                .orElse(null);
+        var payoutAddressEntry = payoutAddress != null
+                ? btcWalletService.getAddressEntryByAddress(payoutAddress).orElse(null)
+                : null;
         if (payoutAddressEntry == null)
             return null;
 
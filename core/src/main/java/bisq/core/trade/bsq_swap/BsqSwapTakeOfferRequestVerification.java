@@ -91,7 +91,8 @@ public class BsqSwapTakeOfferRequestVerification {
     }
 
     private static boolean isTxFeeInTolerance(BsqSwapRequest request, FeeService feeService) {
-        double myFee = (double) feeService.getTxFeePerVbyte().getValue();
+        // The taker uses the price node fee rate as well, so we do not compare with our local node estimate
+        double myFee = (double) feeService.getPriceNodeTxFeePerVbyte().getValue();
         double peersFee = (double) Coin.valueOf(request.getTxFeePerVbyte()).getValue();
         // Allow for 50% diff in mining fee, ie, maker will accept taker fee that's less
         // than 50% off their own fee from service (that is, 100% higher or 50% lower).
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Time interval of a trade statistics candle.
+ * NOTE: For the code to work correctly, order must be from biggest to smallest duration. The ordinal is persisted
+ * as the selected tick unit in the preferences.
+ */
+public enum TickUnit {
+    YEAR,
+    MONTH,
+    WEEK,
+    DAY,
+    HOUR,
+    MINUTE_10;
+
+    /**
+     * @return The start of the tick containing the given local date time.
+     */
+    public LocalDateTime truncate(LocalDateTime localDateTime) {
+        switch (this) {
+            case YEAR:
+                return localDateTime.withDayOfYear(1).toLocalDate().atStartOfDay();
+            case MONTH:
+                return localDateTime.withDayOfMonth(1).toLocalDate().atStartOfDay();
+            case WEEK:
+                int dayOfWeek = localDateTime.getDayOfWeek().getValue();
+                LocalDate firstDayOfWeek = localDateTime.toLocalDate().minusDays(dayOfWeek - 1);
+                return firstDayOfWeek.atStartOfDay();
+            case DAY:
+                return localDateTime.toLocalDate().atStartOfDay();
+            case HOUR:
+                return localDateTime.withMinute(0).withSecond(0).withNano(0);
+            case MINUTE_10:
+                return localDateTime.withMinute(localDateTime.getMinute() - localDateTime.getMinute() % 10).withSecond(0).withNano(0);
+            default:
+                return localDateTime;
+        }
+    }
+
+    /**
+     * @return The start of the tick following the tick starting at the given local date time.
+     */
+    public LocalDateTime next(LocalDateTime tickStart) {
+        switch (this) {
+            case YEAR:
+                return tickStart.plusYears(1);
+            case MONTH:
+                return tickStart.plusMonths(1);
+            case WEEK:
+                return tickStart.plusWeeks(1);
+            case DAY:
+                return tickStart.plusDays(1);
+            case HOUR:
+                return tickStart.plusHours(1);
+            case MINUTE_10:
+                return tickStart.plusMinutes(10);
+            default:
+                throw new IllegalStateException("Unexpected tick unit " + this);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import lombok.Value;
+
+/**
+ * Aggregated trade statistics of one tick of a {@link TickUnit}. Prices are in the precision of the currency's
+ * price, the amount is in satoshis and the volume in the smallest unit of the currency.
+ */
+@Value
+public class TradeStatisticsCandle {
+    long tickStart;
+    long open;
+    long close;
+    long high;
+    long low;
+    long medianPrice;
+    long accumulatedAmount;
+    long accumulatedVolume;
+    int numTrades;
+}
@@ -0,0 +1,373 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import bisq.common.util.MathUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Columnar in-memory store of the trade statistics. Each currency gets its own series of primitive columns for
+ * date, price, amount and volume, sorted by date. Each series keeps the OHLCV rollups of all {@link TickUnit}s,
+ * again as primitive columns sorted by tick start, which get updated incrementally when a trade statistics gets
+ * added. Candle queries therefore only touch the requested ticks, except for the median price which needs the
+ * prices of the trades inside a tick.
+ * <p>
+ * Trade statistics are added at the user thread, but candles get queried from other threads as well, so all
+ * access is synchronized.
+ */
+class TradeStatisticsColumns {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ZoneId zoneId;
+    private final Map<String, Integer> ordinalByCurrencyCode = new HashMap<>();
+    private final List<Series> seriesByOrdinal = new ArrayList<>();
+    private int size;
+
+    TradeStatisticsColumns(ZoneId zoneId) {
+        this.zoneId = zoneId;
+    }
+
+    synchronized void add(TradeStatistics3 tradeStatistics) {
+        int ordinal = ordinalByCurrencyCode.computeIfAbsent(tradeStatistics.getCurrency(), currencyCode -> {
+            seriesByOrdinal.add(new Series());
+            return seriesByOrdinal.size() - 1;
+        });
+        seriesByOrdinal.get(ordinal).add(tradeStatistics.getDateAsLong(),
+                tradeStatistics.getPrice(),
+                tradeStatistics.getAmount(),
+                tradeStatistics.getTradeVolume().getValue());
+        size++;
+    }
+
+    // Adding in chronological order only appends to the columns
+    synchronized void addAll(Collection<TradeStatistics3> sortedTradeStatistics) {
+        sortedTradeStatistics.forEach(this::add);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return The candles of the given currency with a tick start in the range [fromTickStart, toTickStart],
+     * sorted by tick start.
+     */
+    synchronized List<TradeStatisticsCandle> getCandles(String currencyCode,
+                                                        TickUnit tickUnit,
+                                                        long fromTickStart,
+                                                        long toTickStart) {
+        Integer ordinal = ordinalByCurrencyCode.get(currencyCode);
+        if (ordinal == null) {
+            return new ArrayList<>();
+        }
+        return getCandles(List.of(seriesByOrdinal.get(ordinal)), tickUnit, fromTickStart, toTickStart);
+    }
+
+    /**
+     * @return The candles of the trades of all currencies with a tick start in the range
+     * [fromTickStart, toTickStart], sorted by tick start. Only the amount and the number of trades are
+     * meaningful across currencies.
+     */
+    synchronized List<TradeStatisticsCandle> getCandles(TickUnit tickUnit, long fromTickStart, long toTickStart) {
+        return getCandles(seriesByOrdinal, tickUnit, fromTickStart, toTickStart);
+    }
+
+    private List<TradeStatisticsCandle> getCandles(List<Series> seriesList,
+                                                   TickUnit tickUnit,
+                                                   long fromTickStart,
+                                                   long toTickStart) {
+        TreeMap<Long, CandleBuilder> candleBuilders = new TreeMap<>();
+        for (Series series : seriesList) {
+            Rollups rollups = series.rollupsByTickUnit[tickUnit.ordinal()];
+            for (int i = lowerBound(rollups.tickStarts, rollups.size, fromTickStart);
+                 i < rollups.size && rollups.tickStarts[i] <= toTickStart;
+                 i++) {
+                candleBuilders.computeIfAbsent(rollups.tickStarts[i], CandleBuilder::new).add(series, rollups, i);
+            }
+        }
+        List<TradeStatisticsCandle> candles = new ArrayList<>(candleBuilders.size());
+        candleBuilders.values().forEach(candleBuilder -> candles.add(candleBuilder.build()));
+        return candles;
+    }
+
+    private long toEpochMilli(LocalDateTime localDateTime) {
+        return localDateTime.atZone(zoneId).toInstant().toEpochMilli();
+    }
+
+    // Index of the first element >= key
+    private static int lowerBound(long[] sorted, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Index of the first element > key
+    private static int upperBound(long[] sorted, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int newCapacity(int capacity) {
+        return Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Series of a currency
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private class Series {
+        private long[] dates = new long[0];
+        private long[] prices = new long[0];
+        private long[] amounts = new long[0];
+        private long[] volumes = new long[0];
+        private int size;
+        private final Rollups[] rollupsByTickUnit = new Rollups[TickUnit.values().length];
+
+        Series() {
+            for (TickUnit tickUnit : TickUnit.values()) {
+                rollupsByTickUnit[tickUnit.ordinal()] = new Rollups(tickUnit);
+            }
+        }
+
+        void add(long date, long price, long amount, long volume) {
+            // Trade statistics mostly arrive in chronological order, so we usually append
+            int index = size == 0 || dates[size - 1] <= date ? size : upperBound(dates, size, date);
+            if (size == dates.length) {
+                int capacity = newCapacity(size);
+                dates = Arrays.copyOf(dates, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                volumes = Arrays.copyOf(volumes, capacity);
+            }
+            if (index < size) {
+                int numMoved = size - index;
+                System.arraycopy(dates, index, dates, index + 1, numMoved);
+                System.arraycopy(prices, index, prices, index + 1, numMoved);
+                System.arraycopy(amounts, index, amounts, index + 1, numMoved);
+                System.arraycopy(volumes, index, volumes, index + 1, numMoved);
+            }
+            dates[index] = date;
+            prices[index] = price;
+            amounts[index] = amount;
+            volumes[index] = volume;
+            size++;
+
+            for (Rollups rollups : rollupsByTickUnit) {
+                rollups.add(date, price, amount, volume);
+            }
+        }
+
+        // Copies the prices of the trades between firstDate and lastDate (both inclusive) into target
+        int copyPrices(long firstDate, long lastDate, long[] target, int targetPos) {
+            int from = lowerBound(dates, size, firstDate);
+            int to = upperBound(dates, size, lastDate);
+            System.arraycopy(prices, from, target, targetPos, to - from);
+            return to - from;
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // OHLCV rollups of a series for one tick unit
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private class Rollups {
+        private final TickUnit tickUnit;
+        private long[] tickStarts = new long[0];
+        private long[] openDates = new long[0];
+        private long[] opens = new long[0];
+        private long[] closeDates = new long[0];
+        private long[] closes = new long[0];
+        private long[] highs = new long[0];
+        private long[] lows = new long[0];
+        private long[] amounts = new long[0];
+        private long[] volumes = new long[0];
+        private int[] numTrades = new int[0];
+        private int size;
+
+        // Bounds of the tick of the last added date. As trade statistics mostly arrive in chronological order
+        // this saves most of the date conversions.
+        private long cachedTickStart = Long.MAX_VALUE;
+        private long cachedTickEnd = Long.MIN_VALUE;
+
+        Rollups(TickUnit tickUnit) {
+            this.tickUnit = tickUnit;
+        }
+
+        void add(long date, long price, long amount, long volume) {
+            long tickStart = getTickStart(date);
+            int index = size > 0 && tickStarts[size - 1] >= tickStart ?
+                    lowerBound(tickStarts, size, tickStart) :
+                    size;
+            if (index == size || tickStarts[index] != tickStart) {
+                insert(index, tickStart, date, price);
+            } else {
+                if (date < openDates[index]) {
+                    openDates[index] = date;
+                    opens[index] = price;
+                }
+                if (date >= closeDates[index]) {
+                    closeDates[index] = date;
+                    closes[index] = price;
+                }
+                highs[index] = Math.max(highs[index], price);
+                lows[index] = Math.min(lows[index], price);
+            }
+            amounts[index] += amount;
+            volumes[index] += volume;
+            numTrades[index]++;
+        }
+
+        private void insert(int index, long tickStart, long date, long price) {
+            if (size == tickStarts.length) {
+                int capacity = newCapacity(size);
+                tickStarts = Arrays.copyOf(tickStarts, capacity);
+                openDates = Arrays.copyOf(openDates, capacity);
+                opens = Arrays.copyOf(opens, capacity);
+                closeDates = Arrays.copyOf(closeDates, capacity);
+                closes = Arrays.copyOf(closes, capacity);
+                highs = Arrays.copyOf(highs, capacity);
+                lows = Arrays.copyOf(lows, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                volumes = Arrays.copyOf(volumes, capacity);
+                numTrades = Arrays.copyOf(numTrades, capacity);
+            }
+            if (index < size) {
+                int numMoved = size - index;
+                System.arraycopy(tickStarts, index, tickStarts, index + 1, numMoved);
+                System.arraycopy(openDates, index, openDates, index + 1, numMoved);
+                System.arraycopy(opens, index, opens, index + 1, numMoved);
+                System.arraycopy(closeDates, index, closeDates, index + 1, numMoved);
+                System.arraycopy(closes, index, closes, index + 1, numMoved);
+                System.arraycopy(highs, index, highs, index + 1, numMoved);
+                System.arraycopy(lows, index, lows, index + 1, numMoved);
+                System.arraycopy(amounts, index, amounts, index + 1, numMoved);
+                System.arraycopy(volumes, index, volumes, index + 1, numMoved);
+                System.arraycopy(numTrades, index, numTrades, index + 1, numMoved);
+            }
+            tickStarts[index] = tickStart;
+            openDates[index] = date;
+            opens[index] = price;
+            closeDates[index] = date;
+            closes[index] = price;
+            highs[index] = price;
+            lows[index] = price;
+            amounts[index] = 0;
+            volumes[index] = 0;
+            numTrades[index] = 0;
+            size++;
+        }
+
+        private long getTickStart(long date) {
+            if (date < cachedTickStart || date >= cachedTickEnd) {
+                LocalDateTime localDateTime = Instant.ofEpochMilli(date).atZone(zoneId).toLocalDateTime();
+                LocalDateTime tickStart = tickUnit.truncate(localDateTime);
+                cachedTickStart = toEpochMilli(tickStart);
+                cachedTickEnd = toEpochMilli(tickUnit.next(tickStart));
+            }
+            return cachedTickStart;
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Combines the rollups of one tick of one or more series into a candle
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static class CandleBuilder {
+        private final long tickStart;
+        private final List<Series> seriesList = new ArrayList<>(1);
+        private final List<Rollups> rollupsList = new ArrayList<>(1);
+        private final List<Integer> indices = new ArrayList<>(1);
+        private long openDate = Long.MAX_VALUE;
+        private long open;
+        private long closeDate = Long.MIN_VALUE;
+        private long close;
+        private long high = Long.MIN_VALUE;
+        private long low = Long.MAX_VALUE;
+        private long amount;
+        private long volume;
+        private int numTrades;
+
+        CandleBuilder(long tickStart) {
+            this.tickStart = tickStart;
+        }
+
+        void add(Series series, Rollups rollups, int index) {
+            seriesList.add(series);
+            rollupsList.add(rollups);
+            indices.add(index);
+            if (rollups.openDates[index] < openDate) {
+                openDate = rollups.openDates[index];
+                open = rollups.opens[index];
+            }
+            if (rollups.closeDates[index] >= closeDate) {
+                closeDate = rollups.closeDates[index];
+                close = rollups.closes[index];
+            }
+            high = Math.max(high, rollups.highs[index]);
+            low = Math.min(low, rollups.lows[index]);
+            amount += rollups.amounts[index];
+            volume += rollups.volumes[index];
+            numTrades += rollups.numTrades[index];
+        }
+
+        TradeStatisticsCandle build() {
+            long[] prices = new long[numTrades];
+            int numPrices = 0;
+            for (int i = 0; i < seriesList.size(); i++) {
+                Rollups rollups = rollupsList.get(i);
+                int index = indices.get(i);
+                numPrices += seriesList.get(i).copyPrices(rollups.openDates[index], rollups.closeDates[index],
+                        prices, numPrices);
+            }
+            Arrays.sort(prices, 0, numPrices);
+            long medianPrice = MathUtils.getMedian(numPrices == prices.length ? prices : Arrays.copyOf(prices, numPrices));
+            return new TradeStatisticsCandle(tickStart, open, close, high, low, medianPrice, amount, volume, numTrades);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import bisq.core.util.JsonUtil;
+
+import bisq.common.UserThread;
+import bisq.common.file.FileUtil;
+import bisq.common.file.JsonFileManager;
+import bisq.common.util.Utilities;
+
+import com.google.gson.Gson;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Incremental json dump of the trade statistics for nodes running with --dumpStatistics.
+ * <p>
+ * The trade statistics are written as newline delimited json to one file per month (UTC) of the trade date in the
+ * trade_statistics directory, e.g. trade_statistics/trade_statistics_2023-05.ndjson. New trade statistics get
+ * appended to the file of their month, so the entries of a file are sorted by date except for late arrivals.
+ * The index.json file lists all month files with their number of entries and gets rewritten after each write.
+ * Additions arriving in a burst are coalesced into one write.
+ * <p>
+ * At startup only the month files whose number of entries does not match the index get rewritten. The whole set
+ * is also written to trade_statistics.json like before, but coalesced as well, unless --dumpFullStatistics=false.
+ */
+@Slf4j
+class TradeStatisticsJsonDump {
+    static final String DIR_NAME = "trade_statistics";
+    private static final String INDEX_FILE_NAME = "index";
+    private static final String FULL_FILE_NAME = "trade_statistics";
+    private static final String PARTITION_FILE_PREFIX = "trade_statistics_";
+    private static final String PARTITION_FILE_SUFFIX = ".ndjson";
+    private static final int INDEX_VERSION = 1;
+    private static final long FLUSH_DELAY_SEC = 2;
+    private static final DateTimeFormatter PARTITION_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM")
+            .withZone(ZoneOffset.UTC);
+
+    private final File dir;
+    private final JsonFileManager jsonFileManager;
+    private final JsonFileManager indexJsonFileManager;
+    private final Collection<TradeStatistics3> tradeStatisticsSet;
+    private final boolean dumpFullStatistics;
+    private final ExecutorService executor;
+    private final Gson gson = new Gson();
+
+    // Only accessed from the executor thread
+    private final Map<String, Integer> numEntriesByPartition = new TreeMap<>();
+
+    // Only accessed from the user thread
+    private List<TradeStatisticsForJson> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param tradeStatisticsSet The sorted set of all trade statistics. Only read from the user thread.
+     */
+    TradeStatisticsJsonDump(File storageDir,
+                            JsonFileManager jsonFileManager,
+                            Collection<TradeStatistics3> tradeStatisticsSet,
+                            boolean dumpFullStatistics) {
+        // Single thread as the writes of the month files and the index must not interleave
+        this(storageDir,
+                jsonFileManager,
+                tradeStatisticsSet,
+                dumpFullStatistics,
+                Utilities.getThreadPoolExecutor("TradeStatisticsJsonDump", 1, 1, 100, 60));
+    }
+
+    @VisibleForTesting
+    TradeStatisticsJsonDump(File storageDir,
+                            JsonFileManager jsonFileManager,
+                            Collection<TradeStatistics3> tradeStatisticsSet,
+                            boolean dumpFullStatistics,
+                            ExecutorService executor) {
+        this.dir = new File(storageDir, DIR_NAME);
+        this.jsonFileManager = jsonFileManager;
+        this.indexJsonFileManager = new JsonFileManager(dir);
+        this.tradeStatisticsSet = tradeStatisticsSet;
+        this.dumpFullStatistics = dumpFullStatistics;
+        this.executor = executor;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    void dumpAll() {
+        List<TradeStatisticsForJson> all = tradeStatisticsSet.stream()
+                .map(TradeStatisticsForJson::new)
+                .collect(Collectors.toList());
+        executor.execute(() -> syncPartitions(all));
+        maybeDumpFullStatistics();
+    }
+
+    void add(TradeStatistics3 tradeStatistics) {
+        pending.add(new TradeStatisticsForJson(tradeStatistics));
+        if (!flushScheduled) {
+            flushScheduled = true;
+            UserThread.runAfter(this::flush, FLUSH_DELAY_SEC);
+        }
+    }
+
+    void shutDown() {
+        flush();
+        executor.shutdown();
+        indexJsonFileManager.shutDown();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty() || executor.isShutdown()) {
+            return;
+        }
+        List<TradeStatisticsForJson> batch = pending;
+        pending = new ArrayList<>();
+        executor.execute(() -> append(batch));
+        maybeDumpFullStatistics();
+    }
+
+    private void maybeDumpFullStatistics() {
+        if (!dumpFullStatistics) {
+            return;
+        }
+        List<TradeStatisticsForJson> list = tradeStatisticsSet.stream()
+                .map(TradeStatisticsForJson::new)
+                .sorted((o1, o2) -> (Long.compare(o2.tradeDate, o1.tradeDate)))
+                .collect(Collectors.toList());
+        TradeStatisticsForJson[] array = new TradeStatisticsForJson[list.size()];
+        list.toArray(array);
+        jsonFileManager.writeToDiscThreaded(JsonUtil.objectToJson(array), FULL_FILE_NAME);
+    }
+
+    private void syncPartitions(List<TradeStatisticsForJson> all) {
+        long ts = System.currentTimeMillis();
+        Map<String, List<TradeStatisticsForJson>> entriesByPartition = groupByPartition(all);
+        Map<String, Integer> dumpedNumEntriesByPartition = readIndex();
+        int numRewritten = 0;
+        numEntriesByPartition.clear();
+        for (Map.Entry<String, List<TradeStatisticsForJson>> entry : entriesByPartition.entrySet()) {
+            String partition = entry.getKey();
+            List<TradeStatisticsForJson> entries = entry.getValue();
+            File file = getPartitionFile(partition);
+            Integer dumpedNumEntries = dumpedNumEntriesByPartition.get(partition);
+            if (dumpedNumEntries == null || dumpedNumEntries != entries.size() || !file.exists()) {
+                try {
+                    writePartition(file, entries);
+                    numRewritten++;
+                } catch (IOException e) {
+                    log.error("Writing {} failed", file, e);
+                    continue;
+                }
+            }
+            numEntriesByPartition.put(partition, entries.size());
+        }
+        writeIndex();
+        log.info("Dumping {} trade statistics took {} ms. {} of {} month files have been rewritten.",
+                all.size(), System.currentTimeMillis() - ts, numRewritten, entriesByPartition.size());
+    }
+
+    private void append(List<TradeStatisticsForJson> batch) {
+        groupByPartition(batch).forEach((partition, entries) -> {
+            File file = getPartitionFile(partition);
+            List<String> lines = entries.stream().map(gson::toJson).collect(Collectors.toList());
+            try {
+                Files.write(file.toPath(), lines, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                numEntriesByPartition.merge(partition, entries.size(), Integer::sum);
+            } catch (IOException e) {
+                log.error("Appending to {} failed", file, e);
+            }
+        });
+        writeIndex();
+    }
+
+    private void writePartition(File file, List<TradeStatisticsForJson> entries) throws IOException {
+        File tempFile = File.createTempFile("temp", null, dir);
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+                for (TradeStatisticsForJson entry : entries) {
+                    writer.write(gson.toJson(entry));
+                    writer.newLine();
+                }
+            }
+            FileUtil.renameFile(tempFile, file);
+        } finally {
+            if (tempFile.exists() && !tempFile.delete()) {
+                log.error("Cannot delete temp file {}", tempFile);
+            }
+        }
+    }
+
+    private void writeIndex() {
+        Index index = new Index(System.currentTimeMillis(), numEntriesByPartition.entrySet().stream()
+                .map(entry -> new Partition(entry.getKey(), getPartitionFile(entry.getKey()).getName(), entry.getValue()))
+                .collect(Collectors.toList()));
+        indexJsonFileManager.writeToDisc(JsonUtil.objectToJson(index), INDEX_FILE_NAME);
+    }
+
+    private Map<String, Integer> readIndex() {
+        Map<String, Integer> result = new HashMap<>();
+        File file = new File(dir, INDEX_FILE_NAME + ".json");
+        if (!file.exists()) {
+            return result;
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Index index = gson.fromJson(reader, Index.class);
+            if (index != null && index.version == INDEX_VERSION && index.partitions != null) {
+                index.partitions.forEach(partition -> result.put(partition.month, partition.numEntries));
+            }
+        } catch (Throwable t) {
+            log.warn("Reading {} failed. We rewrite all month files. {}", file, t.toString());
+            result.clear();
+        }
+        return result;
+    }
+
+    private File getPartitionFile(String partition) {
+        return new File(dir, PARTITION_FILE_PREFIX + partition + PARTITION_FILE_SUFFIX);
+    }
+
+    private static Map<String, List<TradeStatisticsForJson>> groupByPartition(List<TradeStatisticsForJson> entries) {
+        return entries.stream().collect(Collectors.groupingBy(
+                entry -> PARTITION_FORMATTER.format(Instant.ofEpochMilli(entry.tradeDate)),
+                TreeMap::new,
+                Collectors.toList()));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Index file
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static class Index {
+        private final int version;
+        private final long lastUpdate;
+        private final int numEntries;
+        private final List<Partition> partitions;
+
+        Index(long lastUpdate, List<Partition> partitions) {
+            this.version = INDEX_VERSION;
+            this.lastUpdate = lastUpdate;
+            this.numEntries = partitions.stream().mapToInt(partition -> partition.numEntries).sum();
+            this.partitions = partitions;
+        }
+    }
+
+    private static class Partition {
+        private final String month;
+        private final String fileName;
+        private final int numEntries;
+
+        Partition(String month, String fileName, int numEntries) {
+            this.month = month;
+            this.fileName = fileName;
+            this.numEntries = numEntries;
+        }
+    }
+}
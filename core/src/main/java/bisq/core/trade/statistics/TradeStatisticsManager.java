@@ -46,6 +46,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableSet;
 
 import java.time.Instant;
+import java.time.ZoneId;
 
 import java.io.File;
 
@@ -73,9 +74,12 @@ public class TradeStatisticsManager {
     private final TradeStatisticsConverter tradeStatisticsConverter;
     private final File storageDir;
     private final boolean dumpStatistics;
+    private final boolean dumpFullStatistics;
     private final NavigableSet<TradeStatistics3> navigableTradeStatisticsSet = new TreeSet<>();
     private final ObservableSet<TradeStatistics3> observableTradeStatisticsSet = FXCollections.observableSet(navigableTradeStatisticsSet);
+    private final TradeStatisticsColumns tradeStatisticsColumns = new TradeStatisticsColumns(ZoneId.systemDefault());
     private JsonFileManager jsonFileManager;
+    private TradeStatisticsJsonDump tradeStatisticsJsonDump;
 
     @Inject
     public TradeStatisticsManager(P2PService p2PService,
@@ -84,19 +88,24 @@ public class TradeStatisticsManager {
                                   AppendOnlyDataStoreService appendOnlyDataStoreService,
                                   TradeStatisticsConverter tradeStatisticsConverter,
                                   @Named(Config.STORAGE_DIR) File storageDir,
-                                  @Named(Config.DUMP_STATISTICS) boolean dumpStatistics) {
+                                  @Named(Config.DUMP_STATISTICS) boolean dumpStatistics,
+                                  @Named(Config.DUMP_FULL_STATISTICS) boolean dumpFullStatistics) {
         this.p2PService = p2PService;
         this.priceFeedService = priceFeedService;
         this.tradeStatistics3StorageService = tradeStatistics3StorageService;
         this.tradeStatisticsConverter = tradeStatisticsConverter;
         this.storageDir = storageDir;
         this.dumpStatistics = dumpStatistics;
+        this.dumpFullStatistics = dumpFullStatistics;
 
         appendOnlyDataStoreService.addService(tradeStatistics3StorageService);
     }
 
     public void shutDown() {
         tradeStatisticsConverter.shutDown();
+        if (tradeStatisticsJsonDump != null) {
+            tradeStatisticsJsonDump.shutDown();
+        }
         if (jsonFileManager != null) {
             jsonFileManager.shutDown();
         }
@@ -110,9 +119,16 @@ public class TradeStatisticsManager {
                 if (!tradeStatistics.isValid()) {
                     return;
                 }
+                // We update the columns before the observable set, so that set listeners see the new candles
+                boolean isNew = !navigableTradeStatisticsSet.contains(tradeStatistics);
+                if (isNew) {
+                    tradeStatisticsColumns.add(tradeStatistics);
+                }
                 observableTradeStatisticsSet.add(tradeStatistics);
                 priceFeedService.setBisqMarketPrice(tradeStatistics.getCurrency(), tradeStatistics.getTradePrice());
-                maybeDumpStatistics();
+                if (isNew && tradeStatisticsJsonDump != null) {
+                    tradeStatisticsJsonDump.add(tradeStatistics);
+                }
             }
         });
 
@@ -121,6 +137,7 @@ public class TradeStatisticsManager {
                 .map(e -> (TradeStatistics3) e)
                 .filter(TradeStatistics3::isValid)
                 .forEach(observableTradeStatisticsSet::add);
+        tradeStatisticsColumns.addAll(navigableTradeStatisticsSet);
 
         // get the most recent price for each ccy and notify priceFeedService
         // (this relies on the trade statistics set being sorted by date)
@@ -145,6 +162,26 @@ public class TradeStatisticsManager {
                 .descendingSet());
     }
 
+    /**
+     * @return The candles of the given currency with a tick start in the range [fromTickStart, toTickStart],
+     * sorted by tick start. The ticks are based on the system default time zone.
+     */
+    public List<TradeStatisticsCandle> getCandles(String currencyCode,
+                                                  TickUnit tickUnit,
+                                                  long fromTickStart,
+                                                  long toTickStart) {
+        return tradeStatisticsColumns.getCandles(currencyCode, tickUnit, fromTickStart, toTickStart);
+    }
+
+    /**
+     * @return The candles of the trades of all currencies with a tick start in the range
+     * [fromTickStart, toTickStart], sorted by tick start. Only the amount and the number of trades are
+     * meaningful across currencies.
+     */
+    public List<TradeStatisticsCandle> getCandles(TickUnit tickUnit, long fromTickStart, long toTickStart) {
+        return tradeStatisticsColumns.getCandles(tickUnit, fromTickStart, toTickStart);
+    }
+
     private void maybeDumpStatistics() {
         if (!dumpStatistics) {
             return;
@@ -184,13 +221,12 @@ public class TradeStatisticsManager {
             jsonFileManager.writeToDiscThreaded(JsonUtil.objectToJson(activeCryptoCurrencyList), "active_crypto_currency_list");
         }
 
-        List<TradeStatisticsForJson> list = observableTradeStatisticsSet.stream()
-                .map(TradeStatisticsForJson::new)
-                .sorted((o1, o2) -> (Long.compare(o2.tradeDate, o1.tradeDate)))
-                .collect(Collectors.toList());
-        TradeStatisticsForJson[] array = new TradeStatisticsForJson[list.size()];
-        list.toArray(array);
-        jsonFileManager.writeToDiscThreaded(JsonUtil.objectToJson(array), "trade_statistics");
+        // New trade statistics get appended to the incremental dump instead of rewriting all of them
+        tradeStatisticsJsonDump = new TradeStatisticsJsonDump(storageDir,
+                jsonFileManager,
+                getNavigableTradeStatisticsSet(),
+                dumpFullStatistics);
+        tradeStatisticsJsonDump.dumpAll();
     }
 
     public void maybeRepublishTradeStatistics(Set<TradeModel> trades,
@@ -24,6 +24,8 @@ import bisq.core.trade.model.bisq_v1.Trade;
 import bisq.core.trade.txproof.AssetTxProofModel;
 import bisq.core.user.AutoConfirmSettings;
 
+import bisq.asset.CryptoNoteUtils;
+
 import bisq.common.app.DevEnv;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -33,6 +35,8 @@ import java.util.Date;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 @SuppressWarnings("SpellCheckingInspection")
@@ -53,6 +57,9 @@ public class XmrTxProofModel implements AssetTxProofModel {
     private final String recipientAddress;
     private final long amount;
     private final Date tradeDate;
+    // Raw hex of the public spend and view key of the recipient address, null if the address is invalid
+    @Nullable
+    private final String recipientAddressHex;
 
     XmrTxProofModel(Trade trade, String serviceAddress, AutoConfirmSettings autoConfirmSettings) {
         this.serviceAddress = serviceAddress;
@@ -70,6 +77,24 @@ public class XmrTxProofModel implements AssetTxProofModel {
         txKey = trade.getCounterCurrencyExtraData();
         tradeDate = trade.getDate();
         tradeId = trade.getId();
+        recipientAddressHex = toRecipientAddressHex(recipientAddress);
+    }
+
+    private XmrTxProofModel(XmrTxProofModel model, String serviceAddress) {
+        this.serviceAddress = serviceAddress;
+        this.autoConfirmSettings = model.autoConfirmSettings;
+        this.tradeId = model.tradeId;
+        this.txHash = model.txHash;
+        this.txKey = model.txKey;
+        this.recipientAddress = model.recipientAddress;
+        this.amount = model.amount;
+        this.tradeDate = model.tradeDate;
+        this.recipientAddressHex = model.recipientAddressHex;
+    }
+
+    // The trade data is the same for all services, so we derive it only once per trade
+    XmrTxProofModel withServiceAddress(String serviceAddress) {
+        return new XmrTxProofModel(this, serviceAddress);
     }
 
     // NumRequiredConfirmations is read just in time. If user changes autoConfirmSettings during requests it will
@@ -96,5 +121,16 @@ public class XmrTxProofModel implements AssetTxProofModel {
         this.tradeDate = tradeDate;
         this.autoConfirmSettings = autoConfirmSettings;
         this.serviceAddress = autoConfirmSettings.getServiceAddresses().get(0);
+        this.recipientAddressHex = toRecipientAddressHex(recipientAddress);
+    }
+
+    @Nullable
+    private static String toRecipientAddressHex(String recipientAddress) {
+        try {
+            return CryptoNoteUtils.getRawSpendKeyAndViewKey(recipientAddress);
+        } catch (CryptoNoteUtils.CryptoNoteException | RuntimeException e) {
+            // The parser will report the invalid address
+            return null;
+        }
     }
 }
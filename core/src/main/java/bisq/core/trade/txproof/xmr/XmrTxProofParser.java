@@ -79,7 +79,9 @@ public class XmrTxProofParser implements AssetTxProofParser<XmrTxProofRequest.Re
             if (jsonAddress == null) {
                 return XmrTxProofRequest.Result.ERROR.with(XmrTxProofRequest.Detail.API_INVALID.error("Missing address field"));
             } else {
-                String expectedAddressHex = CryptoNoteUtils.getRawSpendKeyAndViewKey(model.getRecipientAddress());
+                String expectedAddressHex = model.getRecipientAddressHex() != null ?
+                        model.getRecipientAddressHex() :
+                        CryptoNoteUtils.getRawSpendKeyAndViewKey(model.getRecipientAddress());
                 if (!jsonAddress.getAsString().equalsIgnoreCase(expectedAddressHex)) {
                     log.warn("Address from json result (convertToRawHex):\n{}\nExpected (convertToRawHex):\n{}\nRecipient address:\n{}",
                             jsonAddress.getAsString(), expectedAddressHex, model.getRecipientAddress());
@@ -17,28 +17,16 @@
 
 package bisq.core.trade.txproof.xmr;
 
-import bisq.core.trade.txproof.AssetTxProofHttpClient;
-import bisq.core.trade.txproof.AssetTxProofParser;
 import bisq.core.trade.txproof.AssetTxProofRequest;
 
-import bisq.network.Socks5ProxyProvider;
-
 import bisq.common.UserThread;
-import bisq.common.app.Version;
 import bisq.common.handlers.FaultHandler;
-import bisq.common.util.Utilities;
-
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonParser;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 
-import java.io.IOException;
-
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -52,7 +40,8 @@ import javax.annotation.Nullable;
 
 /**
  * Requests for the XMR tx proof for a particular trade from a particular service.
- * Repeats every 90 sec requests if tx is not confirmed or found yet until MAX_REQUEST_PERIOD of 12 hours is reached.
+ * Repeats requests if tx is not confirmed or found yet until MAX_REQUEST_PERIOD of 12 hours is reached. The repeat
+ * period depends on the number of missing confirmations (see {@link XmrTxProofScheduler#getRepeatRequestPeriod}).
  */
 @Slf4j
 @EqualsAndHashCode
@@ -136,23 +125,19 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
     // Static fields
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private static final long REPEAT_REQUEST_PERIOD = TimeUnit.SECONDS.toMillis(90);
     private static final long MAX_REQUEST_PERIOD = TimeUnit.HOURS.toMillis(12);
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Class fields
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private final ListeningExecutorService executorService = Utilities.getListeningExecutorService(
-            "XmrTransferProofRequester", 3, 5, 10 * 60);
-
-    private final AssetTxProofParser<XmrTxProofRequest.Result, XmrTxProofModel> txProofParser;
-    private final AssetTxProofParser<XmrTxProofRequest.Result, XmrTxProofModel> rawTxParser;
+    private final XmrTxProofScheduler xmrTxProofScheduler;
     private final XmrTxProofModel model;
-    private final AssetTxProofHttpClient httpClient;
     private final long firstRequest;
 
-    private boolean terminated;
+    private volatile boolean terminated;
+    @EqualsAndHashCode.Exclude
+    private volatile boolean hasPendingRequest;
     @Getter
     @Nullable
     private Result result;
@@ -162,28 +147,11 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    XmrTxProofRequest(Socks5ProxyProvider socks5ProxyProvider,
+    XmrTxProofRequest(XmrTxProofScheduler xmrTxProofScheduler,
                       XmrTxProofModel model) {
-        txProofParser = new XmrTxProofParser();
-        rawTxParser = new XmrRawTxParser();
+        this.xmrTxProofScheduler = xmrTxProofScheduler;
         this.model = model;
 
-        httpClient = new XmrTxProofHttpClient(socks5ProxyProvider);
-
-        // localhost, LAN address, or *.local FQDN starts with http://, don't use Tor
-        if (model.getServiceAddress().regionMatches(0, "http:", 0, 5)) {
-            httpClient.setBaseUrl(model.getServiceAddress());
-            httpClient.setIgnoreSocks5Proxy(true);
-            // any non-onion FQDN starts with https://, use Tor
-        } else if (model.getServiceAddress().regionMatches(0, "https:", 0, 6)) {
-            httpClient.setBaseUrl(model.getServiceAddress());
-            httpClient.setIgnoreSocks5Proxy(false);
-            // it's a raw onion so add http:// and use Tor proxy
-        } else {
-            httpClient.setBaseUrl("http://" + model.getServiceAddress());
-            httpClient.setIgnoreSocks5Proxy(false);
-        }
-
         terminated = false;
         firstRequest = System.currentTimeMillis();
     }
@@ -192,7 +160,6 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
     // API
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    @SuppressWarnings("SpellCheckingInspection")
     @Override
     public void requestFromService(Consumer<Result> resultHandler, FaultHandler faultHandler) {
         if (terminated) {
@@ -202,33 +169,18 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
             return;
         }
 
-        if (httpClient.hasPendingRequest()) {
-            log.warn("We have a pending request open. We ignore that request. httpClient {}", httpClient);
+        if (hasPendingRequest) {
+            log.warn("We have a pending request open. We ignore that request. {}", this);
             return;
         }
 
         // Timeout handing is delegated to the connection timeout handling in httpClient.
-
-        ListenableFuture<Result> future = executorService.submit(() -> {
-            Thread.currentThread().setName("XmrTransferProofRequest-" + this.getShortId());
-
-            Result result = getResultFromRawTxRequest();
-            if (result != Result.SUCCESS) {
-                return result;
-            }
-
-            if (terminated) {
-                return null;
-            }
-
-            // Only if the rawTx request succeeded we go on to the tx proof request.
-            // The result from the rawTx request does not contain any detail data in the
-            // success case, so we drop it.
-            return getResultFromTxProofRequest();
-        });
+        hasPendingRequest = true;
+        ListenableFuture<Result> future = xmrTxProofScheduler.requestProof(model);
 
         Futures.addCallback(future, new FutureCallback<>() {
             public void onSuccess(Result result) {
+                hasPendingRequest = false;
                 XmrTxProofRequest.this.result = result;
 
                 if (terminated) {
@@ -244,7 +196,9 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
                             // If we reached out timeout we return with an error.
                             UserThread.execute(() -> resultHandler.accept(XmrTxProofRequest.Result.ERROR.with(Detail.NO_RESULTS_TIMEOUT)));
                         } else {
-                            UserThread.runAfter(() -> requestFromService(resultHandler, faultHandler), REPEAT_REQUEST_PERIOD, TimeUnit.MILLISECONDS);
+                            long repeatRequestPeriod = XmrTxProofScheduler.getRepeatRequestPeriod(result,
+                                    model.getNumRequiredConfirmations());
+                            UserThread.runAfter(() -> requestFromService(resultHandler, faultHandler), repeatRequestPeriod, TimeUnit.MILLISECONDS);
                             // We update our listeners
                             UserThread.execute(() -> resultHandler.accept(result));
                         }
@@ -266,6 +220,7 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
             }
 
             public void onFailure(@NotNull Throwable throwable) {
+                hasPendingRequest = false;
                 String errorMessage = this + " failed with error " + throwable;
                 faultHandler.handleFault(errorMessage, throwable);
                 UserThread.execute(() ->
@@ -274,48 +229,8 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
         }, MoreExecutors.directExecutor());
     }
 
-    private Result getResultFromRawTxRequest() throws IOException {
-        // The rawtransaction endpoint is not documented in explorer docs.
-        // Example request: https://xmrblocks.bisq.services/api/rawtransaction/5e665addf6d7c6300670e8a89564ed12b5c1a21c336408e2835668f9a6a0d802
-        String param = "/api/rawtransaction/" + model.getTxHash();
-        log.info("Param {} for rawtransaction request {}", param, this);
-        String json = httpClient.get(param, "User-Agent", "bisq/" + Version.VERSION);
-        try {
-            String prettyJson = new GsonBuilder().setPrettyPrinting().create().toJson(new JsonParser().parse(json));
-            log.info("Response json from rawtransaction request {}\n{}", this, prettyJson);
-        } catch (Throwable error) {
-            log.error("Pretty print caused a {}: raw json={}", error, json);
-        }
-
-        Result result = rawTxParser.parse(json);
-        log.info("Result from rawtransaction request {}\n{}", this, result);
-        return result;
-    }
-
-    private Result getResultFromTxProofRequest() throws IOException {
-        // The API use the viewkey param for txKey if txprove is true
-        // https://github.com/moneroexamples/onion-monero-blockchain-explorer/blob/9a37839f37abef0b8b94ceeba41ab51a41f3fbd8/src/page.h#L5254
-        String param = "/api/outputs?txhash=" + model.getTxHash() +
-                "&address=" + model.getRecipientAddress() +
-                "&viewkey=" + model.getTxKey() +
-                "&txprove=1";
-        log.info("Param {} for {}", param, this);
-        String json = httpClient.get(param, "User-Agent", "bisq/" + Version.VERSION);
-        try {
-            String prettyJson = new GsonBuilder().setPrettyPrinting().create().toJson(new JsonParser().parse(json));
-            log.info("Response json from {}\n{}", this, prettyJson);
-        } catch (Throwable error) {
-            log.error("Pretty print caused a {}: raw json={}", error, json);
-        }
-
-        Result result = txProofParser.parse(model, json);
-        log.info("Result from {}\n{}", this, result);
-        return result;
-    }
-
     @Override
     public void terminate() {
-        executorService.shutdown();
         terminated = true;
     }
 
@@ -329,10 +244,6 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private String getShortId() {
-        return Utilities.getShortId(model.getTradeId()) + " @ " + model.getServiceAddress().substring(0, 6);
-    }
-
     private boolean isTimeOutReached() {
         return System.currentTimeMillis() - firstRequest > MAX_REQUEST_PERIOD;
     }
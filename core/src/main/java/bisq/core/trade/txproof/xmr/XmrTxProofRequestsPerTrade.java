@@ -27,8 +27,6 @@ import bisq.core.trade.txproof.AssetTxProofRequestsPerTrade;
 import bisq.core.trade.txproof.AssetTxProofResult;
 import bisq.core.user.AutoConfirmSettings;
 
-import bisq.network.Socks5ProxyProvider;
-
 import bisq.common.handlers.FaultHandler;
 
 import org.bitcoinj.core.Coin;
@@ -57,7 +55,7 @@ class XmrTxProofRequestsPerTrade implements AssetTxProofRequestsPerTrade {
     private final MediationManager mediationManager;
     private final FilterManager filterManager;
     private final RefundManager refundManager;
-    private final Socks5ProxyProvider socks5ProxyProvider;
+    private final XmrTxProofScheduler xmrTxProofScheduler;
 
     private int numRequiredSuccessResults;
     private final Set<XmrTxProofRequest> requests = new HashSet<>();
@@ -72,13 +70,13 @@ class XmrTxProofRequestsPerTrade implements AssetTxProofRequestsPerTrade {
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    XmrTxProofRequestsPerTrade(Socks5ProxyProvider socks5ProxyProvider,
+    XmrTxProofRequestsPerTrade(XmrTxProofScheduler xmrTxProofScheduler,
                                Trade trade,
                                AutoConfirmSettings autoConfirmSettings,
                                MediationManager mediationManager,
                                FilterManager filterManager,
                                RefundManager refundManager) {
-        this.socks5ProxyProvider = socks5ProxyProvider;
+        this.xmrTxProofScheduler = xmrTxProofScheduler;
         this.trade = trade;
         this.autoConfirmSettings = autoConfirmSettings;
         this.mediationManager = mediationManager;
@@ -143,13 +141,16 @@ class XmrTxProofRequestsPerTrade implements AssetTxProofRequestsPerTrade {
         List<String> serviceAddresses = autoConfirmSettings.getServiceAddresses();
         numRequiredSuccessResults = serviceAddresses.size();
 
+        XmrTxProofModel model = null;
         for (String serviceAddress : serviceAddresses) {
             if (filterManager.isAutoConfExplorerBanned(serviceAddress)) {
                 log.warn("Filtered out auto-confirmation address: {}", serviceAddress);
                 continue;  // #4683: filter for auto-confirm explorers
             }
-            XmrTxProofModel model = new XmrTxProofModel(trade, serviceAddress, autoConfirmSettings);
-            XmrTxProofRequest request = new XmrTxProofRequest(socks5ProxyProvider, model);
+            model = model == null ?
+                    new XmrTxProofModel(trade, serviceAddress, autoConfirmSettings) :
+                    model.withServiceAddress(serviceAddress);
+            XmrTxProofRequest request = new XmrTxProofRequest(xmrTxProofScheduler, model);
 
             log.info("{} created", request);
             requests.add(request);
@@ -0,0 +1,271 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.txproof.xmr;
+
+import bisq.core.trade.txproof.AssetTxProofParser;
+
+import bisq.network.Socks5ProxyProvider;
+
+import bisq.common.app.Version;
+import bisq.common.util.Utilities;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.io.IOException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Executes the XMR tx proof requests of all trades and services.
+ * <p>
+ * Concurrent requests for the same tx proof (same service, tx hash, tx key, recipient address, amount and trade date)
+ * share one request. Once the rawtransaction request succeeded for a tx at a service we do not repeat it, as the
+ * unlock time of a tx cannot change. The last tx proof result per request gets cached and is reused if the service
+ * responds with the same JSON again, which is the case as long as no new block was mined.
+ * The poll interval is adapted to the number of confirmations still missing.
+ */
+@Slf4j
+class XmrTxProofScheduler {
+    @VisibleForTesting
+    static final long MIN_REPEAT_REQUEST_PERIOD = TimeUnit.SECONDS.toMillis(90);
+    @VisibleForTesting
+    static final long MAX_REPEAT_REQUEST_PERIOD = TimeUnit.MINUTES.toMillis(10);
+    private static final long AVERAGE_BLOCK_TIME = TimeUnit.MINUTES.toMillis(2);
+    private static final int MAX_CACHE_SIZE = 1000;
+
+    @Nullable
+    private final Socks5ProxyProvider socks5ProxyProvider;
+    private final ListeningExecutorService executorService;
+    private final AssetTxProofParser<XmrTxProofRequest.Result, XmrTxProofModel> txProofParser;
+    private final AssetTxProofParser<XmrTxProofRequest.Result, XmrTxProofModel> rawTxParser;
+    private final Map<String, ListenableFuture<XmrTxProofRequest.Result>> inFlightRequests = new ConcurrentHashMap<>();
+    // Keys of service address and tx hash of txs with a valid unlock time
+    private final Cache<String, Boolean> validRawTxs = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHE_SIZE)
+            .build();
+    private final Cache<String, CachedResult> txProofResults = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHE_SIZE)
+            .expireAfterWrite(1, TimeUnit.HOURS)
+            .build();
+
+    XmrTxProofScheduler(@Nullable Socks5ProxyProvider socks5ProxyProvider) {
+        this.socks5ProxyProvider = socks5ProxyProvider;
+        txProofParser = new XmrTxProofParser();
+        rawTxParser = new XmrRawTxParser();
+        // The queue is not bounded as the number of requests is limited by the number of trades and services
+        executorService = Utilities.getListeningExecutorService("XmrTxProofScheduler", 5, 5, 10 * 60,
+                new LinkedBlockingQueue<>());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    ListenableFuture<XmrTxProofRequest.Result> requestProof(XmrTxProofModel model) {
+        String requestKey = getRequestKey(model);
+        SettableFuture<XmrTxProofRequest.Result> future = SettableFuture.create();
+        ListenableFuture<XmrTxProofRequest.Result> inFlightRequest = inFlightRequests.putIfAbsent(requestKey, future);
+        if (inFlightRequest != null) {
+            log.info("A request for the tx proof of trade {} at {} is already in flight. We use its result.",
+                    model.getTradeId(), model.getServiceAddress());
+            return inFlightRequest;
+        }
+
+        executorService.execute(() -> {
+            // We remove the request before we complete it, so that later requests do not get the old result
+            try {
+                XmrTxProofRequest.Result result = getResult(model, requestKey);
+                inFlightRequests.remove(requestKey, future);
+                future.set(result);
+            } catch (Throwable throwable) {
+                inFlightRequests.remove(requestKey, future);
+                future.setException(throwable);
+            }
+        });
+        return future;
+    }
+
+    // Roughly 2 polls within the time we expect to get the missing confirmations
+    static long getRepeatRequestPeriod(XmrTxProofRequest.Result result, int numRequiredConfirmations) {
+        XmrTxProofRequest.Detail detail = result.getDetail();
+        if (detail != XmrTxProofRequest.Detail.PENDING_CONFIRMATIONS) {
+            return MIN_REPEAT_REQUEST_PERIOD;
+        }
+        int numMissingConfirmations = Math.max(0, numRequiredConfirmations - detail.getNumConfirmations());
+        long period = numMissingConfirmations * AVERAGE_BLOCK_TIME / 2;
+        return Math.min(MAX_REPEAT_REQUEST_PERIOD, Math.max(MIN_REPEAT_REQUEST_PERIOD, period));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private XmrTxProofRequest.Result getResult(XmrTxProofModel model, String requestKey) throws IOException {
+        String rawTxKey = model.getServiceAddress() + "|" + model.getTxHash();
+        if (validRawTxs.getIfPresent(rawTxKey) == null) {
+            XmrTxProofRequest.Result result = getResultFromRawTxRequest(model);
+            if (result != XmrTxProofRequest.Result.SUCCESS) {
+                return result;
+            }
+            validRawTxs.put(rawTxKey, true);
+        }
+
+        // Only if the rawTx request succeeded we go on to the tx proof request.
+        // The result from the rawTx request does not contain any detail data in the
+        // success case, so we drop it.
+        return getResultFromTxProofRequest(model, requestKey);
+    }
+
+    private XmrTxProofRequest.Result getResultFromRawTxRequest(XmrTxProofModel model) throws IOException {
+        // The rawtransaction endpoint is not documented in explorer docs.
+        // Example request: https://xmrblocks.bisq.services/api/rawtransaction/5e665addf6d7c6300670e8a89564ed12b5c1a21c336408e2835668f9a6a0d802
+        String param = "/api/rawtransaction/" + model.getTxHash();
+        log.info("Param {} for rawtransaction request {}", param, toString(model));
+        String json = get(model, param);
+        logJson("rawtransaction request " + toString(model), json);
+
+        XmrTxProofRequest.Result result = rawTxParser.parse(json);
+        log.info("Result from rawtransaction request {}\n{}", toString(model), result);
+        return result;
+    }
+
+    private XmrTxProofRequest.Result getResultFromTxProofRequest(XmrTxProofModel model,
+                                                                 String requestKey) throws IOException {
+        // The API use the viewkey param for txKey if txprove is true
+        // https://github.com/moneroexamples/onion-monero-blockchain-explorer/blob/9a37839f37abef0b8b94ceeba41ab51a41f3fbd8/src/page.h#L5254
+        String param = "/api/outputs?txhash=" + model.getTxHash() +
+                "&address=" + model.getRecipientAddress() +
+                "&viewkey=" + model.getTxKey() +
+                "&txprove=1";
+        log.info("Param {} for {}", param, toString(model));
+        String json = get(model, param);
+        logJson(toString(model), json);
+
+        // NumRequiredConfirmations can be changed by the user while the requests are running
+        int numRequiredConfirmations = model.getNumRequiredConfirmations();
+        CachedResult cachedResult = txProofResults.getIfPresent(requestKey);
+        XmrTxProofRequest.Result result;
+        if (cachedResult != null && cachedResult.isResultOf(json, numRequiredConfirmations)) {
+            result = cachedResult.toResult();
+        } else {
+            result = txProofParser.parse(model, json);
+            txProofResults.put(requestKey, new CachedResult(json, numRequiredConfirmations, result));
+        }
+        log.info("Result from {}\n{}", toString(model), result);
+        return result;
+    }
+
+    private String get(XmrTxProofModel model, String param) throws IOException {
+        // We use a new client per request as a client can only handle one request at a time
+        XmrTxProofHttpClient httpClient = new XmrTxProofHttpClient(socks5ProxyProvider);
+        String serviceAddress = model.getServiceAddress();
+        // localhost, LAN address, or *.local FQDN starts with http://, don't use Tor
+        if (serviceAddress.regionMatches(0, "http:", 0, 5)) {
+            httpClient.setBaseUrl(serviceAddress);
+            httpClient.setIgnoreSocks5Proxy(true);
+            // any non-onion FQDN starts with https://, use Tor
+        } else if (serviceAddress.regionMatches(0, "https:", 0, 6)) {
+            httpClient.setBaseUrl(serviceAddress);
+            httpClient.setIgnoreSocks5Proxy(false);
+            // it's a raw onion so add http:// and use Tor proxy
+        } else {
+            httpClient.setBaseUrl("http://" + serviceAddress);
+            httpClient.setIgnoreSocks5Proxy(false);
+        }
+        return httpClient.get(param, "User-Agent", "bisq/" + Version.VERSION);
+    }
+
+    // Pretty printing requires to parse the json, so we only do it if debug logging is enabled
+    private static void logJson(String request, String json) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        try {
+            String prettyJson = new GsonBuilder().setPrettyPrinting().create().toJson(JsonParser.parseString(json));
+            log.debug("Response json from {}\n{}", request, prettyJson);
+        } catch (Throwable error) {
+            log.error("Pretty print caused a {}: raw json={}", error, json);
+        }
+    }
+
+    private static String getRequestKey(XmrTxProofModel model) {
+        return model.getServiceAddress() + "|" +
+                model.getTxHash() + "|" +
+                model.getTxKey() + "|" +
+                model.getRecipientAddress() + "|" +
+                model.getAmount() + "|" +
+                model.getTradeDate().getTime();
+    }
+
+    private static String toString(XmrTxProofModel model) {
+        return "Request at: " + model.getServiceAddress() + " for trade: " + model.getTradeId();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // CachedResult
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // The Result and Detail enums carry mutable data, so we keep a copy of it
+    private static class CachedResult {
+        private final String json;
+        private final int numRequiredConfirmations;
+        private final XmrTxProofRequest.Result result;
+        @Nullable
+        private final XmrTxProofRequest.Detail detail;
+        private final int numConfirmations;
+        @Nullable
+        private final String errorMsg;
+
+        private CachedResult(String json, int numRequiredConfirmations, XmrTxProofRequest.Result result) {
+            this.json = json;
+            this.numRequiredConfirmations = numRequiredConfirmations;
+            this.result = result;
+            detail = result.getDetail();
+            numConfirmations = detail != null ? detail.getNumConfirmations() : 0;
+            errorMsg = detail != null ? detail.getErrorMsg() : null;
+        }
+
+        private boolean isResultOf(String json, int numRequiredConfirmations) {
+            return this.numRequiredConfirmations == numRequiredConfirmations && this.json.equals(json);
+        }
+
+        private XmrTxProofRequest.Result toResult() {
+            return detail != null ?
+                    result.with(detail.numConfirmations(numConfirmations).error(errorMsg)) :
+                    result.with(null);
+        }
+    }
+}
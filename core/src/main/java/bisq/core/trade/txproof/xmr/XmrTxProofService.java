@@ -79,7 +79,7 @@ public class XmrTxProofService implements AssetTxProofService {
     private final RefundManager refundManager;
     private final P2PService p2PService;
     private final WalletsSetup walletsSetup;
-    private final Socks5ProxyProvider socks5ProxyProvider;
+    private final XmrTxProofScheduler xmrTxProofScheduler;
     private final Map<String, XmrTxProofRequestsPerTrade> servicesByTradeId = new HashMap<>();
     private AutoConfirmSettings autoConfirmSettings;
     private final Map<String, ChangeListener<Trade.State>> tradeStateListenerMap = new HashMap<>();
@@ -114,7 +114,7 @@ public class XmrTxProofService implements AssetTxProofService {
         this.refundManager = refundManager;
         this.p2PService = p2PService;
         this.walletsSetup = walletsSetup;
-        this.socks5ProxyProvider = socks5ProxyProvider;
+        xmrTxProofScheduler = new XmrTxProofScheduler(socks5ProxyProvider);
     }
 
 
@@ -261,7 +261,7 @@ public class XmrTxProofService implements AssetTxProofService {
     }
 
     private void startRequests(SellerTrade trade) {
-        XmrTxProofRequestsPerTrade service = new XmrTxProofRequestsPerTrade(socks5ProxyProvider,
+        XmrTxProofRequestsPerTrade service = new XmrTxProofRequestsPerTrade(xmrTxProofScheduler,
                 trade,
                 autoConfirmSettings,
                 mediationManager,
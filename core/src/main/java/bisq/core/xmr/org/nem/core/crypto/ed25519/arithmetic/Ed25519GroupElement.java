@@ -18,6 +18,11 @@ import java.io.Serializable;
  */
 public class Ed25519GroupElement implements Serializable {
 
+    /**
+     * The neutral group element in CACHED coordinate system.
+     */
+    private static final Ed25519GroupElement ZERO_CACHED = cached(Ed25519Field.ONE, Ed25519Field.ONE, Ed25519Field.ONE, Ed25519Field.ZERO);
+
     private final CoordinateSystem coordinateSystem;
     @SuppressWarnings("NonConstantFieldWithUpperCaseName")
     private final Ed25519FieldElement X;
@@ -362,15 +367,12 @@ public class Ed25519GroupElement implements Serializable {
         }
 
         Ed25519GroupElement Bi = this;
-        this.precomputedForSingle = new Ed25519GroupElement[32][8];
+        final Ed25519GroupElement[] points = new Ed25519GroupElement[32 * 8];
 
         for (int i = 0; i < 32; i++) {
             Ed25519GroupElement Bij = Bi;
             for (int j = 0; j < 8; j++) {
-                final Ed25519FieldElement inverse = Bij.Z.invert();
-                final Ed25519FieldElement x = Bij.X.multiply(inverse);
-                final Ed25519FieldElement y = Bij.Y.multiply(inverse);
-                this.precomputedForSingle[i][j] = precomputed(y.add(x), y.subtract(x), x.multiply(y).multiply(Ed25519Field.D_Times_TWO));
+                points[i * 8 + j] = Bij;
                 Bij = Bij.add(Bi.toCached()).toP3();
             }
             // Only every second summand is precomputed (16^2 = 256).
@@ -378,6 +380,13 @@ public class Ed25519GroupElement implements Serializable {
                 Bi = Bi.add(Bi.toCached()).toP3();
             }
         }
+
+        final Ed25519GroupElement[] precomputedPoints = toPrecomputed(points);
+        final Ed25519GroupElement[][] precomputedForSingle = new Ed25519GroupElement[32][8];
+        for (int i = 0; i < 32; i++) {
+            System.arraycopy(precomputedPoints, i * 8, precomputedForSingle[i], 0, 8);
+        }
+        this.precomputedForSingle = precomputedForSingle;
     }
 
     /**
@@ -388,14 +397,43 @@ public class Ed25519GroupElement implements Serializable {
             return;
         }
         Ed25519GroupElement Bi = this;
-        this.precomputedForDouble = new Ed25519GroupElement[8];
+        final Ed25519GroupElement[] points = new Ed25519GroupElement[8];
         for (int i = 0; i < 8; i++) {
-            final Ed25519FieldElement inverse = Bi.Z.invert();
-            final Ed25519FieldElement x = Bi.X.multiply(inverse);
-            final Ed25519FieldElement y = Bi.Y.multiply(inverse);
-            this.precomputedForDouble[i] = precomputed(y.add(x), y.subtract(x), x.multiply(y).multiply(Ed25519Field.D_Times_TWO));
+            points[i] = Bi;
             Bi = this.add(this.add(Bi.toCached()).toP3().toCached()).toP3();
         }
+        this.precomputedForDouble = toPrecomputed(points);
+    }
+
+    /**
+     * Converts group elements in P^3 coordinate system to the PRECOMPUTED coordinate system.
+     * The conversion requires the affine coordinates, so instead of inverting each Z we use Montgomery's trick:
+     * a single field inversion of the product of all Z and 3 multiplications per group element.
+     *
+     * @param points The group elements in P^3 coordinate system.
+     * @return The group elements in PRECOMPUTED coordinate system.
+     */
+    private static Ed25519GroupElement[] toPrecomputed(final Ed25519GroupElement[] points) {
+        final int n = points.length;
+        // products[i] = Z_0 * ... * Z_i
+        final Ed25519FieldElement[] products = new Ed25519FieldElement[n];
+        Ed25519FieldElement product = Ed25519Field.ONE;
+        for (int i = 0; i < n; i++) {
+            product = product.multiply(points[i].Z);
+            products[i] = product;
+        }
+
+        // inverse = 1 / (Z_0 * ... * Z_i)
+        Ed25519FieldElement inverse = product.invert();
+        final Ed25519GroupElement[] precomputedPoints = new Ed25519GroupElement[n];
+        for (int i = n - 1; i >= 0; i--) {
+            final Ed25519FieldElement inverseZ = i > 0 ? inverse.multiply(products[i - 1]) : inverse;
+            inverse = inverse.multiply(points[i].Z);
+            final Ed25519FieldElement x = points[i].X.multiply(inverseZ);
+            final Ed25519FieldElement y = points[i].Y.multiply(inverseZ);
+            precomputedPoints[i] = precomputed(y.add(x), y.subtract(x), x.multiply(y).multiply(Ed25519Field.D_Times_TWO));
+        }
+        return precomputedPoints;
     }
 
     /**
@@ -784,16 +822,49 @@ public class Ed25519GroupElement implements Serializable {
         return t.cmov(tMinus, bNegative);
     }
 
+    /**
+     * Look up |b| * B in the table of multiples B, 2 * B, ..., 8 * B and negate it if b is negative.
+     * No secret array indices, no secret branching.
+     * Constant time.
+     *
+     * @param multiples The multiples of B in CACHED coordinate system.
+     * @param b in {-8, -7, ..., 8}
+     * @return b * B in CACHED coordinate system.
+     */
+    private static Ed25519GroupElement selectCached(final Ed25519GroupElement[] multiples, final int b) {
+        // Is b negative?
+        final int bNegative = ByteUtils.isNegativeConstantTime(b);
+        // |b|
+        final int bAbs = b - (((-bNegative) & b) << 1);
+
+        // |b| B
+        Ed25519GroupElement t = ZERO_CACHED;
+        for (int i = 0; i < 8; i++) {
+            t = t.cmov(multiples[i], ByteUtils.isEqualConstantTime(bAbs, i + 1));
+        }
+        // -|b| B: negating swaps Y + X and Y - X and negates 2 * d * T
+        //noinspection SuspiciousNameCombination
+        final Ed25519GroupElement tMinus = cached(t.Y, t.X, t.Z, t.T.negate());
+        // b B
+        return t.cmov(tMinus, bNegative);
+    }
+
     /**
      * h = a * B where a = a[0]+256*a[1]+...+256^31 a[31] and
-     * B is this point. If its lookup table has not been precomputed, it
-     * will be at the start of the method (and cached for later calls).
+     * B is this point. If the lookup table for B has been precomputed, it is used.
+     * Otherwise we use a signed 4 bit window with a table of the multiples B, 2 * B, ..., 8 * B, which is computed
+     * at each call. That is much cheaper than precomputing the full table (256 group elements) if B is not
+     * used for many multiplications.
      * Constant time.
      *
      * @param a The encoded field element.
      * @return The resulting group element.
      */
     public Ed25519GroupElement scalarMultiply(final Ed25519EncodedFieldElement a) {
+        if (null == this.precomputedForSingle) {
+            return this.windowedScalarMultiply(a);
+        }
+
         Ed25519GroupElement g;
         int i;
         final byte[] e = toRadix16(a);
@@ -813,6 +884,39 @@ public class Ed25519GroupElement implements Serializable {
         return h;
     }
 
+    /**
+     * h = a * B where a = a[0]+256*a[1]+...+256^31 a[31] and B is this point, which must be in P^3 coordinate
+     * system. Does not require a precomputed lookup table.
+     * Constant time.
+     *
+     * @param a The encoded field element.
+     * @return The resulting group element.
+     */
+    private Ed25519GroupElement windowedScalarMultiply(final Ed25519EncodedFieldElement a) {
+        if (this.coordinateSystem != CoordinateSystem.P3) {
+            throw new UnsupportedOperationException();
+        }
+
+        // B, 2 * B, ..., 8 * B
+        final Ed25519GroupElement[] multiples = new Ed25519GroupElement[8];
+        multiples[0] = this.toCached();
+        Ed25519GroupElement multiple = this;
+        for (int i = 1; i < 8; i++) {
+            multiple = multiple.add(multiples[0]).toP3();
+            multiples[i] = multiple.toCached();
+        }
+
+        // h = sum of 16^i e[i] B
+        final byte[] e = toRadix16(a);
+        Ed25519GroupElement h = Ed25519Group.ZERO_P3;
+        for (int i = 63; i >= 0; i--) {
+            h = h.dbl().toP2().dbl().toP2().dbl().toP2().dbl().toP3();
+            h = h.add(selectCached(multiples, e[i])).toP3();
+        }
+
+        return h;
+    }
+
     /**
      * Calculates a sliding-windows base 2 representation for a given encoded field element a.
      * To learn more about it see [6] page 8.
@@ -0,0 +1,309 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.api;
+
+import bisq.core.account.witness.AccountAgeWitnessService;
+import bisq.core.api.model.OfferQuery;
+import bisq.core.api.model.OfferQueryResult;
+import bisq.core.api.model.builder.OfferQueryBuilder;
+import bisq.core.locale.Res;
+import bisq.core.monetary.Price;
+import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
+import bisq.core.offer.OfferDirection;
+import bisq.core.offer.OfferFilterService;
+import bisq.core.offer.OfferUtil;
+import bisq.core.offer.OpenOfferManager;
+import bisq.core.offer.bisq_v1.CreateOfferService;
+import bisq.core.offer.bsq_swap.OpenBsqSwapOfferService;
+import bisq.core.payment.payload.PaymentMethod;
+import bisq.core.provider.price.PriceFeedService;
+import bisq.core.user.User;
+
+import bisq.common.crypto.KeyRing;
+
+import org.bitcoinj.core.Coin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class CoreOffersServiceTest {
+    private static final String CURRENCY_CODE = "EUR";
+
+    // The offers of the market in ascending price order, as kept by the offer book
+    private final List<Offer> market = new ArrayList<>();
+    private final Map<Offer, Long> prices = new HashMap<>();
+    private final Map<Offer, Long> accountAges = new HashMap<>();
+    private final Set<Offer> signedMakerOffers = new HashSet<>();
+    private final Set<Offer> takeableOffers = new HashSet<>();
+    private final Set<Offer> myOffers = new HashSet<>();
+    private final KeyRing keyRing = mock(KeyRing.class);
+    private AccountAgeWitnessService accountAgeWitnessService;
+    private OfferFilterService offerFilterService;
+    private CoreOffersService coreOffersService;
+
+    @BeforeEach
+    void setUp() {
+        Locale.setDefault(new Locale("en", "US"));
+        Res.setBaseCurrencyCode("BTC");
+        Res.setBaseCurrencyName("Bitcoin");
+
+        OfferBookService offerBookService = mock(OfferBookService.class);
+        when(offerBookService.getOffers(eq(CURRENCY_CODE), any(OfferDirection.class)))
+                .thenAnswer(invocation -> new ArrayList<>(market));
+        when(offerBookService.getPrice(any())).thenAnswer(invocation ->
+                Price.valueOf(CURRENCY_CODE, prices.get(invocation.getArgument(0, Offer.class))));
+
+        accountAgeWitnessService = mock(AccountAgeWitnessService.class);
+        when(accountAgeWitnessService.getAccountAge(any(Offer.class))).thenAnswer(invocation ->
+                accountAges.get(invocation.getArgument(0, Offer.class)));
+        when(accountAgeWitnessService.hasSignedWitness(any(Offer.class))).thenAnswer(invocation ->
+                signedMakerOffers.contains(invocation.getArgument(0, Offer.class)));
+
+        offerFilterService = mock(OfferFilterService.class);
+        when(offerFilterService.canTakeOffer(any(), anyBoolean())).thenAnswer(invocation ->
+                takeableOffers.contains(invocation.getArgument(0, Offer.class)) ?
+                        OfferFilterService.Result.VALID :
+                        OfferFilterService.Result.HAS_NO_PAYMENT_ACCOUNT_VALID_FOR_OFFER);
+
+        coreOffersService = new CoreOffersService(new CoreContext(),
+                keyRing,
+                accountAgeWitnessService,
+                mock(CoreWalletsService.class),
+                mock(CreateOfferService.class),
+                offerBookService,
+                offerFilterService,
+                mock(OpenOfferManager.class),
+                mock(OpenBsqSwapOfferService.class),
+                mock(OfferUtil.class),
+                mock(PriceFeedService.class),
+                mock(User.class));
+
+        // Some offers share a price, so the cursor fallback has to deal with equal prices
+        long[] marketPrices = {1000000, 1010000, 1010000, 1020000, 1030000, 1030000, 1030000, 1040000, 1050000, 1060000};
+        for (int i = 0; i < marketPrices.length; i++) {
+            addOffer("offer-" + i,
+                    marketPrices[i],
+                    i % 2 == 0 ? PaymentMethod.SEPA_ID : PaymentMethod.REVOLUT_ID,
+                    Coin.valueOf(100_000L * (i + 1)),
+                    Coin.valueOf(200_000L * (i + 1)),
+                    30L * i,
+                    i % 3 == 0,
+                    i % 4 != 1,
+                    i == 5);
+        }
+    }
+
+    @Test
+    void testDefaultQueryReturnsSameOffersAsBefore() {
+        for (String direction : List.of("BUY", "SELL", "buy")) {
+            OfferQueryResult result = coreOffersService.getOffers(query(direction).build());
+            assertEquals(coreOffersService.getOffers(direction, "eur"), result.getOffers());
+            assertEquals("", result.getNextCursor());
+        }
+        // Descending for buy offers of fiat markets
+        assertEquals(market.get(market.size() - 1), coreOffersService.getOffers(query("BUY").build()).getOffers().get(0));
+        // The expensive filters are not evaluated if not requested
+        verifyNoInteractions(accountAgeWitnessService, offerFilterService);
+    }
+
+    @Test
+    void testFilters() {
+        assertFilter(query("SELL").withPaymentMethodId(PaymentMethod.SEPA_ID),
+                o -> o.getPaymentMethod().getId().equals(PaymentMethod.SEPA_ID));
+        assertFilter(query("SELL").withMinPrice("101").withMaxPrice("103"),
+                o -> prices.get(o) >= 1010000 && prices.get(o) <= 1030000);
+        assertFilter(query("BUY").withMinPrice("102.5"),
+                o -> prices.get(o) >= 1025000);
+        // An offer matches if the range of amounts it can be taken with overlaps the requested range
+        assertFilter(query("SELL").withMinAmount(1_000_000),
+                o -> o.getAmount().value >= 1_000_000);
+        assertFilter(query("SELL").withMaxAmount(500_000),
+                o -> o.getMinAmount().value <= 500_000);
+        assertFilter(query("SELL").withMinMakerAccountAgeDays(100),
+                o -> accountAges.get(o) >= TimeUnit.DAYS.toMillis(100));
+        assertFilter(query("SELL").withOnlySignedMakers(true),
+                signedMakerOffers::contains);
+        assertFilter(query("SELL").withOnlyTakeable(true),
+                o -> takeableOffers.contains(o) && !myOffers.contains(o));
+        assertFilter(query("BUY").withPaymentMethodId(PaymentMethod.SEPA_ID).withMaxPrice("104").withOnlyTakeable(true),
+                o -> o.getPaymentMethod().getId().equals(PaymentMethod.SEPA_ID) && prices.get(o) <= 1040000 &&
+                        takeableOffers.contains(o) && !myOffers.contains(o));
+    }
+
+    @Test
+    void testOffsetAndLimit() {
+        List<Offer> all = coreOffersService.getOffers("SELL", CURRENCY_CODE);
+
+        OfferQueryResult result = coreOffersService.getOffers(query("SELL").withOffset(2).withLimit(3).build());
+        assertEquals(all.subList(2, 5), result.getOffers());
+        assertFalse(result.getNextCursor().isEmpty());
+
+        // The last page has no next cursor, also if it is full
+        result = coreOffersService.getOffers(query("SELL").withOffset(7).withLimit(3).build());
+        assertEquals(all.subList(7, 10), result.getOffers());
+        assertEquals("", result.getNextCursor());
+
+        result = coreOffersService.getOffers(query("SELL").withOffset(20).build());
+        assertTrue(result.getOffers().isEmpty());
+    }
+
+    @Test
+    void testCursorPaging() {
+        for (String direction : List.of("BUY", "SELL")) {
+            List<Offer> all = coreOffersService.getOffers(direction, CURRENCY_CODE);
+            for (int limit = 1; limit <= all.size() + 1; limit++) {
+                List<Offer> paged = new ArrayList<>();
+                int numPages = 0;
+                String cursor = "";
+                do {
+                    OfferQueryResult result = coreOffersService.getOffers(
+                            query(direction).withLimit(limit).withCursor(cursor).build());
+                    assertFalse(result.getOffers().isEmpty());
+                    paged.addAll(result.getOffers());
+                    cursor = result.getNextCursor();
+                    numPages++;
+                } while (!cursor.isEmpty());
+                assertEquals(all, paged);
+                assertEquals((all.size() + limit - 1) / limit, numPages);
+            }
+        }
+
+        // The cursor also works together with the filters
+        OfferQueryBuilder filtered = query("SELL").withPaymentMethodId(PaymentMethod.REVOLUT_ID).withLimit(2);
+        OfferQueryResult first = coreOffersService.getOffers(filtered.build());
+        OfferQueryResult second = coreOffersService.getOffers(filtered.withCursor(first.getNextCursor()).build());
+        List<Offer> expected = market.stream()
+                .filter(o -> o.getPaymentMethod().getId().equals(PaymentMethod.REVOLUT_ID))
+                .collect(Collectors.toList());
+        assertEquals(expected.subList(0, 2), first.getOffers());
+        assertEquals(expected.subList(2, 4), second.getOffers());
+    }
+
+    @Test
+    void testCursorFallbackIfOfferWasRemoved() {
+        // Page ends with offer-4, the first of three offers with the same price
+        OfferQueryResult first = coreOffersService.getOffers(query("SELL").withLimit(5).build());
+        assertEquals(market.subList(0, 5), first.getOffers());
+        Offer cursorOffer = market.get(4);
+        market.remove(cursorOffer);
+
+        // We continue at the price of the removed offer, so nothing gets skipped
+        OfferQueryResult second = coreOffersService.getOffers(query("SELL").withCursor(first.getNextCursor()).build());
+        assertEquals(market.subList(4, market.size()), second.getOffers());
+
+        // The same for the descending order of the buy offers. The page ends with offer-5, so offer-6 with the same
+        // price gets repeated and offer-4 is not skipped.
+        market.add(4, cursorOffer);
+        first = coreOffersService.getOffers(query("BUY").withLimit(5).build());
+        assertEquals(market.get(5), first.getOffers().get(4));
+        market.remove(5);
+        second = coreOffersService.getOffers(query("BUY").withCursor(first.getNextCursor()).build());
+        List<Offer> descending = coreOffersService.getOffers("BUY", CURRENCY_CODE);
+        assertEquals(descending.subList(3, descending.size()), second.getOffers());
+        assertEquals(cursorOffer, second.getOffers().get(1));
+
+        // If all offers after the cursor are gone we get an empty page
+        market.clear();
+        assertTrue(coreOffersService.getOffers(query("SELL").withCursor(first.getNextCursor()).build()).getOffers().isEmpty());
+    }
+
+    @Test
+    void testInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () ->
+                coreOffersService.getOffers(query("SELL").withCursor("not a cursor").build()));
+        assertThrows(IllegalArgumentException.class, () ->
+                coreOffersService.getOffers(query("SELL").withCursor("djE6YWJj").build()));
+        assertThrows(IllegalArgumentException.class, () ->
+                coreOffersService.getOffers(query("SELL").withOffset(-1).build()));
+        assertThrows(IllegalArgumentException.class, () ->
+                coreOffersService.getOffers(query("SELL").withLimit(-1).build()));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private OfferQueryBuilder query(String direction) {
+        return OfferQuery.builder(direction, CURRENCY_CODE);
+    }
+
+    private void assertFilter(OfferQueryBuilder builder, Predicate<Offer> predicate) {
+        OfferQuery query = builder.build();
+        List<Offer> expected = coreOffersService.getOffers(query.getDirection(), CURRENCY_CODE).stream()
+                .filter(predicate)
+                .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        assertTrue(expected.size() < market.size());
+        assertEquals(expected, coreOffersService.getOffers(query).getOffers());
+    }
+
+    private void addOffer(String id,
+                          long price,
+                          String paymentMethodId,
+                          Coin minAmount,
+                          Coin amount,
+                          long accountAgeDays,
+                          boolean isSignedMaker,
+                          boolean isTakeable,
+                          boolean isMyOffer) {
+        PaymentMethod paymentMethod = mock(PaymentMethod.class);
+        when(paymentMethod.getId()).thenReturn(paymentMethodId);
+        Offer offer = mock(Offer.class);
+        when(offer.getId()).thenReturn(id);
+        when(offer.getPaymentMethod()).thenReturn(paymentMethod);
+        when(offer.getMinAmount()).thenReturn(minAmount);
+        when(offer.getAmount()).thenReturn(amount);
+        when(offer.isMyOffer(keyRing)).thenReturn(isMyOffer);
+        market.add(offer);
+        prices.put(offer, price);
+        accountAges.put(offer, TimeUnit.DAYS.toMillis(accountAgeDays));
+        if (isSignedMaker) {
+            signedMakerOffers.add(offer);
+        }
+        if (isTakeable) {
+            takeableOffers.add(offer);
+        }
+        if (isMyOffer) {
+            myOffers.add(offer);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc;
+
+import bisq.core.btc.wallet.BsqWalletService;
+import bisq.core.btc.wallet.WalletsManager;
+
+import org.bitcoinj.core.Coin;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class WalletBalanceSnapshotServiceTest {
+    private final ObjectProperty<Coin> availableBalance = new SimpleObjectProperty<>();
+    private final ObjectProperty<Coin> reservedBalance = new SimpleObjectProperty<>();
+    private final ObjectProperty<Coin> lockedBalance = new SimpleObjectProperty<>();
+    private Balances balances;
+    private BsqWalletService bsqWalletService;
+    private WalletsManager walletsManager;
+    private File walletDir;
+    private WalletBalanceSnapshotService service;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        balances = mock(Balances.class);
+        doReturn(availableBalance).when(balances).getAvailableBalance();
+        doReturn(reservedBalance).when(balances).getReservedBalance();
+        doReturn(lockedBalance).when(balances).getLockedBalance();
+
+        bsqWalletService = mock(BsqWalletService.class);
+        doReturn(Coin.valueOf(1000)).when(bsqWalletService).getAvailableBalance();
+        doReturn(Coin.valueOf(2000)).when(bsqWalletService).getAvailableNonBsqBalance();
+        doReturn(Coin.valueOf(300)).when(bsqWalletService).getUnverifiedBalance();
+        doReturn(Coin.valueOf(40)).when(bsqWalletService).getUnconfirmedChangeBalance();
+        doReturn(Coin.valueOf(500)).when(bsqWalletService).getLockedForVotingBalance();
+        doReturn(Coin.valueOf(600)).when(bsqWalletService).getLockupBondsBalance();
+        doReturn(Coin.valueOf(70)).when(bsqWalletService).getUnlockingBondsBalance();
+        doReturn(true).when(bsqWalletService).isBalanceCalculated();
+
+        walletsManager = mock(WalletsManager.class);
+        walletDir = tempDir.toFile();
+        service = new WalletBalanceSnapshotService(balances, bsqWalletService, walletsManager, walletDir);
+    }
+
+    @Test
+    void testPersistAndReadSnapshot() {
+        availableBalance.set(Coin.valueOf(100_000));
+        reservedBalance.set(Coin.valueOf(20_000));
+        lockedBalance.set(Coin.valueOf(3_000));
+        service.persistSnapshot();
+        assertTrue(WalletBalanceSnapshotService.getSnapshotFile(walletDir).exists());
+
+        WalletBalanceSnapshot snapshot = newService().getSnapshot().orElseThrow();
+
+        assertEquals(100_000, snapshot.getAvailableBalance());
+        assertEquals(20_000, snapshot.getReservedBalance());
+        assertEquals(3_000, snapshot.getLockedBalance());
+        assertEquals(1000, snapshot.getBsqAvailableBalance());
+        assertEquals(2000, snapshot.getBsqAvailableNonBsqBalance());
+        assertEquals(300, snapshot.getBsqUnverifiedBalance());
+        assertEquals(40, snapshot.getBsqUnconfirmedChangeBalance());
+        assertEquals(500, snapshot.getBsqLockedForVotingBalance());
+        assertEquals(600, snapshot.getBsqLockupBondsBalance());
+        assertEquals(70, snapshot.getBsqUnlockingBondsBalance());
+    }
+
+    @Test
+    void testUncalculatedBsqBalanceKeepsLastSnapshot() {
+        availableBalance.set(Coin.valueOf(100_000));
+        reservedBalance.set(Coin.valueOf(20_000));
+        lockedBalance.set(Coin.valueOf(3_000));
+        service.persistSnapshot();
+
+        WalletBalanceSnapshotService nextSession = newService();
+        doReturn(false).when(bsqWalletService).isBalanceCalculated();
+        doReturn(Coin.ZERO).when(bsqWalletService).getAvailableBalance();
+        availableBalance.set(Coin.valueOf(90_000));
+        nextSession.persistSnapshot();
+
+        WalletBalanceSnapshot snapshot = newService().getSnapshot().orElseThrow();
+        assertEquals(90_000, snapshot.getAvailableBalance());
+        assertEquals(1000, snapshot.getBsqAvailableBalance());
+    }
+
+    @Test
+    void testPersistSnapshotWithoutBalances() {
+        service.persistSnapshot();
+
+        assertFalse(WalletBalanceSnapshotService.getSnapshotFile(walletDir).exists());
+    }
+
+    @Test
+    void testEncryptedWalletDeletesSnapshot() {
+        availableBalance.set(Coin.valueOf(100_000));
+        reservedBalance.set(Coin.valueOf(20_000));
+        lockedBalance.set(Coin.valueOf(3_000));
+        service.persistSnapshot();
+        assertTrue(WalletBalanceSnapshotService.getSnapshotFile(walletDir).exists());
+
+        doReturn(true).when(walletsManager).areWalletsEncrypted();
+        service.persistSnapshot();
+
+        assertFalse(WalletBalanceSnapshotService.getSnapshotFile(walletDir).exists());
+    }
+
+    @Test
+    void testReadCorruptSnapshot() throws IOException {
+        Files.writeString(WalletBalanceSnapshotService.getSnapshotFile(walletDir).toPath(), "{\"version\":");
+
+        assertFalse(service.getSnapshot().isPresent());
+    }
+
+    private WalletBalanceSnapshotService newService() {
+        return new WalletBalanceSnapshotService(balances, bsqWalletService, walletsManager, walletDir);
+    }
+}
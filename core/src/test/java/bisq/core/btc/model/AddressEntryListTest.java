@@ -0,0 +1,225 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.model;
+
+import bisq.common.config.Config;
+import bisq.common.persistence.PersistenceManager;
+
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.crypto.DeterministicKey;
+import org.bitcoinj.script.Script;
+import org.bitcoinj.wallet.Wallet;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class AddressEntryListTest {
+    private static final NetworkParameters PARAMS = Config.baseCurrencyNetworkParameters();
+
+    private PersistenceManager<AddressEntryList> persistenceManager;
+    private Wallet wallet;
+    private AddressEntryList addressEntryList;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    public void setUp() {
+        persistenceManager = mock(PersistenceManager.class);
+        wallet = Wallet.createDeterministic(PARAMS, Script.ScriptType.P2PKH);
+        addressEntryList = new AddressEntryList(persistenceManager);
+        // With an empty list we get the ARBITRATOR entry added
+        addressEntryList.onWalletReady(wallet);
+    }
+
+    @Test
+    public void testAddAddressEntry() {
+        AddressEntry offerFunding = newEntry(AddressEntry.Context.OFFER_FUNDING, "offer1");
+        AddressEntry reservedForTrade = newEntry(AddressEntry.Context.RESERVED_FOR_TRADE, "offer1");
+        AddressEntry otherOffer = newEntry(AddressEntry.Context.OFFER_FUNDING, "offer2");
+        addressEntryList.addAddressEntry(offerFunding);
+        addressEntryList.addAddressEntry(reservedForTrade);
+        addressEntryList.addAddressEntry(otherOffer);
+        assertIndexesMatchEntrySet();
+
+        assertEquals(Set.of(offerFunding, reservedForTrade), addressEntryList.getAddressEntriesByOfferId("offer1"));
+        assertEquals(Set.of(offerFunding, otherOffer),
+                addressEntryList.getAddressEntries(AddressEntry.Context.OFFER_FUNDING));
+        assertEquals(Set.of(offerFunding),
+                addressEntryList.getAddressEntriesByAddress(offerFunding.getAddressString()));
+        assertEquals(reservedForTrade,
+                addressEntryList.findAddressEntry("offer1", AddressEntry.Context.RESERVED_FOR_TRADE).orElseThrow());
+
+        // An entry with the same offer ID and context does not get added
+        addressEntryList.addAddressEntry(newEntry(AddressEntry.Context.OFFER_FUNDING, "offer1"));
+        assertEquals(Set.of(offerFunding, reservedForTrade), addressEntryList.getAddressEntriesByOfferId("offer1"));
+        assertIndexesMatchEntrySet();
+    }
+
+    @Test
+    public void testSwapAvailableToAddressEntryWithOfferId() {
+        AddressEntry available = newEntry(AddressEntry.Context.AVAILABLE, null);
+        addressEntryList.addAddressEntry(available);
+
+        AddressEntry offerFunding = addressEntryList.swapAvailableToAddressEntryWithOfferId(available,
+                AddressEntry.Context.OFFER_FUNDING, "offer1");
+        assertIndexesMatchEntrySet();
+
+        assertFalse(addressEntryList.getAddressEntries().contains(available));
+        assertTrue(addressEntryList.getAddressEntries(AddressEntry.Context.AVAILABLE).isEmpty());
+        assertEquals(Set.of(offerFunding), addressEntryList.getAddressEntriesByOfferId("offer1"));
+        assertEquals(Set.of(offerFunding), addressEntryList.getAddressEntriesByAddress(available.getAddressString()));
+    }
+
+    @Test
+    public void testSwapToAvailable() {
+        AddressEntry offerFunding = newEntry(AddressEntry.Context.OFFER_FUNDING, "offer1");
+        addressEntryList.addAddressEntry(offerFunding);
+
+        addressEntryList.swapToAvailable(offerFunding);
+        assertIndexesMatchEntrySet();
+
+        assertTrue(addressEntryList.getAddressEntriesByOfferId("offer1").isEmpty());
+        assertTrue(addressEntryList.getAddressEntries(AddressEntry.Context.OFFER_FUNDING).isEmpty());
+        Set<AddressEntry> entriesOfAddress = addressEntryList.getAddressEntriesByAddress(offerFunding.getAddressString());
+        assertEquals(1, entriesOfAddress.size());
+        AddressEntry available = entriesOfAddress.iterator().next();
+        assertEquals(AddressEntry.Context.AVAILABLE, available.getContext());
+        assertEquals(Set.of(available), addressEntryList.getAddressEntries(AddressEntry.Context.AVAILABLE));
+    }
+
+    @Test
+    public void testSwapToAvailableKeepsSharedAddress() {
+        // Offers sharing the maker fee tx use the same address
+        DeterministicKey key = wallet.freshReceiveKey();
+        AddressEntry offer1 = new AddressEntry(key, AddressEntry.Context.OFFER_FUNDING, "offer1", false);
+        AddressEntry offer2 = new AddressEntry(key, AddressEntry.Context.OFFER_FUNDING, "offer2", false);
+        addressEntryList.addAddressEntry(offer1);
+        addressEntryList.addAddressEntry(offer2);
+        assertEquals(Set.of(offer1, offer2), addressEntryList.getAddressEntriesByAddress(offer1.getAddressString()));
+
+        addressEntryList.swapToAvailable(offer1);
+        assertIndexesMatchEntrySet();
+
+        assertTrue(addressEntryList.getAddressEntriesByOfferId("offer1").isEmpty());
+        assertEquals(Set.of(offer2), addressEntryList.getAddressEntriesByAddress(offer1.getAddressString()));
+        assertTrue(addressEntryList.getAddressEntries(AddressEntry.Context.AVAILABLE).isEmpty());
+    }
+
+    @Test
+    public void testMultiSigEntries() {
+        AddressEntry multiSig = newEntry(AddressEntry.Context.MULTI_SIG, "offer1");
+        addressEntryList.addAddressEntry(multiSig);
+
+        // MULTI_SIG entries must not be swapped
+        addressEntryList.swapToAvailable(multiSig);
+        assertEquals(Set.of(multiSig), addressEntryList.getAddressEntriesByOfferId("offer1"));
+        assertIndexesMatchEntrySet();
+
+        addressEntryList.setCoinLockedInMultiSigAddressEntry(multiSig, 1000);
+        assertIndexesMatchEntrySet();
+        AddressEntry locked = addressEntryList.findAddressEntry("offer1", AddressEntry.Context.MULTI_SIG).orElseThrow();
+        assertEquals(1000, locked.getCoinLockedInMultiSig());
+        assertEquals(Set.of(locked), addressEntryList.getAddressEntriesByAddress(multiSig.getAddressString()));
+        assertEquals(Set.of(locked), addressEntryList.getAddressEntries(AddressEntry.Context.MULTI_SIG));
+    }
+
+    @Test
+    public void testAddressIndexGetsFilledOnWalletReady() {
+        AddressEntry offerFunding = newEntry(AddressEntry.Context.OFFER_FUNDING, "offer1");
+        AddressEntry available = newEntry(AddressEntry.Context.AVAILABLE, null);
+        Wallet otherWallet = Wallet.createDeterministic(PARAMS, Script.ScriptType.P2PKH);
+        AddressEntry foreign = new AddressEntry(otherWallet.freshReceiveKey(), AddressEntry.Context.AVAILABLE, false);
+        AddressEntryList persisted = AddressEntryList.fromProto(protobuf.AddressEntryList.newBuilder()
+                .addAddressEntry(offerFunding.toProtoMessage())
+                .addAddressEntry(available.toProtoMessage())
+                .addAddressEntry(foreign.toProtoMessage())
+                .build());
+        doAnswer(invocation -> {
+            invocation.<Consumer<AddressEntryList>>getArgument(0).accept(persisted);
+            return null;
+        }).when(persistenceManager).readPersisted(any(), any());
+
+        AddressEntryList loadedList = new AddressEntryList(persistenceManager);
+        loadedList.readPersisted(() -> {
+        });
+
+        // Before the wallet is ready the entries have no keys, so only the address index is empty
+        assertEquals(3, loadedList.getAddressEntries().size());
+        assertEquals(1, loadedList.getAddressEntriesByOfferId("offer1").size());
+        assertEquals(2, loadedList.getAddressEntries(AddressEntry.Context.AVAILABLE).size());
+        assertTrue(loadedList.getAddressEntriesByAddress(offerFunding.getAddressString()).isEmpty());
+        assertTrue(loadedList.getAddressEntriesByAddress(available.getAddressString()).isEmpty());
+
+        loadedList.onWalletReady(wallet);
+
+        // The entry with the key from another wallet got removed from all indexes
+        assertEquals(2, loadedList.getAddressEntries().size());
+        assertEquals(1, loadedList.getAddressEntries(AddressEntry.Context.AVAILABLE).size());
+        assertTrue(loadedList.getAddressEntriesByAddress(foreign.getAddressString()).isEmpty());
+        assertEquals(AddressEntry.Context.OFFER_FUNDING, loadedList.findAddressEntryByAddress(
+                offerFunding.getAddressString(), AddressEntry.Context.OFFER_FUNDING).orElseThrow().getContext());
+        assertEquals(1, loadedList.getAddressEntriesByAddress(available.getAddressString()).size());
+        assertIndexesMatchEntrySet(loadedList);
+    }
+
+    private AddressEntry newEntry(AddressEntry.Context context, @Nullable String offerId) {
+        return new AddressEntry(wallet.freshReceiveKey(), context, offerId, false);
+    }
+
+    private void assertIndexesMatchEntrySet() {
+        assertIndexesMatchEntrySet(addressEntryList);
+    }
+
+    // Each index must deliver the same entries as filtering the full entry set
+    private static void assertIndexesMatchEntrySet(AddressEntryList addressEntryList) {
+        Set<AddressEntry> entries = addressEntryList.getAddressEntries();
+        for (AddressEntry.Context context : AddressEntry.Context.values()) {
+            assertEquals(filter(entries, e -> e.getContext() == context),
+                    addressEntryList.getAddressEntries(context));
+        }
+        entries.stream()
+                .map(AddressEntry::getOfferId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(offerId -> assertEquals(filter(entries, e -> offerId.equals(e.getOfferId())),
+                        addressEntryList.getAddressEntriesByOfferId(offerId)));
+        entries.stream()
+                .map(AddressEntry::getAddressString)
+                .distinct()
+                .forEach(address -> assertEquals(filter(entries, e -> address.equals(e.getAddressString())),
+                        addressEntryList.getAddressEntriesByAddress(address)));
+    }
+
+    private static Set<AddressEntry> filter(Set<AddressEntry> entries, Predicate<AddressEntry> predicate) {
+        return entries.stream().filter(predicate).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxOutput;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+import bisq.core.dao.state.model.blockchain.TxOutputType;
+import bisq.core.dao.state.model.blockchain.TxType;
+
+import org.bitcoinj.core.Address;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.Context;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionConfidence;
+import org.bitcoinj.params.UnitTestParams;
+import org.bitcoinj.script.Script;
+import org.bitcoinj.testing.FakeTxBuilder;
+import org.bitcoinj.wallet.Wallet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BsqBalanceLedgerTest {
+    private static final NetworkParameters PARAMS = UnitTestParams.get();
+    private static final Coin FEE = Coin.valueOf(2000);
+
+    // Minimal DAO state the DaoStateService mock answers from
+    private final Map<String, Tx> daoTxsById = new HashMap<>();
+    private final Set<TxOutputKey> spentTxOutputKeys = new HashSet<>();
+    private int chainHeight;
+
+    private final List<Transaction> walletTransactions = new ArrayList<>();
+    private DaoStateService daoStateService;
+    private Wallet wallet;
+    private Address myAddress;
+    private BsqBalanceLedger ledger;
+
+    @BeforeEach
+    public void setUp() {
+        Context.propagate(new Context(PARAMS));
+        wallet = Wallet.createDeterministic(PARAMS, Script.ScriptType.P2PKH);
+        myAddress = wallet.freshReceiveAddress();
+        chainHeight = 100;
+
+        daoStateService = mock(DaoStateService.class);
+        when(daoStateService.getChainHeight()).thenAnswer(invocation -> chainHeight);
+        when(daoStateService.getTx(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(daoTxsById.get(invocation.<String>getArgument(0))));
+        when(daoStateService.isUnspent(any())).thenAnswer(invocation ->
+                isUnspent(invocation.getArgument(0)));
+        when(daoStateService.isLockupOutput(any(TxOutput.class))).thenAnswer(invocation ->
+                invocation.<TxOutput>getArgument(0).getTxOutputType() == TxOutputType.LOCKUP_OUTPUT);
+        when(daoStateService.isLockupOutput(any(TxOutputKey.class))).thenAnswer(invocation ->
+                getUnspentTxOutput(invocation.getArgument(0))
+                        .filter(txOutput -> txOutput.getTxOutputType() == TxOutputType.LOCKUP_OUTPUT)
+                        .isPresent());
+        when(daoStateService.isUnlockingAndUnspent(any(TxOutput.class))).thenAnswer(invocation -> {
+            TxOutput txOutput = invocation.getArgument(0);
+            return txOutput.getTxOutputType() == TxOutputType.UNLOCK_OUTPUT && isUnspent(txOutput.getKey());
+        });
+        when(daoStateService.isUnlockingAndUnspent(any(TxOutputKey.class))).thenAnswer(invocation ->
+                getUnspentTxOutput(invocation.getArgument(0))
+                        .filter(txOutput -> txOutput.getTxOutputType() == TxOutputType.UNLOCK_OUTPUT)
+                        .isPresent());
+        when(daoStateService.getUnspentBlindVoteStakeTxOutputs()).thenAnswer(invocation ->
+                getTxOutputs(TxOutputType.BLIND_VOTE_LOCK_STAKE_OUTPUT)
+                        .filter(txOutput -> isUnspent(txOutput.getKey()))
+                        .collect(Collectors.toSet()));
+        when(daoStateService.getLockupTxOutputs()).thenAnswer(invocation ->
+                getTxOutputs(TxOutputType.LOCKUP_OUTPUT).collect(Collectors.toSet()));
+        when(daoStateService.getUnspentUnlockingTxOutputsStream()).thenAnswer(invocation ->
+                getTxOutputs(TxOutputType.UNLOCK_OUTPUT).filter(txOutput -> isUnspent(txOutput.getKey())));
+
+        ledger = new BsqBalanceLedger(daoStateService);
+    }
+
+    @Test
+    public void testNewAndRemovedPendingTxsAreAppliedAsDeltas() {
+        Transaction tx1 = pending(receive(Coin.COIN));
+        applyAndCheck();
+        assertEquals(Coin.COIN, ledger.getUnverifiedBalance(wallet));
+
+        Transaction tx2 = pending(receive(Coin.CENT));
+        applyAndCheck();
+        assertEquals(Coin.COIN.add(Coin.CENT), ledger.getUnverifiedBalance(wallet));
+
+        walletTransactions.remove(tx1);
+        applyAndCheck();
+        assertEquals(Coin.CENT, ledger.getUnverifiedBalance(wallet));
+
+        walletTransactions.remove(tx2);
+        applyAndCheck();
+        assertEquals(Coin.ZERO, ledger.getUnverifiedBalance(wallet));
+    }
+
+    @Test
+    public void testConfidenceChangesMoveValueBetweenBalances() {
+        // Our lockup tx gets published and confirmed
+        Transaction lockupTx = pending(receive(Coin.COIN));
+        applyAndCheck();
+        assertEquals(Coin.COIN, ledger.getUnverifiedBalance(wallet));
+
+        chainHeight = 101;
+        addDaoTx(lockupTx, TxType.LOCKUP, TxOutputType.LOCKUP_OUTPUT, TxOutputType.BTC_OUTPUT);
+        confirm(lockupTx, 101);
+        applyAndCheck();
+        assertEquals(Coin.ZERO, ledger.getUnverifiedBalance(wallet));
+        assertEquals(Coin.COIN, ledger.getLockupBondsBalance());
+
+        // The pending unlock tx spends the lockup output, which is still accounted for in the lockup balance
+        Transaction unlockTx = pending(spend(lockupTx, Coin.COIN.subtract(FEE)));
+        applyAndCheck();
+        assertEquals(Coin.COIN, ledger.getLockupBondsBalance());
+        assertEquals(FEE.negate(), ledger.getUnverifiedBalance(wallet));
+
+        // Confirmation of the unlock tx
+        chainHeight = 102;
+        addDaoTx(unlockTx, TxType.UNLOCK, TxOutputType.UNLOCK_OUTPUT);
+        spentTxOutputKeys.add(new TxOutputKey(lockupTx.getTxId().toString(), 0));
+        confirm(unlockTx, 102);
+        applyAndCheck();
+        assertEquals(Coin.ZERO, ledger.getUnverifiedBalance(wallet));
+        assertEquals(Coin.ZERO, ledger.getLockupBondsBalance());
+        assertEquals(Coin.COIN.subtract(FEE), ledger.getUnlockingBondsBalance());
+
+        // The spent state of the bond outputs gets re-evaluated without any change of our txs
+        spentTxOutputKeys.add(new TxOutputKey(unlockTx.getTxId().toString(), 0));
+        assertTrue(ledger.matchesFullRecomputation(walletTransactions, wallet));
+        assertEquals(Coin.ZERO, ledger.getUnlockingBondsBalance());
+    }
+
+    @Test
+    public void testBlindVoteStake() {
+        Transaction blindVoteTx = receive(Coin.COIN);
+        addDaoTx(blindVoteTx, TxType.BLIND_VOTE, TxOutputType.BLIND_VOTE_LOCK_STAKE_OUTPUT, TxOutputType.BTC_OUTPUT);
+        confirm(blindVoteTx, 100);
+        applyAndCheck();
+        assertEquals(Coin.COIN, ledger.getLockedForVotingBalance());
+
+        spentTxOutputKeys.add(new TxOutputKey(blindVoteTx.getTxId().toString(), 0));
+        applyAndCheck();
+        assertEquals(Coin.ZERO, ledger.getLockedForVotingBalance());
+    }
+
+    @Test
+    public void testUnresolvedTxIsRetriedAfterBlockGotParsed() {
+        // The wallet sees the tx in block 101 before the DAO has parsed that block
+        Transaction lockupTx = confirm(receive(Coin.COIN), 101);
+        Transaction nonBsqTx = confirm(receive(Coin.CENT), 101);
+        applyAndCheck();
+        assertEquals(Coin.ZERO, ledger.getLockupBondsBalance());
+
+        // A block below the tx height got parsed, we keep both txs
+        ledger.applyDaoStateChange();
+        assertTrue(ledger.matchesFullRecomputation(walletTransactions, wallet));
+        verify(daoStateService, times(2)).getTx(lockupTx.getTxId().toString());
+        verify(daoStateService, times(2)).getTx(nonBsqTx.getTxId().toString());
+
+        // Block 101 got parsed
+        chainHeight = 101;
+        addDaoTx(lockupTx, TxType.LOCKUP, TxOutputType.LOCKUP_OUTPUT, TxOutputType.BTC_OUTPUT);
+        ledger.applyDaoStateChange();
+        assertTrue(ledger.matchesFullRecomputation(walletTransactions, wallet));
+        assertEquals(Coin.COIN, ledger.getLockupBondsBalance());
+
+        // Both got resolved, the non BSQ tx by being absent from its parsed block, so we don't look them up again
+        chainHeight = 102;
+        ledger.applyDaoStateChange();
+        verify(daoStateService, times(3)).getTx(lockupTx.getTxId().toString());
+        verify(daoStateService, times(3)).getTx(nonBsqTx.getTxId().toString());
+        applyAndCheck();
+    }
+
+    @Test
+    public void testResetAfterReorg() {
+        BsqBalanceLedger ledgerWithoutReset = new BsqBalanceLedger(daoStateService);
+
+        // The wallet sees our lockup tx in block 101 before the DAO has parsed that block
+        Transaction lockupTx = confirm(receive(Coin.COIN), 101);
+        applyAndCheck();
+        ledgerWithoutReset.applyWalletTransactions(walletTransactions);
+
+        // A reorg moves the tx to block 103. As its confidence type did not change, the ledger only learns about
+        // the new height by a reset.
+        confirm(lockupTx, 103);
+        ledger.reset();
+        applyAndCheck();
+        ledgerWithoutReset.applyWalletTransactions(walletTransactions);
+
+        // Block 101 got parsed without our tx
+        chainHeight = 101;
+        ledger.applyDaoStateChange();
+        ledgerWithoutReset.applyDaoStateChange();
+        assertTrue(ledger.matchesFullRecomputation(walletTransactions, wallet));
+
+        // Block 103 got parsed with our tx
+        chainHeight = 103;
+        addDaoTx(lockupTx, TxType.LOCKUP, TxOutputType.LOCKUP_OUTPUT, TxOutputType.BTC_OUTPUT);
+        ledger.applyDaoStateChange();
+        ledgerWithoutReset.applyDaoStateChange();
+        assertTrue(ledger.matchesFullRecomputation(walletTransactions, wallet));
+        assertEquals(Coin.COIN, ledger.getLockupBondsBalance());
+
+        // Without the reset the tx got dropped at the old height
+        assertFalse(ledgerWithoutReset.matchesFullRecomputation(walletTransactions, wallet));
+        assertEquals(Coin.ZERO, ledgerWithoutReset.getLockupBondsBalance());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Wallet
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void applyAndCheck() {
+        ledger.applyWalletTransactions(walletTransactions);
+        assertTrue(ledger.matchesFullRecomputation(walletTransactions, wallet));
+    }
+
+    private Transaction receive(Coin value) {
+        Transaction tx = FakeTxBuilder.createFakeTx(PARAMS, value, myAddress);
+        walletTransactions.add(tx);
+        return tx;
+    }
+
+    private Transaction spend(Transaction parentTx, Coin value) {
+        Transaction tx = new Transaction(PARAMS);
+        tx.addInput(parentTx.getOutput(0));
+        tx.addOutput(value, myAddress);
+        walletTransactions.add(tx);
+        return tx;
+    }
+
+    private Transaction pending(Transaction tx) {
+        tx.getConfidence().setConfidenceType(TransactionConfidence.ConfidenceType.PENDING);
+        return tx;
+    }
+
+    private Transaction confirm(Transaction tx, int height) {
+        tx.getConfidence().setAppearedAtChainHeight(height);
+        return tx;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // DAO state
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void addDaoTx(Transaction tx, TxType txType, TxOutputType... txOutputTypes) {
+        String txId = tx.getTxId().toString();
+        protobuf.Tx.Builder txBuilder = protobuf.Tx.newBuilder().setTxType(txType.toProtoMessage());
+        for (int i = 0; i < txOutputTypes.length; i++) {
+            txBuilder.addTxOutputs(protobuf.BaseTxOutput.newBuilder()
+                    .setIndex(i)
+                    .setValue(tx.getOutput(i).getValue().value)
+                    .setTxId(txId)
+                    .setBlockHeight(chainHeight)
+                    .setTxOutput(protobuf.TxOutput.newBuilder()
+                            .setTxOutputType(txOutputTypes[i].toProtoMessage())
+                            .setLockTime(-1)));
+        }
+        daoTxsById.put(txId, Tx.fromProto(protobuf.BaseTx.newBuilder()
+                .setTxVersion("1")
+                .setId(txId)
+                .setBlockHeight(chainHeight)
+                .setBlockHash("blockHash" + chainHeight)
+                .setTx(txBuilder)
+                .build()));
+    }
+
+    private Stream<TxOutput> getTxOutputs(TxOutputType txOutputType) {
+        return daoTxsById.values().stream()
+                .flatMap(tx -> tx.getTxOutputs().stream())
+                .filter(txOutput -> txOutput.getTxOutputType() == txOutputType);
+    }
+
+    private Optional<TxOutput> getUnspentTxOutput(TxOutputKey key) {
+        return Optional.ofNullable(daoTxsById.get(key.getTxId()))
+                .flatMap(tx -> tx.getTxOutputs().stream()
+                        .filter(txOutput -> txOutput.getIndex() == key.getIndex())
+                        .findAny())
+                .filter(txOutput -> !spentTxOutputKeys.contains(key));
+    }
+
+    private boolean isUnspent(TxOutputKey key) {
+        return getUnspentTxOutput(key).isPresent();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import bisq.core.btc.setup.WalletsSetup;
+import bisq.core.provider.fee.FeeService;
+import bisq.core.user.Preferences;
+
+import org.bitcoinj.core.AbstractBlockChain;
+import org.bitcoinj.core.Address;
+import org.bitcoinj.core.Block;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.Context;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.InsufficientMoneyException;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionOutput;
+import org.bitcoinj.params.UnitTestParams;
+import org.bitcoinj.script.Script;
+import org.bitcoinj.store.BlockStore;
+import org.bitcoinj.store.MemoryBlockStore;
+import org.bitcoinj.testing.FakeTxBuilder;
+import org.bitcoinj.wallet.Wallet;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WalletServiceTest {
+    private static final NetworkParameters PARAMS = UnitTestParams.get();
+
+    private Wallet wallet;
+    private BlockStore blockStore;
+    private Address myAddress;
+    private TestWalletService walletService;
+
+    @BeforeEach
+    public void setUp() {
+        Context.propagate(new Context(PARAMS));
+        WalletsSetup walletsSetup = mock(WalletsSetup.class);
+        when(walletsSetup.getParams()).thenReturn(PARAMS);
+
+        wallet = Wallet.createDeterministic(PARAMS, Script.ScriptType.P2PKH);
+        blockStore = new MemoryBlockStore(PARAMS);
+        myAddress = wallet.freshReceiveAddress();
+        walletService = new TestWalletService(walletsSetup, wallet);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        walletService.shutDown();
+    }
+
+    @Test
+    public void testSnapshotIsInvalidatedOnCoinsReceived() {
+        assertEquals(Coin.ZERO, walletService.getBalanceForAddress(myAddress));
+        assertEquals(0, walletService.getNumTxOutputsForAddress(myAddress));
+
+        receivePending(Coin.COIN);
+
+        assertEquals(Coin.COIN, walletService.getBalanceForAddress(myAddress));
+        assertEquals(Coin.COIN, walletService.getBalancesByAddress().get(myAddress));
+        assertEquals(1, walletService.getSpendableOutputsForAddress(myAddress).size());
+        assertEquals(1, walletService.getNumTxOutputsForAddress(myAddress));
+    }
+
+    @Test
+    public void testSnapshotIsInvalidatedOnCoinsSent() throws InsufficientMoneyException {
+        confirm(receivePending(Coin.COIN));
+        assertEquals(Coin.COIN, walletService.getBalanceForAddress(myAddress));
+
+        Address otherAddress = LegacyAddress.fromKey(PARAMS, new ECKey());
+        Transaction sendTx = wallet.createSend(otherAddress, Coin.CENT);
+        wallet.commitTx(sendTx);
+
+        // Our output got spent and the change went to a change address
+        assertEquals(Coin.ZERO, walletService.getBalanceForAddress(myAddress));
+        Map<Address, Coin> balancesByAddress = walletService.getBalancesByAddress();
+        assertFalse(balancesByAddress.containsKey(myAddress));
+        assertEquals(1, balancesByAddress.size());
+        TransactionOutput change = walletService.getSpendableOutputsForAddress(
+                balancesByAddress.keySet().iterator().next()).get(0);
+        assertEquals(sendTx, change.getParentTransaction());
+        assertEquals(1, walletService.getNumTxOutputsForAddress(myAddress));
+    }
+
+    @Test
+    public void testSnapshotIsInvalidatedOnConfirmation() {
+        Transaction tx = receivePending(Coin.COIN);
+        assertEquals(Coin.COIN, walletService.getBalanceForAddress(myAddress));
+        int numSnapshotBuilds = walletService.numSnapshotBuilds;
+
+        // Served from the cache as long as the wallet did not change
+        assertEquals(Coin.COIN, walletService.getBalanceForAddress(myAddress));
+        assertEquals(numSnapshotBuilds, walletService.numSnapshotBuilds);
+
+        confirm(tx);
+
+        assertEquals(Coin.COIN, walletService.getBalanceForAddress(myAddress));
+        assertEquals(numSnapshotBuilds + 1, walletService.numSnapshotBuilds);
+    }
+
+    @Test
+    public void testSnapshotBuiltDuringWalletChangeIsNotCached() {
+        receivePending(Coin.COIN);
+        walletService.onSnapshotBuild = () -> receivePending(Coin.CENT);
+
+        // The snapshot got calculated before the second tx was received, so we get the old balance once...
+        assertEquals(Coin.COIN, walletService.getBalanceForAddress(myAddress));
+        // ...but the stale snapshot must not be served from the cache.
+        assertEquals(Coin.COIN.add(Coin.CENT), walletService.getBalanceForAddress(myAddress));
+    }
+
+    private Transaction receivePending(Coin value) {
+        Transaction tx = FakeTxBuilder.createFakeTx(PARAMS, value, myAddress);
+        wallet.receivePending(tx, null);
+        return tx;
+    }
+
+    private void confirm(Transaction tx) {
+        FakeTxBuilder.BlockPair blockPair = FakeTxBuilder.createFakeBlock(blockStore, Block.BLOCK_HEIGHT_GENESIS, tx);
+        wallet.receiveFromBlock(tx, blockPair.storedBlock, AbstractBlockChain.NewBlockType.BEST_CHAIN, 0);
+        wallet.notifyNewBestBlock(blockPair.storedBlock);
+    }
+
+    private static class TestWalletService extends WalletService {
+        private int numSnapshotBuilds;
+        private Runnable onSnapshotBuild;
+
+        TestWalletService(WalletsSetup walletsSetup, Wallet wallet) {
+            super(walletsSetup, mock(Preferences.class), mock(FeeService.class));
+            this.wallet = wallet;
+            addListenersToWallet();
+        }
+
+        @Override
+        String getWalletAsString(boolean includePrivKeys) {
+            return "";
+        }
+
+        // Gets called once per spendable output while the snapshot gets built. Our tests have a single output
+        // at the time we count.
+        @Override
+        protected boolean isDustAttackUtxo(TransactionOutput output) {
+            numSnapshotBuilds++;
+            if (onSnapshotBuild != null) {
+                Runnable runnable = onSnapshotBuild;
+                onSnapshotBuild = null;
+                runnable.run();
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.provider.price.MarketPrice;
+import bisq.core.provider.price.PriceFeedService;
+
+import java.time.Instant;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static bisq.core.offer.OfferMaker.btcUsdOffer;
+import static bisq.core.offer.OfferMaker.direction;
+import static bisq.core.offer.OfferMaker.id;
+import static bisq.core.offer.OfferMaker.marketPriceMargin;
+import static bisq.core.offer.OfferMaker.price;
+import static bisq.core.offer.OfferMaker.useMarketBasedPrice;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static com.natpryce.makeiteasy.MakeItEasy.with;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OfferBookIndexTest {
+    private PriceFeedService priceFeedService;
+    private OfferBookIndex offerBookIndex;
+
+    @BeforeEach
+    public void setUp() {
+        priceFeedService = mock(PriceFeedService.class);
+        offerBookIndex = new OfferBookIndex(priceFeedService);
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        OfferPayloadBase payload = fixedPriceOffer("fixed", 490000000L).getOfferPayloadBase();
+        Offer offer = offerBookIndex.add(payload);
+        assertSame(offer, offerBookIndex.findOffer("fixed").orElseThrow());
+
+        // The same payload received again keeps the instance
+        assertSame(offer, offerBookIndex.add(payload));
+        assertEquals(1, offerBookIndex.size());
+
+        assertSame(offer, offerBookIndex.remove(payload).orElseThrow());
+        assertFalse(offerBookIndex.findOffer("fixed").isPresent());
+        assertTrue(offerBookIndex.getOffers("USD", OfferDirection.BUY).isEmpty());
+    }
+
+    @Test
+    public void testEditedOfferIsNotRemovedByLateRemovalOfOldPayload() {
+        OfferPayloadBase oldPayload = fixedPriceOffer("offer", 490000000L).getOfferPayloadBase();
+        OfferPayloadBase editedPayload = fixedPriceOffer("offer", 480000000L).getOfferPayloadBase();
+        offerBookIndex.add(oldPayload);
+        offerBookIndex.add(editedPayload);
+        assertFalse(offerBookIndex.remove(oldPayload).isPresent());
+
+        List<Offer> offers = offerBookIndex.getOffers("USD", OfferDirection.BUY);
+        assertEquals(1, offers.size());
+        assertEquals(editedPayload, offers.get(0).getOfferPayloadBase());
+    }
+
+    @Test
+    public void testMarketOffersAreSortedByPrice() {
+        when(priceFeedService.getMarketPrice("USD"))
+                .thenReturn(new MarketPrice("USD", 50000, Instant.now().getEpochSecond(), true));
+        addOffers();
+
+        // Fiat buy offers get a price below market price for a positive margin
+        assertEquals(List.of("fixed-49000", "margin-1%", "margin-minus-1%", "fixed-51000"),
+                getOfferIds(offerBookIndex.getOffers("USD", OfferDirection.BUY)));
+        assertTrue(offerBookIndex.getOffers("USD", OfferDirection.SELL).isEmpty());
+        assertTrue(offerBookIndex.getOffers("EUR", OfferDirection.BUY).isEmpty());
+    }
+
+    @Test
+    public void testMarketBasedOffersAreLastWithoutMarketPrice() {
+        addOffers();
+
+        assertEquals(List.of("fixed-49000", "fixed-51000", "margin-1%", "margin-minus-1%"),
+                getOfferIds(offerBookIndex.getOffers("USD", OfferDirection.BUY)));
+    }
+
+    private void addOffers() {
+        offerBookIndex.add(fixedPriceOffer("fixed-51000", 510000000L).getOfferPayloadBase());
+        offerBookIndex.add(marketBasedPriceOffer("margin-minus-1%", -0.01).getOfferPayloadBase());
+        offerBookIndex.add(fixedPriceOffer("fixed-49000", 490000000L).getOfferPayloadBase());
+        offerBookIndex.add(marketBasedPriceOffer("margin-1%", 0.01).getOfferPayloadBase());
+    }
+
+    private static Offer fixedPriceOffer(String offerId, long offerPrice) {
+        return make(btcUsdOffer.but(with(id, offerId),
+                with(direction, OfferDirection.BUY),
+                with(price, offerPrice)));
+    }
+
+    private static Offer marketBasedPriceOffer(String offerId, double margin) {
+        return make(btcUsdOffer.but(with(id, offerId),
+                with(direction, OfferDirection.BUY),
+                with(price, 0L),
+                with(useMarketBasedPrice, true),
+                with(marketPriceMargin, margin)));
+    }
+
+    private static List<String> getOfferIds(List<Offer> offers) {
+        return offers.stream().map(Offer::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.account.sign.SignedWitness;
+import bisq.core.filter.Filter;
+import bisq.core.filter.FilterManager;
+import bisq.core.offer.bisq_v1.OfferPayload;
+import bisq.core.user.Preferences;
+import bisq.core.user.User;
+
+import bisq.network.p2p.P2PService;
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreListener;
+
+import bisq.common.util.Hex;
+
+import javafx.beans.property.SimpleObjectProperty;
+
+import javafx.collections.FXCollections;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OfferFilterServiceTest {
+    private static final byte[] MAKER_WITNESS_HASH = new byte[]{1, 2, 3};
+
+    private User user;
+    private SimpleObjectProperty<Filter> filterProperty;
+    private AppendOnlyDataStoreListener appendOnlyDataStoreListener;
+    private OfferFilterService offerFilterService;
+    private Offer offer;
+
+    @BeforeEach
+    public void setUp() {
+        user = mock(User.class);
+        when(user.getPaymentAccountsAsObservable()).thenReturn(FXCollections.observableSet());
+        FilterManager filterManager = mock(FilterManager.class);
+        filterProperty = new SimpleObjectProperty<>();
+        when(filterManager.filterProperty()).thenReturn(filterProperty);
+        P2PService p2PService = mock(P2PService.class);
+        P2PDataStorage p2PDataStorage = mock(P2PDataStorage.class);
+        when(p2PService.getP2PDataStorage()).thenReturn(p2PDataStorage);
+
+        offerFilterService = new OfferFilterService(user,
+                mock(Preferences.class),
+                filterManager,
+                null,
+                null,
+                p2PService,
+                null);
+
+        ArgumentCaptor<AppendOnlyDataStoreListener> captor = ArgumentCaptor.forClass(AppendOnlyDataStoreListener.class);
+        verify(p2PDataStorage).addAppendOnlyDataStoreListener(captor.capture());
+        appendOnlyDataStoreListener = captor.getValue();
+
+        OfferPayload payload = mock(OfferPayload.class);
+        when(payload.getId()).thenReturn("offerId");
+        when(payload.getHash()).thenReturn(new byte[]{9});
+        when(payload.getExtraDataMap()).thenReturn(Map.of(OfferPayload.ACCOUNT_AGE_WITNESS_HASH,
+                Hex.encode(MAKER_WITNESS_HASH)));
+        offer = new Offer(payload);
+    }
+
+    @Test
+    public void testResultIsCached() {
+        assertEquals(OfferFilterService.Result.HAS_NO_PAYMENT_ACCOUNT_VALID_FOR_OFFER,
+                offerFilterService.canTakeOffer(offer, false));
+        assertEquals(OfferFilterService.Result.HAS_NO_PAYMENT_ACCOUNT_VALID_FOR_OFFER,
+                offerFilterService.canTakeOffer(offer, false));
+        verify(user, times(1)).getPaymentAccounts();
+    }
+
+    @Test
+    public void testFilterChangeInvalidatesCache() {
+        offerFilterService.canTakeOffer(offer, false);
+        clearInvocations(user);
+
+        filterProperty.set(mock(Filter.class));
+        offerFilterService.canTakeOffer(offer, false);
+        verify(user, times(1)).getPaymentAccounts();
+    }
+
+    @Test
+    public void testResultIsNotCachedIfInvalidatedDuringEvaluation() {
+        when(user.getPaymentAccounts()).thenAnswer(invocation -> {
+            // The filter changes while we evaluate the offer with the previous filter
+            filterProperty.set(mock(Filter.class));
+            return null;
+        });
+        offerFilterService.canTakeOffer(offer, false);
+        clearInvocations(user);
+
+        offerFilterService.canTakeOffer(offer, false);
+        verify(user, times(1)).getPaymentAccounts();
+    }
+
+    @Test
+    public void testSignedWitnessOfMakerInvalidatesCache() {
+        offerFilterService.canTakeOffer(offer, false);
+
+        SignedWitness otherWitness = mock(SignedWitness.class);
+        when(otherWitness.getAccountAgeWitnessHash()).thenReturn(new byte[]{4, 5, 6});
+        appendOnlyDataStoreListener.onAdded(otherWitness);
+        clearInvocations(user);
+        offerFilterService.canTakeOffer(offer, false);
+        verify(user, never()).getPaymentAccounts();
+
+        SignedWitness makerWitness = mock(SignedWitness.class);
+        when(makerWitness.getAccountAgeWitnessHash()).thenReturn(MAKER_WITNESS_HASH);
+        appendOnlyDataStoreListener.onAdded(makerWitness);
+        clearInvocations(user);
+        offerFilterService.canTakeOffer(offer, false);
+        verify(user, times(1)).getPaymentAccounts();
+    }
+}
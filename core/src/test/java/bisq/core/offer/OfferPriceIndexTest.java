@@ -0,0 +1,140 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.provider.price.MarketPrice;
+import bisq.core.provider.price.PriceFeedService;
+
+import java.time.Instant;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static bisq.core.offer.OfferMaker.btcUsdOffer;
+import static bisq.core.offer.OfferMaker.direction;
+import static bisq.core.offer.OfferMaker.id;
+import static bisq.core.offer.OfferMaker.marketPriceMargin;
+import static bisq.core.offer.OfferMaker.price;
+import static bisq.core.offer.OfferMaker.useMarketBasedPrice;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static com.natpryce.makeiteasy.MakeItEasy.with;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OfferPriceIndexTest {
+    private PriceFeedService priceFeedService;
+    private OfferPriceIndex offerPriceIndex;
+
+    @BeforeEach
+    public void setUp() {
+        priceFeedService = mock(PriceFeedService.class);
+        offerPriceIndex = new OfferPriceIndex(priceFeedService);
+    }
+
+    @Test
+    public void testPriceIsSameAsOfferPrice() {
+        setMarketPrice(50000, Instant.now().getEpochSecond());
+        Offer offer = marketBasedPriceOffer("margin-1%", 0.01);
+        offerPriceIndex.add(offer);
+
+        // Fiat buy offers get a price below market price for a positive margin
+        assertEquals(495000000L, offerPriceIndex.getPrice(offer));
+        assertEquals(offer.getPrice().getValue(), offerPriceIndex.getPrice(offer));
+    }
+
+    @Test
+    public void testRepriceReturnsChangedOffers() {
+        setMarketPrice(50000, Instant.now().getEpochSecond());
+        Offer offer1 = marketBasedPriceOffer("margin-1%", 0.01);
+        Offer offer2 = marketBasedPriceOffer("margin-2%", 0.02);
+        offerPriceIndex.add(offer1);
+        offerPriceIndex.add(offer2);
+        // Fixed price offers are not indexed
+        offerPriceIndex.add(make(btcUsdOffer.but(with(id, "fixed"), with(price, 490000000L))));
+
+        setMarketPrice(60000, Instant.now().getEpochSecond());
+        List<OfferPriceDelta> deltas = offerPriceIndex.reprice(Set.of("USD", "EUR"));
+        assertEquals(1, deltas.size());
+        OfferPriceDelta delta = deltas.get(0);
+        assertEquals("USD", delta.getCurrencyCode());
+        assertEquals(2, delta.size());
+        assertEquals("margin-1%", delta.getOfferId(0));
+        assertEquals(594000000L, delta.getPrice(0).getValue());
+        assertEquals("margin-2%", delta.getOfferId(1));
+        assertEquals(588000000L, delta.getPrice(1).getValue());
+        assertEquals(588000000L, offerPriceIndex.getPrice(offer2));
+
+        // A new timestamp does not change the prices
+        setMarketPrice(60000, Instant.now().getEpochSecond() + 1);
+        assertTrue(offerPriceIndex.reprice(Set.of("USD")).isEmpty());
+
+        offerPriceIndex.remove(offer1);
+        setMarketPrice(55000, Instant.now().getEpochSecond());
+        delta = offerPriceIndex.reprice(Set.of("USD")).get(0);
+        assertEquals(1, delta.size());
+        assertEquals("margin-2%", delta.getOfferId(0));
+    }
+
+    @Test
+    public void testNoPriceWithOutdatedMarketPrice() {
+        long outdated = Instant.now().getEpochSecond() - MarketPrice.MARKET_PRICE_MAX_AGE_SEC - 60;
+        setMarketPrice(50000, outdated);
+        Offer offer = marketBasedPriceOffer("margin-1%", 0.01);
+        offerPriceIndex.add(offer);
+        assertEquals(OfferPriceIndex.NO_PRICE, offerPriceIndex.getPrice(offer));
+
+        // Getting a recent market price for the same price gives the offer a price
+        setMarketPrice(50000, Instant.now().getEpochSecond());
+        OfferPriceDelta delta = offerPriceIndex.reprice(Set.of("USD")).get(0);
+        assertEquals(495000000L, delta.getPrice(0).getValue());
+        assertEquals(495000000L, offerPriceIndex.getPrice(offer));
+
+        setMarketPrice(50000, outdated);
+        delta = offerPriceIndex.reprice(Set.of("USD")).get(0);
+        assertNull(delta.getPrice(0));
+    }
+
+    @Test
+    public void testEditedOfferGetsItsOwnPrice() {
+        setMarketPrice(50000, Instant.now().getEpochSecond());
+        offerPriceIndex.add(marketBasedPriceOffer("offer", 0.01));
+        Offer outdatedCopy = marketBasedPriceOffer("offer", 0.02);
+        assertEquals(490000000L, offerPriceIndex.getPrice(outdatedCopy));
+    }
+
+    private void setMarketPrice(double marketPrice, long timestampSec) {
+        when(priceFeedService.getMarketPrice("USD"))
+                .thenReturn(new MarketPrice("USD", marketPrice, timestampSec, true));
+    }
+
+    private Offer marketBasedPriceOffer(String offerId, double margin) {
+        Offer offer = make(btcUsdOffer.but(with(id, offerId),
+                with(direction, OfferDirection.BUY),
+                with(price, 0L),
+                with(useMarketBasedPrice, true),
+                with(marketPriceMargin, margin)));
+        offer.setPriceFeedService(priceFeedService);
+        return offer;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer.bsq_swap;
+
+import bisq.core.btc.wallet.BsqWalletService;
+import bisq.core.btc.wallet.BtcWalletService;
+import bisq.core.offer.OfferDirection;
+import bisq.core.offer.OfferUtil;
+import bisq.core.provider.fee.FeeService;
+
+import org.bitcoinj.core.Coin;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BsqSwapOfferModelTest {
+
+    @Test
+    public void testTxFeePerVbyteUsesPriceNodeFeeRate() {
+        // The local node estimate is 3 times the price node fee rate. That is below the cap of the local estimates
+        // but outside the tolerance of the maker's check of the taker's fee rate.
+        FeeService feeService = mock(FeeService.class);
+        when(feeService.getTxFeePerVbyte()).thenReturn(Coin.valueOf(60));
+        when(feeService.getPriceNodeTxFeePerVbyte()).thenReturn(Coin.valueOf(20));
+
+        for (OfferDirection direction : OfferDirection.values()) {
+            for (boolean isMaker : new boolean[]{true, false}) {
+                BsqSwapOfferModel model = new BsqSwapOfferModel(mock(OfferUtil.class),
+                        mock(BtcWalletService.class),
+                        mock(BsqWalletService.class),
+                        feeService);
+                model.init(direction, isMaker, null);
+                assertEquals(20, model.getTxFeePerVbyte());
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.fee;
+
+import bisq.core.dao.governance.period.PeriodService;
+import bisq.core.dao.state.DaoStateService;
+
+import org.bitcoinj.core.Coin;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FeeServiceTest {
+    private FeeService feeService;
+
+    @BeforeEach
+    public void setUp() {
+        LocalNodeFeeEstimationProvider localNodeProvider = mock(LocalNodeFeeEstimationProvider.class);
+        when(localNodeProvider.getName()).thenReturn(LocalNodeFeeEstimationProvider.NAME);
+        feeService = new FeeService(mock(DaoStateService.class), mock(PeriodService.class), localNodeProvider);
+    }
+
+    @Test
+    public void testDefaultFeeWithoutEstimates() {
+        assertFalse(feeService.isFeeAvailable());
+        assertEquals(Coin.valueOf(50), feeService.getTxFeePerVbyte());
+    }
+
+    @Test
+    public void testPriceNodeFeeIsUsedForAllConfTargets() {
+        feeService.updateFeeInfo(20, 2);
+
+        assertTrue(feeService.isFeeAvailable());
+        FeeService.CONF_TARGETS.forEach(confTarget ->
+                assertEquals(Coin.valueOf(20), feeService.getTxFeePerVbyte(confTarget)));
+        assertEquals(1, feeService.getFeeEstimateHistory(FeeService.DEFAULT_CONF_TARGET).size());
+    }
+
+    @Test
+    public void testLocalNodeEstimatesTakePrecedence() {
+        feeService.updateFeeInfo(20, 2);
+        long now = System.currentTimeMillis();
+        feeService.applyFeeEstimates(List.of(
+                new FeeEstimate(LocalNodeFeeEstimationProvider.NAME, 2, 30, now),
+                new FeeEstimate(LocalNodeFeeEstimationProvider.NAME, FeeService.DEFAULT_CONF_TARGET, 25, now),
+                new FeeEstimate(LocalNodeFeeEstimationProvider.NAME, 144, 1, now)));
+
+        assertEquals(Coin.valueOf(30), feeService.getTxFeePerVbyte(2));
+        assertEquals(Coin.valueOf(25), feeService.getTxFeePerVbyte());
+        // Never below the min. fee rate
+        assertEquals(Coin.valueOf(2), feeService.getTxFeePerVbyte(144));
+        // No local estimate, so we fall back to the price node
+        assertEquals(Coin.valueOf(20), feeService.getTxFeePerVbyte(6));
+        assertEquals(Coin.valueOf(25 * 200), feeService.getTxFee(200));
+        assertEquals(2, feeService.getFeeEstimateHistory(FeeService.DEFAULT_CONF_TARGET).size());
+    }
+
+    @Test
+    public void testLocalNodeEstimatesAreCappedByPriceNodeFee() {
+        feeService.updateFeeInfo(20, 2);
+        long now = System.currentTimeMillis();
+        feeService.applyFeeEstimates(List.of(
+                new FeeEstimate(LocalNodeFeeEstimationProvider.NAME, FeeService.DEFAULT_CONF_TARGET, 1000, now)));
+
+        assertEquals(Coin.valueOf(20 * FeeService.MAX_LOCAL_ESTIMATE_FACTOR), feeService.getTxFeePerVbyte());
+        // Fee rates compared with the peer's fee rate do not use the local node estimate
+        assertEquals(Coin.valueOf(20), feeService.getPriceNodeTxFeePerVbyte());
+    }
+
+    @Test
+    public void testOutdatedLocalNodeEstimatesAreIgnored() {
+        feeService.updateFeeInfo(20, 2);
+        long outdated = System.currentTimeMillis() - 60 * 60 * 1000;
+        feeService.applyFeeEstimates(List.of(
+                new FeeEstimate(LocalNodeFeeEstimationProvider.NAME, FeeService.DEFAULT_CONF_TARGET, 25, outdated)));
+
+        assertEquals(Coin.valueOf(20), feeService.getTxFeePerVbyte());
+    }
+
+    @Test
+    public void testFeeUpdateCounterOnlyChangesIfFeeChanged() {
+        feeService.updateFeeInfo(20, 2);
+        int counter = feeService.feeUpdateCounterProperty().get();
+        long now = System.currentTimeMillis();
+
+        feeService.applyFeeEstimates(List.of(
+                new FeeEstimate(LocalNodeFeeEstimationProvider.NAME, FeeService.DEFAULT_CONF_TARGET, 20, now)));
+        assertEquals(counter, feeService.feeUpdateCounterProperty().get());
+
+        feeService.applyFeeEstimates(List.of(
+                new FeeEstimate(LocalNodeFeeEstimationProvider.NAME, FeeService.DEFAULT_CONF_TARGET, 21, now + 1)));
+        assertEquals(counter + 1, feeService.feeUpdateCounterProperty().get());
+    }
+}
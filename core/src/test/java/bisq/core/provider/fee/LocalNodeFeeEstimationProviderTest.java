@@ -0,0 +1,135 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.fee;
+
+import bisq.core.btc.nodes.LocalBitcoinNode;
+import bisq.core.user.Preferences;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LocalNodeFeeEstimationProviderTest {
+    private HttpServer stubNode;
+    private final AtomicReference<String> lastRequest = new AtomicReference<>();
+    private volatile String result;
+    private LocalBitcoinNode localBitcoinNode;
+    private Preferences preferences;
+    private LocalNodeFeeEstimationProvider provider;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stubNode = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubNode.createContext("/", exchange -> {
+            lastRequest.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            respond(exchange, "{\"result\":" + result + ",\"error\":null,\"id\":\"1\"}");
+        });
+        stubNode.start();
+
+        localBitcoinNode = mock(LocalBitcoinNode.class);
+        preferences = mock(Preferences.class);
+        when(localBitcoinNode.shouldBeUsed()).thenReturn(true);
+        when(preferences.getRpcUser()).thenReturn("bisqdao");
+        when(preferences.getRpcPw()).thenReturn("bsq");
+        provider = new LocalNodeFeeEstimationProvider(localBitcoinNode, preferences,
+                "localhost", stubNode.getAddress().getPort());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stubNode.stop(0);
+    }
+
+    @Test
+    public void testGetEstimate() throws IOException {
+        result = "{\"feerate\":0.00012345,\"blocks\":3}";
+
+        Optional<FeeEstimate> estimate = provider.getEstimate(3);
+
+        assertTrue(estimate.isPresent());
+        assertEquals(LocalNodeFeeEstimationProvider.NAME, estimate.get().getProviderName());
+        assertEquals(3, estimate.get().getConfTarget());
+        // 12345 sat/kvB rounded up
+        assertEquals(13, estimate.get().getTxFeePerVbyte());
+        assertTrue(lastRequest.get().contains("\"method\":\"estimatesmartfee\""));
+        assertTrue(lastRequest.get().contains("\"params\":[3]"));
+    }
+
+    @Test
+    public void testGetEstimate_insufficientData() throws IOException {
+        result = "{\"errors\":[\"Insufficient data or no feerate found\"],\"blocks\":0}";
+
+        assertFalse(provider.getEstimate(2).isPresent());
+    }
+
+    @Test
+    public void testGetEstimate_noConnection() {
+        stubNode.stop(0);
+
+        assertThrows(ConnectException.class, () -> provider.getEstimate(2));
+    }
+
+    @Test
+    public void testIsAvailable() {
+        assertTrue(provider.isAvailable());
+
+        when(preferences.getRpcPw()).thenReturn("");
+        assertFalse(provider.isAvailable());
+
+        when(preferences.getRpcPw()).thenReturn("bsq");
+        when(localBitcoinNode.shouldBeUsed()).thenReturn(false);
+        assertFalse(provider.isAvailable());
+    }
+
+    @Test
+    public void testToSatPerVbyte() {
+        assertEquals(1, LocalNodeFeeEstimationProvider.toSatPerVbyte(0.00001));
+        assertEquals(2, LocalNodeFeeEstimationProvider.toSatPerVbyte(0.00001001));
+        assertEquals(100, LocalNodeFeeEstimationProvider.toSatPerVbyte(0.001));
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
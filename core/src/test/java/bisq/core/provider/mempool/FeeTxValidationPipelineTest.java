@@ -0,0 +1,146 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.mempool;
+
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.io.IOException;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FeeTxValidationPipelineTest {
+    private static final String TX_ID = "txId";
+    private static final String TX_JSON = "{\"txid\":\"txId\",\"status\":{\"confirmed\":true}}";
+
+    private static TxValidator mockTxValidator(FeeValidationStatus status) {
+        TxValidator txValidator = mock(TxValidator.class);
+        when(txValidator.getTxId()).thenReturn(TX_ID);
+        when(txValidator.getIsFeeCurrencyBtc()).thenReturn(true);
+        when(txValidator.getStatus()).thenReturn(status);
+        return txValidator;
+    }
+
+    private static MempoolRequest mockMempoolRequest(boolean succeed) {
+        MempoolRequest mempoolRequest = mock(MempoolRequest.class);
+        doAnswer(invocation -> {
+            SettableFuture<String> future = invocation.getArgument(0);
+            if (succeed) {
+                future.set(TX_JSON);
+            } else {
+                future.setException(new IOException("provider not reachable"));
+            }
+            return null;
+        }).when(mempoolRequest).getTxStatus(any(), anyString());
+        return mempoolRequest;
+    }
+
+    private static TxValidator validate(FeeTxValidationPipeline pipeline, TxValidator txValidator)
+            throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<TxValidator> result = new AtomicReference<>();
+        pipeline.validate("offerId", "USD", txValidator, validator -> {
+            result.set(validator);
+            latch.countDown();
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        return result.get();
+    }
+
+    @Test
+    public void testFeeOkResultIsMemoized() throws InterruptedException {
+        MempoolRequest mempoolRequest = mockMempoolRequest(true);
+        List<String> btcFeeReceivers = List.of("feeReceiver");
+        FeeTxValidationPipeline pipeline = new FeeTxValidationPipeline(() -> mempoolRequest,
+                () -> btcFeeReceivers,
+                () -> "USD");
+        TxValidator txValidator = mockTxValidator(FeeValidationStatus.ACK_FEE_OK);
+
+        assertSame(txValidator, validate(pipeline, txValidator));
+        assertSame(txValidator, validate(pipeline, mockTxValidator(FeeValidationStatus.NOT_CHECKED_YET)));
+
+        verify(mempoolRequest, times(1)).getTxStatus(any(), eq(TX_ID));
+        verify(txValidator).validateMakerFeeTx(eq(TX_JSON), any(), eq(btcFeeReceivers));
+
+        pipeline.invalidateResults();
+        validate(pipeline, txValidator);
+        verify(mempoolRequest, times(2)).getTxStatus(any(), eq(TX_ID));
+    }
+
+    @Test
+    public void testFailedRequestIsNotMemoized() throws InterruptedException {
+        MempoolRequest mempoolRequest = mockMempoolRequest(false);
+        when(mempoolRequest.switchToAnotherProvider()).thenReturn(true, false, true, false);
+        FeeTxValidationPipeline pipeline = new FeeTxValidationPipeline(() -> mempoolRequest,
+                List::of,
+                () -> "USD");
+        TxValidator txValidator = mockTxValidator(FeeValidationStatus.NACK_BTC_TX_NOT_FOUND);
+
+        validate(pipeline, txValidator);
+        // One retry with another provider
+        verify(mempoolRequest, times(2)).getTxStatus(any(), eq(TX_ID));
+        verify(txValidator).endResult(FeeValidationStatus.NACK_BTC_TX_NOT_FOUND);
+
+        validate(pipeline, txValidator);
+        verify(mempoolRequest, times(4)).getTxStatus(any(), eq(TX_ID));
+        verify(txValidator, times(0)).validateMakerFeeTx(any(), any(), anyList());
+    }
+
+    @Test
+    public void testStateDependentNacksAreNotMemoized() throws InterruptedException {
+        MempoolRequest mempoolRequest = mockMempoolRequest(true);
+        FeeTxValidationPipeline pipeline = new FeeTxValidationPipeline(() -> mempoolRequest,
+                List::of,
+                () -> "USD");
+
+        // Our DAO state might not be synced yet, so an offer might become valid later
+        int numRequests = 0;
+        for (FeeValidationStatus status : List.of(FeeValidationStatus.NACK_UNKNOWN_FEE_RECEIVER,
+                FeeValidationStatus.NACK_MAKER_FEE_TOO_LOW,
+                FeeValidationStatus.NACK_BSQ_FEE_NOT_FOUND)) {
+            TxValidator txValidator = mockTxValidator(status);
+            validate(pipeline, txValidator);
+            validate(pipeline, txValidator);
+            numRequests += 2;
+            verify(mempoolRequest, times(numRequests)).getTxStatus(any(), eq(TX_ID));
+        }
+
+        // Once the fee is ok the result is memoized
+        TxValidator txValidator = mockTxValidator(FeeValidationStatus.ACK_FEE_OK);
+        assertSame(txValidator, validate(pipeline, txValidator));
+        assertSame(txValidator, validate(pipeline, mockTxValidator(FeeValidationStatus.NOT_CHECKED_YET)));
+        verify(mempoolRequest, times(numRequests + 1)).getTxStatus(any(), eq(TX_ID));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.mempool;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MempoolTxCacheTest {
+    private static final String PROVIDER = "https://mempool.provider/api/tx";
+
+    private static String txJson(String txId, boolean confirmed) {
+        return "{\"txid\":\"" + txId + "\",\"status\":{\"confirmed\":" + confirmed + "}}";
+    }
+
+    @Test
+    public void testConcurrentRequestsForSameTxAreCoalesced() throws Exception {
+        AtomicInteger numFetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        MempoolTxCache cache = new MempoolTxCache(2, (serviceAddress, txId) -> {
+            numFetches.incrementAndGet();
+            Uninterruptibles.awaitUninterruptibly(release, 5, TimeUnit.SECONDS);
+            return txJson(txId, false);
+        });
+
+        ListenableFuture<String> first = cache.getTxJson(PROVIDER, "tx1");
+        ListenableFuture<String> second = cache.getTxJson(PROVIDER, "tx1");
+        assertSame(first, second);
+        release.countDown();
+
+        assertEquals(txJson("tx1", false), first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, numFetches.get());
+    }
+
+    @Test
+    public void testValidResponsesAreCached() throws Exception {
+        AtomicInteger numFetches = new AtomicInteger();
+        MempoolTxCache cache = new MempoolTxCache(2, (serviceAddress, txId) -> {
+            numFetches.incrementAndGet();
+            return txJson(txId, txId.equals("confirmed"));
+        });
+
+        cache.getTxJson(PROVIDER, "confirmed").get(5, TimeUnit.SECONDS);
+        cache.getTxJson(PROVIDER, "unconfirmed").get(5, TimeUnit.SECONDS);
+        ListenableFuture<String> confirmed = cache.getTxJson(PROVIDER, "confirmed");
+        ListenableFuture<String> unconfirmed = cache.getTxJson(PROVIDER, "unconfirmed");
+
+        assertTrue(confirmed.isDone());
+        assertTrue(unconfirmed.isDone());
+        assertEquals(txJson("confirmed", true), confirmed.get());
+        assertEquals(2, numFetches.get());
+    }
+
+    @Test
+    public void testFailedAndInvalidResponsesAreNotCached() throws Exception {
+        AtomicInteger numFetches = new AtomicInteger();
+        MempoolTxCache cache = new MempoolTxCache(2, (serviceAddress, txId) -> {
+            if (numFetches.incrementAndGet() == 1) {
+                throw new IOException("provider not reachable");
+            }
+            return "Transaction not found";
+        });
+
+        assertThrows(Exception.class, () -> cache.getTxJson(PROVIDER, "tx1").get(5, TimeUnit.SECONDS));
+        assertEquals("Transaction not found", cache.getTxJson(PROVIDER, "tx1").get(5, TimeUnit.SECONDS));
+        assertEquals("Transaction not found", cache.getTxJson(PROVIDER, "tx1").get(5, TimeUnit.SECONDS));
+        assertEquals(3, numFetches.get());
+    }
+
+    @Test
+    public void testMaxRequestsPerProvider() throws Exception {
+        AtomicInteger numRunning = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        MempoolTxCache cache = new MempoolTxCache(2, (serviceAddress, txId) -> {
+            maxRunning.accumulateAndGet(numRunning.incrementAndGet(), Math::max);
+            Uninterruptibles.sleepUninterruptibly(20, TimeUnit.MILLISECONDS);
+            numRunning.decrementAndGet();
+            return txJson(txId, true);
+        });
+
+        List<ListenableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(cache.getTxJson(PROVIDER, "tx" + i));
+        }
+        for (ListenableFuture<String> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(2, maxRunning.get());
+    }
+}
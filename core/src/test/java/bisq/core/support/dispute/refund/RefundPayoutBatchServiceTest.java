@@ -0,0 +1,308 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute.refund;
+
+import bisq.core.btc.TxFeeEstimationService;
+import bisq.core.btc.exceptions.TxBroadcastException;
+import bisq.core.btc.wallet.BtcWalletService;
+import bisq.core.btc.wallet.TradeWalletService;
+import bisq.core.btc.wallet.TxBroadcaster;
+import bisq.core.dao.DaoFacade;
+import bisq.core.offer.bisq_v1.OfferPayload;
+import bisq.core.support.SupportType;
+import bisq.core.support.dispute.Dispute;
+import bisq.core.support.dispute.DisputeResult;
+import bisq.core.trade.model.bisq_v1.Contract;
+import bisq.core.util.coin.CoinFormatter;
+
+import bisq.common.util.Tuple2;
+
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.InsufficientMoneyException;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import javafx.beans.property.SimpleObjectProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RefundPayoutBatchServiceTest {
+    private static final Coin FEE = Coin.valueOf(5000);
+    private static final Coin TRADE_AMOUNT = Coin.valueOf(100_000);
+    private static final long SECURITY_DEPOSIT = 15_000;
+
+    private RefundManager refundManager;
+    private BtcWalletService btcWalletService;
+    private TradeWalletService tradeWalletService;
+    private CoinFormatter formatter;
+    private final ObservableList<Dispute> disputes = FXCollections.observableArrayList();
+    private final List<Transaction> broadcastTxs = new ArrayList<>();
+    private final List<TxBroadcaster.Callback> broadcastCallbacks = new ArrayList<>();
+    private final AtomicReference<RefundPayoutBatchResult> result = new AtomicReference<>();
+    private RefundPayoutBatchService service;
+
+    @BeforeEach
+    public void setUp() {
+        refundManager = mock(RefundManager.class);
+        btcWalletService = mock(BtcWalletService.class);
+        tradeWalletService = mock(TradeWalletService.class);
+        formatter = mock(CoinFormatter.class);
+        TxFeeEstimationService txFeeEstimationService = mock(TxFeeEstimationService.class);
+        when(txFeeEstimationService.getEstimatedFeeAndTxVsize(any(), eq(btcWalletService)))
+                .thenReturn(new Tuple2<>(FEE, 175));
+        when(refundManager.getDisputesAsObservableList()).thenReturn(disputes);
+        List<Transaction> tradeTxs = List.of(mock(Transaction.class), mock(Transaction.class),
+                mock(Transaction.class), mock(Transaction.class));
+        when(refundManager.requestBlockchainTransactions(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(tradeTxs));
+        doAnswer(invocation -> {
+            broadcastTxs.add(invocation.getArgument(0));
+            broadcastCallbacks.add(invocation.getArgument(1));
+            return null;
+        }).when(tradeWalletService).broadcastTx(any(), any(TxBroadcaster.Callback.class));
+        service = new RefundPayoutBatchService(refundManager, btcWalletService, tradeWalletService,
+                txFeeEstimationService, mock(DaoFacade.class), formatter);
+    }
+
+    @Test
+    public void testAllPayoutsSignedBeforeBoundedBroadcast() throws Exception {
+        int numTrades = RefundPayoutBatchService.MAX_PARALLEL_BROADCASTS + 2;
+        List<RefundPayoutRequest> requests = new ArrayList<>();
+        List<Dispute> tradeDisputes = new ArrayList<>();
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < numTrades; i++) {
+            String tradeId = "trade" + i;
+            requests.add(request(tradeId, 100_000, 30_000));
+            Dispute dispute = addDispute(tradeId, 0, false);
+            tradeDisputes.add(dispute);
+            txs.add(mockPayoutTx(dispute, i));
+        }
+
+        service.payoutTrades(requests, result::set);
+
+        // Each tx is committed before the next one gets created, so they do not spend the same inputs
+        InOrder inOrder = inOrder(btcWalletService);
+        for (Transaction tx : txs) {
+            inOrder.verify(btcWalletService).createRefundPayoutTx(any(), any(), eq(FEE), any(), any());
+            inOrder.verify(btcWalletService).commitTx(tx);
+        }
+        assertEquals(RefundPayoutBatchService.MAX_PARALLEL_BROADCASTS, broadcastCallbacks.size());
+
+        // Each completed broadcast starts the next one
+        broadcastCallbacks.get(0).onSuccess(broadcastTxs.get(0));
+        assertEquals(RefundPayoutBatchService.MAX_PARALLEL_BROADCASTS + 1, broadcastCallbacks.size());
+        broadcastCallbacks.get(1).onFailure(new TxBroadcastException("broadcast failed"));
+        assertEquals(numTrades, broadcastCallbacks.size());
+        assertNull(result.get());
+
+        for (int i = 2; i < numTrades; i++) {
+            broadcastCallbacks.get(i).onSuccess(broadcastTxs.get(i));
+        }
+
+        assertNotNull(result.get());
+        assertEquals(numTrades - 1, result.get().getPayoutTxIdByTradeId().size());
+        assertEquals(txs.get(0).getTxId().toString(), result.get().getPayoutTxIdByTradeId().get("trade0"));
+        assertTrue(result.get().getErrorByTradeId().containsKey("trade1"));
+
+        // A dispute only gets closed once its payout tx got broadcast
+        verify(refundManager).applyDisputeResult(eq(tradeDisputes.get(0)), any(), eq(formatter));
+        verify(refundManager, never()).applyDisputeResult(eq(tradeDisputes.get(1)), any(), any());
+    }
+
+    @Test
+    public void testIneligibleTradesAreNotPaidOut() throws Exception {
+        when(refundManager.findDisputes("unknown")).thenReturn(List.of());
+        Dispute closed = addDispute("closed", 0, false);
+        when(closed.isClosed()).thenReturn(true);
+        Dispute paid = addDispute("paid", 0, false);
+        when(paid.isPayoutDone()).thenReturn(true);
+        addDispute("noNotes", 0, false);
+        addDispute("tooHigh", 0, false);
+        addDispute("negative", 0, false);
+        Dispute replay = addDispute("replay", 0, false);
+        when(replay.getDepositTxId()).thenReturn(null);
+        addDispute("duplicate", 0, false);
+
+        service.payoutTrades(List.of(request("unknown", 100_000, 30_000),
+                request("closed", 100_000, 30_000),
+                request("paid", 100_000, 30_000),
+                new RefundPayoutRequest("noNotes", Coin.valueOf(100_000), Coin.valueOf(30_000),
+                        DisputeResult.Reason.OTHER, " "),
+                request("tooHigh", 100_000, 30_001),
+                request("negative", -1, 30_000),
+                request("replay", 100_000, 30_000),
+                request("duplicate", 100_000, 30_000),
+                request("duplicate", 0, 130_000)), result::set);
+
+        verify(btcWalletService, never()).createRefundPayoutTx(any(), any(), any(), any(), any());
+        verify(refundManager, never()).applyDisputeResult(any(), any(), any());
+        assertTrue(broadcastCallbacks.isEmpty());
+        assertNotNull(result.get());
+        assertEquals(List.of("unknown", "noNotes", "tooHigh", "negative", "replay", "duplicate"),
+                new ArrayList<>(result.get().getErrorByTradeId().keySet()));
+        assertEquals(List.of("closed", "paid"), new ArrayList<>(result.get().getSkipReasonByTradeId().keySet()));
+    }
+
+    @Test
+    public void testFailedTxChainVerificationIsNotPaidOut() throws Exception {
+        addDispute("unverified", 0, false);
+        Dispute dispute = addDispute("ok", 0, false);
+        Transaction tx = mockPayoutTx(dispute, 1);
+        CompletableFuture<List<Transaction>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RuntimeException("mempool not reachable"));
+        when(refundManager.requestBlockchainTransactions(any(), any(), eq("unverifiedDeposit"), any()))
+                .thenReturn(failed);
+
+        service.payoutTrades(List.of(request("unverified", 100_000, 30_000), request("ok", 100_000, 30_000)),
+                result::set);
+
+        assertEquals(1, broadcastCallbacks.size());
+        broadcastCallbacks.get(0).onSuccess(tx);
+
+        assertNotNull(result.get());
+        assertTrue(result.get().getErrorByTradeId().containsKey("unverified"));
+        assertEquals(tx.getTxId().toString(), result.get().getPayoutTxIdByTradeId().get("ok"));
+    }
+
+    @Test
+    public void testDraftIsIgnoredAndBothTicketsGetClosed() throws Exception {
+        Dispute buyersDispute = addDispute("trade", 0, true);
+        Dispute sellersDispute = addDispute("trade", 1, true);
+        when(refundManager.findDisputes("trade")).thenReturn(List.of(buyersDispute, sellersDispute));
+        Transaction tx = mockPayoutTx(buyersDispute, 1);
+
+        service.payoutTrades(List.of(request("trade", 20_000, 110_000)), result::set);
+
+        // The payout uses the requested amounts and not the draft saved in the dispute
+        verify(btcWalletService).createRefundPayoutTx(eq(Coin.valueOf(20_000)), eq(Coin.valueOf(110_000)),
+                eq(FEE), eq("tradeBuyer"), eq("tradeSeller"));
+        verify(buyersDispute).setPayoutDone(true);
+        verify(sellersDispute).setPayoutDone(true);
+        verify(refundManager, never()).applyDisputeResult(any(), any(), any());
+
+        broadcastCallbacks.get(0).onSuccess(tx);
+
+        ArgumentCaptor<DisputeResult> buyersResult = ArgumentCaptor.forClass(DisputeResult.class);
+        ArgumentCaptor<DisputeResult> sellersResult = ArgumentCaptor.forClass(DisputeResult.class);
+        verify(refundManager).applyDisputeResult(eq(buyersDispute), buyersResult.capture(), eq(formatter));
+        verify(refundManager).applyDisputeResult(eq(sellersDispute), sellersResult.capture(), eq(formatter));
+        verify(refundManager, times(2)).applyDisputeResult(any(), any(), any());
+        assertEquals(0, buyersResult.getValue().getTraderId());
+        assertEquals(1, sellersResult.getValue().getTraderId());
+        for (DisputeResult disputeResult : List.of(buyersResult.getValue(), sellersResult.getValue())) {
+            assertEquals("trade", disputeResult.getTradeId());
+            assertEquals(Coin.valueOf(20_000), disputeResult.getBuyerPayoutAmount());
+            assertEquals(Coin.valueOf(110_000), disputeResult.getSellerPayoutAmount());
+            assertEquals(DisputeResult.Winner.SELLER, disputeResult.getWinner());
+            assertEquals(DisputeResult.Reason.BUG, disputeResult.getReason());
+            assertEquals("Summary", disputeResult.summaryNotesProperty().get());
+        }
+    }
+
+    @Test
+    public void testFailedTxCreationResetsPayoutDone() throws Exception {
+        Dispute failing = addDispute("failing", 0, false);
+        Dispute dispute = addDispute("ok", 0, false);
+        when(btcWalletService.createRefundPayoutTx(any(), any(), any(), eq("failingBuyer"), any()))
+                .thenThrow(new InsufficientMoneyException(Coin.COIN));
+        Transaction tx = mockPayoutTx(dispute, 1);
+
+        service.payoutTrades(List.of(request("failing", 100_000, 30_000), request("ok", 100_000, 30_000)),
+                result::set);
+
+        verify(failing).setPayoutDone(false);
+        verify(refundManager, never()).applyDisputeResult(eq(failing), any(), any());
+        assertEquals(1, broadcastCallbacks.size());
+        broadcastCallbacks.get(0).onSuccess(tx);
+
+        assertNotNull(result.get());
+        assertTrue(result.get().getErrorByTradeId().containsKey("failing"));
+        assertEquals(tx.getTxId().toString(), result.get().getPayoutTxIdByTradeId().get("ok"));
+    }
+
+    private static RefundPayoutRequest request(String tradeId, long buyerPayoutAmount, long sellerPayoutAmount) {
+        return new RefundPayoutRequest(tradeId,
+                Coin.valueOf(buyerPayoutAmount),
+                Coin.valueOf(sellerPayoutAmount),
+                DisputeResult.Reason.BUG,
+                "Summary");
+    }
+
+    private Dispute addDispute(String tradeId, int traderId, boolean hasDraft) {
+        Dispute dispute = mock(Dispute.class);
+        when(dispute.getTradeId()).thenReturn(tradeId);
+        when(dispute.getTraderId()).thenReturn(traderId);
+        when(dispute.getUid()).thenReturn(tradeId + traderId);
+        when(dispute.getSupportType()).thenReturn(SupportType.REFUND);
+        when(dispute.getDepositTxId()).thenReturn(tradeId + "Deposit");
+        when(dispute.getDelayedPayoutTxId()).thenReturn(tradeId + "DelayedPayout");
+        DisputeResult draft = null;
+        if (hasDraft) {
+            draft = new DisputeResult(tradeId, traderId);
+            draft.setBuyerPayoutAmount(Coin.valueOf(130_000));
+            draft.setSellerPayoutAmount(Coin.ZERO);
+        }
+        when(dispute.disputeResultProperty()).thenReturn(new SimpleObjectProperty<>(draft));
+        OfferPayload offerPayload = mock(OfferPayload.class);
+        when(offerPayload.getBuyerSecurityDeposit()).thenReturn(SECURITY_DEPOSIT);
+        when(offerPayload.getSellerSecurityDeposit()).thenReturn(SECURITY_DEPOSIT);
+        Contract contract = mock(Contract.class);
+        when(contract.getOfferPayload()).thenReturn(offerPayload);
+        when(contract.getTradeAmount()).thenReturn(TRADE_AMOUNT);
+        when(contract.getBuyerPayoutAddressString()).thenReturn(tradeId + "Buyer");
+        when(contract.getSellerPayoutAddressString()).thenReturn(tradeId + "Seller");
+        when(dispute.getContract()).thenReturn(contract);
+        when(refundManager.findDisputes(tradeId)).thenReturn(List.of(dispute));
+        disputes.add(dispute);
+        return dispute;
+    }
+
+    private Transaction mockPayoutTx(Dispute dispute, int index) throws Exception {
+        Transaction tx = mock(Transaction.class);
+        when(tx.getTxId()).thenReturn(Sha256Hash.of(new byte[]{(byte) index}));
+        String buyerAddress = dispute.getContract().getBuyerPayoutAddressString();
+        when(btcWalletService.createRefundPayoutTx(any(), any(), any(), eq(buyerAddress), any())).thenReturn(tx);
+        return tx;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import bisq.core.locale.GlobalSettings;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static bisq.core.payment.payload.PaymentMethod.SEPA_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TradeStatisticsColumnsTest {
+    private static final ZoneId ZONE_ID = ZoneOffset.UTC;
+    private static final long BTC = 100_000_000;
+    private static final long DAY_1 = toEpochMilli(LocalDateTime.of(2023, 5, 8, 0, 0));
+    private static final long DAY_2 = toEpochMilli(LocalDateTime.of(2023, 5, 9, 0, 0));
+
+    private TradeStatisticsColumns columns;
+
+    @BeforeEach
+    public void setUp() {
+        GlobalSettings.setLocale(Locale.US);
+        columns = new TradeStatisticsColumns(ZONE_ID);
+    }
+
+    @Test
+    public void testCandleOfDay() {
+        columns.addAll(List.of(
+                eur(520, DAY_1 + 1000),
+                eur(500, DAY_1 + 2000),
+                eur(600, DAY_1 + 3000),
+                eur(580, DAY_1 + 4000),
+                eur(700, DAY_2 + 1000)));
+
+        List<TradeStatisticsCandle> candles = columns.getCandles("EUR", TickUnit.DAY, DAY_1, DAY_2);
+
+        assertEquals(2, candles.size());
+        TradeStatisticsCandle candle = candles.get(0);
+        assertEquals(DAY_1, candle.getTickStart());
+        assertEquals(price(520), candle.getOpen());
+        assertEquals(price(580), candle.getClose());
+        assertEquals(price(600), candle.getHigh());
+        assertEquals(price(500), candle.getLow());
+        assertEquals(price(550), candle.getMedianPrice());
+        assertEquals(4 * BTC, candle.getAccumulatedAmount());
+        assertEquals(price(2200), candle.getAccumulatedVolume());
+        assertEquals(4, candle.getNumTrades());
+
+        candle = candles.get(1);
+        assertEquals(DAY_2, candle.getTickStart());
+        assertEquals(price(700), candle.getOpen());
+        assertEquals(price(700), candle.getClose());
+        assertEquals(1, candle.getNumTrades());
+    }
+
+    @Test
+    public void testCandlesInRange() {
+        for (int i = 0; i < 6 * 24; i++) {
+            columns.add(eur(500 + i, DAY_1 + i * 600_000L));
+        }
+
+        List<TradeStatisticsCandle> candles = columns.getCandles("EUR", TickUnit.HOUR,
+                DAY_1 + 3_600_000, DAY_1 + 3 * 3_600_000);
+
+        assertEquals(3, candles.size());
+        assertEquals(DAY_1 + 3_600_000, candles.get(0).getTickStart());
+        assertEquals(price(506), candles.get(0).getOpen());
+        assertEquals(price(511), candles.get(0).getClose());
+        assertEquals(6, candles.get(0).getNumTrades());
+        assertEquals(DAY_1 + 3 * 3_600_000, candles.get(2).getTickStart());
+        assertEquals(24, columns.getCandles("EUR", TickUnit.HOUR, 0, Long.MAX_VALUE).size());
+        assertEquals(144, columns.getCandles("EUR", TickUnit.MINUTE_10, 0, Long.MAX_VALUE).size());
+        assertEquals(1, columns.getCandles("EUR", TickUnit.YEAR, 0, Long.MAX_VALUE).size());
+        assertTrue(columns.getCandles("USD", TickUnit.HOUR, 0, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testOutOfOrderAdds() {
+        List<TradeStatistics3> tradeStatistics = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tradeStatistics.add(eur(400 + (i * 37) % 300, DAY_1 + i * 1_234_567L));
+        }
+        columns.addAll(tradeStatistics);
+
+        TradeStatisticsColumns shuffledColumns = new TradeStatisticsColumns(ZONE_ID);
+        Collections.shuffle(tradeStatistics);
+        tradeStatistics.forEach(shuffledColumns::add);
+
+        assertEquals(500, shuffledColumns.size());
+        for (TickUnit tickUnit : TickUnit.values()) {
+            assertEquals(columns.getCandles("EUR", tickUnit, 0, Long.MAX_VALUE),
+                    shuffledColumns.getCandles("EUR", tickUnit, 0, Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void testCandlesOfAllCurrencies() {
+        columns.add(eur(500, DAY_1 + 1000));
+        columns.add(new TradeStatistics3("USD", price(510), 2 * BTC, SEPA_ID, DAY_1 + 2000,
+                null, null, null, null));
+        columns.add(eur(520, DAY_2 + 1000));
+
+        List<TradeStatisticsCandle> candles = columns.getCandles(TickUnit.DAY, 0, Long.MAX_VALUE);
+
+        assertEquals(2, candles.size());
+        assertEquals(3 * BTC, candles.get(0).getAccumulatedAmount());
+        assertEquals(2, candles.get(0).getNumTrades());
+        assertEquals(price(500), candles.get(0).getOpen());
+        assertEquals(price(510), candles.get(0).getClose());
+        assertEquals(price(505), candles.get(0).getMedianPrice());
+        assertEquals(1, candles.get(1).getNumTrades());
+    }
+
+    private static TradeStatistics3 eur(long price, long date) {
+        return new TradeStatistics3("EUR", price(price), BTC, SEPA_ID, date, null, null, null, null);
+    }
+
+    // Fiat prices have 4 decimals
+    private static long price(long price) {
+        return price * 10_000;
+    }
+
+    private static long toEpochMilli(LocalDateTime localDateTime) {
+        return localDateTime.atZone(ZONE_ID).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import bisq.common.file.JsonFileManager;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static bisq.core.payment.payload.PaymentMethod.SEPA_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TradeStatisticsJsonDumpTest {
+    private static final long MAY = toEpochMilli(LocalDateTime.of(2023, 5, 8, 0, 0));
+    private static final long JUNE = toEpochMilli(LocalDateTime.of(2023, 6, 30, 23, 59));
+
+    private final List<TradeStatistics3> tradeStatisticsSet = new ArrayList<>();
+    private File storageDir;
+    private File dir;
+    private JsonFileManager jsonFileManager;
+
+    @BeforeEach
+    public void setUp(@TempDir Path tempDir) {
+        storageDir = tempDir.toFile();
+        dir = new File(storageDir, TradeStatisticsJsonDump.DIR_NAME);
+        jsonFileManager = mock(JsonFileManager.class);
+    }
+
+    @Test
+    public void testTradeStatisticsArePartitionedByMonth() throws IOException {
+        tradeStatisticsSet.addAll(List.of(eur(MAY), eur(MAY + 1000), eur(JUNE)));
+
+        newDump(false).dumpAll();
+
+        List<String> mayLines = readLines("2023-05");
+        assertEquals(2, mayLines.size());
+        assertEquals(MAY, new Gson().fromJson(mayLines.get(0), JsonObject.class).get("tradeDate").getAsLong());
+        assertEquals(MAY + 1000, new Gson().fromJson(mayLines.get(1), JsonObject.class).get("tradeDate").getAsLong());
+        assertEquals(1, readLines("2023-06").size());
+
+        JsonObject index = readIndex();
+        assertEquals(3, index.get("numEntries").getAsInt());
+        assertEquals(2, index.getAsJsonArray("partitions").size());
+        assertEquals("trade_statistics_2023-05.ndjson",
+                index.getAsJsonArray("partitions").get(0).getAsJsonObject().get("fileName").getAsString());
+    }
+
+    @Test
+    public void testOnlyMonthsNotInSyncWithIndexGetRewritten() throws IOException {
+        tradeStatisticsSet.addAll(List.of(eur(MAY), eur(JUNE)));
+        newDump(false).dumpAll();
+        Files.writeString(getPartitionFile("2023-05").toPath(), "unchanged\n");
+        Files.writeString(getPartitionFile("2023-06").toPath(), "outdated\n");
+
+        // A trade statistics of June arrived while we were offline
+        tradeStatisticsSet.add(eur(JUNE - 1000));
+        newDump(false).dumpAll();
+
+        assertEquals(List.of("unchanged"), readLines("2023-05"));
+        assertEquals(2, readLines("2023-06").size());
+        assertEquals(3, readIndex().get("numEntries").getAsInt());
+    }
+
+    @Test
+    public void testAdditionsGetCoalescedIntoOneAppend() throws IOException {
+        tradeStatisticsSet.add(eur(MAY));
+        TradeStatisticsJsonDump dump = newDump(true);
+        dump.dumpAll();
+        verify(jsonFileManager).writeToDiscThreaded(anyString(), eq("trade_statistics"));
+
+        TradeStatistics3 june1 = eur(JUNE);
+        TradeStatistics3 june2 = eur(JUNE + 1000);
+        tradeStatisticsSet.addAll(List.of(june1, june2));
+        dump.add(june1);
+        dump.add(june2);
+        // Flushes the pending additions
+        dump.shutDown();
+
+        assertEquals(1, readLines("2023-05").size());
+        assertEquals(2, readLines("2023-06").size());
+        assertEquals(3, readIndex().get("numEntries").getAsInt());
+        // The full file gets written once for both additions
+        verify(jsonFileManager, times(2)).writeToDiscThreaded(anyString(), eq("trade_statistics"));
+    }
+
+    @Test
+    public void testFullStatisticsCanBeDisabled() {
+        tradeStatisticsSet.add(eur(MAY));
+        TradeStatisticsJsonDump dump = newDump(false);
+        dump.dumpAll();
+        tradeStatisticsSet.add(eur(JUNE));
+        dump.add(eur(JUNE));
+        dump.shutDown();
+
+        verify(jsonFileManager, never()).writeToDiscThreaded(anyString(), anyString());
+    }
+
+    private TradeStatisticsJsonDump newDump(boolean dumpFullStatistics) {
+        return new TradeStatisticsJsonDump(storageDir,
+                jsonFileManager,
+                tradeStatisticsSet,
+                dumpFullStatistics,
+                MoreExecutors.newDirectExecutorService());
+    }
+
+    private List<String> readLines(String month) throws IOException {
+        return Files.readAllLines(getPartitionFile(month).toPath(), StandardCharsets.UTF_8);
+    }
+
+    private File getPartitionFile(String month) {
+        return new File(dir, "trade_statistics_" + month + ".ndjson");
+    }
+
+    private JsonObject readIndex() throws IOException {
+        return new Gson().fromJson(Files.readString(new File(dir, "index.json").toPath()), JsonObject.class);
+    }
+
+    private static TradeStatistics3 eur(long date) {
+        return new TradeStatistics3("EUR", 250_000_000, 100_000_000, SEPA_ID, date,
+                null, null, null, null);
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.txproof.xmr;
+
+import bisq.core.user.AutoConfirmSettings;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.net.InetSocketAddress;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XmrTxProofSchedulerTest {
+    private static final String RECIPIENT_ADDRESS = "4ATyxmFGU7h3EWu5kYR6gy6iCNFCftbsjATfbuBBjsRHJM4KTwEyeiyVNNUmsfpK1kdRxs8QoPLsZanGqe1Mby43LeyWNMF";
+    private static final String RECIPIENT_ADDRESS_HEX = "e957dac72bcec80d59b2fecacfa7522223b6a5df895b7e388e60297e85f3f867b42f43e8d9f086a99a997704ceb92bd9cd99d33952de90c9f5f93c82c62360ae";
+    private static final String TX_HASH = "488e48ab0c7e69028d19f787ec57fd496ff114caba9ab265bfd41a3ea0e4687d";
+    private static final String TX_KEY = "6c336e52ed537676968ee319af6983c80b869ca6a732b5962c02748b486f8f0f";
+    private static final long AMOUNT = 100000000000L;
+    private static final long TRADE_DATE = 1574922644000L;
+
+    private HttpServer stubExplorer;
+    private final AtomicInteger numRawTxRequests = new AtomicInteger();
+    private final AtomicInteger numOutputsRequests = new AtomicInteger();
+    private volatile int numConfirmations = 10;
+    private volatile CountDownLatch responseLatch = new CountDownLatch(0);
+    private XmrTxProofModel model;
+    private XmrTxProofScheduler scheduler;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stubExplorer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubExplorer.createContext("/api/rawtransaction/", exchange -> {
+            numRawTxRequests.incrementAndGet();
+            respond(exchange, "{'data':{'unlock_time':'0'}, 'status':'success'}");
+        });
+        stubExplorer.createContext("/api/outputs", exchange -> {
+            numOutputsRequests.incrementAndGet();
+            try {
+                responseLatch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignore) {
+            }
+            respond(exchange, "{'data':{'address':'" + RECIPIENT_ADDRESS_HEX + "', " +
+                    "'tx_hash':'" + TX_HASH + "', " +
+                    "'viewkey':'" + TX_KEY + "', " +
+                    "'tx_timestamp':'" + TRADE_DATE / 1000 + "', " +
+                    "'tx_confirmations':" + numConfirmations + ", " +
+                    "'outputs':[{'amount':" + AMOUNT + ", 'match':true}]}, " +
+                    "'status':'success'}");
+        });
+        stubExplorer.setExecutor(null);
+        stubExplorer.start();
+
+        String serviceAddress = "http://localhost:" + stubExplorer.getAddress().getPort();
+        AutoConfirmSettings autoConfirmSettings = new AutoConfirmSettings(true,
+                10,
+                1,
+                Collections.singletonList(serviceAddress),
+                "XMR");
+        model = new XmrTxProofModel("dummyTest",
+                TX_HASH,
+                TX_KEY,
+                RECIPIENT_ADDRESS,
+                AMOUNT,
+                new Date(TRADE_DATE),
+                autoConfirmSettings);
+        scheduler = new XmrTxProofScheduler(null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stubExplorer.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, String response) throws IOException {
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    @Test
+    public void testRawTxIsRequestedOnlyOnce() throws Exception {
+        numConfirmations = 5;
+        XmrTxProofRequest.Result result = scheduler.requestProof(model).get(10, TimeUnit.SECONDS);
+        assertSame(XmrTxProofRequest.Result.PENDING, result);
+        assertSame(XmrTxProofRequest.Detail.PENDING_CONFIRMATIONS, result.getDetail());
+        assertEquals(5, result.getDetail().getNumConfirmations());
+
+        numConfirmations = 10;
+        result = scheduler.requestProof(model).get(10, TimeUnit.SECONDS);
+        assertSame(XmrTxProofRequest.Result.SUCCESS, result);
+
+        assertEquals(1, numRawTxRequests.get());
+        assertEquals(2, numOutputsRequests.get());
+    }
+
+    @Test
+    public void testConcurrentRequestsAreDeduplicated() throws Exception {
+        responseLatch = new CountDownLatch(1);
+        ListenableFuture<XmrTxProofRequest.Result> first = scheduler.requestProof(model);
+        ListenableFuture<XmrTxProofRequest.Result> second = scheduler.requestProof(model.withServiceAddress(model.getServiceAddress()));
+        assertSame(first, second);
+        responseLatch.countDown();
+
+        assertSame(XmrTxProofRequest.Result.SUCCESS, first.get(10, TimeUnit.SECONDS));
+        assertEquals(1, numOutputsRequests.get());
+    }
+
+    @Test
+    public void testCachedResultIsReused() throws Exception {
+        assertSame(XmrTxProofRequest.Result.SUCCESS, scheduler.requestProof(model).get(10, TimeUnit.SECONDS));
+        XmrTxProofRequest.Result result = scheduler.requestProof(model).get(10, TimeUnit.SECONDS);
+        assertSame(XmrTxProofRequest.Result.SUCCESS, result);
+        assertEquals(10, result.getDetail().getNumConfirmations());
+    }
+
+    @Test
+    public void testRepeatRequestPeriod() {
+        assertEquals(XmrTxProofScheduler.MIN_REPEAT_REQUEST_PERIOD, XmrTxProofScheduler.getRepeatRequestPeriod(
+                XmrTxProofRequest.Result.PENDING.with(XmrTxProofRequest.Detail.TX_NOT_FOUND), 10));
+        assertEquals(XmrTxProofScheduler.MIN_REPEAT_REQUEST_PERIOD, XmrTxProofScheduler.getRepeatRequestPeriod(
+                XmrTxProofRequest.Result.PENDING.with(XmrTxProofRequest.Detail.PENDING_CONFIRMATIONS.numConfirmations(9)), 10));
+        assertEquals(TimeUnit.MINUTES.toMillis(5), XmrTxProofScheduler.getRepeatRequestPeriod(
+                XmrTxProofRequest.Result.PENDING.with(XmrTxProofRequest.Detail.PENDING_CONFIRMATIONS.numConfirmations(5)), 10));
+        assertEquals(XmrTxProofScheduler.MAX_REPEAT_REQUEST_PERIOD, XmrTxProofScheduler.getRepeatRequestPeriod(
+                XmrTxProofRequest.Result.PENDING.with(XmrTxProofRequest.Detail.PENDING_CONFIRMATIONS.numConfirmations(0)), 20));
+        assertTrue(XmrTxProofScheduler.MIN_REPEAT_REQUEST_PERIOD < XmrTxProofScheduler.MAX_REPEAT_REQUEST_PERIOD);
+    }
+}
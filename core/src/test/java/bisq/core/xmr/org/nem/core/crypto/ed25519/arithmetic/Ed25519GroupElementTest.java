@@ -0,0 +1,90 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.xmr.org.nem.core.crypto.ed25519.arithmetic;
+
+import java.security.SecureRandom;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Ed25519GroupElementTest {
+    private final Random random = new SecureRandom();
+
+    @Test
+    public void testScalarMultiplyWithoutPrecomputedTableMatchesPrecomputedTable() {
+        for (int i = 0; i < 20; i++) {
+            Ed25519EncodedGroupElement encodedPoint = Ed25519Group.BASE_POINT.scalarMultiply(randomScalar()).encode();
+            // Fresh decoded copies, only one of them gets the lookup table
+            Ed25519GroupElement point = encodedPoint.decode();
+            Ed25519GroupElement precomputedPoint = encodedPoint.decode();
+            precomputedPoint.precomputeForScalarMultiplication();
+
+            Ed25519EncodedFieldElement scalar = randomScalar();
+            assertEquals(precomputedPoint.scalarMultiply(scalar).encode(), point.scalarMultiply(scalar).encode());
+        }
+    }
+
+    @Test
+    public void testScalarMultiplyOfBasePoint() {
+        Ed25519GroupElement point = Ed25519Group.BASE_POINT.encode().decode();
+        for (int i = 0; i < 20; i++) {
+            Ed25519EncodedFieldElement scalar = randomScalar();
+            assertEquals(Ed25519Group.BASE_POINT.scalarMultiply(scalar).encode(), point.scalarMultiply(scalar).encode());
+        }
+    }
+
+    @Test
+    public void testScalarMultiplyWithSmallScalars() {
+        Ed25519GroupElement point = Ed25519Group.BASE_POINT.encode().decode();
+        Ed25519GroupElement expected = Ed25519Group.ZERO_P3;
+        for (int i = 0; i < 20; i++) {
+            byte[] raw = new byte[32];
+            raw[0] = (byte) i;
+            assertEquals(expected.encode(), point.scalarMultiply(new Ed25519EncodedFieldElement(raw)).encode());
+            expected = expected.add(point.toCached()).toP3();
+        }
+    }
+
+    @Test
+    public void testDoubleScalarMultiplyVariableTime() {
+        for (int i = 0; i < 20; i++) {
+            Ed25519EncodedGroupElement encodedPoint = Ed25519Group.BASE_POINT.scalarMultiply(randomScalar()).encode();
+            Ed25519GroupElement point = encodedPoint.decode();
+            Ed25519GroupElement precomputedPoint = encodedPoint.decode();
+            precomputedPoint.precomputeForDoubleScalarMultiplication();
+
+            Ed25519EncodedFieldElement a = randomScalar();
+            Ed25519EncodedFieldElement b = randomScalar();
+            // b * B - a * A
+            Ed25519GroupElement expected = Ed25519Group.BASE_POINT.scalarMultiply(b)
+                    .subtract(point.scalarMultiply(a).toCached()).toP3();
+            assertEquals(expected.encode(),
+                    Ed25519Group.BASE_POINT.doubleScalarMultiplyVariableTime(precomputedPoint, a, b).encode());
+        }
+    }
+
+    private Ed25519EncodedFieldElement randomScalar() {
+        byte[] raw = new byte[32];
+        random.nextBytes(raw);
+        raw[31] &= 0x7f;
+        return new Ed25519EncodedFieldElement(raw);
+    }
+}
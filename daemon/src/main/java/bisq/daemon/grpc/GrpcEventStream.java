@@ -0,0 +1,130 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.daemon.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the events of a server streaming subscription to the client without ever blocking the publisher
+ * (the user thread). Events are queued by key (e.g. an offer id), and a newer event replaces a queued event
+ * with the same key, so a slow client gets the latest state of each offer, trade or price instead of an
+ * ever growing backlog. Queued events get written whenever gRPC's flow control signals the call is ready.
+ * Events of the initial snapshot of a subscription never replace a queued event, as that one is newer.
+ * <p>
+ * If a client does not keep up with more than maxPendingEvents distinct keys, the subscription gets closed
+ * with RESOURCE_EXHAUSTED. The close handler gets called once if the subscription got closed or cancelled,
+ * to remove the listeners feeding it.
+ */
+@Slf4j
+class GrpcEventStream<E> {
+    static final int DEFAULT_MAX_PENDING_EVENTS = 10_000;
+
+    private final ServerCallStreamObserver<E> responseObserver;
+    private final int maxPendingEvents;
+    private final Map<Object, E> pendingEvents = new LinkedHashMap<>();
+    private Runnable closeHandler = () -> {
+    };
+    private boolean isClosed;
+
+    GrpcEventStream(StreamObserver<E> responseObserver) {
+        this(responseObserver, DEFAULT_MAX_PENDING_EVENTS);
+    }
+
+    GrpcEventStream(StreamObserver<E> responseObserver, int maxPendingEvents) {
+        this.responseObserver = (ServerCallStreamObserver<E>) responseObserver;
+        this.maxPendingEvents = maxPendingEvents;
+        this.responseObserver.setOnReadyHandler(this::writePendingEvents);
+        this.responseObserver.setOnCancelHandler(this::close);
+    }
+
+    synchronized void setCloseHandler(Runnable closeHandler) {
+        this.closeHandler = closeHandler;
+        if (isClosed) {
+            closeHandler.run();
+        }
+    }
+
+    synchronized void publish(Object key, E event) {
+        if (isClosed) {
+            return;
+        }
+
+        // Re-inserting moves the key to the end, so events stay in the order of their latest change
+        pendingEvents.remove(key);
+        pendingEvents.put(key, event);
+        if (pendingEvents.size() > maxPendingEvents) {
+            log.warn("Closing subscription as the client did not keep up with {} pending events", pendingEvents.size());
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED
+                    .withDescription("subscriber is too slow, too many pending events")
+                    .asRuntimeException());
+            close();
+            return;
+        }
+        writePendingEvents();
+    }
+
+    // The snapshot must be published after the listeners feeding the stream got registered, so a change is either
+    // part of the snapshot or gets published by a listener. A queued event published by a listener (e.g. a
+    // REMOVED event) is newer than the snapshot, so we do not let the snapshot replace it.
+    synchronized void publishSnapshot(Object key, E event) {
+        if (pendingEvents.containsKey(key)) {
+            return;
+        }
+        publish(key, event);
+    }
+
+    synchronized int getNumPendingEvents() {
+        return pendingEvents.size();
+    }
+
+    synchronized boolean isClosed() {
+        return isClosed;
+    }
+
+    private synchronized void writePendingEvents() {
+        Iterator<E> iterator = pendingEvents.values().iterator();
+        try {
+            while (!isClosed && responseObserver.isReady() && iterator.hasNext()) {
+                E event = iterator.next();
+                iterator.remove();
+                responseObserver.onNext(event);
+            }
+        } catch (RuntimeException e) {
+            // The call got closed by the transport
+            log.warn("Could not write event to subscription. {}", e.toString());
+            close();
+        }
+    }
+
+    private synchronized void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        pendingEvents.clear();
+        closeHandler.run();
+    }
+}
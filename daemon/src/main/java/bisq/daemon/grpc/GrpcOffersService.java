@@ -19,9 +19,15 @@ package bisq.daemon.grpc;
 
 import bisq.core.api.CoreApi;
 import bisq.core.api.model.OfferInfo;
+import bisq.core.api.model.OfferQuery;
+import bisq.core.api.model.OfferQueryResult;
 import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
+import bisq.core.offer.OfferDirection;
 import bisq.core.offer.OpenOffer;
 
+import bisq.common.UserThread;
+
 import bisq.proto.grpc.CancelOfferReply;
 import bisq.proto.grpc.CancelOfferRequest;
 import bisq.proto.grpc.CreateBsqSwapOfferReply;
@@ -45,6 +51,8 @@ import bisq.proto.grpc.GetOfferReply;
 import bisq.proto.grpc.GetOfferRequest;
 import bisq.proto.grpc.GetOffersReply;
 import bisq.proto.grpc.GetOffersRequest;
+import bisq.proto.grpc.OfferEvent;
+import bisq.proto.grpc.SubscribeOffersRequest;
 
 import io.grpc.ServerInterceptor;
 import io.grpc.stub.StreamObserver;
@@ -54,6 +62,7 @@ import javax.inject.Inject;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -195,7 +204,21 @@ class GrpcOffersService extends OffersImplBase {
     public void getOffers(GetOffersRequest req,
                           StreamObserver<GetOffersReply> responseObserver) {
         try {
-            List<OfferInfo> result = coreApi.getOffers(req.getDirection(), req.getCurrencyCode())
+            OfferQuery query = OfferQuery.builder(req.getDirection(), req.getCurrencyCode())
+                    .withPaymentMethodId(req.getPaymentMethodId())
+                    .withMinPrice(req.getMinPrice())
+                    .withMaxPrice(req.getMaxPrice())
+                    .withMinAmount(req.getMinAmount())
+                    .withMaxAmount(req.getMaxAmount())
+                    .withMinMakerAccountAgeDays(req.getMinMakerAccountAgeDays())
+                    .withOnlySignedMakers(req.getOnlySignedMakers())
+                    .withOnlyTakeable(req.getOnlyTakeable())
+                    .withOffset(req.getOffset())
+                    .withLimit(req.getLimit())
+                    .withCursor(req.getCursor())
+                    .build();
+            OfferQueryResult queryResult = coreApi.getOffers(query);
+            List<OfferInfo> result = queryResult.getOffers()
                     .stream()
                     .map(OfferInfo::toOfferInfo)
                     .collect(Collectors.toList());
@@ -203,6 +226,7 @@ class GrpcOffersService extends OffersImplBase {
                     .addAllOffers(result.stream()
                             .map(OfferInfo::toProtoMessage)
                             .collect(Collectors.toList()))
+                    .setNextCursor(queryResult.getNextCursor())
                     .build();
             responseObserver.onNext(reply);
             responseObserver.onCompleted();
@@ -337,6 +361,68 @@ class GrpcOffersService extends OffersImplBase {
         }
     }
 
+    @Override
+    public void subscribeOffers(SubscribeOffersRequest req,
+                                StreamObserver<OfferEvent> responseObserver) {
+        try {
+            OfferDirection direction = OfferDirection.valueOf(req.getDirection().toUpperCase());
+            String currencyCode = req.getCurrencyCode().toUpperCase();
+            Predicate<Offer> isOfferOfMarket = offer ->
+                    offer.getDirection() == direction && offer.getCurrencyCode().equals(currencyCode);
+
+            GrpcEventStream<OfferEvent> eventStream = new GrpcEventStream<>(responseObserver);
+            OfferBookService.OfferBookChangedListener offerBookChangedListener = new OfferBookService.OfferBookChangedListener() {
+                @Override
+                public void onAdded(Offer offer) {
+                    if (isOfferOfMarket.test(offer)) {
+                        publishOfferEvent(eventStream, OfferEvent.EventType.ADDED, offer);
+                    }
+                }
+
+                @Override
+                public void onRemoved(Offer offer) {
+                    if (isOfferOfMarket.test(offer)) {
+                        publishOfferEvent(eventStream, OfferEvent.EventType.REMOVED, offer);
+                    }
+                }
+            };
+            OfferBookService.OfferPricesChangedListener offerPricesChangedListener = offerPriceDelta -> {
+                if (!offerPriceDelta.getCurrencyCode().equals(currencyCode)) {
+                    return;
+                }
+                for (int i = 0; i < offerPriceDelta.size(); i++) {
+                    coreApi.findOfferInOfferBook(offerPriceDelta.getOfferId(i))
+                            .filter(isOfferOfMarket)
+                            .ifPresent(offer -> publishOfferEvent(eventStream, OfferEvent.EventType.PRICE_CHANGED, offer));
+                }
+            };
+
+            // The offer book gets changed on the user thread. Taking the snapshot and registering the listeners
+            // there in one go ensures no offer gets added or removed in between.
+            UserThread.execute(() -> {
+                try {
+                    // Validates the direction and currency code before we subscribe
+                    List<Offer> offers = coreApi.getOffers(req.getDirection(), req.getCurrencyCode());
+                    coreApi.addOfferBookChangedListener(offerBookChangedListener);
+                    coreApi.addOfferPricesChangedListener(offerPricesChangedListener);
+                    // Runs the close handler at once if the client cancelled already, so the listeners must be
+                    // added before
+                    eventStream.setCloseHandler(() -> {
+                        coreApi.removeOfferBookChangedListener(offerBookChangedListener);
+                        coreApi.removeOfferPricesChangedListener(offerPricesChangedListener);
+                    });
+
+                    offers.forEach(offer -> eventStream.publishSnapshot(offer.getId(),
+                            toOfferEvent(OfferEvent.EventType.ADDED, offer)));
+                } catch (Throwable cause) {
+                    exceptionHandler.handleException(log, cause, responseObserver);
+                }
+            });
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(log, cause, responseObserver);
+        }
+    }
+
     final ServerInterceptor[] interceptors() {
         Optional<ServerInterceptor> rateMeteringInterceptor = rateMeteringInterceptor();
         return rateMeteringInterceptor.map(serverInterceptor ->
@@ -355,10 +441,22 @@ class GrpcOffersService extends OffersImplBase {
                             put(getCreateOfferMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
                             put(getEditOfferMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
                             put(getCancelOfferMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
+                            put(getSubscribeOffersMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                         }}
                 )));
     }
 
+    private void publishOfferEvent(GrpcEventStream<OfferEvent> eventStream, OfferEvent.EventType eventType, Offer offer) {
+        eventStream.publish(offer.getId(), toOfferEvent(eventType, offer));
+    }
+
+    private OfferEvent toOfferEvent(OfferEvent.EventType eventType, Offer offer) {
+        return OfferEvent.newBuilder()
+                .setEventType(eventType)
+                .setOffer(toOfferInfo(offer).toProtoMessage())
+                .build();
+    }
+
     private OfferCategory getOfferCategory(String offerId, boolean isMyOffer) {
         if (coreApi.isAltcoinOffer(offerId, isMyOffer))
             return ALTCOIN;
@@ -20,14 +20,18 @@ package bisq.daemon.grpc;
 import bisq.core.api.CoreApi;
 import bisq.core.monetary.Altcoin;
 import bisq.core.monetary.Price;
+import bisq.core.provider.price.PriceFeedService;
 
+import bisq.common.UserThread;
 import bisq.common.util.Tuple2;
 
 import bisq.proto.grpc.AverageBsqTradePrice;
 import bisq.proto.grpc.GetAverageBsqTradePriceReply;
 import bisq.proto.grpc.GetAverageBsqTradePriceRequest;
+import bisq.proto.grpc.MarketPriceEvent;
 import bisq.proto.grpc.MarketPriceReply;
 import bisq.proto.grpc.MarketPriceRequest;
+import bisq.proto.grpc.SubscribeMarketPricesRequest;
 
 import io.grpc.ServerInterceptor;
 import io.grpc.stub.StreamObserver;
@@ -41,13 +45,18 @@ import java.math.RoundingMode;
 
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import static bisq.common.util.MathUtils.roundDouble;
+import static bisq.core.locale.CurrencyUtil.isFiatCurrency;
 import static bisq.daemon.grpc.interceptor.GrpcServiceRateMeteringConfig.getCustomRateMeteringInterceptor;
 import static bisq.proto.grpc.PriceGrpc.PriceImplBase;
 import static bisq.proto.grpc.PriceGrpc.getGetAverageBsqTradePriceMethod;
 import static bisq.proto.grpc.PriceGrpc.getGetMarketPriceMethod;
+import static bisq.proto.grpc.PriceGrpc.getSubscribeMarketPricesMethod;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 
@@ -96,6 +105,42 @@ class GrpcPriceService extends PriceImplBase {
         }
     }
 
+    @Override
+    public void subscribeMarketPrices(SubscribeMarketPricesRequest req,
+                                      StreamObserver<MarketPriceEvent> responseObserver) {
+        try {
+            Set<String> currencyCodes = req.getCurrencyCodesList().stream()
+                    .map(String::toUpperCase)
+                    .collect(Collectors.toSet());
+            GrpcEventStream<MarketPriceEvent> eventStream = new GrpcEventStream<>(responseObserver);
+            PriceFeedService.MarketPricesChangedListener marketPricesChangedListener = changedCurrencyCodes ->
+                    changedCurrencyCodes.stream()
+                            .filter(currencyCode -> currencyCodes.isEmpty() || currencyCodes.contains(currencyCode))
+                            .forEach(currencyCode -> publishMarketPrice(eventStream, currencyCode));
+
+            // The market prices get changed on the user thread. Taking the snapshot and registering the listener
+            // there in one go ensures no price change gets lost in between.
+            UserThread.execute(() -> {
+                try {
+                    coreApi.addMarketPricesChangedListener(marketPricesChangedListener);
+                    // Runs the close handler at once if the client cancelled already, so the listener must be
+                    // added before
+                    eventStream.setCloseHandler(() -> coreApi.removeMarketPricesChangedListener(marketPricesChangedListener));
+
+                    // No currency codes means all currencies
+                    Set<String> snapshotCurrencyCodes = currencyCodes.isEmpty() ?
+                            coreApi.getMarketPriceCurrencyCodes() :
+                            currencyCodes;
+                    snapshotCurrencyCodes.forEach(currencyCode -> publishMarketPrice(eventStream, currencyCode));
+                } catch (Throwable cause) {
+                    exceptionHandler.handleException(log, cause, responseObserver);
+                }
+            });
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(log, cause, responseObserver);
+        }
+    }
+
     final ServerInterceptor[] interceptors() {
         Optional<ServerInterceptor> rateMeteringInterceptor = rateMeteringInterceptor();
         return rateMeteringInterceptor.map(serverInterceptor ->
@@ -108,10 +153,21 @@ class GrpcPriceService extends PriceImplBase {
                         new HashMap<>() {{
                             put(getGetMarketPriceMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                             put(getGetAverageBsqTradePriceMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
+                            put(getSubscribeMarketPricesMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                         }}
                 )));
     }
 
+    private void publishMarketPrice(GrpcEventStream<MarketPriceEvent> eventStream, String currencyCode) {
+        coreApi.findMarketPrice(currencyCode).ifPresent(marketPrice ->
+                eventStream.publish(currencyCode, MarketPriceEvent.newBuilder()
+                        .setCurrencyCode(currencyCode)
+                        // Same precision as at GetMarketPrice
+                        .setPrice(roundDouble(marketPrice.getPrice(), isFiatCurrency(currencyCode) ? 4 : 8))
+                        .setTimestamp(marketPrice.getTimestampSec())
+                        .build()));
+    }
+
     private GetAverageBsqTradePriceReply buildGetAverageBsqTradePriceReply(Tuple2<Price, Price> prices) {
         var usdPrice = new BigDecimal(prices.first.toString())
                 .setScale(Fiat.SMALLEST_UNIT_EXPONENT, RoundingMode.HALF_UP);
@@ -18,6 +18,7 @@
 package bisq.daemon.grpc;
 
 import bisq.core.api.CoreApi;
+import bisq.core.api.TradeEventListener;
 import bisq.core.api.model.CanceledTradeInfo;
 import bisq.core.api.model.TradeInfo;
 import bisq.core.offer.Offer;
@@ -26,6 +27,8 @@ import bisq.core.trade.model.TradeModel;
 import bisq.core.trade.model.bisq_v1.Trade;
 import bisq.core.trade.model.bsq_swap.BsqSwapTrade;
 
+import bisq.common.UserThread;
+
 import bisq.proto.grpc.CloseTradeReply;
 import bisq.proto.grpc.CloseTradeRequest;
 import bisq.proto.grpc.ConfirmPaymentReceivedReply;
@@ -39,8 +42,10 @@ import bisq.proto.grpc.GetTradeReply;
 import bisq.proto.grpc.GetTradeRequest;
 import bisq.proto.grpc.GetTradesReply;
 import bisq.proto.grpc.GetTradesRequest;
+import bisq.proto.grpc.SubscribeTradeEventsRequest;
 import bisq.proto.grpc.TakeOfferReply;
 import bisq.proto.grpc.TakeOfferRequest;
+import bisq.proto.grpc.TradeEvent;
 import bisq.proto.grpc.UnFailTradeReply;
 import bisq.proto.grpc.UnFailTradeRequest;
 import bisq.proto.grpc.WithdrawFundsReply;
@@ -262,6 +267,50 @@ class GrpcTradesService extends TradesImplBase {
         }
     }
 
+    @Override
+    public void subscribeTradeEvents(SubscribeTradeEventsRequest req,
+                                     StreamObserver<TradeEvent> responseObserver) {
+        try {
+            GrpcEventStream<TradeEvent> eventStream = new GrpcEventStream<>(responseObserver);
+            TradeEventListener tradeEventListener = new TradeEventListener() {
+                @Override
+                public void onTradeAdded(TradeModel tradeModel) {
+                    // BSQ swap trades are completed when added
+                    publishTradeEvent(eventStream, TradeEvent.EventType.ADDED, tradeModel,
+                            !(tradeModel instanceof BsqSwapTrade));
+                }
+
+                @Override
+                public void onTradeStateChanged(TradeModel tradeModel) {
+                    publishTradeEvent(eventStream, TradeEvent.EventType.STATE_CHANGED, tradeModel, true);
+                }
+
+                @Override
+                public void onTradeRemoved(TradeModel tradeModel) {
+                    publishTradeEvent(eventStream, TradeEvent.EventType.REMOVED, tradeModel, false);
+                }
+            };
+
+            // The trades get changed on the user thread. Taking the snapshot and registering the listener there
+            // in one go ensures no trade event gets lost in between.
+            UserThread.execute(() -> {
+                try {
+                    List<TradeModel> openTrades = coreApi.getOpenTrades();
+                    coreApi.addTradeEventListener(tradeEventListener);
+                    // Runs the close handler at once if the client cancelled already, so the listener must be
+                    // added before
+                    eventStream.setCloseHandler(() -> coreApi.removeTradeEventListener(tradeEventListener));
+
+                    openTrades.forEach(tradeModel -> publishTradeSnapshot(eventStream, tradeModel));
+                } catch (Throwable cause) {
+                    exceptionHandler.handleException(log, cause, responseObserver);
+                }
+            });
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(log, cause, responseObserver);
+        }
+    }
+
     final ServerInterceptor[] interceptors() {
         Optional<ServerInterceptor> rateMeteringInterceptor = rateMeteringInterceptor();
         return rateMeteringInterceptor.map(serverInterceptor ->
@@ -279,6 +328,7 @@ class GrpcTradesService extends TradesImplBase {
                             put(getConfirmPaymentReceivedMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
                             put(getCloseTradeMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
                             put(getWithdrawFundsMethod().getFullMethodName(), new GrpcCallRateMeter(1, MINUTES));
+                            put(getSubscribeTradeEventsMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                         }}
                 )));
     }
@@ -333,20 +383,7 @@ class GrpcTradesService extends TradesImplBase {
         // Build an unsorted List<TradeInfo>, starting with
         // all pending, or all completed BsqSwap and v1 trades.
         List<TradeInfo> unsortedTrades = trades.stream()
-                .map(tradeModel -> {
-                    var role = coreApi.getTradeRole(tradeModel);
-                    var isMyOffer = coreApi.isMyOffer(tradeModel.getOffer());
-                    var isBsqSwapTrade = tradeModel instanceof BsqSwapTrade;
-                    var numConfirmations = isBsqSwapTrade
-                            ? coreApi.getTransactionConfirmations(((BsqSwapTrade) tradeModel).getTxId())
-                            : 0;
-                    var closingStatus = category.equals(OPEN)
-                            ? "Pending"
-                            : coreApi.getClosedTradeStateAsString(tradeModel);
-                    return isBsqSwapTrade
-                            ? toTradeInfo((BsqSwapTrade) tradeModel, role, isMyOffer, numConfirmations, closingStatus)
-                            : toTradeInfo(tradeModel, role, isMyOffer, closingStatus);
-                })
+                .map(tradeModel -> buildTradeInfo(tradeModel, category.equals(OPEN)))
                 .collect(Collectors.toList());
 
         // If closed trades were requested, add any canceled
@@ -374,6 +411,49 @@ class GrpcTradesService extends TradesImplBase {
                 .build();
     }
 
+    private TradeInfo buildTradeInfo(TradeModel tradeModel, boolean isOpen) {
+        var role = coreApi.getTradeRole(tradeModel);
+        var isMyOffer = coreApi.isMyOffer(tradeModel.getOffer());
+        var isBsqSwapTrade = tradeModel instanceof BsqSwapTrade;
+        var numConfirmations = isBsqSwapTrade
+                ? coreApi.getTransactionConfirmations(((BsqSwapTrade) tradeModel).getTxId())
+                : 0;
+        var closingStatus = isOpen
+                ? "Pending"
+                : coreApi.getClosedTradeStateAsString(tradeModel);
+        return isBsqSwapTrade
+                ? toTradeInfo((BsqSwapTrade) tradeModel, role, isMyOffer, numConfirmations, closingStatus)
+                : toTradeInfo(tradeModel, role, isMyOffer, closingStatus);
+    }
+
+    private void publishTradeEvent(GrpcEventStream<TradeEvent> eventStream,
+                                   TradeEvent.EventType eventType,
+                                   TradeModel tradeModel,
+                                   boolean isOpen) {
+        try {
+            eventStream.publish(tradeModel.getId(), toTradeEvent(eventType, tradeModel, isOpen));
+        } catch (Throwable cause) {
+            // E.g. the wallet got locked, we keep the subscription for later events
+            log.warn("Could not publish {} event of trade {}. {}", eventType, tradeModel.getId(), cause.toString());
+        }
+    }
+
+    private void publishTradeSnapshot(GrpcEventStream<TradeEvent> eventStream, TradeModel tradeModel) {
+        try {
+            eventStream.publishSnapshot(tradeModel.getId(),
+                    toTradeEvent(TradeEvent.EventType.ADDED, tradeModel, true));
+        } catch (Throwable cause) {
+            log.warn("Could not publish snapshot of trade {}. {}", tradeModel.getId(), cause.toString());
+        }
+    }
+
+    private TradeEvent toTradeEvent(TradeEvent.EventType eventType, TradeModel tradeModel, boolean isOpen) {
+        return TradeEvent.newBuilder()
+                .setEventType(eventType)
+                .setTrade(buildTradeInfo(tradeModel, isOpen).toProtoMessage())
+                .build();
+    }
+
     private boolean wasMyOffer(TradeModel tradeModel) {
         return coreApi.isMyOffer(tradeModel.getOffer());
     }
@@ -1,16 +1,15 @@
 package bisq.daemon.grpc.interceptor;
 
+import bisq.common.util.RollingWindowRateLimiter;
+
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.ArrayDeque;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Predicate;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import static java.lang.String.format;
-import static java.lang.System.currentTimeMillis;
 
 @Slf4j
 public class GrpcCallRateMeter {
@@ -25,7 +24,8 @@ public class GrpcCallRateMeter {
     @Getter
     private transient final long timeUnitIntervalInMilliseconds;
 
-    private transient final ArrayDeque<Long> callTimestamps;
+    // Interceptors get called concurrently, so we use the lock free rate limiter instead of a queue of timestamps
+    private transient final RollingWindowRateLimiter rateLimiter;
 
     public GrpcCallRateMeter(int allowedCallsPerTimeWindow, TimeUnit timeUnit) {
         this(allowedCallsPerTimeWindow, timeUnit, 1);
@@ -36,21 +36,16 @@ public class GrpcCallRateMeter {
         this.timeUnit = timeUnit;
         this.numTimeUnits = numTimeUnits;
         this.timeUnitIntervalInMilliseconds = timeUnit.toMillis(1) * numTimeUnits;
-        this.callTimestamps = new ArrayDeque<>();
+        this.rateLimiter = new RollingWindowRateLimiter(allowedCallsPerTimeWindow, timeUnitIntervalInMilliseconds,
+                TimeUnit.MILLISECONDS);
     }
 
     public boolean checkAndIncrement() {
-        if (getCallsCount() < allowedCallsPerTimeWindow) {
-            incrementCallsCount();
-            return true;
-        } else {
-            return false;
-        }
+        return rateLimiter.tryAcquire();
     }
 
     public int getCallsCount() {
-        removeStaleCallTimestamps();
-        return callTimestamps.size();
+        return rateLimiter.getCount();
     }
 
     public String getCallsCountProgress(String calledMethodName) {
@@ -58,38 +53,23 @@ public class GrpcCallRateMeter {
         // Just print 'GetVersion has been called N times...',
         // not 'io.bisq.protobuffer.GetVersion/GetVersion has been called N times...'
         String loggedMethodName = calledMethodName.split("/")[1];
+        int callsCount = getCallsCount();
         return format("%s has been called %d time%s in the last %s, rate limit is %d/%s",
                 loggedMethodName,
-                callTimestamps.size(),
-                callTimestamps.size() == 1 ? "" : "s",
+                callsCount,
+                callsCount == 1 ? "" : "s",
                 shortTimeUnitName,
                 allowedCallsPerTimeWindow,
                 shortTimeUnitName);
     }
 
-    private void incrementCallsCount() {
-        callTimestamps.add(currentTimeMillis());
-    }
-
-    private void removeStaleCallTimestamps() {
-        while (!callTimestamps.isEmpty() && isStale.test(callTimestamps.peek())) {
-            callTimestamps.remove();
-        }
-    }
-
-    private final Predicate<Long> isStale = (t) -> {
-        long stale = currentTimeMillis() - this.getTimeUnitIntervalInMilliseconds();
-        // Is the given timestamp before the current time minus 1 timeUnit in millis?
-        return t < stale;
-    };
-
     @Override
     public String toString() {
         return "GrpcCallRateMeter{" +
                 "allowedCallsPerTimeWindow=" + allowedCallsPerTimeWindow +
                 ", timeUnit=" + timeUnit.name() +
                 ", timeUnitIntervalInMilliseconds=" + timeUnitIntervalInMilliseconds +
-                ", callsCount=" + callTimestamps.size() +
+                ", callsCount=" + getCallsCount() +
                 '}';
     }
 }
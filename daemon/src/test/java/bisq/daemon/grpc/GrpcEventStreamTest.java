@@ -0,0 +1,186 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.daemon.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GrpcEventStreamTest {
+    private TestResponseObserver responseObserver;
+    private GrpcEventStream<String> eventStream;
+    private AtomicInteger numClosed;
+
+    @BeforeEach
+    public void setUp() {
+        responseObserver = new TestResponseObserver();
+        eventStream = new GrpcEventStream<>(responseObserver, 3);
+        numClosed = new AtomicInteger();
+        eventStream.setCloseHandler(numClosed::incrementAndGet);
+    }
+
+    @Test
+    public void testEventsAreWrittenWhenReady() {
+        eventStream.publish("offer-1", "added offer-1");
+        eventStream.publish("offer-2", "added offer-2");
+        assertEquals(List.of("added offer-1", "added offer-2"), responseObserver.events);
+        assertEquals(0, eventStream.getNumPendingEvents());
+    }
+
+    @Test
+    public void testEventsOfSameKeyGetCoalescedWhileNotReady() {
+        responseObserver.isReady = false;
+        eventStream.publish("offer-1", "added offer-1");
+        eventStream.publish("offer-2", "added offer-2");
+        eventStream.publish("offer-1", "removed offer-1");
+        assertEquals(2, eventStream.getNumPendingEvents());
+        assertTrue(responseObserver.events.isEmpty());
+
+        responseObserver.setReady();
+        // The latest event of offer-1 is written after offer-2 as it changed last
+        assertEquals(List.of("added offer-2", "removed offer-1"), responseObserver.events);
+        assertEquals(0, eventStream.getNumPendingEvents());
+    }
+
+    @Test
+    public void testSnapshotEventDoesNotReplaceQueuedEvent() {
+        responseObserver.isReady = false;
+        eventStream.publish("offer-1", "removed offer-1");
+        eventStream.publishSnapshot("offer-1", "added offer-1");
+        eventStream.publishSnapshot("offer-2", "added offer-2");
+        assertEquals(2, eventStream.getNumPendingEvents());
+
+        responseObserver.setReady();
+        assertEquals(List.of("removed offer-1", "added offer-2"), responseObserver.events);
+    }
+
+    @Test
+    public void testTooSlowSubscriberGetsClosed() {
+        responseObserver.isReady = false;
+        for (int i = 0; i < 4; i++) {
+            eventStream.publish("offer-" + i, "added offer-" + i);
+        }
+        assertTrue(eventStream.isClosed());
+        assertEquals(1, numClosed.get());
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, Status.fromThrowable(responseObserver.error).getCode());
+
+        // Events after closing are ignored
+        responseObserver.setReady();
+        eventStream.publish("offer-5", "added offer-5");
+        assertTrue(responseObserver.events.isEmpty());
+    }
+
+    @Test
+    public void testCancelledSubscriptionGetsClosed() {
+        responseObserver.onCancelHandler.run();
+        assertEquals(1, numClosed.get());
+        eventStream.publish("offer-1", "added offer-1");
+        assertTrue(responseObserver.events.isEmpty());
+        assertNull(responseObserver.error);
+
+        // A close handler set after the cancellation still gets called
+        AtomicInteger numLateClosed = new AtomicInteger();
+        eventStream.setCloseHandler(numLateClosed::incrementAndGet);
+        assertEquals(1, numLateClosed.get());
+    }
+
+    @Test
+    public void testFailingWriteClosesSubscription() {
+        responseObserver.failOnNext = true;
+        eventStream.publish("offer-1", "added offer-1");
+        assertEquals(1, numClosed.get());
+    }
+
+    private static class TestResponseObserver extends ServerCallStreamObserver<String> {
+        private final List<String> events = new ArrayList<>();
+        private boolean isReady = true;
+        private boolean failOnNext;
+        private Runnable onReadyHandler;
+        private Runnable onCancelHandler;
+        private Throwable error;
+
+        void setReady() {
+            isReady = true;
+            onReadyHandler.run();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setOnCancelHandler(Runnable onCancelHandler) {
+            this.onCancelHandler = onCancelHandler;
+        }
+
+        @Override
+        public void setCompression(String compression) {
+        }
+
+        @Override
+        public boolean isReady() {
+            return isReady;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+            this.onReadyHandler = onReadyHandler;
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void request(int count) {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+
+        @Override
+        public void onNext(String event) {
+            if (failOnNext) {
+                throw new StatusRuntimeException(Status.CANCELLED);
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+}
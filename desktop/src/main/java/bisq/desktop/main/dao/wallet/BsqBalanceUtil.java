@@ -21,6 +21,8 @@ import bisq.desktop.components.TitledGroupBg;
 import bisq.desktop.util.FormBuilder;
 import bisq.desktop.util.Layout;
 
+import bisq.core.btc.WalletBalanceSnapshot;
+import bisq.core.btc.WalletBalanceSnapshotService;
 import bisq.core.btc.listeners.BsqBalanceListener;
 import bisq.core.btc.wallet.BsqWalletService;
 import bisq.core.dao.DaoFacade;
@@ -51,6 +53,7 @@ public class BsqBalanceUtil implements BsqBalanceListener, DaoStateListener {
     private final DaoStateService daoStateService;
     private final BsqFormatter bsqFormatter;
     private final DaoFacade daoFacade;
+    private final WalletBalanceSnapshotService walletBalanceSnapshotService;
 
     // Displaying general BSQ info
     private TextField availableBalanceTextField, verifiedBalanceTextField, availableNonBsqBalanceTextField,
@@ -65,11 +68,13 @@ public class BsqBalanceUtil implements BsqBalanceListener, DaoStateListener {
     private BsqBalanceUtil(BsqWalletService bsqWalletService,
                            DaoStateService daoStateService,
                            BsqFormatter bsqFormatter,
-                           DaoFacade daoFacade) {
+                           DaoFacade daoFacade,
+                           WalletBalanceSnapshotService walletBalanceSnapshotService) {
         this.bsqWalletService = bsqWalletService;
         this.daoStateService = daoStateService;
         this.bsqFormatter = bsqFormatter;
         this.daoFacade = daoFacade;
+        this.walletBalanceSnapshotService = walletBalanceSnapshotService;
     }
 
 
@@ -135,6 +140,19 @@ public class BsqBalanceUtil implements BsqBalanceListener, DaoStateListener {
 
 
     private void triggerUpdate() {
+        // Until the balance got calculated from the parsed DAO state we show the balance of the last session
+        if (!bsqWalletService.isBalanceCalculated() && walletBalanceSnapshotService.getSnapshot().isPresent()) {
+            WalletBalanceSnapshot snapshot = walletBalanceSnapshotService.getSnapshot().get();
+            onUpdateBalances(Coin.valueOf(snapshot.getBsqAvailableBalance()),
+                    Coin.valueOf(snapshot.getBsqAvailableNonBsqBalance()),
+                    Coin.valueOf(snapshot.getBsqUnverifiedBalance()),
+                    Coin.valueOf(snapshot.getBsqUnconfirmedChangeBalance()),
+                    Coin.valueOf(snapshot.getBsqLockedForVotingBalance()),
+                    Coin.valueOf(snapshot.getBsqLockupBondsBalance()),
+                    Coin.valueOf(snapshot.getBsqUnlockingBondsBalance()));
+            return;
+        }
+
         onUpdateBalances(bsqWalletService.getAvailableBalance(),
                 bsqWalletService.getAvailableNonBsqBalance(),
                 bsqWalletService.getUnverifiedBalance(),
@@ -68,7 +68,10 @@ class DepositListItem implements FilterableListItem {
         return lazyFieldsSupplier.get();
     }
 
-    DepositListItem(AddressEntry addressEntry, BtcWalletService walletService, CoinFormatter formatter) {
+    DepositListItem(AddressEntry addressEntry,
+                    Coin balanceAsCoin,
+                    BtcWalletService walletService,
+                    CoinFormatter formatter) {
         this.walletService = walletService;
 
         addressString = addressEntry.getAddressString();
@@ -111,7 +114,7 @@ class DepositListItem implements FilterableListItem {
         };
         walletService.addBalanceListener(balanceListener);
 
-        balanceAsCoin = walletService.getBalanceForAddress(address);
+        this.balanceAsCoin = balanceAsCoin;
         balance.set(formatter.formatCoin(balanceAsCoin));
 
         updateUsage(address);
@@ -89,6 +89,7 @@ import javafx.util.Callback;
 import java.io.ByteArrayInputStream;
 
 import java.util.Comparator;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -333,8 +334,12 @@ public class DepositView extends ActivatableView<VBox, Void> {
     private void updateList() {
         observableList.forEach(DepositListItem::cleanup);
         observableList.clear();
+        Map<Address, Coin> balancesByAddress = walletService.getBalancesByAddress();
         walletService.getAvailableAddressEntries()
-                .forEach(e -> observableList.add(new DepositListItem(e, walletService, formatter)));
+                .forEach(e -> observableList.add(new DepositListItem(e,
+                        balancesByAddress.getOrDefault(e.getAddress(), Coin.ZERO),
+                        walletService,
+                        formatter)));
     }
 
     private Coin getAmountAsCoin() {
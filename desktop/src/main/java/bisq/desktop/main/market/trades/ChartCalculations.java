@@ -17,13 +17,15 @@
 
 package bisq.desktop.main.market.trades;
 
-import bisq.desktop.main.market.trades.TradesChartsViewModel.TickUnit;
 import bisq.desktop.main.market.trades.charts.CandleData;
 import bisq.desktop.util.DisplayUtils;
 
 import bisq.core.locale.CurrencyUtil;
 import bisq.core.monetary.Altcoin;
+import bisq.core.trade.statistics.TickUnit;
 import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.trade.statistics.TradeStatisticsCandle;
+import bisq.core.trade.statistics.TradeStatisticsManager;
 
 import bisq.common.util.MathUtils;
 import bisq.common.util.Tuple2;
@@ -31,30 +33,21 @@ import bisq.common.util.Tuple2;
 import org.bitcoinj.core.Coin;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableSortedSet;
 
 import javafx.scene.chart.XYChart;
 
-import javafx.util.Pair;
-
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableSet;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import lombok.Getter;
 
@@ -69,40 +62,6 @@ public class ChartCalculations {
     // Async
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    static CompletableFuture<Map<TickUnit, Map<Long, Long>>> getUsdAveragePriceMapsPerTickUnit(NavigableSet<TradeStatistics3> sortedTradeStatisticsSet) {
-        return CompletableFuture.supplyAsync(() -> {
-            Map<TickUnit, Map<Long, PriceAccumulator>> priceAccumulatorMapsPerTickUnit = new HashMap<>();
-            for (TickUnit tick : TickUnit.values()) {
-                priceAccumulatorMapsPerTickUnit.put(tick, new HashMap<>());
-            }
-
-            // Stream the trade statistics in reverse chronological order
-            TickUnit[] tickUnits = TickUnit.values();
-            sortedTradeStatisticsSet.descendingSet().stream()
-                    .filter(e -> e.getCurrency().equals("USD"))
-                    .forEach(tradeStatistics -> {
-                        for (TickUnit tickUnit : tickUnits) {
-                            Map<Long, PriceAccumulator> map = priceAccumulatorMapsPerTickUnit.get(tickUnit);
-                            if (map.size() > MAX_TICKS) {
-                                // No more prices are needed once more than MAX_TICKS candles have been spanned
-                                // (and tick size is decreasing so we may break out of the whole loop)
-                                break;
-                            }
-                            long time = roundToTick(tradeStatistics.getLocalDateTime(), tickUnit).getTime();
-                            map.computeIfAbsent(time, t -> new PriceAccumulator()).add(tradeStatistics);
-                        }
-                    });
-
-            Map<TickUnit, Map<Long, Long>> usdAveragePriceMapsPerTickUnit = new HashMap<>();
-            priceAccumulatorMapsPerTickUnit.forEach((tickUnit, map) -> {
-                HashMap<Long, Long> priceMap = new HashMap<>();
-                map.forEach((date, accumulator) -> priceMap.put(date, accumulator.getAveragePrice()));
-                usdAveragePriceMapsPerTickUnit.put(tickUnit, priceMap);
-            });
-            return usdAveragePriceMapsPerTickUnit;
-        });
-    }
-
     static CompletableFuture<List<TradeStatistics3>> getTradeStatisticsForCurrency(Set<TradeStatistics3> tradeStatisticsSet,
                                                                                    String currencyCode,
                                                                                    boolean showAllTradeCurrencies) {
@@ -111,31 +70,40 @@ public class ChartCalculations {
                 .collect(Collectors.toList()));
     }
 
-    static CompletableFuture<UpdateChartResult> getUpdateChartResult(List<TradeStatistics3> tradeStatisticsByCurrency,
+    static CompletableFuture<UpdateChartResult> getUpdateChartResult(TradeStatisticsManager tradeStatisticsManager,
                                                                      TickUnit tickUnit,
-                                                                     Map<TickUnit, Map<Long, Long>> usdAveragePriceMapsPerTickUnit,
-                                                                     String currencyCode) {
+                                                                     String currencyCode,
+                                                                     boolean showAllTradeCurrencies) {
         return CompletableFuture.supplyAsync(() -> {
-            // Generate date range and create sets for all ticks
-            List<Pair<Date, Set<TradeStatistics3>>> itemsPerInterval = getItemsPerInterval(tradeStatisticsByCurrency, tickUnit);
+            // Generate date range. The candles fill the ticks from index 1 to MAX_TICKS.
+            List<Long> tickStarts = getTickStarts(tickUnit);
+            long fromTickStart = tickStarts.get(1);
+            long toTickStart = tickStarts.get(MAX_TICKS);
+            Map<Long, Integer> tickIndexByTickStart = new HashMap<>();
+            for (int i = 1; i <= MAX_TICKS; i++) {
+                tickIndexByTickStart.put(tickStarts.get(i), i);
+            }
 
-            Map<Long, Long> usdAveragePriceMap = usdAveragePriceMapsPerTickUnit.get(tickUnit);
-            AtomicLong averageUsdPrice = new AtomicLong(0);
+            // The candles are pre-aggregated by the trade statistics manager, so we only touch the displayed ticks
+            List<TradeStatisticsCandle> candles = showAllTradeCurrencies ?
+                    tradeStatisticsManager.getCandles(tickUnit, fromTickStart, toTickStart) :
+                    tradeStatisticsManager.getCandles(currencyCode, tickUnit, fromTickStart, toTickStart);
+            Map<Long, Long> usdAveragePriceMap = tradeStatisticsManager.getCandles("USD", tickUnit, fromTickStart, toTickStart)
+                    .stream()
+                    .collect(Collectors.toMap(TradeStatisticsCandle::getTickStart, ChartCalculations::getFiatAveragePrice));
 
             // create CandleData for defined time interval
-            List<CandleData> candleDataList = IntStream.range(0, itemsPerInterval.size())
-                    .filter(i -> !itemsPerInterval.get(i).getValue().isEmpty())
-                    .mapToObj(i -> {
-                        Pair<Date, Set<TradeStatistics3>> pair = itemsPerInterval.get(i);
-                        long tickStartDate = pair.getKey().getTime();
-                        // If we don't have a price we take the previous one
-                        if (usdAveragePriceMap.containsKey(tickStartDate)) {
-                            averageUsdPrice.set(usdAveragePriceMap.get(tickStartDate));
-                        }
-                        return getCandleData(i, pair.getValue(), averageUsdPrice.get(), tickUnit, currencyCode, itemsPerInterval);
-                    })
-                    .sorted(Comparator.comparingLong(o -> o.tick))
-                    .collect(Collectors.toList());
+            long averageUsdPrice = 0;
+            List<CandleData> candleDataList = new ArrayList<>(candles.size());
+            for (TradeStatisticsCandle candle : candles) {
+                Integer tickIndex = tickIndexByTickStart.get(candle.getTickStart());
+                if (tickIndex == null) {
+                    continue;
+                }
+                // If we don't have a price we take the previous one
+                averageUsdPrice = usdAveragePriceMap.getOrDefault(candle.getTickStart(), averageUsdPrice);
+                candleDataList.add(getCandleData(tickIndex, candle, averageUsdPrice, tickUnit, currencyCode, tickStarts));
+            }
 
             List<XYChart.Data<Number, Number>> priceItems = candleDataList.stream()
                     .map(e -> new XYChart.Data<Number, Number>(e.tick, e.open, e))
@@ -149,23 +117,23 @@ public class ChartCalculations {
                     .map(candleData -> new XYChart.Data<Number, Number>(candleData.tick, candleData.volumeInUsd, candleData))
                     .collect(Collectors.toList());
 
-            return new UpdateChartResult(itemsPerInterval, priceItems, volumeItems, volumeInUsdItems);
+            return new UpdateChartResult(tickStarts, priceItems, volumeItems, volumeInUsdItems);
         });
     }
 
     @Getter
     static class UpdateChartResult {
-        private final List<Pair<Date, Set<TradeStatistics3>>> itemsPerInterval;
+        private final List<Long> tickStarts;
         private final List<XYChart.Data<Number, Number>> priceItems;
         private final List<XYChart.Data<Number, Number>> volumeItems;
         private final List<XYChart.Data<Number, Number>> volumeInUsdItems;
 
-        public UpdateChartResult(List<Pair<Date, Set<TradeStatistics3>>> itemsPerInterval,
+        public UpdateChartResult(List<Long> tickStarts,
                                  List<XYChart.Data<Number, Number>> priceItems,
                                  List<XYChart.Data<Number, Number>> volumeItems,
                                  List<XYChart.Data<Number, Number>> volumeInUsdItems) {
 
-            this.itemsPerInterval = itemsPerInterval;
+            this.tickStarts = tickStarts;
             this.priceItems = priceItems;
             this.volumeItems = volumeItems;
             this.volumeInUsdItems = volumeInUsdItems;
@@ -177,73 +145,24 @@ public class ChartCalculations {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    static List<Pair<Date, Set<TradeStatistics3>>> getItemsPerInterval(List<TradeStatistics3> tradeStatisticsByCurrency,
-                                                                       TickUnit tickUnit) {
-        // Generate date range and create lists for all ticks
-        List<Pair<Date, List<TradeStatistics3>>> itemsPerInterval = new ArrayList<>(Collections.nCopies(MAX_TICKS + 2, null));
-        Date time = new Date();
+    static List<Long> getTickStarts(TickUnit tickUnit) {
+        // Generate date range for all ticks, the last one is now
+        List<Long> tickStarts = new ArrayList<>(Collections.nCopies(MAX_TICKS + 2, 0L));
+        long time = new Date().getTime();
         for (int i = MAX_TICKS + 1; i >= 0; --i) {
-            Pair<Date, List<TradeStatistics3>> pair = new Pair<>((Date) time.clone(), new ArrayList<>());
-            itemsPerInterval.set(i, pair);
+            tickStarts.set(i, time);
             // We adjust the time for the next iteration
-            time.setTime(time.getTime() - 1);
-            time = roundToTick(time, tickUnit);
-        }
-
-        // Get all entries for the defined time interval
-        int i = MAX_TICKS;
-        for (TradeStatistics3 tradeStatistics : tradeStatisticsByCurrency) {
-            // Start from the last used tick index - move forwards if necessary
-            for (; i < MAX_TICKS; i++) {
-                Pair<Date, List<TradeStatistics3>> pair = itemsPerInterval.get(i + 1);
-                if (!tradeStatistics.getDate().after(pair.getKey())) {
-                    break;
-                }
-            }
-            // Scan backwards until the correct tick is reached
-            for (; i > 0; --i) {
-                Pair<Date, List<TradeStatistics3>> pair = itemsPerInterval.get(i);
-                if (tradeStatistics.getDate().after(pair.getKey())) {
-                    pair.getValue().add(tradeStatistics);
-                    break;
-                }
-            }
-        }
-        // Convert the lists into sorted sets
-        return itemsPerInterval.stream()
-                .map(pair -> new Pair<>(pair.getKey(), (Set<TradeStatistics3>) ImmutableSortedSet.copyOf(pair.getValue())))
-                .collect(Collectors.toList());
-    }
-
-
-    private static LocalDateTime roundToTickAsLocalDateTime(LocalDateTime localDateTime,
-                                                            TickUnit tickUnit) {
-        switch (tickUnit) {
-            case YEAR:
-                return localDateTime.withMonth(1).withDayOfYear(1).toLocalDate().atStartOfDay();
-            case MONTH:
-                return localDateTime.withDayOfMonth(1).toLocalDate().atStartOfDay();
-            case WEEK:
-                int dayOfWeek = localDateTime.getDayOfWeek().getValue();
-                LocalDate firstDayOfWeek = localDateTime.toLocalDate().minusDays(dayOfWeek - 1);
-                return firstDayOfWeek.atStartOfDay();
-            case DAY:
-                return localDateTime.toLocalDate().atStartOfDay();
-            case HOUR:
-                return localDateTime.withMinute(0).withSecond(0).withNano(0);
-            case MINUTE_10:
-                return localDateTime.withMinute(localDateTime.getMinute() - localDateTime.getMinute() % 10).withSecond(0).withNano(0);
-            default:
-                return localDateTime;
+            time = roundToTick(new Date(time - 1), tickUnit).getTime();
         }
+        return tickStarts;
     }
 
     // Use an array rather than an EnumMap here, since the latter is not thread safe - this gives benign races only:
     private static final Tuple2<?, ?>[] cachedLocalDateTimeToDateMappings = new Tuple2<?, ?>[TickUnit.values().length];
 
     private static Date roundToTick(LocalDateTime localDateTime, TickUnit tickUnit) {
-        LocalDateTime rounded = roundToTickAsLocalDateTime(localDateTime, tickUnit);
-        // Benefits from caching last result (per tick unit) since trade statistics are pre-sorted by date
+        LocalDateTime rounded = tickUnit.truncate(localDateTime);
+        // Benefits from caching last result (per tick unit) since ticks are generated in sequence
         int i = tickUnit.ordinal();
         var tuple = cachedLocalDateTimeToDateMappings[i];
         if (tuple == null || !rounded.equals(tuple.first)) {
@@ -258,41 +177,18 @@ public class ChartCalculations {
     }
 
     @VisibleForTesting
-    static CandleData getCandleData(int tickIndex, Set<TradeStatistics3> set,
+    static CandleData getCandleData(int tickIndex,
+                                    TradeStatisticsCandle candle,
                                     long averageUsdPrice,
                                     TickUnit tickUnit,
                                     String currencyCode,
-                                    List<Pair<Date, Set<TradeStatistics3>>> itemsPerInterval) {
-        long open = 0;
-        long close = 0;
-        long high = 0;
-        long low = 0;
-        long accumulatedVolume = 0;
-        long accumulatedAmount = 0;
-        long numTrades = set.size();
-
-        int arrayIndex = 0;
-        long[] tradePrices = new long[set.size()];
-        for (TradeStatistics3 item : set) {
-            long tradePriceAsLong = item.getTradePrice().getValue();
-            // Previously a check was done which inverted the low and high for cryptocurrencies.
-            low = (low != 0) ? Math.min(low, tradePriceAsLong) : tradePriceAsLong;
-            high = (high != 0) ? Math.max(high, tradePriceAsLong) : tradePriceAsLong;
-
-            accumulatedVolume += item.getTradeVolume().getValue();
-            accumulatedAmount += item.getTradeAmount().getValue();
-            tradePrices[arrayIndex++] = tradePriceAsLong;
-        }
-        Arrays.sort(tradePrices);
-
-        if (!set.isEmpty()) {
-            NavigableSet<TradeStatistics3> sortedSet = ImmutableSortedSet.copyOf(set);
-            open = sortedSet.first().getTradePrice().getValue();
-            close = sortedSet.last().getTradePrice().getValue();
-        }
+                                    List<Long> tickStarts) {
+        long open = candle.getOpen();
+        long close = candle.getClose();
+        long accumulatedVolume = candle.getAccumulatedVolume();
+        long accumulatedAmount = candle.getAccumulatedAmount();
 
         long averagePrice;
-        long medianPrice = MathUtils.getMedian(tradePrices);
         boolean isBullish;
         if (CurrencyUtil.isCryptoCurrency(currencyCode)) {
             isBullish = close < open;
@@ -300,12 +196,11 @@ public class ChartCalculations {
             averagePrice = MathUtils.roundDoubleToLong(accumulatedAmountAsDouble / (double) accumulatedVolume);
         } else {
             isBullish = close > open;
-            double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedVolume, Coin.SMALLEST_UNIT_EXPONENT);
-            averagePrice = MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) accumulatedAmount);
+            averagePrice = getFiatAveragePrice(candle);
         }
 
-        Date dateFrom = new Date(getTimeFromTickIndex(tickIndex, itemsPerInterval));
-        Date dateTo = new Date(getTimeFromTickIndex(tickIndex + 1, itemsPerInterval));
+        Date dateFrom = new Date(getTimeFromTickIndex(tickIndex, tickStarts));
+        Date dateTo = new Date(getTimeFromTickIndex(tickIndex + 1, tickStarts));
         String dateString = tickUnit.ordinal() > TickUnit.DAY.ordinal() ?
                 DisplayUtils.formatDateTimeSpan(dateFrom, dateTo) :
                 DisplayUtils.formatDate(dateFrom) + " - " + DisplayUtils.formatDate(dateTo);
@@ -315,29 +210,20 @@ public class ChartCalculations {
         long volumeInUsd = averageUsdPrice * (long) MathUtils.scaleDownByPowerOf10((double) accumulatedAmount, 4);
         // We store USD value without decimals as its only total volume, no precision is needed.
         volumeInUsd = (long) MathUtils.scaleDownByPowerOf10((double) volumeInUsd, 4);
-        return new CandleData(tickIndex, open, close, high, low, averagePrice, medianPrice, accumulatedAmount, accumulatedVolume,
-                numTrades, isBullish, dateString, volumeInUsd);
+        return new CandleData(tickIndex, open, close, candle.getHigh(), candle.getLow(), averagePrice,
+                candle.getMedianPrice(), accumulatedAmount, accumulatedVolume, candle.getNumTrades(), isBullish,
+                dateString, volumeInUsd);
     }
 
-    static long getTimeFromTickIndex(int tickIndex, List<Pair<Date, Set<TradeStatistics3>>> itemsPerInterval) {
-        if (tickIndex < 0 || tickIndex >= itemsPerInterval.size()) {
+    static long getTimeFromTickIndex(int tickIndex, List<Long> tickStarts) {
+        if (tickIndex < 0 || tickIndex >= tickStarts.size()) {
             return 0;
         }
-        return itemsPerInterval.get(tickIndex).getKey().getTime();
+        return tickStarts.get(tickIndex);
     }
 
-    private static class PriceAccumulator {
-        private long accumulatedAmount;
-        private long accumulatedVolume;
-
-        void add(TradeStatistics3 tradeStatistics) {
-            accumulatedAmount += tradeStatistics.getAmount();
-            accumulatedVolume += tradeStatistics.getTradeVolume().getValue();
-        }
-
-        long getAveragePrice() {
-            double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedVolume, Coin.SMALLEST_UNIT_EXPONENT);
-            return MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) accumulatedAmount);
-        }
+    private static long getFiatAveragePrice(TradeStatisticsCandle candle) {
+        double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) candle.getAccumulatedVolume(), Coin.SMALLEST_UNIT_EXPONENT);
+        return MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) candle.getAccumulatedAmount());
     }
 }
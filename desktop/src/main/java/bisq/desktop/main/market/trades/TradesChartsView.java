@@ -36,6 +36,7 @@ import bisq.core.locale.CurrencyUtil;
 import bisq.core.locale.Res;
 import bisq.core.locale.TradeCurrency;
 import bisq.core.monetary.Price;
+import bisq.core.trade.statistics.TickUnit;
 import bisq.core.trade.statistics.TradeStatistics3;
 import bisq.core.user.CookieKey;
 import bisq.core.user.User;
@@ -230,7 +231,7 @@ public class TradesChartsView extends ActivatableViewAndModel<VBox, TradesCharts
 
         timeUnitChangeListener = (observable, oldValue, newValue) -> {
             if (newValue != null) {
-                model.setTickUnit((TradesChartsViewModel.TickUnit) newValue.getUserData());
+                model.setTickUnit((TickUnit) newValue.getUserData());
                 priceAxisX.setTickLabelFormatter(getTimeAxisStringConverter());
                 volumeAxisX.setTickLabelFormatter(getTimeAxisStringConverter());
                 volumeInUsdAxisX.setTickLabelFormatter(getTimeAxisStringConverter());
@@ -716,12 +717,12 @@ public class TradesChartsView extends ActivatableViewAndModel<VBox, TradesCharts
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
         toggleGroup = new ToggleGroup();
-        ToggleButton year = getToggleButton(Res.get("time.year"), TradesChartsViewModel.TickUnit.YEAR, toggleGroup, "toggle-left");
-        ToggleButton month = getToggleButton(Res.get("time.month"), TradesChartsViewModel.TickUnit.MONTH, toggleGroup, "toggle-center");
-        ToggleButton week = getToggleButton(Res.get("time.week"), TradesChartsViewModel.TickUnit.WEEK, toggleGroup, "toggle-center");
-        ToggleButton day = getToggleButton(Res.get("time.day"), TradesChartsViewModel.TickUnit.DAY, toggleGroup, "toggle-center");
-        ToggleButton hour = getToggleButton(Res.get("time.hour"), TradesChartsViewModel.TickUnit.HOUR, toggleGroup, "toggle-center");
-        ToggleButton minute10 = getToggleButton(Res.get("time.minute10"), TradesChartsViewModel.TickUnit.MINUTE_10, toggleGroup, "toggle-right");
+        ToggleButton year = getToggleButton(Res.get("time.year"), TickUnit.YEAR, toggleGroup, "toggle-left");
+        ToggleButton month = getToggleButton(Res.get("time.month"), TickUnit.MONTH, toggleGroup, "toggle-center");
+        ToggleButton week = getToggleButton(Res.get("time.week"), TickUnit.WEEK, toggleGroup, "toggle-center");
+        ToggleButton day = getToggleButton(Res.get("time.day"), TickUnit.DAY, toggleGroup, "toggle-center");
+        ToggleButton hour = getToggleButton(Res.get("time.hour"), TickUnit.HOUR, toggleGroup, "toggle-center");
+        ToggleButton minute10 = getToggleButton(Res.get("time.minute10"), TickUnit.MINUTE_10, toggleGroup, "toggle-right");
 
         HBox toggleBox = new HBox();
         toggleBox.setSpacing(0);
@@ -738,7 +739,7 @@ public class TradesChartsView extends ActivatableViewAndModel<VBox, TradesCharts
     }
 
     private ToggleButton getToggleButton(String label,
-                                         TradesChartsViewModel.TickUnit tickUnit,
+                                         TickUnit tickUnit,
                                          ToggleGroup toggleGroup,
                                          String style) {
         ToggleButton toggleButton = new AutoTooltipToggleButton(label);
@@ -31,12 +31,12 @@ import bisq.core.locale.CurrencyUtil;
 import bisq.core.locale.GlobalSettings;
 import bisq.core.locale.TradeCurrency;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.statistics.TickUnit;
 import bisq.core.trade.statistics.TradeStatistics3;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 import bisq.core.user.Preferences;
 
 import bisq.common.UserThread;
-import bisq.common.util.CompletableFutureUtils;
 
 import com.google.inject.Inject;
 
@@ -51,16 +51,9 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.SetChangeListener;
 
-import javafx.util.Pair;
-
 import java.util.ArrayList;
-import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -69,20 +62,6 @@ class TradesChartsViewModel extends ActivatableViewModel {
     static final int MAX_TICKS = 90;
     private static final int TAB_INDEX = 2;
 
-    ///////////////////////////////////////////////////////////////////////////////////////////
-    // Enum
-    ///////////////////////////////////////////////////////////////////////////////////////////
-
-    // NOTE: For the code to work correctly, order must be from biggest to smallest duration:
-    public enum TickUnit {
-        YEAR,
-        MONTH,
-        WEEK,
-        DAY,
-        HOUR,
-        MINUTE_10
-    }
-
     private final TradeStatisticsManager tradeStatisticsManager;
     final Preferences preferences;
     private final PriceFeedService priceFeedService;
@@ -97,11 +76,10 @@ class TradesChartsViewModel extends ActivatableViewModel {
     final ObservableList<XYChart.Data<Number, Number>> priceItems = FXCollections.observableArrayList();
     final ObservableList<XYChart.Data<Number, Number>> volumeItems = FXCollections.observableArrayList();
     final ObservableList<XYChart.Data<Number, Number>> volumeInUsdItems = FXCollections.observableArrayList();
-    private final List<Pair<Date, Set<TradeStatistics3>>> itemsPerInterval = new ArrayList<>();
+    private final List<Long> tickStarts = new ArrayList<>();
 
     TickUnit tickUnit;
     private int selectedTabIndex;
-    final Map<TickUnit, Map<Long, Long>> usdAveragePriceMapsPerTickUnit = new HashMap<>();
     private boolean fillTradeCurrenciesOnActivateCalled;
     private volatile boolean deactivateCalled;
 
@@ -119,17 +97,8 @@ class TradesChartsViewModel extends ActivatableViewModel {
         this.navigation = navigation;
 
         setChangeListener = change -> {
-            applyAsyncTradeStatisticsForCurrency(getCurrencyCode())
-                    .whenComplete((result, throwable) -> {
-                        if (deactivateCalled) {
-                            return;
-                        }
-                        if (throwable != null) {
-                            log.error("Error at setChangeListener/applyAsyncTradeStatisticsForCurrency. {}", throwable.toString());
-                            return;
-                        }
-                        applyAsyncChartData();
-                    });
+            applyAsyncTradeStatisticsForCurrency(getCurrencyCode());
+            applyAsyncChartData();
             fillTradeCurrencies();
         };
 
@@ -158,29 +127,10 @@ class TradesChartsViewModel extends ActivatableViewModel {
         syncPriceFeedCurrency();
         setMarketPriceFeedCurrency();
 
-        List<CompletableFuture<Boolean>> allFutures = new ArrayList<>();
-        CompletableFuture<Boolean> task1Done = new CompletableFuture<>();
-        allFutures.add(task1Done);
-        CompletableFuture<Boolean> task2Done = new CompletableFuture<>();
-        allFutures.add(task2Done);
-        CompletableFutureUtils.allOf(allFutures)
-                .whenComplete((res, throwable) -> {
-                    if (deactivateCalled) {
-                        return;
-                    }
-                    if (throwable != null) {
-                        log.error(throwable.toString());
-                        return;
-                    }
-                    //Once applyAsyncUsdAveragePriceMapsPerTickUnit and applyAsyncTradeStatisticsForCurrency are
-                    // both completed we call applyAsyncChartData
-                    UserThread.execute(this::applyAsyncChartData);
-                });
-
-        // We call applyAsyncUsdAveragePriceMapsPerTickUnit and applyAsyncTradeStatisticsForCurrency
-        // in parallel for better performance
-        applyAsyncUsdAveragePriceMapsPerTickUnit(task1Done);
-        applyAsyncTradeStatisticsForCurrency(getCurrencyCode(), task2Done);
+        // The chart data is based on the candles of the tradeStatisticsManager, so we do not need to wait for
+        // the trade statistics of the selected currency and can run both in parallel
+        applyAsyncTradeStatisticsForCurrency(getCurrencyCode());
+        applyAsyncChartData();
 
         log.debug("activate took {}", System.currentTimeMillis() - ts);
     }
@@ -193,12 +143,11 @@ class TradesChartsViewModel extends ActivatableViewModel {
         // We want to avoid to trigger listeners in the view so we delay a bit. Deactivate on model is called before
         // deactivate on view.
         UserThread.execute(() -> {
-            usdAveragePriceMapsPerTickUnit.clear();
             tradeStatisticsByCurrency.clear();
             priceItems.clear();
             volumeItems.clear();
             volumeInUsdItems.clear();
-            itemsPerInterval.clear();
+            tickStarts.clear();
         });
     }
 
@@ -207,34 +156,7 @@ class TradesChartsViewModel extends ActivatableViewModel {
     // Async calls
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private void applyAsyncUsdAveragePriceMapsPerTickUnit(CompletableFuture<Boolean> completeFuture) {
-        long ts = System.currentTimeMillis();
-        ChartCalculations.getUsdAveragePriceMapsPerTickUnit(tradeStatisticsManager.getNavigableTradeStatisticsSet())
-                .whenComplete((usdAveragePriceMapsPerTickUnit, throwable) -> {
-                    if (deactivateCalled) {
-                        return;
-                    }
-                    if (throwable != null) {
-                        log.error("Error at applyAsyncUsdAveragePriceMapsPerTickUnit. {}", throwable.toString());
-                        completeFuture.completeExceptionally(throwable);
-                        return;
-                    }
-                    UserThread.execute(() -> {
-                        this.usdAveragePriceMapsPerTickUnit.clear();
-                        this.usdAveragePriceMapsPerTickUnit.putAll(usdAveragePriceMapsPerTickUnit);
-                        log.debug("applyAsyncUsdAveragePriceMapsPerTickUnit took {}", System.currentTimeMillis() - ts);
-                        completeFuture.complete(true);
-                    });
-                });
-    }
-
-    private CompletableFuture<Boolean> applyAsyncTradeStatisticsForCurrency(String currencyCode) {
-        return applyAsyncTradeStatisticsForCurrency(currencyCode, null);
-    }
-
-    private CompletableFuture<Boolean> applyAsyncTradeStatisticsForCurrency(String currencyCode,
-                                                                            @Nullable CompletableFuture<Boolean> completeFuture) {
-        CompletableFuture<Boolean> future = new CompletableFuture<>();
+    private void applyAsyncTradeStatisticsForCurrency(String currencyCode) {
         long ts = System.currentTimeMillis();
         ChartCalculations.getTradeStatisticsForCurrency(tradeStatisticsManager.getObservableTradeStatisticsSet(),
                         currencyCode,
@@ -245,30 +167,22 @@ class TradesChartsViewModel extends ActivatableViewModel {
                     }
                     if (throwable != null) {
                         log.error("Error at applyAsyncTradeStatisticsForCurrency. {}", throwable.toString());
-                        if (completeFuture != null) {
-                            completeFuture.completeExceptionally(throwable);
-                        }
                         return;
                     }
 
                     UserThread.execute(() -> {
                         tradeStatisticsByCurrency.setAll(list);
                         log.debug("applyAsyncTradeStatisticsForCurrency took {}", System.currentTimeMillis() - ts);
-                        if (completeFuture != null) {
-                            completeFuture.complete(true);
-                        }
-                        future.complete(true);
                     });
                 });
-        return future;
     }
 
     private void applyAsyncChartData() {
         long ts = System.currentTimeMillis();
-        ChartCalculations.getUpdateChartResult(new ArrayList<>(tradeStatisticsByCurrency),
+        ChartCalculations.getUpdateChartResult(tradeStatisticsManager,
                         tickUnit,
-                        usdAveragePriceMapsPerTickUnit,
-                        getCurrencyCode())
+                        getCurrencyCode(),
+                        showAllTradeCurrenciesProperty.get())
                 .whenComplete((updateChartResult, throwable) -> {
                     if (deactivateCalled) {
                         return;
@@ -278,8 +192,8 @@ class TradesChartsViewModel extends ActivatableViewModel {
                         return;
                     }
                     UserThread.execute(() -> {
-                        itemsPerInterval.clear();
-                        itemsPerInterval.addAll(updateChartResult.getItemsPerInterval());
+                        tickStarts.clear();
+                        tickStarts.addAll(updateChartResult.getTickStarts());
 
                         priceItems.setAll(updateChartResult.getPriceItems());
                         volumeItems.setAll(updateChartResult.getVolumeItems());
@@ -314,17 +228,8 @@ class TradesChartsViewModel extends ActivatableViewModel {
             }
             preferences.setTradeChartsScreenCurrencyCode(code);
 
-            applyAsyncTradeStatisticsForCurrency(getCurrencyCode())
-                    .whenComplete((result, throwable) -> {
-                        if (deactivateCalled) {
-                            return;
-                        }
-                        if (throwable != null) {
-                            log.error("Error at onSetTradeCurrency/applyAsyncTradeStatisticsForCurrency. {}", throwable.toString());
-                            return;
-                        }
-                        applyAsyncChartData();
-                    });
+            applyAsyncTradeStatisticsForCurrency(getCurrencyCode());
+            applyAsyncChartData();
         }
     }
 
@@ -358,7 +263,7 @@ class TradesChartsViewModel extends ActivatableViewModel {
     }
 
     long getTimeFromTickIndex(int tickIndex) {
-        return ChartCalculations.getTimeFromTickIndex(tickIndex, itemsPerInterval);
+        return ChartCalculations.getTimeFromTickIndex(tickIndex, tickStarts);
     }
 
 
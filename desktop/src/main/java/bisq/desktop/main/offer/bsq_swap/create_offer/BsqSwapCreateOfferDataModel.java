@@ -120,6 +120,12 @@ class BsqSwapCreateOfferDataModel extends BsqSwapOfferDataModel {
     // UI actions
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    void onCancel() {
+        if (offer == null) {
+            openBsqSwapOfferService.cancelRequestNewOffer(getOfferId());
+        }
+    }
+
     void onPlaceOffer(Runnable resultHandler) {
         openBsqSwapOfferService.placeBsqSwapOffer(offer,
                 resultHandler,
@@ -206,6 +206,7 @@ public class BsqSwapCreateOfferView extends BsqSwapOfferView<BsqSwapCreateOfferV
 
     @Override
     protected void onCancel1() {
+        model.dataModel.onCancel();
         close();
     }
 
@@ -253,6 +254,7 @@ public class BsqSwapCreateOfferView extends BsqSwapOfferView<BsqSwapCreateOfferV
 
     @Override
     protected void onCancel2() {
+        model.dataModel.onCancel();
         close();
     }
 
@@ -18,6 +18,7 @@
 package bisq.desktop.main.offer.offerbook;
 
 import bisq.core.filter.FilterManager;
+import bisq.core.monetary.Price;
 import bisq.core.offer.Offer;
 import bisq.core.offer.OfferBookService;
 import bisq.core.offer.OfferRestrictions;
@@ -39,6 +40,8 @@ import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 import static bisq.core.offer.OfferDirection.BUY;
 
 /**
@@ -214,6 +217,19 @@ public class OfferBook {
         return offerBookListItems;
     }
 
+    @Nullable
+    public Price getPrice(Offer offer) {
+        return offerBookService.getPrice(offer);
+    }
+
+    public void addOfferPricesChangedListener(OfferBookService.OfferPricesChangedListener listener) {
+        offerBookService.addOfferPricesChangedListener(listener);
+    }
+
+    public void removeOfferPricesChangedListener(OfferBookService.OfferPricesChangedListener listener) {
+        offerBookService.removeOfferPricesChangedListener(listener);
+    }
+
     public void fillOfferBookListItems() {
         try {
             // setAll causes sometimes an UnsupportedOperationException
@@ -222,6 +238,8 @@ public class OfferBook {
             offerBookListItems.addAll(offerBookService.getOffers().stream()
                     .filter(this::isOfferAllowed)
                     .filter(offer -> !offer.isBsqSwapOffer() || filterManager.isProofOfWorkValid(offer))
+                    // List items change the offer state, so we don't use the offer book's shared instances
+                    .map(offerBookService::copyOf)
                     .map(OfferBookListItem::new)
                     .collect(Collectors.toList()));
 
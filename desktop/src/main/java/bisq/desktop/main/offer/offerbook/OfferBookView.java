@@ -58,6 +58,7 @@ import bisq.core.locale.Res;
 import bisq.core.locale.TradeCurrency;
 import bisq.core.monetary.Price;
 import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
 import bisq.core.offer.OfferDirection;
 import bisq.core.offer.OfferFilterService;
 import bisq.core.offer.OfferRestrictions;
@@ -105,7 +106,6 @@ import org.fxmisc.easybind.Subscription;
 import org.fxmisc.easybind.monadic.MonadicBinding;
 
 import javafx.beans.property.ReadOnlyObjectWrapper;
-import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import javafx.collections.ListChangeListener;
@@ -150,7 +150,7 @@ abstract public class OfferBookView<R extends GridPane, M extends OfferBookViewM
     private int gridRow = 0;
     private Label nrOfOffersLabel;
     private ListChangeListener<OfferBookListItem> offerListListener;
-    private ChangeListener<Number> priceFeedUpdateCounterListener;
+    private OfferBookService.OfferPricesChangedListener offerPricesChangedListener;
     private Subscription currencySelectionSubscriber;
     private static final int SHOW_ALL = 0;
     private Label disabledCreateOfferButtonTooltip;
@@ -291,8 +291,8 @@ abstract public class OfferBookView<R extends GridPane, M extends OfferBookViewM
         };
         // If we do not have a % price we use only fix price and sort by that
         priceColumn.setComparator(marketBasedPriceComparator.thenComparing((o1, o2) -> {
-            Price price2 = o2.getOffer().getPrice();
-            Price price1 = o1.getOffer().getPrice();
+            Price price2 = model.getOfferPrice(o2.getOffer());
+            Price price1 = model.getOfferPrice(o1.getOffer());
             if (price2 == null || price1 == null) {
                 return 0;
             }
@@ -338,7 +338,14 @@ abstract public class OfferBookView<R extends GridPane, M extends OfferBookViewM
 
         // Fixes incorrect ordering of Available offers:
         // https://github.com/bisq-network/bisq-desktop/issues/588
-        priceFeedUpdateCounterListener = (observable, oldValue, newValue) -> tableView.sort();
+        // We only need to sort again if market based offers of the shown market got repriced. Fixed price offers
+        // keep their price, sorting the whole table puts them at the right place relative to the repriced offers.
+        offerPricesChangedListener = offerPriceDelta -> {
+            if (model.showAllTradeCurrenciesProperty.get() ||
+                    offerPriceDelta.getCurrencyCode().equals(model.getSelectedTradeCurrency().getCode())) {
+                tableView.sort();
+            }
+        };
     }
 
     abstract protected String getMarketTitle();
@@ -453,7 +460,7 @@ abstract public class OfferBookView<R extends GridPane, M extends OfferBookViewM
         model.getOfferList().addListener(offerListListener);
         nrOfOffersLabel.setText(Res.get("offerbook.nrOffers", model.getOfferList().size()));
 
-        model.priceFeedService.updateCounterProperty().addListener(priceFeedUpdateCounterListener);
+        model.addOfferPricesChangedListener(offerPricesChangedListener);
     }
 
     private void updatePaymentMethodComboBoxEditor() {
@@ -495,7 +502,7 @@ abstract public class OfferBookView<R extends GridPane, M extends OfferBookViewM
         model.getOfferList().comparatorProperty().unbind();
 
         model.getOfferList().removeListener(offerListListener);
-        model.priceFeedService.updateCounterProperty().removeListener(priceFeedUpdateCounterListener);
+        model.removeOfferPricesChangedListener(offerPricesChangedListener);
 
         currencySelectionSubscriber.unsubscribe();
 
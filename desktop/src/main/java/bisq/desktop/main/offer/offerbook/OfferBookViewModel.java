@@ -42,6 +42,7 @@ import bisq.core.locale.TradeCurrency;
 import bisq.core.monetary.Price;
 import bisq.core.monetary.Volume;
 import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
 import bisq.core.offer.OfferDirection;
 import bisq.core.offer.OfferFilterService;
 import bisq.core.offer.OfferUtil;
@@ -100,6 +101,8 @@ import java.util.stream.Stream;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 abstract class OfferBookViewModel extends ActivatableViewModel implements DaoStateListener {
     private final OpenOfferManager openOfferManager;
@@ -221,8 +224,8 @@ abstract class OfferBookViewModel extends ActivatableViewModel implements DaoSta
             }
 
             final Optional<OfferBookListItem> highestPriceOffer = filteredItems.stream()
-                    .filter(o -> o.getOffer().getPrice() != null)
-                    .max(Comparator.comparingLong(o -> o.getOffer().getPrice() != null ? o.getOffer().getPrice().getValue() : 0));
+                    .filter(o -> getOfferPrice(o.getOffer()) != null)
+                    .max(Comparator.comparingLong(o -> getOfferPrice(o.getOffer()).getValue()));
 
             highestPriceOffer.ifPresent(offerBookListItem -> maxPlacesForPrice.set(formatPrice(offerBookListItem.getOffer(), false).length()));
 
@@ -416,7 +419,7 @@ abstract class OfferBookViewModel extends ActivatableViewModel implements DaoSta
         }
 
         Offer offer = item.getOffer();
-        Price price = offer.getPrice();
+        Price price = getOfferPrice(offer);
         if (price != null) {
             return formatPrice(offer, true);
         } else {
@@ -429,7 +432,22 @@ abstract class OfferBookViewModel extends ActivatableViewModel implements DaoSta
     }
 
     private String formatPrice(Offer offer, boolean decimalAligned) {
-        return DisplayUtils.formatPrice(offer.getPrice(), decimalAligned, maxPlacesForPrice.get());
+        return DisplayUtils.formatPrice(getOfferPrice(offer), decimalAligned, maxPlacesForPrice.get());
+    }
+
+    // Market based offers get their price from the offer book price index, which avoids recomputing
+    // it at each comparison when sorting
+    @Nullable
+    Price getOfferPrice(Offer offer) {
+        return offerBook.getPrice(offer);
+    }
+
+    void addOfferPricesChangedListener(OfferBookService.OfferPricesChangedListener listener) {
+        offerBook.addOfferPricesChangedListener(listener);
+    }
+
+    void removeOfferPricesChangedListener(OfferBookService.OfferPricesChangedListener listener) {
+        offerBook.removeOfferPricesChangedListener(listener);
     }
 
     String getPriceAsPercentage(OfferBookListItem item) {
@@ -22,18 +22,12 @@ import bisq.desktop.components.BisqTextArea;
 import bisq.desktop.components.InputTextField;
 import bisq.desktop.main.overlays.Overlay;
 import bisq.desktop.main.overlays.popups.Popup;
-import bisq.desktop.main.support.dispute.DisputeSummaryVerification;
 import bisq.desktop.util.DisplayUtils;
 import bisq.desktop.util.Layout;
 
 import bisq.core.btc.TxFeeEstimationService;
-import bisq.core.btc.exceptions.TransactionVerificationException;
-import bisq.core.btc.exceptions.TxBroadcastException;
-import bisq.core.btc.exceptions.WalletException;
 import bisq.core.btc.wallet.BtcWalletService;
 import bisq.core.btc.wallet.Restrictions;
-import bisq.core.btc.wallet.TradeWalletService;
-import bisq.core.btc.wallet.TxBroadcaster;
 import bisq.core.dao.DaoFacade;
 import bisq.core.locale.Res;
 import bisq.core.offer.Offer;
@@ -46,6 +40,7 @@ import bisq.core.support.dispute.DisputeResult;
 import bisq.core.support.dispute.DisputeValidation;
 import bisq.core.support.dispute.mediation.MediationManager;
 import bisq.core.support.dispute.refund.RefundManager;
+import bisq.core.support.dispute.refund.RefundPayoutBatchService;
 import bisq.core.trade.model.bisq_v1.Contract;
 import bisq.core.util.FormattingUtils;
 import bisq.core.util.ParsingUtils;
@@ -59,7 +54,6 @@ import bisq.common.util.Tuple2;
 import bisq.common.util.Tuple3;
 
 import org.bitcoinj.core.Coin;
-import org.bitcoinj.core.InsufficientMoneyException;
 import org.bitcoinj.core.Transaction;
 
 import javax.inject.Inject;
@@ -86,7 +80,6 @@ import javafx.beans.value.ChangeListener;
 
 import java.time.Instant;
 
-import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -102,9 +95,9 @@ public class DisputeSummaryWindow extends Overlay<DisputeSummaryWindow> {
     private final CoinFormatter formatter;
     private final MediationManager mediationManager;
     private final RefundManager refundManager;
-    private final TradeWalletService tradeWalletService;
     private final BtcWalletService btcWalletService;
     private final TxFeeEstimationService txFeeEstimationService;
+    private final RefundPayoutBatchService refundPayoutBatchService;
     private final MempoolService mempoolService;
     private final DaoFacade daoFacade;
     private Dispute dispute;
@@ -142,18 +135,18 @@ public class DisputeSummaryWindow extends Overlay<DisputeSummaryWindow> {
     public DisputeSummaryWindow(@Named(FormattingUtils.BTC_FORMATTER_KEY) CoinFormatter formatter,
                                 MediationManager mediationManager,
                                 RefundManager refundManager,
-                                TradeWalletService tradeWalletService,
                                 BtcWalletService btcWalletService,
                                 TxFeeEstimationService txFeeEstimationService,
+                                RefundPayoutBatchService refundPayoutBatchService,
                                 MempoolService mempoolService,
                                 DaoFacade daoFacade) {
 
         this.formatter = formatter;
         this.mediationManager = mediationManager;
         this.refundManager = refundManager;
-        this.tradeWalletService = tradeWalletService;
         this.btcWalletService = btcWalletService;
         this.txFeeEstimationService = txFeeEstimationService;
+        this.refundPayoutBatchService = refundPayoutBatchService;
         this.mempoolService = mempoolService;
         this.daoFacade = daoFacade;
 
@@ -414,12 +407,7 @@ public class DisputeSummaryWindow extends Overlay<DisputeSummaryWindow> {
     private boolean isPayoutAmountValid() {
         Coin buyerAmount = ParsingUtils.parseToCoin(buyerPayoutAmountInputTextField.getText(), formatter);
         Coin sellerAmount = ParsingUtils.parseToCoin(sellerPayoutAmountInputTextField.getText(), formatter);
-        Contract contract = dispute.getContract();
-        Coin tradeAmount = contract.getTradeAmount();
-        Offer offer = new Offer(contract.getOfferPayload());
-        Coin available = tradeAmount
-                .add(offer.getBuyerSecurityDeposit())
-                .add(offer.getSellerSecurityDeposit());
+        Coin available = DisputeValidation.getMaxPayoutAmount(dispute.getContract());
         Coin totalAmount = buyerAmount.add(sellerAmount);
 
         boolean isRefundAgent = getDisputeManager(dispute) instanceof RefundManager;
@@ -785,12 +773,7 @@ public class DisputeSummaryWindow extends Overlay<DisputeSummaryWindow> {
                     .actionButtonText(Res.get("shared.yes"))
                     .onAction(() -> {
                         payoutPromptOnDisplay = null;
-                        doPayout(buyerPayoutAmount,
-                                sellerPayoutAmount,
-                                fee,
-                                buyerPayoutAddressString,
-                                sellerPayoutAddressString,
-                                asyncStatus);
+                        doPayout(fee, asyncStatus);
                     })
                     .secondaryActionButtonText("skip payout")
                     .onSecondaryAction(() -> asyncStatus.complete(true))
@@ -813,41 +796,15 @@ public class DisputeSummaryWindow extends Overlay<DisputeSummaryWindow> {
         return asyncStatus;
     }
 
-    private void doPayout(Coin buyerPayoutAmount,
-                          Coin sellerPayoutAmount,
-                          Coin fee,
-                          String buyerPayoutAddressString,
-                          String sellerPayoutAddressString,
-                          CompletableFuture<Boolean> resultHandler) {
-        if (dispute.isPayoutDone()) {
-            log.error("Payout already processed, returning to avoid double payout for dispute of trade {}",
-                    dispute.getTradeId());
-            resultHandler.complete(true);
-            return;
-        }
-        dispute.setPayoutDone(true);
-        try {
-            Transaction tx = btcWalletService.createRefundPayoutTx(buyerPayoutAmount,
-                    sellerPayoutAmount,
-                    fee,
-                    buyerPayoutAddressString,
-                    sellerPayoutAddressString);
-            tradeWalletService.broadcastTx(tx, new TxBroadcaster.Callback() {
-                @Override
-                public void onSuccess(Transaction transaction) {
-                    resultHandler.complete(true);
-                }
-
-                @Override
-                public void onFailure(TxBroadcastException exception) {
-                    log.error("TxBroadcastException at doPayout", exception);
-                    new Popup().error(exception.toString()).onClose(() -> resultHandler.complete(false)).show();
-                }
-            });
-        } catch (InsufficientMoneyException | WalletException | TransactionVerificationException e) {
-            log.error("Exception at doPayout", e);
-            new Popup().error(e.toString()).onClose(() -> resultHandler.complete(false)).show();
-        }
+    private void doPayout(Coin fee, CompletableFuture<Boolean> resultHandler) {
+        refundPayoutBatchService.payout(dispute, disputeResult, fee, result -> {
+            if (result.hasErrors()) {
+                String errorMessage = result.getErrorByTradeId().values().iterator().next();
+                new Popup().error(errorMessage).onClose(() -> resultHandler.complete(false)).show();
+            } else {
+                resultHandler.complete(true);
+            }
+        });
     }
 
     private CompletableFuture<Boolean> maybeCheckTransactions() {
@@ -972,50 +929,9 @@ public class DisputeSummaryWindow extends Overlay<DisputeSummaryWindow> {
         if (disputeManager == null) {
             return;
         }
-        boolean isRefundAgent = disputeManager instanceof RefundManager;
-        disputeResult.setLoserPublisher(false); // field no longer used per pazza / leo816
-        disputeResult.setCloseDate(new Date());
-        dispute.setDisputeResult(disputeResult);
-        dispute.setState(isRefundAgent ? Dispute.State.CLOSED : Dispute.State.RESULT_PROPOSED);
-        DisputeResult.Reason reason = disputeResult.getReason();
 
         summaryNotesTextArea.textProperty().unbindBidirectional(disputeResult.summaryNotesProperty());
-        String role = isRefundAgent ? Res.get("shared.refundAgent") : Res.get("shared.mediator");
-        String agentNodeAddress = checkNotNull(disputeManager.getAgentNodeAddress(dispute)).getFullAddress();
-        Contract contract = dispute.getContract();
-        String currencyCode = contract.getOfferPayload().getCurrencyCode();
-        String amount = formatter.formatCoinWithCode(contract.getTradeAmount());
-        String textToSign = Res.get("disputeSummaryWindow.close.msg",
-                DisplayUtils.formatDateTime(disputeResult.getCloseDate()),
-                role,
-                agentNodeAddress,
-                dispute.getShortTradeId(),
-                currencyCode,
-                Res.get("disputeSummaryWindow.reason." + reason.name()),
-                disputeResult.getPayoutSuggestionText(),
-                amount,
-                formatter.formatCoinWithCode(disputeResult.getBuyerPayoutAmount()) +
-                        (isRefundAgent ? "" : " " + disputeResult.getPayoutSuggestionCustomizedToBuyerOrSeller(true)),
-                formatter.formatCoinWithCode(disputeResult.getSellerPayoutAmount()) +
-                        (isRefundAgent ? "" : " " + disputeResult.getPayoutSuggestionCustomizedToBuyerOrSeller(false)),
-                disputeResult.summaryNotesProperty().get()
-        );
-
-        if (reason == DisputeResult.Reason.OPTION_TRADE &&
-                dispute.getChatMessages().size() > 1 &&
-                dispute.getChatMessages().get(1).isSystemMessage()) {
-            textToSign += "\n" + dispute.getChatMessages().get(1).getMessage() + "\n";
-        }
-
-        String summaryText = DisputeSummaryVerification.signAndApply(disputeManager, disputeResult, textToSign);
-
-        if (isRefundAgent) {
-            summaryText += Res.get("disputeSummaryWindow.close.nextStepsForRefundAgentArbitration");
-        } else {
-            summaryText += Res.get("disputeSummaryWindow.close.nextStepsForMediation");
-        }
-
-        disputeManager.sendDisputeResultMessage(disputeResult, dispute, summaryText);
+        disputeManager.applyDisputeResult(dispute, disputeResult, formatter);
 
         peersDisputeOptional.ifPresent(peersDispute -> {
             if (!peersDispute.isResultProposed() && !peersDispute.isClosed()) {
@@ -1026,8 +942,6 @@ public class DisputeSummaryWindow extends Overlay<DisputeSummaryWindow> {
             }
         });
 
-        disputeManager.requestPersistence();
-
         closeTicketButton.disableProperty().unbind();
 
         hide();
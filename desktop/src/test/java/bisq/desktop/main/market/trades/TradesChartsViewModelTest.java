@@ -26,18 +26,25 @@ import bisq.core.monetary.Price;
 import bisq.core.offer.bisq_v1.OfferPayload;
 import bisq.core.payment.payload.PaymentMethod;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.statistics.TickUnit;
 import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.trade.statistics.TradeStatistics3StorageService;
+import bisq.core.trade.statistics.TradeStatisticsCandle;
+import bisq.core.trade.statistics.TradeStatisticsConverter;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 import bisq.core.user.Preferences;
 
+import bisq.network.p2p.P2PService;
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreService;
+
 import org.bitcoinj.core.Coin;
 import org.bitcoinj.utils.Fiat;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableSet;
 
-import javafx.util.Pair;
-
 import java.time.LocalDateTime;
 
 import java.text.DateFormat;
@@ -48,9 +55,11 @@ import java.io.IOException;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -59,6 +68,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class TradesChartsViewModelTest {
     TradesChartsViewModel model;
@@ -133,56 +143,42 @@ public class TradesChartsViewModelTest {
         // TODO: Is this a bug?
         String date = "May 7, 2023 - May 7, 2023";
 
-        Set<TradeStatistics3> set = new HashSet<>();
         Date now = Date.from(LocalDateTime.of(2023, 5, 7, 12, 34)
                 .atZone(ChartCalculations.ZONE_ID).toInstant());
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> map = new HashMap<>();
+        for (TradeStatistics3 tradeStatistics : List.of(
+                newTradeStatistics(currencyCode, "520", now.getTime()),
+                newTradeStatistics(currencyCode, "500", now.getTime() + 100),
+                newTradeStatistics(currencyCode, "600", now.getTime() + 200),
+                newTradeStatistics(currencyCode, "580", now.getTime() + 300))) {
+            map.put(new P2PDataStorage.ByteArray(tradeStatistics.getHash()), tradeStatistics);
+        }
 
-        set.add(new TradeStatistics3(offer.getCurrencyCode(),
-                Price.parse("EUR", "520").getValue(),
-                Coin.parseCoin("1").getValue(),
-                PaymentMethod.BLOCK_CHAINS_ID,
-                now.getTime(),
-                null,
-                null,
-                null,
-                null));
-        set.add(new TradeStatistics3(offer.getCurrencyCode(),
-                Price.parse("EUR", "500").getValue(),
-                Coin.parseCoin("1").getValue(),
-                PaymentMethod.BLOCK_CHAINS_ID,
-                now.getTime() + 100,
-                null,
-                null,
-                null,
-                null));
-        set.add(new TradeStatistics3(offer.getCurrencyCode(),
-                Price.parse("EUR", "600").getValue(),
-                Coin.parseCoin("1").getValue(),
-                PaymentMethod.BLOCK_CHAINS_ID,
-                now.getTime() + 200,
+        // The candle comes from the rollups of the real TradeStatisticsManager
+        TradeStatistics3StorageService storageService = mock(TradeStatistics3StorageService.class);
+        when(storageService.getMapOfAllData()).thenReturn(map);
+        P2PService p2PService = mock(P2PService.class);
+        when(p2PService.getP2PDataStorage()).thenReturn(mock(P2PDataStorage.class));
+        TradeStatisticsManager manager = new TradeStatisticsManager(p2PService,
+                mock(PriceFeedService.class),
+                storageService,
+                mock(AppendOnlyDataStoreService.class),
+                mock(TradeStatisticsConverter.class),
                 null,
-                null,
-                null,
-                null));
-        set.add(new TradeStatistics3(offer.getCurrencyCode(),
-                Price.parse("EUR", "580").getValue(),
-                Coin.parseCoin("1").getValue(),
-                PaymentMethod.BLOCK_CHAINS_ID,
-                now.getTime() + 300,
-                null,
-                null,
-                null,
-                null));
+                false,
+                false);
+        manager.onAllServicesInitialized();
+        Date tickStart = ChartCalculations.roundToTick(now, TickUnit.DAY);
+        List<TradeStatisticsCandle> candles = manager.getCandles(currencyCode, TickUnit.DAY,
+                tickStart.getTime(), tickStart.getTime());
+        assertEquals(1, candles.size());
+        TradeStatisticsCandle candle = candles.get(0);
 
-        Date tickStart = ChartCalculations.roundToTick(now, TradesChartsViewModel.TickUnit.DAY);
-        List<Pair<Date, Set<TradeStatistics3>>> itemsPerInterval = List.of(
-                new Pair<>(tickStart, set), new Pair<>(now, Set.of())
-        );
         CandleData candleData = ChartCalculations.getCandleData(0,
-                set,
+                candle,
                 0,
-                TradesChartsViewModel.TickUnit.DAY, currencyCode,
-                itemsPerInterval);
+                TickUnit.DAY, currencyCode,
+                List.of(tickStart.getTime(), now.getTime()));
         assertEquals(open, candleData.open);
         assertEquals(close, candleData.close);
         assertEquals(high, candleData.high);
@@ -191,10 +187,23 @@ public class TradesChartsViewModelTest {
         assertEquals(median, candleData.median);
         assertEquals(amount, candleData.accumulatedAmount);
         assertEquals(volume, candleData.accumulatedVolume);
+        assertEquals(4, candleData.numTrades);
         assertEquals(isBullish, candleData.isBullish);
         assertEquals(date, candleData.date);
     }
 
+    private static TradeStatistics3 newTradeStatistics(String currencyCode, String price, long date) {
+        return new TradeStatistics3(currencyCode,
+                Price.parse(currencyCode, price).getValue(),
+                Coin.parseCoin("1").getValue(),
+                PaymentMethod.BLOCK_CHAINS_ID,
+                date,
+                null,
+                null,
+                null,
+                null);
+    }
+
     // TODO JMOCKIT
     @Disabled
     @Test
@@ -249,7 +258,7 @@ public class TradesChartsViewModelTest {
         ObservableSet<TradeStatistics3> tradeStats = FXCollections.observableSet(set);
 
         // Run test for each tick type
-        for (TradesChartsViewModel.TickUnit tick : TradesChartsViewModel.TickUnit.values()) {
+        for (TickUnit tick : TickUnit.values()) {
 /*            new Expectations() {{
                 tradeStatisticsManager.getObservableTradeStatisticsSet();
                 result = tradeStats;
@@ -97,6 +97,13 @@ public class OfferBookViewModelTest {
         when(user.hasPaymentAccountForCurrency(any())).thenReturn(true);
     }
 
+    // The offers of the tests are not in the offer book price index, so they get their price from the offer
+    private OfferBook mockOfferBook() {
+        OfferBook offerBook = mock(OfferBook.class);
+        when(offerBook.getPrice(any())).thenAnswer(invocation -> invocation.<Offer>getArgument(0).getPrice());
+        return offerBook;
+    }
+
     private PriceUtil getPriceUtil() {
         PriceFeedService priceFeedService = mock(PriceFeedService.class);
         TradeStatisticsManager tradeStatisticsManager = mock(TradeStatisticsManager.class);
@@ -237,7 +244,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testMaxCharactersForAmountWithNoOffers() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
@@ -249,7 +256,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testMaxCharactersForAmount() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
         final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
         offerBookListItems.addAll(make(OfferBookListItemMaker.btcBuyItem));
@@ -268,7 +275,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testMaxCharactersForAmountRange() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
         final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
         offerBookListItems.addAll(make(OfferBookListItemMaker.btcItemWithRange));
@@ -286,7 +293,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testMaxCharactersForVolumeWithNoOffers() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
@@ -298,7 +305,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testMaxCharactersForVolume() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
         final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
         offerBookListItems.addAll(make(OfferBookListItemMaker.btcBuyItem));
@@ -319,7 +326,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testMaxCharactersForVolumeRange() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
         final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
         offerBookListItems.addAll(make(OfferBookListItemMaker.btcItemWithRange));
@@ -339,7 +346,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testMaxCharactersForPriceWithNoOffers() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
@@ -351,7 +358,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testMaxCharactersForPrice() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
         final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
         offerBookListItems.addAll(make(OfferBookListItemMaker.btcBuyItem));
@@ -371,7 +378,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testMaxCharactersForPriceDistanceWithNoOffers() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         final ObservableList<OfferBookListItem> offerBookListItems = FXCollections.observableArrayList();
 
         when(offerBook.getOfferBookListItems()).thenReturn(offerBookListItems);
@@ -383,7 +390,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testMaxCharactersForPriceDistance() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
         PriceFeedService priceFeedService = mock(PriceFeedService.class);
 
@@ -424,7 +431,7 @@ public class OfferBookViewModelTest {
 
     @Test
     public void testGetPrice() {
-        OfferBook offerBook = mock(OfferBook.class);
+        OfferBook offerBook = mockOfferBook();
         OpenOfferManager openOfferManager = mock(OpenOfferManager.class);
         PriceFeedService priceFeedService = mock(PriceFeedService.class);
 
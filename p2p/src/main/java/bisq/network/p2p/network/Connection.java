@@ -40,6 +40,7 @@ import bisq.common.config.Config;
 import bisq.common.proto.ProtobufferException;
 import bisq.common.proto.network.NetworkEnvelope;
 import bisq.common.proto.network.NetworkProtoResolver;
+import bisq.common.util.RollingWindowRateLimiter;
 import bisq.common.util.SingleThreadExecutorUtils;
 import bisq.common.util.Utilities;
 
@@ -63,7 +64,6 @@ import java.io.InvalidClassException;
 import java.io.OptionalDataException;
 import java.io.StreamCorruptedException;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -109,6 +109,13 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
     //TODO decrease limits again after testing
     private static final int SOCKET_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(240);
     private static final int SHUTDOWN_TIMEOUT = 100;
+    // Stricter throttle limits for single message classes (incl. subclasses) on top of msgThrottlePer10Sec.
+    // Like the global limits, a limit is violated once the message count in the window reaches it.
+    private static final Map<Class<? extends NetworkEnvelope>, Integer> MESSAGE_CLASS_THROTTLE_PER_10_SEC = new ConcurrentHashMap<>();
+
+    public static void setMessageClassThrottlePer10Sec(Class<? extends NetworkEnvelope> messageClass, int limit) {
+        MESSAGE_CLASS_THROTTLE_PER_10_SEC.put(messageClass, limit);
+    }
 
     public static int getPermittedMessageSize() {
         return PERMITTED_MESSAGE_SIZE;
@@ -152,7 +159,11 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
 
     @Getter
     private final ObjectProperty<NodeAddress> peersNodeAddressProperty = new SimpleObjectProperty<>();
-    private final List<Long> messageTimeStamps = new ArrayList<>();
+    // Only accessed from the input handler thread, created lazily as config is set after class loading
+    private RollingWindowRateLimiter messageRatePerSec;
+    private RollingWindowRateLimiter messageRatePer10Sec;
+    // Received messages per message class, used for the per class throttle limits and as metrics
+    private final Map<Class<? extends NetworkEnvelope>, RollingWindowRateLimiter> messageRatesByClass = new ConcurrentHashMap<>();
     private final CopyOnWriteArraySet<MessageListener> messageListeners = new CopyOnWriteArraySet<>();
     private volatile long lastSendTimeStamp = 0;
     // We use a weak reference here to ensure that no connection causes a memory leak in case it get closed without
@@ -201,7 +212,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             // When you construct an ObjectInputStream, in the constructor the class attempts to read a header that
             // the associated ObjectOutputStream on the other end of the connection has written.
             // It will not return until that header has been read.
-            protoOutputStream = new ProtoOutputStream(socket.getOutputStream(), statistic);
+            protoOutputStream = new ProtoOutputStream(socket.getOutputStream(), statistic, capabilities);
             protoInputStream = socket.getInputStream();
             // We create a thread for handling inputStream data
             executorService.submit(this);
@@ -323,6 +334,17 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         return Optional.empty();
     }
 
+    /**
+     * @return Received messages per second over the last 10 seconds by message class name
+     */
+    public Map<String, Double> getReceivedMessageRates() {
+        return messageRatesByClass.entrySet().stream()
+                .filter(entry -> entry.getValue().getCount() > 0)
+                .collect(Collectors.toMap(entry -> entry.getKey().getSimpleName(),
+                        entry -> entry.getValue().getRatePerSecond(),
+                        Double::sum));
+    }
+
     public void addMessageListener(MessageListener messageListener) {
         boolean isNewEntry = messageListeners.add(messageListener);
         if (!isNewEntry)
@@ -340,17 +362,41 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         capabilitiesListeners.add(new WeakReference<>(listener));
     }
 
-    private boolean violatesThrottleLimit() {
+    private boolean violatesThrottleLimit(NetworkEnvelope networkEnvelope) {
         long now = System.currentTimeMillis();
+        if (messageRatePerSec == null) {
+            messageRatePerSec = new RollingWindowRateLimiter(getMsgThrottlePerSec(), 1, TimeUnit.SECONDS);
+            messageRatePer10Sec = new RollingWindowRateLimiter(getMsgThrottlePer10Sec(), 10, TimeUnit.SECONDS);
+        }
 
-        messageTimeStamps.add(now);
+        RollingWindowRateLimiter messageClassRate = messageRatesByClass.computeIfAbsent(networkEnvelope.getClass(),
+                clazz -> new RollingWindowRateLimiter(getMessageClassThrottlePer10Sec(clazz), 10, TimeUnit.SECONDS));
 
-        // clean list
-        while (messageTimeStamps.size() > getMsgThrottlePer10Sec())
-            messageTimeStamps.remove(0);
+        // Record the message at all rate limiters before checking, so that the metrics are complete
+        boolean violatesPerSecLimit = violatesThrottleLimit(now, messageRatePerSec, "all messages");
+        boolean violatesPer10SecLimit = violatesThrottleLimit(now, messageRatePer10Sec, "all messages");
+        boolean violatesMessageClassLimit = violatesThrottleLimit(now, messageClassRate,
+                networkEnvelope.getClass().getSimpleName());
+        return violatesPerSecLimit || violatesPer10SecLimit || violatesMessageClassLimit;
+    }
+
+    private boolean violatesThrottleLimit(long now, RollingWindowRateLimiter rateLimiter, String messages) {
+        // The limit is violated if the message count including the current message reaches the limit.
+        // Applies to the global and the per message class limits alike.
+        if (rateLimiter.recordAndGetCount(now) >= rateLimiter.getMaxEventsInWindow()) {
+            log.error("violatesThrottleLimit for {}: {}/{} second(s)", messages, rateLimiter.getMaxEventsInWindow(),
+                    TimeUnit.MILLISECONDS.toSeconds(rateLimiter.getWindowMillis()));
+            return true;
+        }
+        return false;
+    }
 
-        return violatesThrottleLimit(now, 1, getMsgThrottlePerSec()) ||
-                violatesThrottleLimit(now, 10, getMsgThrottlePer10Sec());
+    private int getMessageClassThrottlePer10Sec(Class<? extends NetworkEnvelope> messageClass) {
+        return MESSAGE_CLASS_THROTTLE_PER_10_SEC.entrySet().stream()
+                .filter(entry -> entry.getKey().isAssignableFrom(messageClass))
+                .mapToInt(Map.Entry::getValue)
+                .min()
+                .orElse(getMsgThrottlePer10Sec());
     }
 
     private int getMsgThrottlePerSec() {
@@ -369,23 +415,6 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         return config != null ? config.sendMsgThrottleTrigger : 20;
     }
 
-    private boolean violatesThrottleLimit(long now, int seconds, int messageCountLimit) {
-        if (messageTimeStamps.size() >= messageCountLimit) {
-
-            // find the entry in the message timestamp history which determines whether we overshot the limit or not
-            long compareValue = messageTimeStamps.get(messageTimeStamps.size() - messageCountLimit);
-
-            // if duration < seconds sec we received too much network_messages
-            if (now - compareValue < TimeUnit.SECONDS.toMillis(seconds)) {
-                log.error("violatesThrottleLimit {}/{} second(s)", messageCountLimit, seconds);
-
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     ///////////////////////////////////////////////////////////////////////////////////////////
     // MessageListener implementation
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -703,6 +732,8 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
     // and delivers it to the message listener given in the constructor.
     private InputStream protoInputStream;
     private final NetworkProtoResolver networkProtoResolver;
+    // Only accessed from the input handler thread
+    private final EnvelopeCompressor envelopeDecompressor = new EnvelopeCompressor();
 
     private long lastReadTimeStamp;
     private boolean threadNameSet;
@@ -758,6 +789,13 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                         return;
                     }
 
+                    // Size of the envelope as it was sent over the wire
+                    int wireSize = proto.getSerializedSize();
+                    if (proto.hasCompressedEnvelope()) {
+                        proto = envelopeDecompressor.decompress(proto.getCompressedEnvelope(), MAX_PERMITTED_MESSAGE_SIZE);
+                        statistic.addReceivedCompressedBytes(wireSize, proto.getSerializedSize());
+                    }
+
                     // Throttle inbound network_messages
                     long now = System.currentTimeMillis();
                     long elapsed = now - lastReadTimeStamp;
@@ -771,10 +809,11 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                     NetworkEnvelope networkEnvelope = networkProtoResolver.fromProto(proto);
                     lastReadTimeStamp = now;
                     log.debug("<< Received networkEnvelope of type: {}", networkEnvelope.getClass().getSimpleName());
+                    // Size limits apply to the uncompressed envelope
                     int size = proto.getSerializedSize();
 
                     // We want to track the size of each object even if it is invalid data
-                    statistic.addReceivedBytes(size);
+                    statistic.addReceivedBytes(wireSize);
 
                     // We want to track the network_messages also before the checks, so do it early...
                     statistic.addReceivedMessage(networkEnvelope);
@@ -803,7 +842,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                             return;
                     }
 
-                    if (violatesThrottleLimit() && reportInvalidRequest(RuleViolation.THROTTLE_LIMIT_EXCEEDED))
+                    if (violatesThrottleLimit(networkEnvelope) && reportInvalidRequest(RuleViolation.THROTTLE_LIMIT_EXCEEDED))
                         return;
 
                     // Check P2P network ID
@@ -866,6 +905,8 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             }
         } catch (Throwable t) {
             handleException(t);
+        } finally {
+            envelopeDecompressor.close();
         }
     }
 
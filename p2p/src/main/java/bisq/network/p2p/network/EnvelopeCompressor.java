@@ -0,0 +1,140 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import bisq.common.app.Capability;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.nio.ByteBuffer;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * DEFLATE compression of large network envelopes (e.g. GetDataResponse, GetBlocksResponse or
+ * BundleOfEnvelopes) for peers which signal {@link Capability#COMPRESSED_ENVELOPES}.
+ * The compressed envelope is wrapped into a {@link protobuf.CompressedEnvelope} and unwrapped
+ * again by the receiving connection before the envelope gets resolved.
+ * Each connection direction uses its own instance, as the deflater and inflater are reused and not thread safe.
+ */
+@NotThreadSafe
+class EnvelopeCompressor {
+    // Smaller envelopes do not gain enough to be worth the CPU time
+    static final int COMPRESSION_THRESHOLD = 4 * 1024;
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    // Created lazily as zlib allocates a few hundred kB of native memory per instance and most connections
+    // never exchange envelopes large enough to get compressed
+    private Deflater deflater;
+    private Inflater inflater;
+    private byte[] chunk;
+    // The native memory of the deflater and inflater is released at close, so they must not be used afterwards
+    private boolean isClosed;
+
+    static boolean isCompressionCandidate(protobuf.NetworkEnvelope proto) {
+        return proto.getSerializedSize() >= COMPRESSION_THRESHOLD && !proto.hasCompressedEnvelope();
+    }
+
+    protobuf.NetworkEnvelope compress(protobuf.NetworkEnvelope proto) {
+        checkState(!isClosed, "EnvelopeCompressor is closed");
+        byte[] input = proto.toByteArray();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+            chunk = new byte[CHUNK_SIZE];
+        }
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        ByteString.Output output = ByteString.newOutput(input.length / 4);
+        while (!deflater.finished()) {
+            int numBytes = deflater.deflate(chunk);
+            output.write(chunk, 0, numBytes);
+        }
+        return protobuf.NetworkEnvelope.newBuilder()
+                .setMessageVersion(proto.getMessageVersion())
+                .setCompressedEnvelope(protobuf.CompressedEnvelope.newBuilder()
+                        .setDeflatedEnvelope(output.toByteString())
+                        .setUncompressedSize(input.length))
+                .build();
+    }
+
+    /**
+     * @param maxSize The max. permitted size of the uncompressed envelope. We check it before inflating
+     *                to not get tricked into allocating huge buffers by a malicious peer.
+     */
+    protobuf.NetworkEnvelope decompress(protobuf.CompressedEnvelope compressedEnvelope, int maxSize)
+            throws InvalidProtocolBufferException {
+        checkState(!isClosed, "EnvelopeCompressor is closed");
+        int uncompressedSize = compressedEnvelope.getUncompressedSize();
+        if (uncompressedSize <= 0 || uncompressedSize > maxSize) {
+            throw new InvalidProtocolBufferException("Invalid uncompressed size of compressed envelope: " +
+                    uncompressedSize);
+        }
+
+        // One extra byte lets us detect if the peer sent more data than announced
+        byte[] output = new byte[uncompressedSize + 1];
+        int numBytes = 0;
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        inflater.reset();
+        inflater.setInput(compressedEnvelope.getDeflatedEnvelope().asReadOnlyByteBuffer());
+        try {
+            while (!inflater.finished() && numBytes < output.length) {
+                int numInflated = inflater.inflate(output, numBytes, output.length - numBytes);
+                if (numInflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                numBytes += numInflated;
+            }
+        } catch (DataFormatException e) {
+            throw new InvalidProtocolBufferException("Corrupt compressed envelope: " + e.getMessage());
+        }
+        if (!inflater.finished() || numBytes != uncompressedSize) {
+            throw new InvalidProtocolBufferException("Compressed envelope does not match its announced size " +
+                    uncompressedSize);
+        }
+
+        protobuf.NetworkEnvelope proto = protobuf.NetworkEnvelope.parseFrom(ByteBuffer.wrap(output, 0, uncompressedSize));
+        if (proto.hasCompressedEnvelope()) {
+            throw new InvalidProtocolBufferException("Nested compressed envelopes are not permitted");
+        }
+        return proto;
+    }
+
+    boolean isClosed() {
+        return isClosed;
+    }
+
+    void close() {
+        isClosed = true;
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+}
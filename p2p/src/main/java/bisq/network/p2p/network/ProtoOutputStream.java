@@ -19,13 +19,20 @@ package bisq.network.p2p.network;
 
 import bisq.network.p2p.peers.keepalive.messages.KeepAliveMessage;
 
+import bisq.common.app.Capabilities;
+import bisq.common.app.Capability;
 import bisq.common.proto.network.NetworkEnvelope;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import java.io.IOException;
 import java.io.OutputStream;
 
+import java.util.Comparator;
+import java.util.PriorityQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -34,25 +41,52 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.concurrent.ThreadSafe;
 
+/**
+ * Writes the envelopes of all threads sending to the same peer. If several threads are waiting,
+ * the envelope with the highest {@link SendPriority} gets written next, so that e.g. a trade
+ * message does not need to wait behind a queue of large initial data responses.
+ */
 @ThreadSafe
 class ProtoOutputStream {
     private static final Logger log = LoggerFactory.getLogger(ProtoOutputStream.class);
+    private static final long LOG_WAIT_TIME_THRESHOLD = TimeUnit.SECONDS.toMillis(2);
 
     private final OutputStream outputStream;
     private final Statistic statistic;
+    private final Capabilities peersCapabilities;
+    // Only accessed while holding the lock
+    private final EnvelopeCompressor envelopeCompressor = new EnvelopeCompressor();
 
     private final AtomicBoolean isConnectionActive = new AtomicBoolean(true);
+    // Held while writing to the outputStream
     private final Lock lock = new ReentrantLock();
 
-    ProtoOutputStream(OutputStream outputStream, Statistic statistic) {
+    // Guards the queue of threads waiting for their turn to write
+    private final Lock queueLock = new ReentrantLock();
+    private final Condition turnChanged = queueLock.newCondition();
+    private final PriorityQueue<PendingWrite> pendingWrites = new PriorityQueue<>();
+    private boolean isWriting;
+    private long sequenceNumber;
+
+    ProtoOutputStream(OutputStream outputStream, Statistic statistic, Capabilities peersCapabilities) {
         this.outputStream = outputStream;
         this.statistic = statistic;
+        this.peersCapabilities = peersCapabilities;
     }
 
     void writeEnvelope(NetworkEnvelope envelope) {
+        if (!awaitTurn(envelope)) {
+            // Connection was closed by us while we were waiting.
+            return;
+        }
+
         lock.lock();
 
         try {
+            if (!isConnectionActive.get()) {
+                // Connection was closed by us after we got our turn, but before we got the lock.
+                return;
+            }
             writeEnvelopeOrThrow(envelope);
         } catch (IOException e) {
             if (!isConnectionActive.get()) {
@@ -65,12 +99,21 @@ class ProtoOutputStream {
 
         } finally {
             lock.unlock();
+            releaseTurn();
         }
     }
 
     void onConnectionShutdown() {
         isConnectionActive.set(false);
 
+        // Wake up all threads waiting for their turn, so they can return
+        queueLock.lock();
+        try {
+            turnChanged.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+
         boolean acquiredLock = tryToAcquireLock();
         if (!acquiredLock) {
             return;
@@ -82,13 +125,14 @@ class ProtoOutputStream {
             log.error("Failed to close connection", t);
 
         } finally {
+            envelopeCompressor.close();
             lock.unlock();
         }
     }
 
     private void writeEnvelopeOrThrow(NetworkEnvelope envelope) throws IOException {
         long ts = System.currentTimeMillis();
-        protobuf.NetworkEnvelope proto = envelope.toProtoNetworkEnvelope();
+        protobuf.NetworkEnvelope proto = maybeCompress(envelope.toProtoNetworkEnvelope());
         proto.writeDelimitedTo(outputStream);
         outputStream.flush();
         long duration = System.currentTimeMillis() - ts;
@@ -103,6 +147,79 @@ class ProtoOutputStream {
         }
     }
 
+    /**
+     * Blocks until no other envelope is written and no envelope with a higher priority (or the same
+     * priority but an earlier arrival) is waiting.
+     * @return false if the connection got closed while we were waiting
+     */
+    private boolean awaitTurn(NetworkEnvelope envelope) {
+        SendPriority priority = SendPriority.of(envelope);
+        long ts = System.currentTimeMillis();
+        int queueDepth;
+        queueLock.lock();
+        try {
+            PendingWrite pendingWrite = new PendingWrite(priority, sequenceNumber++);
+            pendingWrites.add(pendingWrite);
+            queueDepth = pendingWrites.size();
+            while (isConnectionActive.get() && (isWriting || pendingWrites.peek() != pendingWrite)) {
+                turnChanged.awaitUninterruptibly();
+            }
+            pendingWrites.remove(pendingWrite);
+            if (!isConnectionActive.get()) {
+                return false;
+            }
+            isWriting = true;
+        } finally {
+            queueLock.unlock();
+        }
+
+        long waitTime = System.currentTimeMillis() - ts;
+        if (waitTime > LOG_WAIT_TIME_THRESHOLD) {
+            log.info("{} with priority {} waited {} ms to get sent. Queue depth was {}.",
+                    envelope.getClass().getSimpleName(), priority, waitTime, queueDepth);
+        }
+        statistic.addSendQueueMetrics(priority, queueDepth, waitTime);
+        return true;
+    }
+
+    private void releaseTurn() {
+        queueLock.lock();
+        try {
+            isWriting = false;
+            turnChanged.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private protobuf.NetworkEnvelope maybeCompress(protobuf.NetworkEnvelope proto) {
+        if (envelopeCompressor.isClosed() ||
+                !EnvelopeCompressor.isCompressionCandidate(proto) ||
+                !peersCapabilities.containsAll(Capability.COMPRESSED_ENVELOPES)) {
+            return proto;
+        }
+
+        protobuf.NetworkEnvelope compressed = envelopeCompressor.compress(proto);
+        int uncompressedSize = proto.getSerializedSize();
+        int compressedSize = compressed.getSerializedSize();
+        if (compressedSize >= uncompressedSize) {
+            // Already compressed data like images in chat attachments
+            return proto;
+        }
+        statistic.addSentCompressedBytes(compressedSize, uncompressedSize);
+        return compressed;
+    }
+
+    @VisibleForTesting
+    int getNumPendingWrites() {
+        queueLock.lock();
+        try {
+            return pendingWrites.size();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
     private boolean tryToAcquireLock() {
         long shutdownTimeout = Connection.getShutdownTimeout();
         try {
@@ -111,4 +228,23 @@ class ProtoOutputStream {
             return false;
         }
     }
+
+    private static final class PendingWrite implements Comparable<PendingWrite> {
+        private static final Comparator<PendingWrite> COMPARATOR = Comparator
+                .comparing((PendingWrite pendingWrite) -> pendingWrite.priority)
+                .thenComparingLong(pendingWrite -> pendingWrite.sequenceNumber);
+
+        private final SendPriority priority;
+        private final long sequenceNumber;
+
+        PendingWrite(SendPriority priority, long sequenceNumber) {
+            this.priority = priority;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public int compareTo(PendingWrite other) {
+            return COMPARATOR.compare(this, other);
+        }
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import bisq.network.p2p.CloseConnectionMessage;
+import bisq.network.p2p.DirectMessage;
+import bisq.network.p2p.ExtendedDataSizePermission;
+import bisq.network.p2p.InitialDataResponse;
+import bisq.network.p2p.peers.keepalive.messages.KeepAliveMessage;
+
+import bisq.common.proto.network.NetworkEnvelope;
+
+/**
+ * Order in which envelopes waiting for the same connection get written. Within a priority the
+ * arrival order is kept. The order of the enum constants defines the priority (first is highest).
+ */
+enum SendPriority {
+    // Keep alive, close connection and direct messages like the (sealed) trade messages
+    HIGH,
+    // Broadcasts and other regular messages
+    NORMAL,
+    // Bulk data like initial data and block responses
+    LOW;
+
+    static SendPriority of(NetworkEnvelope networkEnvelope) {
+        if (networkEnvelope instanceof ExtendedDataSizePermission ||
+                networkEnvelope instanceof InitialDataResponse) {
+            return LOW;
+        }
+        if (networkEnvelope instanceof KeepAliveMessage ||
+                networkEnvelope instanceof CloseConnectionMessage ||
+                networkEnvelope instanceof DirectMessage) {
+            return HIGH;
+        }
+        return NORMAL;
+    }
+}
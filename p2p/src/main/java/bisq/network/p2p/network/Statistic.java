@@ -29,6 +29,7 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleLongProperty;
 
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +59,13 @@ public class Statistic {
     private final static DoubleProperty numTotalSentMessagesPerSec = new SimpleDoubleProperty(0);
     private final static LongProperty numTotalReceivedMessages = new SimpleLongProperty(0);
     private final static DoubleProperty numTotalReceivedMessagesPerSec = new SimpleDoubleProperty(0);
+    // Wire size and uncompressed size of the envelopes we sent or received compressed
+    private final static LongProperty totalSentCompressedBytes = new SimpleLongProperty(0);
+    private final static LongProperty totalSentUncompressedBytes = new SimpleLongProperty(0);
+    private final static LongProperty totalReceivedCompressedBytes = new SimpleLongProperty(0);
+    private final static LongProperty totalReceivedUncompressedBytes = new SimpleLongProperty(0);
+    // Send queue metrics per SendPriority. Only accessed from the user thread.
+    private final static Map<SendPriority, SendQueueMetrics> totalSendQueueMetrics = new EnumMap<>(SendPriority.class);
 
     static {
         UserThread.runPeriodically(() -> {
@@ -81,13 +89,21 @@ public class Statistic {
                             "Number of sent messages per sec: {};" + ls +
                             "Bytes received: {}" + ls +
                             "Number of received messages/Received messages: {} / {};" + ls +
-                            "Number of received messages per sec: {}" + ls,
+                            "Number of received messages per sec: {}" + ls +
+                            "Compressed bytes sent (uncompressed size): {} ({})" + ls +
+                            "Compressed bytes received (uncompressed size): {} ({})" + ls +
+                            "Send queue metrics: {}" + ls,
                     Utilities.readableFileSize(totalSentBytes.get()),
                     numTotalSentMessages.get(), totalSentMessages,
                     numTotalSentMessagesPerSec.get(),
                     Utilities.readableFileSize(totalReceivedBytes.get()),
                     numTotalReceivedMessages.get(), totalReceivedMessages,
-                    numTotalReceivedMessagesPerSec.get());
+                    numTotalReceivedMessagesPerSec.get(),
+                    Utilities.readableFileSize(totalSentCompressedBytes.get()),
+                    Utilities.readableFileSize(totalSentUncompressedBytes.get()),
+                    Utilities.readableFileSize(totalReceivedCompressedBytes.get()),
+                    Utilities.readableFileSize(totalReceivedUncompressedBytes.get()),
+                    totalSendQueueMetrics);
         }, TimeUnit.MINUTES.toSeconds(60));
     }
 
@@ -167,6 +183,25 @@ public class Statistic {
         });
     }
 
+    void addSentCompressedBytes(int compressedSize, int uncompressedSize) {
+        UserThread.execute(() -> {
+            totalSentCompressedBytes.set(totalSentCompressedBytes.get() + compressedSize);
+            totalSentUncompressedBytes.set(totalSentUncompressedBytes.get() + uncompressedSize);
+        });
+    }
+
+    void addReceivedCompressedBytes(int compressedSize, int uncompressedSize) {
+        UserThread.execute(() -> {
+            totalReceivedCompressedBytes.set(totalReceivedCompressedBytes.get() + compressedSize);
+            totalReceivedUncompressedBytes.set(totalReceivedUncompressedBytes.get() + uncompressedSize);
+        });
+    }
+
+    void addSendQueueMetrics(SendPriority priority, int queueDepth, long waitTime) {
+        UserThread.execute(() -> totalSendQueueMetrics.computeIfAbsent(priority, e -> new SendQueueMetrics())
+                .add(queueDepth, waitTime));
+    }
+
     // TODO would need msg inspection to get useful information...
     void addReceivedMessage(NetworkEnvelope networkEnvelope) {
         String messageClassName = networkEnvelope.getClass().getSimpleName();
@@ -254,6 +289,22 @@ public class Statistic {
         return totalReceivedBytesPerSec.get();
     }
 
+    public static long getTotalSentCompressedBytes() {
+        return totalSentCompressedBytes.get();
+    }
+
+    public static long getTotalSentUncompressedBytes() {
+        return totalSentUncompressedBytes.get();
+    }
+
+    public static long getTotalReceivedCompressedBytes() {
+        return totalReceivedCompressedBytes.get();
+    }
+
+    public static long getTotalReceivedUncompressedBytes() {
+        return totalReceivedUncompressedBytes.get();
+    }
+
     public static double numTotalReceivedMessagesPerSec() {
         return numTotalReceivedMessagesPerSec.get();
     }
@@ -262,6 +313,10 @@ public class Statistic {
         return numTotalSentMessagesPerSec.get();
     }
 
+    static Map<SendPriority, SendQueueMetrics> getTotalSendQueueMetrics() {
+        return new EnumMap<>(totalSendQueueMetrics);
+    }
+
     @Override
     public String toString() {
         return "Statistic{" +
@@ -274,4 +329,44 @@ public class Statistic {
                 ",\n     roundTripTime=" + roundTripTime +
                 "\n}";
     }
+
+    public static class SendQueueMetrics {
+        private long numEnvelopes;
+        private long totalWaitTime;
+        private long maxWaitTime;
+        private int maxQueueDepth;
+
+        private void add(int queueDepth, long waitTime) {
+            numEnvelopes++;
+            totalWaitTime += waitTime;
+            maxWaitTime = Math.max(maxWaitTime, waitTime);
+            maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+        }
+
+        public long getNumEnvelopes() {
+            return numEnvelopes;
+        }
+
+        public double getAverageWaitTime() {
+            return numEnvelopes > 0 ? (double) totalWaitTime / numEnvelopes : 0;
+        }
+
+        public long getMaxWaitTime() {
+            return maxWaitTime;
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth;
+        }
+
+        @Override
+        public String toString() {
+            return "SendQueueMetrics{" +
+                    "numEnvelopes=" + numEnvelopes +
+                    ", averageWaitTime=" + String.format("%.1f", getAverageWaitTime()) + " ms" +
+                    ", maxWaitTime=" + maxWaitTime + " ms" +
+                    ", maxQueueDepth=" + maxQueueDepth +
+                    "}";
+        }
+    }
 }
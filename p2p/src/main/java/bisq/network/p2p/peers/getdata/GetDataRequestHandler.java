@@ -26,6 +26,7 @@ import bisq.network.p2p.storage.P2PDataStorage;
 
 import bisq.common.Timer;
 import bisq.common.UserThread;
+import bisq.common.util.RollingWindowRateLimiter;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
@@ -45,6 +46,19 @@ public class GetDataRequestHandler {
 
     private static final int MAX_ENTRIES = 20_000; // Tradestatistics are about 20 000 in 2 months.
 
+    // A peer sends a PreliminaryGetDataRequest and a GetUpdatedDataRequest at startup, repeated requests
+    // are only expected after lost connections. Applied per connection by the Connection throttle.
+    public static final int MAX_REQUESTS_PER_CONNECTION_PER_10_SEC = 5;
+
+    // Requests handled by all handlers, as metric for the load on seed nodes. Building the response is
+    // the most expensive request we serve.
+    private static final RollingWindowRateLimiter HANDLED_REQUESTS_PER_MINUTE =
+            new RollingWindowRateLimiter(Integer.MAX_VALUE, 1, TimeUnit.MINUTES);
+
+    public static int getNumHandledRequestsInLastMinute() {
+        return HANDLED_REQUESTS_PER_MINUTE.getCount();
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Listener
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -84,6 +98,7 @@ public class GetDataRequestHandler {
 
     public void handle(GetDataRequest getDataRequest, final Connection connection) {
         long ts = System.currentTimeMillis();
+        int numHandledRequests = HANDLED_REQUESTS_PER_MINUTE.recordAndGetCount(ts);
         String connectionInfo = "connectionInfo" + connection.getPeersNodeAddressOptional()
                 .map(e -> "node address " + e.getFullAddress())
                 .orElseGet(() -> "connection UID " + connection.getUid());
@@ -145,7 +160,8 @@ public class GetDataRequestHandler {
                 }
             }
         }, MoreExecutors.directExecutor());
-        log.info("handle GetDataRequest took {} ms", System.currentTimeMillis() - ts);
+        log.info("handle GetDataRequest took {} ms. We handled {} GetDataRequests in the last minute.",
+                System.currentTimeMillis() - ts, numHandledRequests);
     }
 
     public void stop() {
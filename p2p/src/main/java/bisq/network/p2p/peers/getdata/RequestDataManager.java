@@ -127,6 +127,9 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
         this.dataStorage = dataStorage;
         this.peerManager = peerManager;
 
+        Connection.setMessageClassThrottlePer10Sec(GetDataRequest.class,
+                GetDataRequestHandler.MAX_REQUESTS_PER_CONNECTION_PER_10_SEC);
+
         this.networkNode.addMessageListener(this);
         this.networkNode.addConnectionListener(this);
         this.peerManager.addListener(this);
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EnvelopeCompressorTest {
+    private final EnvelopeCompressor envelopeCompressor = new EnvelopeCompressor();
+
+    @Test
+    public void testRoundTrip() throws InvalidProtocolBufferException {
+        protobuf.NetworkEnvelope proto = getEnvelope(100_000);
+        assertTrue(EnvelopeCompressor.isCompressionCandidate(proto));
+
+        protobuf.NetworkEnvelope compressed = envelopeCompressor.compress(proto);
+        assertTrue(compressed.hasCompressedEnvelope());
+        assertEquals(proto.getMessageVersion(), compressed.getMessageVersion());
+        assertTrue(compressed.getSerializedSize() < proto.getSerializedSize());
+        assertFalse(EnvelopeCompressor.isCompressionCandidate(compressed));
+
+        // Instances are reused for consecutive envelopes
+        for (int i = 0; i < 2; i++) {
+            assertEquals(proto, envelopeCompressor.decompress(compressed.getCompressedEnvelope(), 1_000_000));
+        }
+    }
+
+    @Test
+    public void testClosedCompressorCannotBeUsed() {
+        protobuf.NetworkEnvelope compressed = envelopeCompressor.compress(getEnvelope(100_000));
+        envelopeCompressor.close();
+
+        assertTrue(envelopeCompressor.isClosed());
+        assertThrows(IllegalStateException.class, () -> envelopeCompressor.compress(getEnvelope(100_000)));
+        assertThrows(IllegalStateException.class, () ->
+                envelopeCompressor.decompress(compressed.getCompressedEnvelope(), 1_000_000));
+    }
+
+    @Test
+    public void testSmallEnvelopeIsNoCandidate() {
+        assertFalse(EnvelopeCompressor.isCompressionCandidate(getEnvelope(100)));
+    }
+
+    @Test
+    public void testDecompressRejectsInvalidSizes() {
+        protobuf.CompressedEnvelope compressedEnvelope = envelopeCompressor.compress(getEnvelope(100_000))
+                .getCompressedEnvelope();
+
+        // Exceeds permitted size
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> envelopeCompressor.decompress(compressedEnvelope, 50_000));
+
+        // Announced size does not match the deflated data
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> envelopeCompressor.decompress(compressedEnvelope.toBuilder()
+                        .setUncompressedSize(compressedEnvelope.getUncompressedSize() - 1)
+                        .build(), 1_000_000));
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> envelopeCompressor.decompress(compressedEnvelope.toBuilder()
+                        .setUncompressedSize(compressedEnvelope.getUncompressedSize() + 1)
+                        .build(), 1_000_000));
+
+        // Corrupt data
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> envelopeCompressor.decompress(compressedEnvelope.toBuilder()
+                        .setDeflatedEnvelope(ByteString.copyFromUtf8("not deflated"))
+                        .build(), 1_000_000));
+    }
+
+    @Test
+    public void testDecompressRejectsNestedCompressedEnvelope() {
+        protobuf.NetworkEnvelope nested = envelopeCompressor.compress(envelopeCompressor.compress(getEnvelope(100_000)));
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> envelopeCompressor.decompress(nested.getCompressedEnvelope(), 1_000_000));
+    }
+
+    private static protobuf.NetworkEnvelope getEnvelope(int reasonLength) {
+        return protobuf.NetworkEnvelope.newBuilder()
+                .setMessageVersion(1)
+                .setCloseConnectionMessage(protobuf.CloseConnectionMessage.newBuilder()
+                        .setReason("x".repeat(reasonLength)))
+                .build();
+    }
+}
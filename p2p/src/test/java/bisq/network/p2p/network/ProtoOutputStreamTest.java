@@ -0,0 +1,175 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import bisq.network.p2p.ExtendedDataSizePermission;
+import bisq.network.p2p.peers.keepalive.messages.Ping;
+
+import bisq.common.app.Capabilities;
+import bisq.common.app.Capability;
+import bisq.common.proto.network.NetworkEnvelope;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProtoOutputStreamTest {
+
+    @Test
+    public void testHighPriorityEnvelopeIsWrittenBeforeWaitingBulkEnvelopes() throws Exception {
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            private boolean isFirstWrite = true;
+
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                if (isFirstWrite) {
+                    isFirstWrite = false;
+                    firstWriteStarted.countDown();
+                    try {
+                        releaseFirstWrite.await();
+                    } catch (InterruptedException ignore) {
+                    }
+                }
+                super.write(b, off, len);
+            }
+        };
+        ProtoOutputStream protoOutputStream = new ProtoOutputStream(outputStream, new Statistic(), new Capabilities());
+
+        List<Thread> threads = new ArrayList<>();
+        threads.add(startWriting(protoOutputStream, new BulkEnvelope("bulk-1")));
+        assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+
+        threads.add(startWriting(protoOutputStream, new BulkEnvelope("bulk-2")));
+        awaitNumPendingWrites(protoOutputStream, 1);
+        threads.add(startWriting(protoOutputStream, new Ping(1, 0)));
+        awaitNumPendingWrites(protoOutputStream, 2);
+
+        releaseFirstWrite.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        List<String> written = new ArrayList<>();
+        InputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray());
+        protobuf.NetworkEnvelope proto;
+        while ((proto = protobuf.NetworkEnvelope.parseDelimitedFrom(inputStream)) != null) {
+            written.add(proto.hasPing() ? "ping" : proto.getCloseConnectionMessage().getReason());
+        }
+        assertEquals(List.of("bulk-1", "ping", "bulk-2"), written);
+    }
+
+    @Test
+    public void testWriteAfterShutdownDoesNotUseClosedCompressor() throws Exception {
+        CountDownLatch secondWriteGotTurn = new CountDownLatch(1);
+        CountDownLatch releaseSecondWrite = new CountDownLatch(1);
+        Statistic statistic = new Statistic() {
+            private int numWrites;
+
+            // Called after a writer got its turn and before it gets the lock
+            @Override
+            void addSendQueueMetrics(SendPriority priority, int queueDepth, long waitTime) {
+                if (++numWrites == 2) {
+                    secondWriteGotTurn.countDown();
+                    try {
+                        releaseSecondWrite.await();
+                    } catch (InterruptedException ignore) {
+                    }
+                }
+            }
+        };
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ProtoOutputStream protoOutputStream = new ProtoOutputStream(outputStream, statistic,
+                new Capabilities(Capability.COMPRESSED_ENVELOPES));
+
+        // The first envelope gets compressed, so the compressor has a deflater which gets ended at shutdown
+        String largeName = "bulk".repeat(EnvelopeCompressor.COMPRESSION_THRESHOLD);
+        protoOutputStream.writeEnvelope(new BulkEnvelope(largeName));
+        int numWrittenBytes = outputStream.size();
+        assertTrue(numWrittenBytes < largeName.length());
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                protoOutputStream.writeEnvelope(new BulkEnvelope(largeName));
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        thread.start();
+        assertTrue(secondWriteGotTurn.await(5, TimeUnit.SECONDS));
+
+        protoOutputStream.onConnectionShutdown();
+        releaseSecondWrite.countDown();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertNull(failure.get());
+        assertEquals(numWrittenBytes, outputStream.size());
+    }
+
+    @Test
+    public void testSendPriority() {
+        assertEquals(SendPriority.HIGH, SendPriority.of(new Ping(1, 0)));
+        assertEquals(SendPriority.LOW, SendPriority.of(new BulkEnvelope("bulk")));
+    }
+
+    private static Thread startWriting(ProtoOutputStream protoOutputStream, NetworkEnvelope envelope) {
+        Thread thread = new Thread(() -> protoOutputStream.writeEnvelope(envelope));
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitNumPendingWrites(ProtoOutputStream protoOutputStream, int numPendingWrites)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (protoOutputStream.getNumPendingWrites() < numPendingWrites && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(numPendingWrites, protoOutputStream.getNumPendingWrites());
+    }
+
+    private static class BulkEnvelope extends NetworkEnvelope implements ExtendedDataSizePermission {
+        private final String name;
+
+        BulkEnvelope(String name) {
+            super(1);
+            this.name = name;
+        }
+
+        @Override
+        public protobuf.NetworkEnvelope toProtoNetworkEnvelope() {
+            return getNetworkEnvelopeBuilder()
+                    .setCloseConnectionMessage(protobuf.CloseConnectionMessage.newBuilder().setReason(name))
+                    .build();
+        }
+    }
+}
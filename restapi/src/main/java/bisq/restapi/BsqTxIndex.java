@@ -0,0 +1,416 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.restapi;
+
+import bisq.core.dao.state.DaoStateListener;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxInput;
+import bisq.core.dao.state.model.blockchain.TxOutput;
+import bisq.core.dao.state.model.blockchain.TxType;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.BaseEncoding;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+
+
+import bisq.restapi.dto.JsonTx;
+import bisq.restapi.dto.JsonTxInput;
+import bisq.restapi.dto.JsonTxOutput;
+
+/**
+ * Index of all BSQ txs in chain order (block height, then position in the block), which is the order of the
+ * tx time except for the rare case of a block with an earlier timestamp than its predecessor. Each TxType has its
+ * own sub-index of positions, so a page of txs costs O(page size) instead of sorting all txs per request.
+ * <p>
+ * The index gets appended at each parsed block and rebuilt from the blocks of the DAO state if a block does not
+ * follow the last indexed one (at startup, after a snapshot got applied or at a reorg). Requests read an immutable
+ * view of the index, so they do not need to synchronize with the parser.
+ * <p>
+ * We also cache the JsonTx of the txs. A tx is immutable once confirmed, but the spent state of its outputs and the
+ * verification of issuance outputs change later, so we check those against the DAO state before we use a cached
+ * JsonTx.
+ */
+@Slf4j
+public class BsqTxIndex implements DaoStateListener {
+    private static final int JSON_TX_CACHE_SIZE = 20_000;
+    private static final String CURSOR_PREFIX = "v1:";
+    // Supports up to 2^24 txs per block
+    private static final int POSITION_IN_BLOCK_BITS = 24;
+
+    private final DaoStateService daoStateService;
+    private final Cache<String, JsonTx> jsonTxCache = CacheBuilder.newBuilder()
+            .maximumSize(JSON_TX_CACHE_SIZE)
+            .build();
+
+    // Only accessed from the parser thread
+    private Tx[] txs = new Tx[0];
+    private long[] keys = new long[0];
+    private int[][] positionsByTxType = new int[TxType.values().length][];
+    private int[] numPositionsByTxType = new int[TxType.values().length];
+    private int numTxs;
+    private int lastBlockHeight = -1;
+
+    private volatile View view = new View(txs, keys, 0, new int[TxType.values().length][0],
+            new int[TxType.values().length]);
+
+    public BsqTxIndex(DaoStateService daoStateService) {
+        this.daoStateService = daoStateService;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // DaoStateListener
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void onParseBlockComplete(Block block) {
+        if (lastBlockHeight >= 0 && block.getHeight() == lastBlockHeight + 1) {
+            append(block);
+            publish();
+        } else {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void onParseBlockChainComplete() {
+        // In case the DAO state got applied from a snapshot without any block parsed afterwards
+        daoStateService.getLastBlock()
+                .filter(block -> block.getHeight() != lastBlockHeight)
+                .ifPresent(block -> rebuild());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param txTypes The tx types to include, or null for all txs.
+     * @return Up to count txs, newest first, skipping the newest start txs.
+     */
+    public List<Tx> getTxs(@Nullable Set<TxType> txTypes, int start, int count) {
+        View view = this.view;
+        List<Tx> result = new ArrayList<>(Math.max(0, Math.min(count, view.numTxs)));
+        DescendingPositions positions = view.getDescendingPositions(txTypes, view.numTxs);
+        positions.skip(start);
+        for (int position = positions.next(); position >= 0 && result.size() < count; position = positions.next()) {
+            result.add(view.txs[position]);
+        }
+        return result;
+    }
+
+    /**
+     * @param txTypes The tx types to include, or null for all txs.
+     * @param cursor  The cursor of the previous page, or null for the first page.
+     * @return Up to count txs, newest first, older than the tx the cursor points to. The cursor stays valid when
+     * new blocks arrive, so clients do not get duplicates when paging during a new block. The next cursor is null
+     * if there are no more matching txs.
+     */
+    public TxPage getTxPage(@Nullable Set<TxType> txTypes, @Nullable String cursor, int count) {
+        View view = this.view;
+        int beforePosition = cursor != null ? view.lowerBound(decodeCursor(cursor)) : view.numTxs;
+        List<Tx> result = new ArrayList<>(Math.max(0, Math.min(count, beforePosition)));
+        DescendingPositions positions = view.getDescendingPositions(txTypes, beforePosition);
+        int lastPosition = -1;
+        int position = positions.next();
+        while (position >= 0 && result.size() < count) {
+            result.add(view.txs[position]);
+            lastPosition = position;
+            position = positions.next();
+        }
+        // We have read one position beyond the page, so we only hand out a cursor if there is a next page
+        String nextCursor = position >= 0 && lastPosition >= 0 ? encodeCursor(view.keys[lastPosition]) : null;
+        return new TxPage(result, nextCursor);
+    }
+
+    public JsonTx getJsonTx(Tx tx) {
+        JsonTx jsonTx = jsonTxCache.getIfPresent(tx.getId());
+        if (jsonTx == null || !isUpToDate(jsonTx, tx)) {
+            jsonTx = BlockDataToJsonConverter.getJsonTx(daoStateService, tx);
+            jsonTxCache.put(tx.getId(), jsonTx);
+        }
+        return jsonTx;
+    }
+
+    @Getter
+    public static class TxPage {
+        private final List<Tx> txs;
+        @Nullable
+        private final String nextCursor;
+
+        TxPage(List<Tx> txs, @Nullable String nextCursor) {
+            this.txs = txs;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void rebuild() {
+        long ts = System.currentTimeMillis();
+        int numBlockTxs = daoStateService.getNumTxs();
+        txs = new Tx[numBlockTxs];
+        keys = new long[numBlockTxs];
+        positionsByTxType = new int[TxType.values().length][];
+        numPositionsByTxType = new int[TxType.values().length];
+        numTxs = 0;
+        lastBlockHeight = -1;
+        daoStateService.getBlocks().forEach(this::append);
+        jsonTxCache.invalidateAll();
+        publish();
+        log.info("Rebuilding BSQ tx index with {} txs up to block {} took {} ms",
+                numTxs, lastBlockHeight, System.currentTimeMillis() - ts);
+    }
+
+    private void append(Block block) {
+        List<Tx> blockTxs = block.getTxs();
+        for (int i = 0; i < blockTxs.size(); i++) {
+            Tx tx = blockTxs.get(i);
+            if (numTxs == txs.length) {
+                int capacity = Math.max(16, numTxs + (numTxs >> 1));
+                txs = Arrays.copyOf(txs, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+            }
+            txs[numTxs] = tx;
+            keys[numTxs] = toKey(block.getHeight(), i);
+            TxType txType = tx.getTxType();
+            if (txType != null) {
+                int ordinal = txType.ordinal();
+                int[] positions = positionsByTxType[ordinal];
+                if (positions == null || numPositionsByTxType[ordinal] == positions.length) {
+                    int size = numPositionsByTxType[ordinal];
+                    positions = positions == null ? new int[16] : Arrays.copyOf(positions, size + (size >> 1));
+                    positionsByTxType[ordinal] = positions;
+                }
+                positions[numPositionsByTxType[ordinal]++] = numTxs;
+            }
+            numTxs++;
+        }
+        lastBlockHeight = block.getHeight();
+    }
+
+    // We only append beyond the sizes of the published view and copy the arrays when they grow, so readers of an
+    // older view never see a modified element.
+    private void publish() {
+        int[][] positions = new int[positionsByTxType.length][];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = positionsByTxType[i] != null ? positionsByTxType[i] : new int[0];
+        }
+        view = new View(txs, keys, numTxs, positions, numPositionsByTxType.clone());
+    }
+
+    private boolean isUpToDate(JsonTx jsonTx, Tx tx) {
+        List<JsonTxOutput> jsonTxOutputs = jsonTx.getOutputs();
+        List<TxOutput> txOutputs = tx.getTxOutputs();
+        if (jsonTxOutputs.size() != txOutputs.size()) {
+            return false;
+        }
+        for (int i = 0; i < txOutputs.size(); i++) {
+            TxOutput txOutput = txOutputs.get(i);
+            JsonTxOutput jsonTxOutput = jsonTxOutputs.get(i);
+            if (jsonTxOutput.getIsUnspent() != daoStateService.isUnspent(txOutput.getKey()) ||
+                    jsonTxOutput.getIsVerified() != daoStateService.isBsqTxOutputType(txOutput)) {
+                return false;
+            }
+        }
+        // Inputs without a connected tx output are not part of the JsonTx
+        List<JsonTxInput> jsonTxInputs = jsonTx.getInputs();
+        int jsonTxInputIndex = 0;
+        for (TxInput txInput : tx.getTxInputs()) {
+            Optional<TxOutput> connectedTxOutput = daoStateService.getConnectedTxOutput(txInput);
+            if (connectedTxOutput.isPresent()) {
+                if (jsonTxInputIndex == jsonTxInputs.size() ||
+                        jsonTxInputs.get(jsonTxInputIndex++).getIsVerified() !=
+                                daoStateService.isBsqTxOutputType(connectedTxOutput.get())) {
+                    return false;
+                }
+            }
+        }
+        return jsonTxInputIndex == jsonTxInputs.size();
+    }
+
+    private static long toKey(int blockHeight, int positionInBlock) {
+        return ((long) blockHeight << POSITION_IN_BLOCK_BITS) | positionInBlock;
+    }
+
+    private static String encodeCursor(long key) {
+        return BaseEncoding.base64Url().omitPadding()
+                .encode((CURSOR_PREFIX + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(BaseEncoding.base64Url().omitPadding().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException ignore) {
+        }
+        throw new IllegalArgumentException("Invalid cursor " + cursor);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Immutable view for the request threads
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static class View {
+        private final Tx[] txs;
+        private final long[] keys;
+        private final int numTxs;
+        private final int[][] positionsByTxType;
+        private final int[] numPositionsByTxType;
+
+        View(Tx[] txs, long[] keys, int numTxs, int[][] positionsByTxType, int[] numPositionsByTxType) {
+            this.txs = txs;
+            this.keys = keys;
+            this.numTxs = numTxs;
+            this.positionsByTxType = positionsByTxType;
+            this.numPositionsByTxType = numPositionsByTxType;
+        }
+
+        // Position of the first tx with a key >= the given key
+        int lowerBound(long key) {
+            int low = 0;
+            int high = numTxs;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        DescendingPositions getDescendingPositions(@Nullable Set<TxType> txTypes, int beforePosition) {
+            if (txTypes == null) {
+                return new AllPositions(beforePosition);
+            }
+            List<int[]> positionsList = new ArrayList<>(txTypes.size());
+            List<Integer> sizes = new ArrayList<>(txTypes.size());
+            for (TxType txType : txTypes) {
+                int[] positions = positionsByTxType[txType.ordinal()];
+                int size = numPositionsByTxType[txType.ordinal()];
+                if (size > 0) {
+                    positionsList.add(positions);
+                    sizes.add(size);
+                }
+            }
+            return new MergedPositions(positionsList, sizes, beforePosition);
+        }
+    }
+
+    private interface DescendingPositions {
+        // Returns -1 if there are no more positions
+        int next();
+
+        void skip(int numPositions);
+    }
+
+    private static class AllPositions implements DescendingPositions {
+        private int position;
+
+        AllPositions(int beforePosition) {
+            this.position = beforePosition;
+        }
+
+        @Override
+        public int next() {
+            return position > 0 ? --position : -1;
+        }
+
+        @Override
+        public void skip(int numPositions) {
+            position = Math.max(0, position - Math.max(0, numPositions));
+        }
+    }
+
+    // Merges the position arrays of the requested tx types in descending order
+    private static class MergedPositions implements DescendingPositions {
+        private final List<int[]> positionsList;
+        // Index of the next position in each array, -1 if exhausted
+        private final int[] indices;
+
+        MergedPositions(List<int[]> positionsList, List<Integer> sizes, int beforePosition) {
+            this.positionsList = positionsList;
+            indices = new int[positionsList.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = lastIndexBefore(positionsList.get(i), sizes.get(i), beforePosition);
+            }
+        }
+
+        @Override
+        public int next() {
+            int best = -1;
+            for (int i = 0; i < indices.length; i++) {
+                if (indices[i] >= 0 && (best < 0 || positionsList.get(i)[indices[i]] > positionsList.get(best)[indices[best]])) {
+                    best = i;
+                }
+            }
+            return best >= 0 ? positionsList.get(best)[indices[best]--] : -1;
+        }
+
+        @Override
+        public void skip(int numPositions) {
+            if (indices.length == 1) {
+                indices[0] = Math.max(-1, indices[0] - Math.max(0, numPositions));
+                return;
+            }
+            int numSkipped = 0;
+            while (numSkipped < numPositions && next() >= 0) {
+                numSkipped++;
+            }
+        }
+
+        private static int lastIndexBefore(int[] positions, int size, int beforePosition) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (positions[mid] < beforePosition) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+    }
+}
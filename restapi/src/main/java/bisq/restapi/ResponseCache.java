@@ -0,0 +1,205 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.restapi;
+
+import bisq.common.util.Utilities;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.security.SecureRandom;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Cache for the responses of the rest api endpoints. Most responses only change if a new BSQ block got parsed or a
+ * new trade statistic or account witness arrived, so each cached response declares the {@link Dependency}s it is
+ * derived from and gets recomputed only after the version of one of those got increased.
+ * <p>
+ * The versions of the dependencies are part of the cache key and of the ETag, so clients can use conditional GETs
+ * (If-None-Match) and get a 304 without any response body as long as nothing they depend on has changed. A random
+ * epoch per process is added to the ETag as the versions start from 0 again after a restart.
+ * <p>
+ * Responses registered as hot get recomputed in the background once their dependencies changed, so the first
+ * request after a new block does not need to pay the costs of the computation.
+ */
+@Slf4j
+public class ResponseCache {
+    private static final int MAX_CACHED_RESPONSES = 2_000;
+    // Hot responses are registered by the requests, so we limit them to not grow with path parameters chosen
+    // by the clients
+    private static final int MAX_HOT_RESPONSES = 100;
+
+    public enum Dependency {
+        DAO_STATE,
+        TRADE_STATISTICS,
+        WITNESSES
+    }
+
+    private static class HotResponse {
+        private final Supplier<?> supplier;
+        private final Dependency[] dependencies;
+
+        HotResponse(Supplier<?> supplier, Dependency[] dependencies) {
+            this.supplier = supplier;
+            this.dependencies = dependencies;
+        }
+    }
+
+    private final String epoch = Long.toHexString(new SecureRandom().nextLong());
+    private final AtomicLong[] versions = new AtomicLong[Dependency.values().length];
+    private final AtomicBoolean[] precomputeScheduled = new AtomicBoolean[Dependency.values().length];
+    // As the versions are part of the keys, outdated responses are never hit again and just get evicted
+    private final Cache<String, Optional<Object>> cache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_RESPONSES)
+            .build();
+    private final Map<String, HotResponse> hotResponses = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor = Utilities.getThreadPoolExecutor("ResponseCache", 1, 1,
+            Dependency.values().length, 60);
+    // We do not precompute responses based on the DAO state before the DAO is ready
+    private final Supplier<Boolean> isDaoReady;
+
+    public ResponseCache(Supplier<Boolean> isDaoReady) {
+        this.isDaoReady = isDaoReady;
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = new AtomicLong();
+            precomputeScheduled[i] = new AtomicBoolean();
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public void invalidate(Dependency dependency) {
+        versions[dependency.ordinal()].incrementAndGet();
+        maybePrecompute(dependency);
+    }
+
+    public long getVersion(Dependency dependency) {
+        return versions[dependency.ordinal()].get();
+    }
+
+    /**
+     * @param request      The request, used for evaluating the If-None-Match precondition
+     * @param key          Unique key of the response, usually the request path
+     * @param supplier     Computes the response entity. Might return null.
+     * @param dependencies The dependencies the response is derived from. A response without dependencies never
+     *                     gets recomputed.
+     * @return A 304 response if the client already has the current version, a 204 response if there is no entity,
+     * otherwise the (cached) entity
+     */
+    public Response get(Request request, String key, Supplier<?> supplier, Dependency... dependencies) {
+        String versionTag = getVersionTag(dependencies);
+        EntityTag entityTag = new EntityTag(epoch + "-" + versionTag);
+        CacheControl cacheControl = new CacheControl();
+        // Clients can store the response but have to revalidate it at each use
+        cacheControl.setNoCache(true);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.tag(entityTag).cacheControl(cacheControl).build();
+        }
+
+        Object entity = getEntity(key, versionTag, supplier);
+        // Same as JAX-RS does for resource methods returning null
+        Response.ResponseBuilder responseBuilder = entity != null ? Response.ok(entity) : Response.noContent();
+        return responseBuilder.tag(entityTag).cacheControl(cacheControl).build();
+    }
+
+    /**
+     * Same as {@link #get(Request, String, Supplier, Dependency...)} but we keep the response current by
+     * recomputing it in the background after its dependencies have changed.
+     */
+    public Response getHot(Request request, String key, Supplier<?> supplier, Dependency... dependencies) {
+        if (!hotResponses.containsKey(key) && hotResponses.size() < MAX_HOT_RESPONSES) {
+            hotResponses.putIfAbsent(key, new HotResponse(supplier, dependencies));
+        }
+        return get(request, key, supplier, dependencies);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Nullable
+    private Object getEntity(String key, String versionTag, Supplier<?> supplier) {
+        try {
+            // The loader is only called once if concurrent requests miss the same key
+            return cache.get(key + "@" + versionTag, () -> Optional.ofNullable(supplier.get())).orElse(null);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (RuntimeException e) {
+            // Guava wraps unchecked exceptions of the loader, but our exception mappers expect the original one
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private String getVersionTag(Dependency[] dependencies) {
+        StringBuilder sb = new StringBuilder();
+        Arrays.stream(dependencies).sorted().forEach(dependency -> sb.append(dependency.name().charAt(0))
+                .append(versions[dependency.ordinal()].get()));
+        return sb.toString();
+    }
+
+    private void maybePrecompute(Dependency dependency) {
+        if (dependency == Dependency.DAO_STATE && !isDaoReady.get()) {
+            return;
+        }
+        // If a run for that dependency is still queued it will see the new version as well
+        if (!precomputeScheduled[dependency.ordinal()].compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                precomputeScheduled[dependency.ordinal()].set(false);
+                hotResponses.forEach((key, hotResponse) -> {
+                    if (Arrays.asList(hotResponse.dependencies).contains(dependency)) {
+                        try {
+                            getEntity(key, getVersionTag(hotResponse.dependencies), hotResponse.supplier);
+                        } catch (Throwable t) {
+                            log.warn("Precomputing response for {} failed: {}", key, t.toString());
+                        }
+                    }
+                });
+            });
+        } catch (Throwable t) {
+            precomputeScheduled[dependency.ordinal()].set(false);
+            log.warn("Could not schedule precomputing responses: {}", t.toString());
+        }
+    }
+}
@@ -18,7 +18,9 @@
 package bisq.restapi;
 
 
+import bisq.core.account.sign.SignedWitnessService;
 import bisq.core.account.witness.AccountAgeWitnessService;
+import bisq.core.account.witness.AccountAgeWitnessStorageService;
 import bisq.core.app.misc.ExecutableForAppWithP2p;
 import bisq.core.dao.DaoFacade;
 import bisq.core.dao.SignVerifyService;
@@ -32,9 +34,14 @@ import bisq.core.dao.state.DaoStateSnapshotService;
 import bisq.core.dao.state.model.blockchain.Block;
 import bisq.core.offer.OfferBookService;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.statistics.TradeStatistics3;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 import bisq.core.user.Preferences;
 
+import bisq.network.p2p.BootstrapListener;
+import bisq.network.p2p.P2PService;
+
+import bisq.common.UserThread;
 import bisq.common.app.Version;
 import bisq.common.config.Config;
 
@@ -69,6 +76,12 @@ public class RestApi extends ExecutableForAppWithP2p {
     private TradeStatisticsManager tradeStatisticsManager;
     @Getter
     private OfferBookService offerBookService;
+    @Getter
+    private BsqTxIndex bsqTxIndex;
+    @Getter
+    private ResponseCache responseCache;
+    @Getter
+    private WitnessDateIndex witnessDateIndex;
     private PriceFeedService priceFeedService;
     @Getter
     private final AtomicBoolean parseBlockCompleteAfterBatchProcessing = new AtomicBoolean();
@@ -106,11 +119,47 @@ public class RestApi extends ExecutableForAppWithP2p {
         offerBookService = injector.getInstance(OfferBookService.class);
         priceFeedService = injector.getInstance(PriceFeedService.class);
 
+        bsqTxIndex = new BsqTxIndex(daoStateService);
+        daoStateService.addDaoStateListener(bsqTxIndex);
+
+        responseCache = new ResponseCache(parseBlockCompleteAfterBatchProcessing::get);
         daoStateService.addDaoStateListener(new DaoStateListener() {
             @Override
             public void onParseBlockCompleteAfterBatchProcessing(Block block) {
                 log.error("onParseBlockCompleteAfterBatchProcessing");
                 parseBlockCompleteAfterBatchProcessing.set(true);
+                responseCache.invalidate(ResponseCache.Dependency.DAO_STATE);
+            }
+        });
+        // Our listeners are registered before the ones of the services which apply the payload, so we invalidate on
+        // the next user thread cycle to not cache a response computed from the old state under the new version.
+        P2PService p2PService = injector.getInstance(P2PService.class);
+        p2PService.getP2PDataStorage().addAppendOnlyDataStoreListener(payload -> {
+            if (payload instanceof TradeStatistics3) {
+                UserThread.execute(() -> responseCache.invalidate(ResponseCache.Dependency.TRADE_STATISTICS));
+            }
+        });
+        // The witness responses are read from the index, so they change with its snapshot
+        witnessDateIndex = new WitnessDateIndex(accountAgeWitnessService,
+                injector.getInstance(AccountAgeWitnessStorageService.class),
+                injector.getInstance(SignedWitnessService.class),
+                p2PService.getP2PDataStorage(),
+                () -> responseCache.invalidate(ResponseCache.Dependency.WITNESSES));
+        // The trade statistics and witness services get initialized once the p2p network is ready
+        p2PService.addP2PServiceListener(new BootstrapListener() {
+            @Override
+            public void onDataReceived() {
+                UserThread.execute(RestApi.this::onP2PServicesInitialized);
+            }
+
+            @Override
+            public void onNoSeedNodeAvailable() {
+                UserThread.execute(RestApi.this::onP2PServicesInitialized);
+            }
+
+            @Override
+            public void onNoPeersAvailable() {
+                UserThread.execute(RestApi.this::onP2PServicesInitialized);
             }
         });
     }
@@ -134,4 +183,9 @@ public class RestApi extends ExecutableForAppWithP2p {
     public void checkDaoReady() {
         checkArgument(parseBlockCompleteAfterBatchProcessing.get(), "DAO not ready yet");
     }
+
+    private void onP2PServicesInitialized() {
+        responseCache.invalidate(ResponseCache.Dependency.TRADE_STATISTICS);
+        witnessDateIndex.onAllServicesInitialized();
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.restapi;
+
+import bisq.core.account.sign.SignedWitness;
+import bisq.core.account.sign.SignedWitnessService;
+import bisq.core.account.witness.AccountAgeWitness;
+import bisq.core.account.witness.AccountAgeWitnessService;
+import bisq.core.account.witness.AccountAgeWitnessStorageService;
+
+import bisq.network.p2p.storage.P2PDataStorage;
+
+import bisq.common.UserThread;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable snapshot of the account age dates and sign dates of all account age witnesses, so the bulk lookups of
+ * the rest api can run concurrently on the request threads. The witness services are only meant to be used from
+ * the user thread.
+ * <p>
+ * New witnesses are applied in batches on the user thread by copying the maps. As the signed state of a witness
+ * can also change without a new witness (e.g. a banned signer), we rebuild the sign dates periodically.
+ */
+@Slf4j
+public class WitnessDateIndex {
+    private static final long APPLY_PENDING_DELAY_SEC = 5;
+    private static final long REBUILD_INTERVAL_SEC = 3600;
+
+    private static class Snapshot {
+        private final Map<P2PDataStorage.ByteArray, Long> accountAgeDates;
+        private final Map<P2PDataStorage.ByteArray, Long> signDates;
+
+        Snapshot(Map<P2PDataStorage.ByteArray, Long> accountAgeDates, Map<P2PDataStorage.ByteArray, Long> signDates) {
+            this.accountAgeDates = accountAgeDates;
+            this.signDates = signDates;
+        }
+    }
+
+    private final AccountAgeWitnessService accountAgeWitnessService;
+    private final AccountAgeWitnessStorageService accountAgeWitnessStorageService;
+    private final SignedWitnessService signedWitnessService;
+    private final Runnable onSnapshotChangedHandler;
+
+    // Only accessed from the user thread
+    private final Set<P2PDataStorage.ByteArray> pendingAccountAgeWitnessHashes = new HashSet<>();
+    private boolean applyPendingScheduled;
+    private boolean initialized;
+
+    private volatile Snapshot snapshot = new Snapshot(new HashMap<>(), new HashMap<>());
+
+    public WitnessDateIndex(AccountAgeWitnessService accountAgeWitnessService,
+                            AccountAgeWitnessStorageService accountAgeWitnessStorageService,
+                            SignedWitnessService signedWitnessService,
+                            P2PDataStorage p2PDataStorage,
+                            Runnable onSnapshotChangedHandler) {
+        this.accountAgeWitnessService = accountAgeWitnessService;
+        this.accountAgeWitnessStorageService = accountAgeWitnessStorageService;
+        this.signedWitnessService = signedWitnessService;
+        this.onSnapshotChangedHandler = onSnapshotChangedHandler;
+
+        p2PDataStorage.addAppendOnlyDataStoreListener(payload -> {
+            if (payload instanceof AccountAgeWitness) {
+                onWitnessAdded(new P2PDataStorage.ByteArray(payload.getHash()));
+            } else if (payload instanceof SignedWitness) {
+                onWitnessAdded(new P2PDataStorage.ByteArray(((SignedWitness) payload).getAccountAgeWitnessHash()));
+            }
+        });
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Needs to be called on the user thread once the witness services are initialized
+    public void onAllServicesInitialized() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+        rebuild();
+        UserThread.runPeriodically(this::rebuild, REBUILD_INTERVAL_SEC);
+    }
+
+    /**
+     * @return The date of the account age witness or -1 if not known
+     */
+    public long getAccountAgeDate(byte[] accountAgeWitnessHash) {
+        return snapshot.accountAgeDates.getOrDefault(new P2PDataStorage.ByteArray(accountAgeWitnessHash), -1L);
+    }
+
+    /**
+     * @return The date when the account age witness got signed first or -1 if not signed
+     */
+    public long getSignDate(byte[] accountAgeWitnessHash) {
+        return snapshot.signDates.getOrDefault(new P2PDataStorage.ByteArray(accountAgeWitnessHash), -1L);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void onWitnessAdded(P2PDataStorage.ByteArray accountAgeWitnessHash) {
+        if (!initialized) {
+            return;
+        }
+        pendingAccountAgeWitnessHashes.add(accountAgeWitnessHash);
+        if (!applyPendingScheduled) {
+            applyPendingScheduled = true;
+            // The witness services get the payload after us, so we must not apply it in the same cycle
+            UserThread.runAfter(this::applyPending, APPLY_PENDING_DELAY_SEC);
+        }
+    }
+
+    private void applyPending() {
+        applyPendingScheduled = false;
+        Snapshot current = snapshot;
+        Map<P2PDataStorage.ByteArray, Long> accountAgeDates = new HashMap<>(current.accountAgeDates);
+        Map<P2PDataStorage.ByteArray, Long> signDates = new HashMap<>(current.signDates);
+        pendingAccountAgeWitnessHashes.forEach(hash ->
+                accountAgeWitnessService.getWitnessByHash(hash.bytes).ifPresent(witness -> {
+                    accountAgeDates.put(hash, witness.getDate());
+                    putSignDate(signDates, witness);
+                }));
+        pendingAccountAgeWitnessHashes.clear();
+        snapshot = new Snapshot(accountAgeDates, signDates);
+        onSnapshotChangedHandler.run();
+    }
+
+    private void rebuild() {
+        long ts = System.currentTimeMillis();
+        Map<P2PDataStorage.ByteArray, Long> accountAgeDates = new HashMap<>();
+        accountAgeWitnessStorageService.getMapOfAllData().values().stream()
+                .filter(payload -> payload instanceof AccountAgeWitness)
+                .map(payload -> (AccountAgeWitness) payload)
+                .forEach(witness -> accountAgeDates.put(new P2PDataStorage.ByteArray(witness.getHash()), witness.getDate()));
+
+        // Only witnesses with a signed witness can have a sign date
+        Set<P2PDataStorage.ByteArray> signedAccountAgeWitnessHashes = new HashSet<>();
+        signedWitnessService.getSignedWitnessMapValues().forEach(signedWitness ->
+                signedAccountAgeWitnessHashes.add(new P2PDataStorage.ByteArray(signedWitness.getAccountAgeWitnessHash())));
+        Map<P2PDataStorage.ByteArray, Long> signDates = new HashMap<>();
+        signedAccountAgeWitnessHashes.forEach(hash -> accountAgeWitnessService.getWitnessByHash(hash.bytes)
+                .ifPresent(witness -> putSignDate(signDates, witness)));
+
+        pendingAccountAgeWitnessHashes.clear();
+        snapshot = new Snapshot(accountAgeDates, signDates);
+        log.info("Rebuilding witness date index with {} account age witnesses and {} signed witnesses took {} ms",
+                accountAgeDates.size(), signDates.size(), System.currentTimeMillis() - ts);
+        onSnapshotChangedHandler.run();
+    }
+
+    private void putSignDate(Map<P2PDataStorage.ByteArray, Long> signDates, AccountAgeWitness witness) {
+        P2PDataStorage.ByteArray hash = new P2PDataStorage.ByteArray(witness.getHash());
+        long signDate = accountAgeWitnessService.getWitnessSignDate(witness);
+        if (signDate >= 0) {
+            signDates.put(hash, signDate);
+        } else {
+            signDates.remove(hash);
+        }
+    }
+}
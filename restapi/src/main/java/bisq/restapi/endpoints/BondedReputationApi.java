@@ -33,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 
 
 
+import bisq.restapi.ResponseCache;
 import bisq.restapi.RestApi;
 import bisq.restapi.RestApiMain;
 import bisq.restapi.dto.BondedReputationDto;
@@ -49,6 +50,8 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 
 /**
  * Endpoint for getting the bonded reputation data from a given block height.
@@ -63,11 +66,13 @@ public class BondedReputationApi {
     private static final String DESC_BLOCK_HEIGHT = "The block height from which we request the bonded reputation data";
     private final BondedReputationRepository bondedReputationRepository;
     private final DaoStateService daoStateService;
+    private final ResponseCache responseCache;
 
     public BondedReputationApi(@Context Application application) {
         RestApi restApi = ((RestApiMain) application).getRestApi();
         daoStateService = restApi.getDaoStateService();
         bondedReputationRepository = restApi.getBondedReputationRepository();
+        responseCache = restApi.getResponseCache();
     }
 
     @Operation(description = "Request the bonded reputation data")
@@ -77,9 +82,16 @@ public class BondedReputationApi {
     )
     @GET
     @Path("get-bonded-reputation/{block-height}")
-    public List<BondedReputationDto> getBondedReputation(@Parameter(description = DESC_BLOCK_HEIGHT)
-                                                         @PathParam("block-height")
-                                                         int fromBlockHeight) {
+    public Response getBondedReputation(@Parameter(description = DESC_BLOCK_HEIGHT)
+                                        @PathParam("block-height")
+                                        int fromBlockHeight,
+                                        @Context Request request) {
+        return responseCache.getHot(request, "bonded-reputation/get-bonded-reputation/" + fromBlockHeight,
+                () -> computeBondedReputation(fromBlockHeight),
+                ResponseCache.Dependency.DAO_STATE);
+    }
+
+    private List<BondedReputationDto> computeBondedReputation(int fromBlockHeight) {
         // We only consider lock time with at least 50 000 blocks as valid
         List<BondedReputationDto> result = bondedReputationRepository.getBondedReputationStream()
                 .filter(BondedReputation::isActive)
@@ -13,6 +13,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 
 import bisq.restapi.BlockDataToJsonConverter;
+import bisq.restapi.ResponseCache;
 import bisq.restapi.RestApi;
 import bisq.restapi.RestApiMain;
 import bisq.restapi.dto.JsonBlock;
@@ -29,6 +30,8 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 
 @Slf4j
 @Path("/explorer/blocks")
@@ -37,10 +40,12 @@ import jakarta.ws.rs.core.MediaType;
 public class ExplorerBlocksApi {
     private final DaoStateService daoStateService;
     private final RestApi restApi;
+    private final ResponseCache responseCache;
 
     public ExplorerBlocksApi(@Context Application application) {
         restApi = ((RestApiMain) application).getRestApi();
         daoStateService = restApi.getDaoStateService();
+        responseCache = restApi.getResponseCache();
     }
 
     // http://localhost:8081/api/v1/explorer/blocks/get-bsq-block-by-height/139
@@ -51,8 +56,26 @@ public class ExplorerBlocksApi {
     )
     @GET
     @Path("get-bsq-block-by-height/{block-height}")
-    public JsonBlock getBsqBlockByHeight(@Parameter(description = "Block Height") @PathParam("block-height") int blockHeight) {
+    public Response getBsqBlockByHeight(@Parameter(description = "Block Height") @PathParam("block-height") int blockHeight,
+                                        @Context Request request) {
         restApi.checkDaoReady();
+        return responseCache.get(request, "explorer/blocks/get-bsq-block-by-height/" + blockHeight,
+                () -> getJsonBlockByHeight(blockHeight),
+                ResponseCache.Dependency.DAO_STATE);
+    }
+
+    //http://localhost:8081/api/v1/explorer/blocks/get-bsq-block-by-hash/2e90186bd0958e8d4821e0b2546e018d70e3b4f136af8676e3571ca2363ce7f8
+    @GET
+    @Path("get-bsq-block-by-hash/{block-hash}")
+    public Response getBsqBlockByHash(@Parameter(description = "Block Hash") @PathParam("block-hash") String hash,
+                                      @Context Request request) {
+        restApi.checkDaoReady();
+        return responseCache.get(request, "explorer/blocks/get-bsq-block-by-hash/" + hash.toLowerCase(),
+                () -> getJsonBlockByHash(hash),
+                ResponseCache.Dependency.DAO_STATE);
+    }
+
+    private JsonBlock getJsonBlockByHeight(int blockHeight) {
         List<Block> blocks = daoStateService.getBlocks();
         Optional<JsonBlock> jsonBlock = checkNotNull(blocks.stream())
                 .filter(block -> block.getHeight() == blockHeight)
@@ -66,11 +89,7 @@ public class ExplorerBlocksApi {
         return null;
     }
 
-    //http://localhost:8081/api/v1/explorer/blocks/get-bsq-block-by-hash/2e90186bd0958e8d4821e0b2546e018d70e3b4f136af8676e3571ca2363ce7f8
-    @GET
-    @Path("get-bsq-block-by-hash/{block-hash}")
-    public JsonBlock getBsqBlockByHash(@Parameter(description = "Block Hash") @PathParam("block-hash") String hash) {
-        restApi.checkDaoReady();
+    private JsonBlock getJsonBlockByHash(String hash) {
         List<Block> blocks = daoStateService.getBlocks();
         Optional<JsonBlock> jsonBlock = checkNotNull(blocks.stream())
                 .filter(block -> block.getHash().equalsIgnoreCase(hash))
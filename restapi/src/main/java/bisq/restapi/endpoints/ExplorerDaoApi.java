@@ -20,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 
 
 
+import bisq.restapi.ResponseCache;
 import bisq.restapi.RestApi;
 import bisq.restapi.RestApiMain;
 import bisq.restapi.dto.BsqStatsDto;
@@ -31,6 +32,8 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 
 @Slf4j
 @Path("/explorer/dao")
@@ -42,9 +45,11 @@ public class ExplorerDaoApi {
     private final ProposalService proposalService;
     private final CycleService cycleService;
     private final RestApi restApi;
+    private final ResponseCache responseCache;
 
     public ExplorerDaoApi(@Context Application application) {
         restApi = ((RestApiMain) application).getRestApi();
+        responseCache = restApi.getResponseCache();
         daoStateService = restApi.getDaoStateService();
         proposalService = restApi.getProposalService();
         cycleService = restApi.getCycleService();
@@ -54,8 +59,23 @@ public class ExplorerDaoApi {
     //http://localhost:8081/api/v1/explorer/dao/get-bsq-stats
     @GET
     @Path("get-bsq-stats")
-    public BsqStatsDto getBsqStats() {
+    public Response getBsqStats(@Context Request request) {
         restApi.checkDaoReady();
+        return responseCache.getHot(request, "explorer/dao/get-bsq-stats", this::computeBsqStats,
+                ResponseCache.Dependency.DAO_STATE);
+    }
+
+    // The number of temp proposals of the cycle in progress only gets updated with the next block, as we cache
+    // the result per DAO state.
+    @GET
+    @Path("query-dao-cycles")
+    public Response queryDaoCycles(@Context Request request) {
+        restApi.checkDaoReady();
+        return responseCache.getHot(request, "explorer/dao/query-dao-cycles", this::computeDaoCycles,
+                ResponseCache.Dependency.DAO_STATE);
+    }
+
+    private BsqStatsDto computeBsqStats() {
         long genesisSupply = daoFacade.getGenesisTotalSupply().getValue();
         long issuedByCompensations = daoStateService.getIssuanceSetForType(IssuanceType.COMPENSATION).stream().mapToLong(Issuance::getAmount).sum();
         long issuedByReimbursements = daoStateService.getIssuanceSetForType(IssuanceType.REIMBURSEMENT).stream().mapToLong(Issuance::getAmount).sum();
@@ -69,10 +89,7 @@ public class ExplorerDaoApi {
                 daoFacade.getChainHeight(), daoFacade.getGenesisBlockHeight());
     }
 
-    @GET
-    @Path("query-dao-cycles")
-    public List<JsonDaoCycle> queryDaoCycles() {
-        restApi.checkDaoReady();
+    private List<JsonDaoCycle> computeDaoCycles() {
         Set<Integer> cyclesAdded = new HashSet<>();
         List<JsonDaoCycle> result = new ArrayList<>();
         // Creating our data structure is a bit expensive so we ensure to only create the CycleListItems once.
@@ -3,6 +3,7 @@ package bisq.restapi.endpoints;
 import bisq.core.locale.CurrencyUtil;
 import bisq.core.locale.Res;
 import bisq.core.offer.OfferBookService;
+import bisq.core.trade.statistics.TickUnit;
 import bisq.core.trade.statistics.TradeStatistics3;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 
@@ -19,8 +20,10 @@ import lombok.extern.slf4j.Slf4j;
 
 
 
+import bisq.restapi.ResponseCache;
 import bisq.restapi.RestApi;
 import bisq.restapi.RestApiMain;
+import bisq.restapi.dto.JsonCandle;
 import bisq.restapi.dto.JsonCurrency;
 import bisq.restapi.dto.JsonOffer;
 import bisq.restapi.dto.JsonTradeInfo;
@@ -32,6 +35,8 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 
 @Slf4j
 @Path("/explorer/markets")
@@ -42,9 +47,11 @@ public class ExplorerMarketsApi {
 
     private final OfferBookService offerBookService;
     private final TradeStatisticsManager tradeStatisticsManager;
+    private final ResponseCache responseCache;
 
     public ExplorerMarketsApi(@Context Application application) {
         RestApi restApi = ((RestApiMain) application).getRestApi();
+        responseCache = restApi.getResponseCache();
         offerBookService = restApi.getOfferBookService();
         tradeStatisticsManager = restApi.getTradeStatisticsManager();
     }
@@ -52,7 +59,12 @@ public class ExplorerMarketsApi {
     // http://localhost:8081/api/v1/explorer/markets/get-currencies
     @GET
     @Path("get-currencies")
-    public List<JsonCurrency> getBisqCurrencies() {
+    public Response getBisqCurrencies(@Context Request request) {
+        // The currencies never change at runtime
+        return responseCache.get(request, "explorer/markets/get-currencies", this::computeBisqCurrencies);
+    }
+
+    private List<JsonCurrency> computeBisqCurrencies() {
         ArrayList<JsonCurrency> fiatCurrencyList = CurrencyUtil.getMatureMarketCurrencies().stream()
                 .map(e -> new JsonCurrency(e.getCode(), e.getName(), 8, "fiat"))
                 .collect(Collectors.toCollection(ArrayList::new));
@@ -99,8 +111,17 @@ public class ExplorerMarketsApi {
 
     @GET
     @Path("get-trades/{newestTimestamp}/{oldestTimestamp}")
-    public List<JsonTradeInfo> getBisqTrades(@PathParam("newestTimestamp") long newestTimestamp,
-                                             @PathParam("oldestTimestamp") long oldestTimestamp) {
+    public Response getBisqTrades(@PathParam("newestTimestamp") long newestTimestamp,
+                                  @PathParam("oldestTimestamp") long oldestTimestamp,
+                                  @Context Request request) {
+        // For the default time window (newestTimestamp 0) trades older than 30 days only drop out of a cached
+        // response with the next trade statistic, which is good enough for the explorer.
+        return responseCache.get(request, "explorer/markets/get-trades/" + newestTimestamp + "/" + oldestTimestamp,
+                () -> computeBisqTrades(newestTimestamp, oldestTimestamp),
+                ResponseCache.Dependency.TRADE_STATISTICS);
+    }
+
+    private List<JsonTradeInfo> computeBisqTrades(long newestTimestamp, long oldestTimestamp) {
         log.info("newestTimestamp: {} oldestTimestamp: {}", newestTimestamp, oldestTimestamp);
 
         long to = new Date().getTime();
@@ -142,4 +163,45 @@ public class ExplorerMarketsApi {
         log.info("client requested trades, returning {} trades", result.size());
         return result;
     }
+
+    // http://localhost:8081/api/v1/explorer/markets/get-candles/EUR/DAY/0/0
+    @GET
+    @Path("get-candles/{currency}/{tickUnit}/{from}/{to}")
+    public Response getCandles(@PathParam("currency") String currencyCode,
+                               @PathParam("tickUnit") String tickUnitName,
+                               @PathParam("from") long from,
+                               @PathParam("to") long to,
+                               @Context Request request) {
+        return responseCache.get(request, "explorer/markets/get-candles/" + currencyCode + "/" + tickUnitName + "/" + from + "/" + to,
+                () -> computeCandles(currencyCode, tickUnitName, from, to),
+                ResponseCache.Dependency.TRADE_STATISTICS);
+    }
+
+    private List<JsonCandle> computeCandles(String currencyCode, String tickUnitName, long from, long to) {
+        TickUnit tickUnit;
+        try {
+            tickUnit = TickUnit.valueOf(tickUnitName);
+        } catch (IllegalArgumentException e) {
+            log.error("Could not resolve TickUnit Enum from {}", tickUnitName);
+            return new ArrayList<>();
+        }
+        to = to > 0 ? to : new Date().getTime();
+        from = from > 0 ? from : to - MONTH;    // 30 days default
+        // Candles are pre-aggregated, so we do not need to iterate the trade statistics here
+        List<JsonCandle> result = tradeStatisticsManager.getCandles(currencyCode, tickUnit, from, to).stream()
+                .map(candle -> new JsonCandle(currencyCode,
+                        tickUnit.name(),
+                        candle.getTickStart(),
+                        candle.getOpen(),
+                        candle.getClose(),
+                        candle.getHigh(),
+                        candle.getLow(),
+                        candle.getMedianPrice(),
+                        candle.getAccumulatedAmount(),
+                        candle.getAccumulatedVolume(),
+                        candle.getNumTrades()))
+                .collect(Collectors.toList());
+        log.info("client requested candles, returning {} candles", result.size());
+        return result;
+    }
 }
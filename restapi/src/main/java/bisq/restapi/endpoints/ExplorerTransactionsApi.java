@@ -18,11 +18,9 @@
 package bisq.restapi.endpoints;
 
 import bisq.core.dao.state.DaoStateService;
-import bisq.core.dao.state.model.blockchain.BaseTx;
-import bisq.core.dao.state.model.blockchain.Tx;
 import bisq.core.dao.state.model.blockchain.TxType;
 
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -30,21 +28,27 @@ import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
 
 
-import bisq.restapi.BlockDataToJsonConverter;
+
+import bisq.restapi.BsqTxIndex;
 import bisq.restapi.RestApi;
 import bisq.restapi.RestApiMain;
 import bisq.restapi.dto.JsonTx;
+import bisq.restapi.dto.JsonTxPage;
+import bisq.restapi.error.StatusException;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 
 @Slf4j
 @Path("/explorer/transactions")
@@ -52,11 +56,13 @@ import jakarta.ws.rs.core.MediaType;
 @Tag(name = "TRANSACTIONS API")
 public class ExplorerTransactionsApi {
     private final DaoStateService daoStateService;
+    private final BsqTxIndex bsqTxIndex;
     private final RestApi restApi;
 
     public ExplorerTransactionsApi(@Context Application application) {
         restApi = ((RestApiMain) application).getRestApi();
         daoStateService = restApi.getDaoStateService();
+        bsqTxIndex = restApi.getBsqTxIndex();
     }
 
     @GET
@@ -64,10 +70,8 @@ public class ExplorerTransactionsApi {
     public JsonTx getTx(@Parameter(description = "TxId")
                         @PathParam("txid") String txId) {
         restApi.checkDaoReady();
-        Optional<JsonTx> jsonTx = daoStateService.getUnorderedTxStream()
-                .filter(t -> t.getId().equals(txId))
-                .map(tx -> BlockDataToJsonConverter.getJsonTx(daoStateService, tx))
-                .findFirst();
+        Optional<JsonTx> jsonTx = daoStateService.getTx(txId)
+                .map(bsqTxIndex::getJsonTx);
         if (jsonTx.isPresent()) {
             log.info("supplying tx {} to client.", txId);
             return jsonTx.get();
@@ -87,7 +91,7 @@ public class ExplorerTransactionsApi {
         String finalAddress = address;
         List<JsonTx> result = daoStateService.getTxIdSetByAddress().getOrDefault(finalAddress, Set.of()).stream()
                 .flatMap(txId -> daoStateService.getTx(txId).stream())
-                .map(tx -> BlockDataToJsonConverter.getJsonTx(daoStateService, tx))
+                .map(bsqTxIndex::getJsonTx)
                 .collect(Collectors.toList());
         log.info("getBisqTxForAddr: returning {} items.", result.size());
         return result;
@@ -100,34 +104,51 @@ public class ExplorerTransactionsApi {
                                           @PathParam("filters") String filters) {
         restApi.checkDaoReady();
         log.info("filters: {}", filters);
-        List<JsonTx> jsonTxs = daoStateService.getUnorderedTxStream()
-                .sorted(Comparator.comparing(BaseTx::getTime).reversed())
-                .filter(tx -> hasMatchingTxType(tx, filters))
-                .skip(start)
-                .limit(count)
-                .map(tx -> BlockDataToJsonConverter.getJsonTx(daoStateService, tx))
+        List<JsonTx> jsonTxs = bsqTxIndex.getTxs(toTxTypes(filters), start, count).stream()
+                .map(bsqTxIndex::getJsonTx)
                 .collect(Collectors.toList());
         log.info("supplying {} jsonTxs to client from index {}", jsonTxs.size(), start);
         return jsonTxs;
     }
 
-    private boolean hasMatchingTxType(Tx tx, String filters) {
+    // Unlike the start index of query-txs-paginated, the cursor keeps pointing to the same tx when new blocks
+    // arrive. The nextCursor of the response is passed as cursor query param to get the next page.
+    @GET
+    @Path("query-txs/{count}/{filters}")
+    public JsonTxPage queryTxs(@PathParam("count") int count,
+                               @PathParam("filters") String filters,
+                               @Parameter(description = "nextCursor of the previous page, omitted for the first page")
+                               @QueryParam("cursor") String cursor) {
+        restApi.checkDaoReady();
+        BsqTxIndex.TxPage txPage;
+        try {
+            txPage = bsqTxIndex.getTxPage(toTxTypes(filters), cursor, count);
+        } catch (IllegalArgumentException e) {
+            throw new StatusException(Response.Status.BAD_REQUEST, e.getMessage());
+        }
+        List<JsonTx> jsonTxs = txPage.getTxs().stream()
+                .map(bsqTxIndex::getJsonTx)
+                .collect(Collectors.toList());
+        log.info("supplying {} jsonTxs to client from cursor {}", jsonTxs.size(), cursor);
+        return new JsonTxPage(jsonTxs, txPage.getNextCursor());
+    }
+
+    // Returns null if all tx types are requested. Tokens after an unknown tx type are ignored.
+    @Nullable
+    private Set<TxType> toTxTypes(String filters) {
         String[] filterTokens = filters.split("~");
         if (filterTokens.length < 1 || filters.equalsIgnoreCase("~")) {
-            return true;
+            return null;
         }
+        Set<TxType> txTypes = EnumSet.noneOf(TxType.class);
         for (String filter : filterTokens) {
             try {
-                TxType txType = Enum.valueOf(TxType.class, filter);
-                if (tx.getTxType() == txType) {
-                    return true;
-                }
+                txTypes.add(Enum.valueOf(TxType.class, filter));
             } catch (Exception e) {
                 log.error("Could not resolve TxType Enum from " + filter, e);
-                return false;
+                break;
             }
         }
-        return false;
+        return txTypes;
     }
-
 }
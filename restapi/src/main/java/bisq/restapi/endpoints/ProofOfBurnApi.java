@@ -31,6 +31,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 
 
+import bisq.restapi.ResponseCache;
 import bisq.restapi.RestApi;
 import bisq.restapi.RestApiMain;
 import bisq.restapi.dto.ProofOfBurnDto;
@@ -47,6 +48,8 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 
 /**
  * Endpoint for getting the proof of burn data from a given block height.
@@ -60,10 +63,12 @@ import jakarta.ws.rs.core.MediaType;
 public class ProofOfBurnApi {
     private static final String DESC_BLOCK_HEIGHT = "The block height from which we request the proof of burn data";
     private final DaoStateService daoStateService;
+    private final ResponseCache responseCache;
 
     public ProofOfBurnApi(@Context Application application) {
         RestApi restApi = ((RestApiMain) application).getRestApi();
         daoStateService = checkNotNull(restApi.getDaoStateService());
+        responseCache = restApi.getResponseCache();
     }
 
     @Operation(description = "Request the proof of burn data")
@@ -73,9 +78,16 @@ public class ProofOfBurnApi {
     )
     @GET
     @Path("get-proof-of-burn/{block-height}")
-    public List<ProofOfBurnDto> getProofOfBurn(@Parameter(description = DESC_BLOCK_HEIGHT)
-                                               @PathParam("block-height")
-                                               int fromBlockHeight) {
+    public Response getProofOfBurn(@Parameter(description = DESC_BLOCK_HEIGHT)
+                                   @PathParam("block-height")
+                                   int fromBlockHeight,
+                                   @Context Request request) {
+        return responseCache.getHot(request, "proof-of-burn/get-proof-of-burn/" + fromBlockHeight,
+                () -> computeProofOfBurn(fromBlockHeight),
+                ResponseCache.Dependency.DAO_STATE);
+    }
+
+    private List<ProofOfBurnDto> computeProofOfBurn(int fromBlockHeight) {
         List<ProofOfBurnDto> result = daoStateService.getProofOfBurnTxs().stream()
                 .filter(tx -> {
                     int blockHeight = tx.getBlockHeight();
@@ -17,9 +17,10 @@
 
 package bisq.restapi.endpoints;
 
-import bisq.core.account.witness.AccountAgeWitnessService;
+import bisq.common.util.Utilities;
 
 import java.util.Date;
+import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,8 +28,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 
 
+import bisq.restapi.ResponseCache;
 import bisq.restapi.RestApi;
 import bisq.restapi.RestApiMain;
+import bisq.restapi.WitnessDateIndex;
 import bisq.restapi.dto.ProofOfBurnDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -36,13 +39,18 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
 /**
  * Endpoint for getting the signed witness date from a given hash as hex string.
@@ -55,11 +63,13 @@ import jakarta.ws.rs.core.MediaType;
 @Tag(name = "Signed witness API")
 public class SignedWitnessApi {
     private static final String DESC_HASH = "The hash of the signed account age witness as hex string";
-    private final AccountAgeWitnessService accountAgeWitnessService;
+    private final WitnessDateIndex witnessDateIndex;
+    private final ResponseCache responseCache;
 
     public SignedWitnessApi(@Context Application application) {
         RestApi restApi = ((RestApiMain) application).getRestApi();
-        accountAgeWitnessService = checkNotNull(restApi.getAccountAgeWitnessService());
+        witnessDateIndex = checkNotNull(restApi.getWitnessDateIndex());
+        responseCache = restApi.getResponseCache();
     }
 
     @Operation(description = "Request the signed witness date")
@@ -69,12 +79,30 @@ public class SignedWitnessApi {
     )
     @GET
     @Path("get-date/{hash}")
-    public Long getDate(@Parameter(description = DESC_HASH)
-                        @PathParam("hash")
-                        String hash) {
-        long result = accountAgeWitnessService.getWitnessByHashAsHex(hash)
-                .map(accountAgeWitnessService::getWitnessSignDate)
-                .orElse(-1L);
+    public Response getDate(@Parameter(description = DESC_HASH)
+                            @PathParam("hash")
+                            String hash,
+                            @Context Request request) {
+        return responseCache.get(request, "signed-witness/get-date/" + hash, () -> computeDate(hash),
+                ResponseCache.Dependency.WITNESSES);
+    }
+
+    // Expects a JSON array of hashes as hex strings and responds with one JSON object per line
+    @Operation(description = "Request the signed witness dates of a list of hashes")
+    @ApiResponse(responseCode = "200", description = "Newline delimited JSON objects with the hash and date")
+    @POST
+    @Path("get-dates")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(WitnessDateLookup.NDJSON)
+    public StreamingOutput getDates(List<String> hashes) {
+        // The lookups only read the immutable snapshot of the index, so concurrent requests do not block each other
+        StreamingOutput result = WitnessDateLookup.getDates(hashes, witnessDateIndex::getSignDate);
+        log.info("Signed witness dates requested for {} hashes", hashes.size());
+        return result;
+    }
+
+    private long computeDate(String hash) {
+        long result = witnessDateIndex.getSignDate(Utilities.decodeFromHex(hash));
         log.info("SignedWitness sign date for hash {}: {} ({})", hash, result, new Date(result));
         return result;
     }
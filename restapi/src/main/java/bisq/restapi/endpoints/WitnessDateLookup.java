@@ -0,0 +1,77 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.restapi.endpoints;
+
+import bisq.common.util.Hex;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+
+
+
+import bisq.restapi.error.StatusException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+/**
+ * Bulk lookup of witness dates for a list of hashes. The results are streamed as newline delimited JSON with one
+ * object per hash in the order of the request, e.g. <code>{"hash":"dd75...","date":1608217200000}</code>.
+ * The date is -1 if not known.
+ */
+class WitnessDateLookup {
+    static final String NDJSON = "application/x-ndjson";
+    static final int MAX_HASHES = 100_000;
+
+    private static final Pattern HEX_PATTERN = Pattern.compile("([0-9a-fA-F]{2}){1,64}");
+
+    static StreamingOutput getDates(List<String> hashes, ToLongFunction<byte[]> dateByHash) {
+        if (hashes == null || hashes.isEmpty()) {
+            throw new StatusException(Response.Status.BAD_REQUEST, "No hashes provided");
+        }
+        if (hashes.size() > MAX_HASHES) {
+            throw new StatusException(Response.Status.BAD_REQUEST,
+                    "Too many hashes. Max. number of hashes per request is " + MAX_HASHES);
+        }
+        // We validate all hashes before we start streaming, as we cannot change the response status afterwards
+        for (String hash : hashes) {
+            if (hash == null || !HEX_PATTERN.matcher(hash).matches()) {
+                throw new StatusException(Response.Status.BAD_REQUEST, "Invalid hash: " + hash);
+            }
+        }
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            for (String hash : hashes) {
+                long date = dateByHash.applyAsLong(Hex.decode(hash));
+                writer.write("{\"hash\":\"");
+                writer.write(hash.toLowerCase());
+                writer.write("\",\"date\":");
+                writer.write(Long.toString(date));
+                writer.write("}\n");
+            }
+            writer.flush();
+        };
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.restapi;
+
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxType;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.BaseEncoding;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BsqTxIndexTest {
+    private static final TxType[] TX_TYPES = {TxType.TRANSFER_BSQ, TxType.PAY_TRADE_FEE, TxType.PROPOSAL, TxType.LOCKUP};
+    // Single types use the sub-index directly, several types get merged. IRREGULAR has no txs.
+    private static final List<Set<TxType>> FILTERS = Arrays.asList(
+            null,
+            EnumSet.of(TxType.TRANSFER_BSQ),
+            EnumSet.of(TxType.LOCKUP),
+            EnumSet.of(TxType.TRANSFER_BSQ, TxType.PROPOSAL),
+            EnumSet.of(TxType.PAY_TRADE_FEE, TxType.PROPOSAL, TxType.LOCKUP),
+            EnumSet.of(TxType.LOCKUP, TxType.IRREGULAR),
+            EnumSet.of(TxType.IRREGULAR));
+
+    private final List<Block> blocks = new ArrayList<>();
+    private final Random random = new Random(1);
+    private BsqTxIndex bsqTxIndex;
+
+    @BeforeEach
+    void setUp() {
+        DaoStateService daoStateService = mock(DaoStateService.class);
+        when(daoStateService.getBlocks()).thenAnswer(invocation -> blocks);
+        when(daoStateService.getNumTxs()).thenAnswer(invocation ->
+                blocks.stream().mapToInt(block -> block.getTxs().size()).sum());
+        bsqTxIndex = new BsqTxIndex(daoStateService);
+
+        // The first block triggers a rebuild, the others get appended
+        for (int height = 100; height < 130; height++) {
+            addRandomBlock(height);
+        }
+    }
+
+    @Test
+    void testGetTxsMatchesFilteredChainOrder() {
+        for (Set<TxType> txTypes : FILTERS) {
+            List<Tx> expected = getExpectedTxs(txTypes);
+            for (int start = 0; start <= expected.size() + 1; start++) {
+                for (int count : new int[]{1, 3, 1000}) {
+                    int fromIndex = Math.min(start, expected.size());
+                    int toIndex = Math.min(start + count, expected.size());
+                    assertEquals(expected.subList(fromIndex, toIndex), bsqTxIndex.getTxs(txTypes, start, count),
+                            "txTypes=" + txTypes + ", start=" + start + ", count=" + count);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPagingWithCursorAcrossFilters() {
+        for (Set<TxType> txTypes : FILTERS) {
+            List<Tx> expected = getExpectedTxs(txTypes);
+            for (int count : new int[]{1, 2, 3, 7, expected.size(), 1000}) {
+                if (count == 0) {
+                    continue;
+                }
+                List<Tx> pagedTxs = new ArrayList<>();
+                int numPages = 0;
+                String cursor = null;
+                do {
+                    BsqTxIndex.TxPage page = bsqTxIndex.getTxPage(txTypes, cursor, count);
+                    numPages++;
+                    // We must never hand out a cursor to an empty page
+                    assertFalse(page.getTxs().isEmpty() && numPages > 1, "empty page for txTypes=" + txTypes);
+                    pagedTxs.addAll(page.getTxs());
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+
+                String message = "txTypes=" + txTypes + ", count=" + count;
+                assertEquals(expected, pagedTxs, message);
+                assertEquals(Math.max(1, (expected.size() + count - 1) / count), numPages, message);
+            }
+        }
+    }
+
+    @Test
+    void testCursorStaysValidWhenNewBlocksArrive() {
+        Set<TxType> txTypes = EnumSet.of(TxType.TRANSFER_BSQ, TxType.PROPOSAL);
+        List<Tx> expected = getExpectedTxs(txTypes);
+        BsqTxIndex.TxPage firstPage = bsqTxIndex.getTxPage(txTypes, null, 5);
+        assertEquals(expected.subList(0, 5), firstPage.getTxs());
+
+        for (int height = 130; height < 135; height++) {
+            addRandomBlock(height);
+        }
+
+        BsqTxIndex.TxPage secondPage = bsqTxIndex.getTxPage(txTypes, firstPage.getNextCursor(), 5);
+        assertEquals(expected.subList(5, 10), secondPage.getTxs());
+        // The new txs show up at a new first page
+        assertEquals(getExpectedTxs(txTypes).subList(0, 5), bsqTxIndex.getTxPage(txTypes, null, 5).getTxs());
+    }
+
+    @Test
+    void testCursorOfTxRemovedByReorg() {
+        // Page until the cursor points to a tx at or below block 120
+        String cursor = null;
+        Tx lastTx;
+        do {
+            BsqTxIndex.TxPage page = bsqTxIndex.getTxPage(null, cursor, 1);
+            lastTx = page.getTxs().get(0);
+            cursor = page.getNextCursor();
+        } while (lastTx.getBlockHeight() > 120);
+        assertNotNull(cursor);
+        int reorgHeight = lastTx.getBlockHeight();
+        int positionInBlock = getBlock(reorgHeight).getTxs().indexOf(lastTx);
+
+        // A reorg replaces the blocks from the block of the cursor tx on. The new block does not follow the last
+        // indexed block, so the index gets rebuilt.
+        blocks.subList(blocks.indexOf(getBlock(reorgHeight)), blocks.size()).clear();
+        addBlock(reorgHeight, TxType.TRANSFER_BSQ, TxType.PROPOSAL, TxType.TRANSFER_BSQ, TxType.LOCKUP,
+                TxType.TRANSFER_BSQ, TxType.PAY_TRADE_FEE);
+
+        // The cursor still points to the chain position, so we continue with the txs before it
+        Block newBlock = getBlock(reorgHeight);
+        List<Tx> expected = getExpectedTxs(null).stream()
+                .filter(tx -> tx.getBlockHeight() < reorgHeight || newBlock.getTxs().indexOf(tx) < positionInBlock)
+                .collect(Collectors.toList());
+        BsqTxIndex.TxPage page = bsqTxIndex.getTxPage(null, cursor, 1000);
+        assertEquals(expected, page.getTxs());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> bsqTxIndex.getTxPage(null, "not a cursor", 10));
+        String unknownVersion = BaseEncoding.base64Url().omitPadding()
+                .encode("v2:1".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> bsqTxIndex.getTxPage(null, unknownVersion, 10));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Utils
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void addRandomBlock(int height) {
+        // Includes empty blocks
+        TxType[] txTypes = new TxType[random.nextInt(5)];
+        for (int i = 0; i < txTypes.length; i++) {
+            txTypes[i] = TX_TYPES[random.nextInt(TX_TYPES.length)];
+        }
+        addBlock(height, txTypes);
+    }
+
+    private void addBlock(int height, TxType... txTypes) {
+        Block block = new Block(height, height * 600L, "hash" + height, "hash" + (height - 1));
+        for (int i = 0; i < txTypes.length; i++) {
+            block.addTx(Tx.fromProto(protobuf.BaseTx.newBuilder()
+                    .setTxVersion("1")
+                    .setId("tx-" + height + "-" + i + "-" + random.nextInt())
+                    .setBlockHeight(height)
+                    .setBlockHash(block.getHash())
+                    .setTime(block.getTime())
+                    .setTx(protobuf.Tx.newBuilder().setTxType(txTypes[i].toProtoMessage()))
+                    .build()));
+        }
+        blocks.add(block);
+        bsqTxIndex.onParseBlockComplete(block);
+    }
+
+    private Block getBlock(int height) {
+        return blocks.stream().filter(block -> block.getHeight() == height).findAny().orElseThrow();
+    }
+
+    // Newest first
+    private List<Tx> getExpectedTxs(@Nullable Set<TxType> txTypes) {
+        Predicate<Tx> filter = tx -> txTypes == null || txTypes.contains(tx.getTxType());
+        return Lists.reverse(blocks.stream()
+                .flatMap(block -> block.getTxs().stream())
+                .filter(filter)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.restapi;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ResponseCacheTest {
+    private final AtomicBoolean daoReady = new AtomicBoolean(true);
+    private final AtomicInteger numComputations = new AtomicInteger();
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(daoReady::get);
+    }
+
+    @Test
+    void testResponseIsCachedUntilDependencyChanges() {
+        Supplier<String> supplier = () -> "block-" + numComputations.incrementAndGet();
+
+        Response first = responseCache.get(request(null), "block/1", supplier, ResponseCache.Dependency.DAO_STATE);
+        Response second = responseCache.get(request(null), "block/1", supplier, ResponseCache.Dependency.DAO_STATE);
+        assertEquals("block-1", first.getEntity());
+        assertEquals("block-1", second.getEntity());
+        assertEquals(first.getEntityTag(), second.getEntityTag());
+
+        // A dependency the response does not declare does not invalidate it
+        responseCache.invalidate(ResponseCache.Dependency.TRADE_STATISTICS);
+        Response third = responseCache.get(request(null), "block/1", supplier, ResponseCache.Dependency.DAO_STATE);
+        assertEquals("block-1", third.getEntity());
+        assertEquals(first.getEntityTag(), third.getEntityTag());
+
+        responseCache.invalidate(ResponseCache.Dependency.DAO_STATE);
+        Response fourth = responseCache.get(request(null), "block/1", supplier, ResponseCache.Dependency.DAO_STATE);
+        assertEquals("block-2", fourth.getEntity());
+        assertNotEquals(first.getEntityTag(), fourth.getEntityTag());
+    }
+
+    @Test
+    void testVersionKeysAreOrderIndependent() {
+        Supplier<String> supplier = () -> "stats-" + numComputations.incrementAndGet();
+
+        Response first = responseCache.get(request(null), "stats", supplier,
+                ResponseCache.Dependency.DAO_STATE, ResponseCache.Dependency.WITNESSES);
+        Response second = responseCache.get(request(null), "stats", supplier,
+                ResponseCache.Dependency.WITNESSES, ResponseCache.Dependency.DAO_STATE);
+        assertEquals(first.getEntityTag(), second.getEntityTag());
+        assertEquals(1, numComputations.get());
+
+        responseCache.invalidate(ResponseCache.Dependency.WITNESSES);
+        assertEquals(1, responseCache.getVersion(ResponseCache.Dependency.WITNESSES));
+        assertEquals(0, responseCache.getVersion(ResponseCache.Dependency.DAO_STATE));
+        Response third = responseCache.get(request(null), "stats", supplier,
+                ResponseCache.Dependency.DAO_STATE, ResponseCache.Dependency.WITNESSES);
+        assertEquals("stats-2", third.getEntity());
+    }
+
+    @Test
+    void testNotModifiedIfETagMatches() {
+        Supplier<String> supplier = () -> "block-" + numComputations.incrementAndGet();
+        EntityTag entityTag = responseCache.get(request(null), "block/1", supplier,
+                ResponseCache.Dependency.DAO_STATE).getEntityTag();
+
+        Response notModified = responseCache.get(request(entityTag), "block/1", supplier,
+                ResponseCache.Dependency.DAO_STATE);
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), notModified.getStatus());
+        assertNull(notModified.getEntity());
+        assertEquals(entityTag, notModified.getEntityTag());
+
+        // The ETag of the client is outdated after a new block
+        responseCache.invalidate(ResponseCache.Dependency.DAO_STATE);
+        Response modified = responseCache.get(request(entityTag), "block/1", supplier,
+                ResponseCache.Dependency.DAO_STATE);
+        assertEquals(Response.Status.OK.getStatusCode(), modified.getStatus());
+        assertEquals("block-2", modified.getEntity());
+    }
+
+    @Test
+    void testNullEntityIsCachedAndGivesNoContent() {
+        Supplier<String> supplier = () -> {
+            numComputations.incrementAndGet();
+            return null;
+        };
+
+        responseCache.get(request(null), "block/unknown", supplier, ResponseCache.Dependency.DAO_STATE);
+        Response response = responseCache.get(request(null), "block/unknown", supplier,
+                ResponseCache.Dependency.DAO_STATE);
+        assertNull(response.getEntity());
+        // Same status as the endpoints without cache return for an unknown block
+        assertEquals(Response.Status.NO_CONTENT.getStatusCode(), response.getStatus());
+        assertEquals(1, numComputations.get());
+
+        Response found = responseCache.get(request(null), "block/1", () -> "block", ResponseCache.Dependency.DAO_STATE);
+        assertEquals(Response.Status.OK.getStatusCode(), found.getStatus());
+    }
+
+    @Test
+    void testHotResponseGetsPrecomputed() throws InterruptedException {
+        CountDownLatch precomputed = new CountDownLatch(2);
+        Supplier<String> supplier = () -> {
+            String entity = "stats-" + numComputations.incrementAndGet();
+            precomputed.countDown();
+            return entity;
+        };
+
+        responseCache.getHot(request(null), "stats", supplier, ResponseCache.Dependency.DAO_STATE);
+        responseCache.invalidate(ResponseCache.Dependency.DAO_STATE);
+        assertTrue(precomputed.await(5, TimeUnit.SECONDS));
+
+        // The request after the new block gets the precomputed response
+        Response response = responseCache.get(request(null), "stats", supplier, ResponseCache.Dependency.DAO_STATE);
+        assertEquals("stats-2", response.getEntity());
+        assertEquals(2, numComputations.get());
+    }
+
+    @Test
+    void testNoPrecomputeBeforeDaoIsReady() {
+        daoReady.set(false);
+        Supplier<String> supplier = () -> "stats-" + numComputations.incrementAndGet();
+
+        responseCache.getHot(request(null), "stats", supplier, ResponseCache.Dependency.DAO_STATE);
+        responseCache.invalidate(ResponseCache.Dependency.DAO_STATE);
+
+        // Nothing got scheduled, so the request after the new block computes the response
+        assertEquals(1, numComputations.get());
+        Response response = responseCache.get(request(null), "stats", supplier, ResponseCache.Dependency.DAO_STATE);
+        assertEquals("stats-2", response.getEntity());
+    }
+
+    // Mimics the If-None-Match evaluation of the container
+    private static Request request(EntityTag ifNoneMatch) {
+        Request request = mock(Request.class);
+        when(request.evaluatePreconditions(any(EntityTag.class))).thenAnswer(invocation ->
+                invocation.getArgument(0).equals(ifNoneMatch) ? Response.notModified() : null);
+        return request;
+    }
+}
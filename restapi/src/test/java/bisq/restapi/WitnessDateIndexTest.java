@@ -0,0 +1,228 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.restapi;
+
+import bisq.core.account.sign.SignedWitness;
+import bisq.core.account.sign.SignedWitnessService;
+import bisq.core.account.witness.AccountAgeWitness;
+import bisq.core.account.witness.AccountAgeWitnessService;
+import bisq.core.account.witness.AccountAgeWitnessStorageService;
+
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreListener;
+
+import bisq.common.FrameRateTimer;
+import bisq.common.Timer;
+import bisq.common.UserThread;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WitnessDateIndexTest {
+    // Collects the delayed runnables of the index so the tests decide when the pending witnesses get applied
+    private static final List<Runnable> scheduledRunnables = new ArrayList<>();
+
+    public static class ManualTimer implements Timer {
+        @Override
+        public Timer runLater(Duration delay, Runnable action) {
+            scheduledRunnables.add(action);
+            return this;
+        }
+
+        @Override
+        public Timer runPeriodically(Duration interval, Runnable runnable) {
+            return this;
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+
+    private final Random random = new Random(42);
+    private final Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> accountAgeWitnessMap = new HashMap<>();
+    private final Map<P2PDataStorage.ByteArray, SignedWitness> signedWitnessMap = new HashMap<>();
+    private final Map<P2PDataStorage.ByteArray, Long> witnessSignDates = new HashMap<>();
+    private final List<byte[]> hashes = new ArrayList<>();
+    private AccountAgeWitnessService accountAgeWitnessService;
+    private AccountAgeWitnessStorageService accountAgeWitnessStorageService;
+    private SignedWitnessService signedWitnessService;
+
+    @BeforeEach
+    void setUp() {
+        scheduledRunnables.clear();
+        UserThread.setTimerClass(ManualTimer.class);
+
+        accountAgeWitnessService = mock(AccountAgeWitnessService.class);
+        accountAgeWitnessStorageService = mock(AccountAgeWitnessStorageService.class);
+        signedWitnessService = mock(SignedWitnessService.class);
+        when(accountAgeWitnessStorageService.getMapOfAllData()).thenAnswer(invocation -> new HashMap<>(accountAgeWitnessMap));
+        when(signedWitnessService.getSignedWitnessMapValues()).thenAnswer(invocation -> new ArrayList<>(signedWitnessMap.values()));
+        when(accountAgeWitnessService.getWitnessByHash(any())).thenAnswer(invocation -> Optional.ofNullable(
+                (AccountAgeWitness) accountAgeWitnessMap.get(new P2PDataStorage.ByteArray(invocation.getArgument(0, byte[].class)))));
+        when(accountAgeWitnessService.getWitnessSignDate(any())).thenAnswer(invocation -> witnessSignDates.getOrDefault(
+                new P2PDataStorage.ByteArray(invocation.getArgument(0, AccountAgeWitness.class).getHash()), -1L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserThread.setTimerClass(FrameRateTimer.class);
+    }
+
+    @Test
+    void testAppliedWitnessesMatchRebuild() {
+        for (int i = 0; i < 20; i++) {
+            AccountAgeWitness witness = addAccountAgeWitness();
+            if (i % 3 == 0) {
+                addSignedWitness(witness, witness.getDate() + 1000);
+            }
+        }
+
+        P2PDataStorage p2PDataStorage = mock(P2PDataStorage.class);
+        AtomicInteger numSnapshotChanges = new AtomicInteger();
+        WitnessDateIndex index = new WitnessDateIndex(accountAgeWitnessService, accountAgeWitnessStorageService,
+                signedWitnessService, p2PDataStorage, numSnapshotChanges::incrementAndGet);
+        AppendOnlyDataStoreListener listener = captureListener(p2PDataStorage);
+        index.onAllServicesInitialized();
+        assertEquals(1, numSnapshotChanges.get());
+        assertIndexMatchesRebuild(index);
+
+        // New witnesses, some of them signed in the same batch
+        for (int i = 0; i < 10; i++) {
+            AccountAgeWitness witness = addAccountAgeWitness();
+            listener.onAdded(witness);
+            if (i % 2 == 0) {
+                listener.onAdded(addSignedWitness(witness, witness.getDate() + 2000));
+            }
+        }
+        // Existing witnesses which get signed now
+        for (int i = 1; i < 6; i++) {
+            AccountAgeWitness witness = (AccountAgeWitness) accountAgeWitnessMap.get(new P2PDataStorage.ByteArray(hashes.get(i)));
+            listener.onAdded(addSignedWitness(witness, witness.getDate() + 3000));
+        }
+
+        // All new witnesses are applied with a single delayed batch
+        assertEquals(1, scheduledRunnables.size());
+        assertEquals(1, numSnapshotChanges.get());
+        runScheduled();
+        assertEquals(2, numSnapshotChanges.get());
+        assertIndexMatchesRebuild(index);
+
+        // A later witness gets scheduled again
+        AccountAgeWitness witness = addAccountAgeWitness();
+        listener.onAdded(addSignedWitness(witness, witness.getDate() + 4000));
+        listener.onAdded(witness);
+        assertEquals(1, scheduledRunnables.size());
+        runScheduled();
+        assertEquals(3, numSnapshotChanges.get());
+        assertIndexMatchesRebuild(index);
+    }
+
+    @Test
+    void testWitnessesAddedBeforeInitializationAreCoveredByRebuild() {
+        P2PDataStorage p2PDataStorage = mock(P2PDataStorage.class);
+        WitnessDateIndex index = new WitnessDateIndex(accountAgeWitnessService, accountAgeWitnessStorageService,
+                signedWitnessService, p2PDataStorage, () -> {
+                });
+        AppendOnlyDataStoreListener listener = captureListener(p2PDataStorage);
+
+        AccountAgeWitness witness = addAccountAgeWitness();
+        listener.onAdded(witness);
+        listener.onAdded(addSignedWitness(witness, witness.getDate() + 1000));
+        assertEquals(0, scheduledRunnables.size());
+        assertEquals(-1, index.getAccountAgeDate(witness.getHash()));
+
+        index.onAllServicesInitialized();
+        assertEquals(witness.getDate(), index.getAccountAgeDate(witness.getHash()));
+        assertIndexMatchesRebuild(index);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private AccountAgeWitness addAccountAgeWitness() {
+        byte[] hash = new byte[20];
+        random.nextBytes(hash);
+        AccountAgeWitness witness = new AccountAgeWitness(hash, 1_600_000_000_000L + random.nextInt(1_000_000_000));
+        accountAgeWitnessMap.put(new P2PDataStorage.ByteArray(hash), witness);
+        hashes.add(hash);
+        return witness;
+    }
+
+    private SignedWitness addSignedWitness(AccountAgeWitness witness, long signDate) {
+        byte[] signature = new byte[32];
+        random.nextBytes(signature);
+        SignedWitness signedWitness = new SignedWitness(SignedWitness.VerificationMethod.TRADE, witness.getHash(),
+                signature, new byte[33], new byte[33], signDate, 100_000);
+        signedWitnessMap.put(new P2PDataStorage.ByteArray(signedWitness.getHash()), signedWitness);
+        witnessSignDates.merge(new P2PDataStorage.ByteArray(witness.getHash()), signDate, Math::min);
+        return signedWitness;
+    }
+
+    private AppendOnlyDataStoreListener captureListener(P2PDataStorage p2PDataStorage) {
+        ArgumentCaptor<AppendOnlyDataStoreListener> captor = ArgumentCaptor.forClass(AppendOnlyDataStoreListener.class);
+        verify(p2PDataStorage).addAppendOnlyDataStoreListener(captor.capture());
+        return captor.getValue();
+    }
+
+    private void runScheduled() {
+        List<Runnable> runnables = new ArrayList<>(scheduledRunnables);
+        scheduledRunnables.clear();
+        runnables.forEach(Runnable::run);
+    }
+
+    private void assertIndexMatchesRebuild(WitnessDateIndex index) {
+        WitnessDateIndex rebuilt = new WitnessDateIndex(accountAgeWitnessService, accountAgeWitnessStorageService,
+                signedWitnessService, mock(P2PDataStorage.class), () -> {
+                });
+        rebuilt.onAllServicesInitialized();
+
+        for (byte[] hash : hashes) {
+            assertEquals(rebuilt.getAccountAgeDate(hash), index.getAccountAgeDate(hash));
+            assertEquals(rebuilt.getSignDate(hash), index.getSignDate(hash));
+        }
+        // Also compare against the expected dates, so the rebuild itself is checked
+        for (byte[] hash : hashes) {
+            P2PDataStorage.ByteArray key = new P2PDataStorage.ByteArray(hash);
+            assertEquals(((AccountAgeWitness) accountAgeWitnessMap.get(key)).getDate(), index.getAccountAgeDate(hash));
+            assertEquals(witnessSignDates.getOrDefault(key, -1L), index.getSignDate(hash));
+        }
+    }
+}